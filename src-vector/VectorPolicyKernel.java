@@ -0,0 +1,67 @@
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A PolicyKernel using the jdk.incubator.vector API: each multiply-add
+ * runs over as many rows at once as the CPU's widest float vector holds,
+ * with the left-over rows done one by one.
+ *
+ * This file is kept out of src because it only compiles with the
+ * incubator module added:
+ *
+ *   javac --add-modules jdk.incubator.vector -cp out -d out src-vector/VectorPolicyKernel.java
+ *   java --add-modules jdk.incubator.vector -cp out Main
+ *
+ * PolicyKernel.best() then picks it up; without it the scalar kernel runs.
+ *
+ * @author G27
+ * @version 5.0
+ */
+final class VectorPolicyKernel implements PolicyKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vector (" + SPECIES.length() + " lanes)";
+    }
+
+    @Override
+    public void score(PolicyModel m, PolicyModel.Batch b) {
+        int n = b.rows;
+        int stride = b.capacity;
+        if (m.hidden == 0) {
+            weightedSum(m.w2, 0, m.inputs, m.b2, b.x, stride, n, b.out, false, 0);
+            return;
+        }
+        for (int j = 0; j < m.hidden; j++) {
+            weightedSum(m.w1, j * m.inputs, m.inputs, m.b1[j], b.x, stride, n, b.h, true, j * stride);
+        }
+        weightedSum(m.w2, 0, m.hidden, m.b2, b.h, stride, n, b.out, false, 0);
+    }
+
+    /**
+     * For every row r: out[outBase + r] = bias + sum over f of
+     * w[wBase + f] * in[f * stride + r], clamped at zero if relu.
+     */
+    private static void weightedSum(float[] w, int wBase, int count, float bias, float[] in, int stride, int n,
+                                    float[] out, boolean relu, int outBase) {
+        int step = SPECIES.length();
+        int upper = SPECIES.loopBound(n);
+        int r = 0;
+        for (; r < upper; r += step) {
+            FloatVector acc = FloatVector.broadcast(SPECIES, bias);
+            for (int f = 0; f < count; f++) {
+                FloatVector weight = FloatVector.broadcast(SPECIES, w[wBase + f]);
+                acc = FloatVector.fromArray(SPECIES, in, f * stride + r).fma(weight, acc);
+            }
+            if (relu) acc = acc.max(0f);
+            acc.intoArray(out, outBase + r);
+        }
+        for (; r < n; r++) {
+            float acc = bias;
+            for (int f = 0; f < count; f++) acc += w[wBase + f] * in[f * stride + r];
+            out[outBase + r] = relu ? Math.max(0f, acc) : acc;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * The move an AI player has decided on: a card to play (with the color to
+ * name if it is a wild card), or a draw.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class AIDecision {
+
+    private static final AIDecision DRAW = new AIDecision(-1, null);
+
+    private final int handIndex;
+    private final Card.Color wildColor;
+
+    private AIDecision(int handIndex, Card.Color wildColor) {
+        this.handIndex = handIndex;
+        this.wildColor = wildColor;
+    }
+
+    /**
+     * A decision to play a card.
+     *
+     * @param handIndex index of the card in the hand
+     * @param wildColor the color to name for a wild card, null otherwise
+     * @return the decision
+     */
+    public static AIDecision play(int handIndex, Card.Color wildColor) {
+        return new AIDecision(handIndex, wildColor);
+    }
+
+    /**
+     * A decision to draw a card.
+     *
+     * @return the decision
+     */
+    public static AIDecision draw() {
+        return DRAW;
+    }
+
+    public boolean isDraw() { return handIndex < 0; }
+    public int getHandIndex() { return handIndex; }
+    public Card.Color getWildColor() { return wildColor; }
+
+    @Override
+    public String toString() {
+        return isDraw() ? "draw" : "play " + handIndex + (wildColor == null ? "" : " as " + wildColor);
+    }
+}
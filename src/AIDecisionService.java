@@ -0,0 +1,232 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Computes AI moves away from the thread that owns the model and the view.
+ *
+ * Each decision asks the player's AIStrategy about an immutable
+ * AITurnSnapshot and runs on its own worker thread (a virtual thread when
+ * the JVM has them). The result is
+ * handed back through a callback executor, normally the view's runLater,
+ * so the move is applied on the model's thread while the UI keeps painting.
+ *
+ * Every decision has a hard deadline: the move's SearchBudget plus a short
+ * grace period. If the strategy has not answered by then it is interrupted
+ * and the fallback (a quick decider) answers instead.
+ * A decision that is cancelled, for example because the state changed
+ * through undo or load, never calls back.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class AIDecisionService {
+
+    /** Time a strategy gets past its budget before it is replaced by the fallback. */
+    public static final long GRACE_MILLIS = 250;
+
+    /** A decision in progress. */
+    public interface Pending {
+        /**
+         * Stops the decision; its callback will not be called.
+         */
+        void cancel();
+
+        /**
+         * Checks whether the decision has been delivered or cancelled.
+         *
+         * @return true once nothing more will happen
+         */
+        boolean isDone();
+    }
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final Function<AITurnSnapshot, AIDecision> fallback;
+    private final Executor workers;           // null: decide on the calling thread
+    private final ScheduledExecutorService deadlines;
+    private Pending current;
+
+    private AIDecisionService(Function<AITurnSnapshot, AIDecision> fallback, Executor workers) {
+        this.fallback = fallback;
+        this.workers = workers;
+        this.deadlines = workers == null ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "uno-ai-deadline");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Creates a service that decides on worker threads.
+     *
+     * @param fallback answers quickly when a strategy misses its deadline
+     * @return the service
+     */
+    public static AIDecisionService async(Function<AITurnSnapshot, AIDecision> fallback) {
+        return new AIDecisionService(fallback, newWorkerExecutor());
+    }
+
+    /**
+     * Creates a service that decides on the calling thread, for simulations
+     * and tests that must play deterministically on one thread. The
+     * strategy's own budget is the only time limit.
+     *
+     * @return the service
+     */
+    public static AIDecisionService direct() {
+        return new AIDecisionService(null, null);
+    }
+
+    /**
+     * Uses one virtual thread per decision when the JVM supports them
+     * (Java 21+), and a pool of daemon threads otherwise.
+     */
+    private static ExecutorService newWorkerExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "uno-ai-" + THREAD_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Starts deciding a move. Any decision still in progress is cancelled.
+     *
+     * @param snapshot the state to decide on
+     * @param strategy chooses the move
+     * @param budget the limits for this move; its time plus GRACE_MILLIS is the hard deadline
+     * @param callbackExecutor runs the callback, normally on the model's thread
+     * @param onDecision receives the chosen move
+     * @return a handle to cancel the decision
+     */
+    public Pending decide(AITurnSnapshot snapshot, AIStrategy strategy, SearchBudget budget,
+                          Executor callbackExecutor, Consumer<AIDecision> onDecision) {
+        cancel();
+
+        if (workers == null) {
+            AIDecision decision = strategy.decide(snapshot, budget);
+            callbackExecutor.execute(() -> onDecision.accept(decision));
+            return DONE;
+        }
+
+        Request request = new Request(snapshot, s -> strategy.decide(s, budget), callbackExecutor, onDecision);
+        current = request;
+        request.start(budget.getTimeMillis() + GRACE_MILLIS);
+        return request;
+    }
+
+    /**
+     * Cancels the decision in progress, if any.
+     */
+    public void cancel() {
+        Pending p = current;
+        current = null;
+        if (p != null) {
+            p.cancel();
+        }
+    }
+
+    /**
+     * Cancels the current decision and stops the service's threads.
+     */
+    public void shutdown() {
+        cancel();
+        if (workers instanceof ExecutorService) {
+            ((ExecutorService) workers).shutdownNow();
+        }
+        if (deadlines != null) {
+            deadlines.shutdownNow();
+        }
+    }
+
+    private static final Pending DONE = new Pending() {
+        public void cancel() { }
+        public boolean isDone() { return true; }
+    };
+
+    /**
+     * One asynchronous decision. Exactly one of the worker's answer, the
+     * deadline's fallback or cancel() settles it.
+     */
+    private final class Request implements Pending {
+        private final AITurnSnapshot snapshot;
+        private final Function<AITurnSnapshot, AIDecision> decider;
+        private final Executor callbackExecutor;
+        private final Consumer<AIDecision> onDecision;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile boolean cancelled = false; // also stops an answer already handed to the callback executor
+        private volatile Future<?> work;
+        private volatile ScheduledFuture<?> timeout;
+
+        Request(AITurnSnapshot snapshot, Function<AITurnSnapshot, AIDecision> decider,
+                Executor callbackExecutor, Consumer<AIDecision> onDecision) {
+            this.snapshot = snapshot;
+            this.decider = decider;
+            this.callbackExecutor = callbackExecutor;
+            this.onDecision = onDecision;
+        }
+
+        void start(long deadlineMillis) {
+            work = ((ExecutorService) workers).submit(() -> {
+                AIDecision decision;
+                try {
+                    decision = decider.apply(snapshot);
+                } catch (RuntimeException e) {
+                    System.err.println("AI decision failed, using fallback: " + e);
+                    decision = fallback.apply(snapshot);
+                }
+                deliver(decision);
+            });
+            timeout = deadlines.schedule(this::expire, deadlineMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void expire() {
+            // Claim the request first, so an answer the interrupted decider still returns is ignored
+            if (!settled.compareAndSet(false, true)) return;
+            Future<?> w = work;
+            if (w != null) w.cancel(true);
+            send(fallback.apply(snapshot));
+        }
+
+        private void deliver(AIDecision decision) {
+            if (!settled.compareAndSet(false, true)) return;
+            ScheduledFuture<?> t = timeout;
+            if (t != null) t.cancel(false);
+            send(decision);
+        }
+
+        private void send(AIDecision decision) {
+            callbackExecutor.execute(() -> {
+                if (!cancelled) onDecision.accept(decision);
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (!settled.compareAndSet(false, true)) return;
+            Future<?> w = work;
+            if (w != null) w.cancel(true);
+            ScheduledFuture<?> t = timeout;
+            if (t != null) t.cancel(false);
+        }
+
+        @Override
+        public boolean isDone() {
+            return settled.get();
+        }
+    }
+}
@@ -2,20 +2,119 @@ import java.io.Serializable;
 
 /**
  * Represents an AI player in the UNO game.
- * Extends Player class and adds AI decision-making capabilities.
+ * Extends Player class and adds AI decision-making capabilities: the
+ * AIStrategy that chooses its moves and the budget each move may use.
+ *
+ * Only the strategy's name is saved with the player; the strategy itself
+ * is created again when it is first needed after loading.
  *
  * @author G27
- * @version 2.0
+ * @version 5.0
  */
 public class AIPlayer extends Player {
     private static final long serialVersionUID = 1L;
 
+    /** Default time an AI may think about one move. */
+    public static final long DEFAULT_MOVE_TIME_MS = 500;
+    /** Default number of nodes an AI may search for one move. */
+    public static final long DEFAULT_MAX_NODES = 200_000;
+
+    private String strategyName;
+    private long moveTimeMillis = DEFAULT_MOVE_TIME_MS;
+    private long maxNodes = DEFAULT_MAX_NODES;
+    private transient AIStrategy strategy;
+
     /**
-     * Constructs a new AI Player with the specified name.
+     * Constructs a new AI Player with the specified name and the greedy
+     * baseline strategy.
      *
      * @param name the name of the AI player
      */
     public AIPlayer(String name) {
+        this(name, new GreedyStrategy());
+    }
+
+    /**
+     * Constructs a new AI Player that plays with the given strategy.
+     *
+     * @param name the name of the AI player
+     * @param strategy chooses this player's moves
+     */
+    public AIPlayer(String name, AIStrategy strategy) {
         super(name + " (AI)");
+        this.strategy = strategy;
+        this.strategyName = strategy.getName();
+    }
+
+    /**
+     * Gets the strategy that chooses this player's moves.
+     *
+     * @return the strategy
+     */
+    public synchronized AIStrategy getStrategy() {
+        if (strategy == null) {
+            strategy = AIStrategies.create(strategyName);
+        }
+        return strategy;
+    }
+
+    /**
+     * Sets the strategy that chooses this player's moves.
+     *
+     * @param strategy the new strategy
+     */
+    public synchronized void setStrategy(AIStrategy strategy) {
+        this.strategy = strategy;
+        this.strategyName = strategy.getName();
+    }
+
+    /**
+     * Gets the name of the strategy that chooses this player's moves,
+     * without creating the strategy.
+     *
+     * @return the strategy name
+     */
+    public synchronized String getStrategyName() {
+        return strategyName;
+    }
+
+    /**
+     * Gets how long one of this player's moves may take.
+     *
+     * @return the move time in milliseconds
+     */
+    public long getMoveTimeMillis() {
+        return moveTimeMillis;
+    }
+
+    /**
+     * Gets how many nodes one of this player's moves may search.
+     *
+     * @return the node limit per move
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Sets the limits for each move.
+     *
+     * @param moveTimeMillis how long one move may take
+     * @param maxNodes how many nodes one move may search
+     */
+    public void setMoveBudget(long moveTimeMillis, long maxNodes) {
+        this.moveTimeMillis = moveTimeMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Starts the budget for one move.
+     *
+     * @return a budget whose clock starts now
+     */
+    public SearchBudget newMoveBudget() {
+        // Players saved before budgets existed load with zero limits
+        return SearchBudget.startingNow(moveTimeMillis > 0 ? moveTimeMillis : DEFAULT_MOVE_TIME_MS,
+                maxNodes > 0 ? maxNodes : DEFAULT_MAX_NODES);
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,25 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Dialog for selecting the number of AI players at game start.
- * Allows selection of 1-3 AI players.
+ * Allows selection of 1-3 AI players and the strategy each AI seat plays
+ * with (any AIStrategy found through ServiceLoader).
  *
  * @author G27
- * @version 2.0
+ * @version 5.0
  */
 public class AIPlayerSelectionDialog extends JDialog {
     
+    private static final int MAX_AI_PLAYERS = 3;
+
     private int numberOfAIPlayers;
     private boolean confirmed;
     private JComboBox<Integer> AIplayerCountComboBox;
+    private final List<JComboBox<String>> strategyComboBoxes = new ArrayList<>();
+    private final List<String> selectedStrategies = new ArrayList<>();
     
     /**
      * Constructs a new PlayerSelectionDialog.
@@ -27,7 +34,7 @@ public class AIPlayerSelectionDialog extends JDialog {
         
         initializeComponents();
         
-        setSize(450, 200);
+        setSize(450, 330);
         setLocationRelativeTo(parent);
         setResizable(false);
     }
@@ -66,10 +73,25 @@ public class AIPlayerSelectionDialog extends JDialog {
         AIplayerCountComboBox.setPreferredSize(new Dimension(300, 35));
         AIplayerCountComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
         comboPanel.add(AIplayerCountComboBox);
+
+        // One strategy choice per AI seat; seats beyond the chosen count are disabled
+        JPanel strategyPanel = new JPanel(new GridLayout(MAX_AI_PLAYERS, 2, 10, 5));
+        String[] strategies = AIStrategies.availableNames().toArray(new String[0]);
+        for (int i = 1; i <= MAX_AI_PLAYERS; i++) {
+            JComboBox<String> strategyBox = new JComboBox<>(strategies);
+            strategyBox.setFont(new Font("Arial", Font.PLAIN, 14));
+            strategyPanel.add(new JLabel("AI Player " + i + " strategy:"));
+            strategyPanel.add(strategyBox);
+            strategyComboBoxes.add(strategyBox);
+        }
+        AIplayerCountComboBox.addActionListener(e -> updateStrategyBoxes());
+        updateStrategyBoxes();
         
         mainPanel.add(labelPanel);
         mainPanel.add(Box.createVerticalStrut(10));
         mainPanel.add(comboPanel);
+        mainPanel.add(Box.createVerticalStrut(10));
+        mainPanel.add(strategyPanel);
         
         add(mainPanel, BorderLayout.CENTER);
         
@@ -80,6 +102,10 @@ public class AIPlayerSelectionDialog extends JDialog {
         okButton.setPreferredSize(new Dimension(100, 30));
         okButton.addActionListener(e -> {
             numberOfAIPlayers = (Integer) AIplayerCountComboBox.getSelectedItem();
+            selectedStrategies.clear();
+            for (int i = 0; i < numberOfAIPlayers; i++) {
+                selectedStrategies.add((String) strategyComboBoxes.get(i).getSelectedItem());
+            }
             confirmed = true;
             dispose();
         });
@@ -97,6 +123,25 @@ public class AIPlayerSelectionDialog extends JDialog {
         add(buttonPanel, BorderLayout.SOUTH);
     }
     
+    /**
+     * Enables the strategy choices of the seats that will be filled.
+     */
+    private void updateStrategyBoxes() {
+        int count = (Integer) AIplayerCountComboBox.getSelectedItem();
+        for (int i = 0; i < strategyComboBoxes.size(); i++) {
+            strategyComboBoxes.get(i).setEnabled(i < count);
+        }
+    }
+
+    /**
+     * Gets the strategy names chosen for the AI seats, in seat order.
+     *
+     * @return one strategy name per AI player
+     */
+    public List<String> getSelectedStrategies() {
+        return new ArrayList<>(selectedStrategies);
+    }
+
     /**
      * Gets the selected number of AI players.
      *
@@ -122,12 +167,23 @@ public class AIPlayerSelectionDialog extends JDialog {
      * @return number of players, or -1 if cancelled
      */
     public static int showDialog(JFrame parent) {
+        List<String> strategies = showStrategyDialog(parent);
+        return strategies == null ? -1 : strategies.size();
+    }
+
+    /**
+     * Shows the dialog and returns the strategy chosen for each AI seat.
+     *
+     * @param parent the parent frame
+     * @return one strategy name per AI player, or null if cancelled
+     */
+    public static List<String> showStrategyDialog(JFrame parent) {
         AIPlayerSelectionDialog dialog = new AIPlayerSelectionDialog(parent);
         dialog.setVisible(true);
         
         if (dialog.isConfirmed()) {
-            return dialog.getNumberOfAIPlayers();
+            return dialog.getSelectedStrategies();
         }
-        return -1;
+        return null;
     }
 }
\ No newline at end of file
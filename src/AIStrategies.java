@@ -0,0 +1,79 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Finds AIStrategy implementations with ServiceLoader. The greedy baseline
+ * is always available, even when no service file is on the class path.
+ *
+ * Names are read from each class's public static String NAME, so listing
+ * the strategies creates none of them; some are costly to create (search
+ * trees, model files). A class without NAME is created once to ask it.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class AIStrategies {
+
+    private AIStrategies() {
+    }
+
+    /**
+     * Gets the names of all strategies that can be created, the default first.
+     *
+     * @return the strategy names
+     */
+    public static List<String> availableNames() {
+        List<String> names = new ArrayList<>();
+        names.add(GreedyStrategy.NAME);
+        for (ServiceLoader.Provider<AIStrategy> provider : loader()) {
+            String name = nameOf(provider);
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Creates a new instance of the named strategy.
+     *
+     * @param name the strategy name, or null for the default
+     * @return the new strategy; the greedy baseline if the name is unknown
+     */
+    public static AIStrategy create(String name) {
+        if (name != null && !GreedyStrategy.NAME.equals(name)) {
+            for (ServiceLoader.Provider<AIStrategy> provider : loader()) {
+                if (nameOf(provider).equals(name)) {
+                    return provider.get();
+                }
+            }
+            System.err.println("Unknown AI strategy '" + name + "', using " + GreedyStrategy.NAME);
+        }
+        return new GreedyStrategy();
+    }
+
+    /**
+     * Gets a provider's strategy name without creating the strategy, when
+     * its class declares NAME.
+     */
+    private static String nameOf(ServiceLoader.Provider<AIStrategy> provider) {
+        try {
+            Field field = provider.type().getField("NAME");
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                return (String) field.get(null);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            // No usable constant: ask an instance
+        }
+        return provider.get().getName();
+    }
+
+    private static List<ServiceLoader.Provider<AIStrategy>> loader() {
+        List<ServiceLoader.Provider<AIStrategy>> providers = new ArrayList<>();
+        ServiceLoader.load(AIStrategy.class).stream().forEach(providers::add);
+        return providers;
+    }
+}
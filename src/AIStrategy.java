@@ -0,0 +1,61 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A way of playing for AI players.
+ *
+ * A strategy sees only what its player may see (an AITurnSnapshot: its own
+ * hand and the face-up table) and gets a SearchBudget limiting how long and
+ * how far it may think about one move. Strategies run on worker threads
+ * (see AIDecisionService), so they must not touch the live Game.
+ *
+ * Implementations are found with java.util.ServiceLoader: list the class
+ * name in META-INF/services/AIStrategy, give it a public no-argument
+ * constructor and a public static final String NAME equal to getName(),
+ * so it can be listed without being created. Every AI seat gets its own instance, so a strategy may keep
+ * state about its game between moves.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public interface AIStrategy {
+
+    /**
+     * Gets the short name used to pick this strategy (in dialogs, command
+     * lines and saved settings).
+     *
+     * @return the strategy name
+     */
+    String getName();
+
+    /**
+     * Chooses a move. Should return within the budget's time limit and stop
+     * promptly when the thread is interrupted.
+     *
+     * @param view the AI player's view of the game
+     * @param budget how long and how far the strategy may search
+     * @return the move to make
+     */
+    AIDecision decide(AITurnSnapshot view, SearchBudget budget);
+
+    /**
+     * Tells whether moves are worth working out ahead, during other
+     * players' turns (see PonderingService). Strategies that answer
+     * instantly, or that keep state between their own moves, should not.
+     *
+     * @return true to let the AI ponder with this strategy
+     */
+    default boolean ponders() {
+        return false;
+    }
+
+    /**
+     * Gets this strategy set up to run its parallel work on the given pool
+     * instead of its own, so pondering can keep it on low-priority threads.
+     *
+     * @param pool the pool to use
+     * @return a strategy using the pool, or this if it runs on the calling thread
+     */
+    default AIStrategy onPool(ForkJoinPool pool) {
+        return this;
+    }
+}
@@ -0,0 +1,173 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of what an AI player may look at when choosing a move:
+ * its own hand, how many cards everybody else holds, and the face-up state
+ * of the table (top card, both discard piles, side and direction). Snapshots are taken on
+ * the model's thread and can then be read from any thread while the live
+ * Game keeps changing.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class AITurnSnapshot {
+
+    private final String playerName;
+    private final List<Card> hand;
+    private final Card topCard;
+    private final Card.Color wildColor;
+    private final Side side;
+    private final long stateVersion;
+    private final int seat;
+    private final int[] handSizes;
+    private final boolean clockwise;
+    private final List<Card> lightDiscard;
+    private final List<Card> darkDiscard;
+    private final CardTracker tracker;
+
+    /**
+     * Creates a snapshot of a two-player table where nothing but the top
+     * card has been played and the opponent holds a starting hand.
+     *
+     * @param playerName the player to move
+     * @param hand that player's cards
+     * @param topCard the top of the discard pile
+     * @param wildColor the active light wild color, or null
+     * @param side the side in play
+     * @param stateVersion the model version the snapshot was taken at
+     */
+    public AITurnSnapshot(String playerName, List<Card> hand, Card topCard,
+                          Card.Color wildColor, Side side, long stateVersion) {
+        this(playerName, hand, topCard, wildColor, side, stateVersion, 0, new int[] {hand.size(), 7}, true,
+                topCard == null || side != Side.LIGHT ? Collections.emptyList() : List.of(topCard),
+                topCard == null || side != Side.DARK ? Collections.emptyList() : List.of(topCard));
+    }
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param playerName the player to move
+     * @param hand that player's cards
+     * @param topCard the top of the discard pile
+     * @param wildColor the active light wild color, or null
+     * @param side the side in play
+     * @param stateVersion the model version the snapshot was taken at
+     * @param seat the moving player's seat index
+     * @param handSizes the number of cards held in every seat
+     * @param clockwise true if play moves to increasing seat indexes
+     * @param lightDiscard the light discard pile, bottom first
+     * @param darkDiscard the dark discard pile, bottom first
+     */
+    public AITurnSnapshot(String playerName, List<Card> hand, Card topCard,
+                          Card.Color wildColor, Side side, long stateVersion,
+                          int seat, int[] handSizes, boolean clockwise,
+                          List<Card> lightDiscard, List<Card> darkDiscard) {
+        this(playerName, hand, topCard, wildColor, side, stateVersion, seat, handSizes, clockwise,
+                lightDiscard, darkDiscard, null);
+    }
+
+    /**
+     * Creates a snapshot with the counts of the cards the player has not seen.
+     *
+     * @param playerName the player to move
+     * @param hand that player's cards
+     * @param topCard the top of the discard pile
+     * @param wildColor the active light wild color, or null
+     * @param side the side in play
+     * @param stateVersion the model version the snapshot was taken at
+     * @param seat the moving player's seat index
+     * @param handSizes the number of cards held in every seat
+     * @param clockwise true if play moves to increasing seat indexes
+     * @param lightDiscard the light discard pile, bottom first
+     * @param darkDiscard the dark discard pile, bottom first
+     * @param tracker a copy of the game's card tracker, or null; the snapshot owns it
+     */
+    public AITurnSnapshot(String playerName, List<Card> hand, Card topCard,
+                          Card.Color wildColor, Side side, long stateVersion,
+                          int seat, int[] handSizes, boolean clockwise,
+                          List<Card> lightDiscard, List<Card> darkDiscard, CardTracker tracker) {
+        this.playerName = playerName;
+        this.hand = List.copyOf(hand);
+        this.topCard = topCard;
+        this.wildColor = wildColor;
+        this.side = side;
+        this.stateVersion = stateVersion;
+        this.seat = seat;
+        this.handSizes = handSizes.clone();
+        this.clockwise = clockwise;
+        this.lightDiscard = List.copyOf(lightDiscard);
+        this.darkDiscard = List.copyOf(darkDiscard);
+        this.tracker = tracker;
+    }
+
+    /**
+     * Takes a snapshot of the current player's view of the game. Must be
+     * called on the thread that owns the model.
+     *
+     * @param game the live game
+     * @return the snapshot
+     */
+    public static AITurnSnapshot of(Game game) {
+        Player cur = game.getCurrentPlayer();
+        int[] handSizes = new int[game.getPlayerCount()];
+        for (int i = 0; i < handSizes.length; i++) {
+            handSizes[i] = game.getPlayer(i).getHand().getSize();
+        }
+        return new AITurnSnapshot(cur.getName(), cur.getHand().getCardsList(), game.getTopCard(),
+                game.getTopWildColor(), game.getCurrentSide(), game.getStateVersion(),
+                game.getCurrentPlayerIndex(), handSizes, game.isClockwise(),
+                game.getDiscardPile(Side.LIGHT), game.getDiscardPile(Side.DARK),
+                game.getCardTracker().copy());
+    }
+
+    public String getPlayerName() { return playerName; }
+    public List<Card> getHand() { return hand; }
+    public Card getTopCard() { return topCard; }
+    public Card.Color getWildColor() { return wildColor; }
+    public Side getSide() { return side; }
+    public long getStateVersion() { return stateVersion; }
+    public int getSeat() { return seat; }
+    public int getPlayerCount() { return handSizes.length; }
+    public boolean isClockwise() { return clockwise; }
+
+    /**
+     * Gets how many cards a seat holds.
+     *
+     * @param seat the seat index
+     * @return the hand size
+     */
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * Gets a side's face-up discard pile.
+     *
+     * @param side the side
+     * @return the pile, bottom card first
+     */
+    public List<Card> getDiscardPile(Side side) {
+        return side == Side.LIGHT ? lightDiscard : darkDiscard;
+    }
+
+    /**
+     * Gets the counts of the cards this player has not seen. Ask it with
+     * getSeat() as the observer.
+     *
+     * @return the card tracker, or null if the snapshot was built without one
+     */
+    public CardTracker getCardTracker() {
+        return tracker;
+    }
+
+    /**
+     * Checks whether a card from the hand may be played in this state.
+     *
+     * @param card the card
+     * @return true if it is a legal play
+     */
+    public boolean isPlayable(Card card) {
+        return Rules.isValidPlay(card, topCard, wildColor, side);
+    }
+}
@@ -0,0 +1,185 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps a GameStateListener so that it is called on another thread instead of
+ * the thread that changed the model.
+ *
+ * Two modes are available:
+ * - onExecutor / onEventDispatchThread: every event is handed to an executor
+ *   such as the Swing event queue, so views and popups run on the UI thread
+ *   and the model never waits on a dialog.
+ * - onWorkerThread: events go into a bounded queue drained by the listener's
+ *   own daemon thread (for loggers, metrics, network, ...). When the queue is
+ *   full the chosen OverflowPolicy decides what happens.
+ *
+ * Events are frozen before they are published, so the same instance can be
+ * read safely from any thread. Wrappers are added with
+ * Game.addGameStateListener like any other listener; removing the wrapper
+ * from the game stops its worker thread.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class AsyncGameStateListener implements GameStateListener {
+
+    /** What a worker-thread listener does when its queue is full. */
+    public enum OverflowPolicy {
+        /** The publishing thread waits for room. Nothing is lost, but a slow listener slows the model. */
+        BLOCK,
+        /** The new event is discarded. */
+        DROP_NEWEST,
+        /** The oldest queued event is discarded to make room, so the listener always ends on the latest state. */
+        DROP_OLDEST
+    }
+
+    private final GameStateListener delegate;
+    private final Executor executor;                   // set when dispatching to an executor
+    private final BlockingQueue<GameStateEvent> queue; // set when running on a worker thread
+    private final OverflowPolicy policy;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean closed = false;
+
+    private AsyncGameStateListener(GameStateListener delegate, Executor executor, String name,
+                                   int capacity, OverflowPolicy policy) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.policy = policy;
+        if (executor != null) {
+            this.queue = null;
+            this.worker = null;
+        } else {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::drain, name);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+    }
+
+    /**
+     * Creates a listener that receives every event on the Swing event dispatch thread.
+     *
+     * @param delegate the listener to call
+     * @return the wrapping listener
+     */
+    public static AsyncGameStateListener onEventDispatchThread(GameStateListener delegate) {
+        return onExecutor(delegate, javax.swing.SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Creates a listener that receives every event through the given executor,
+     * in publishing order as long as the executor runs tasks in order.
+     *
+     * @param delegate the listener to call
+     * @param executor runs each delivery (e.g. on a UI thread)
+     * @return the wrapping listener
+     */
+    public static AsyncGameStateListener onExecutor(GameStateListener delegate, Executor executor) {
+        return new AsyncGameStateListener(delegate, executor, null, 0, null);
+    }
+
+    /**
+     * Creates a listener that receives events on its own daemon thread.
+     *
+     * @param delegate the listener to call
+     * @param name the worker thread's name
+     * @param capacity how many events may wait in the queue
+     * @param policy what to do when the queue is full
+     * @return the wrapping listener
+     */
+    public static AsyncGameStateListener onWorkerThread(GameStateListener delegate, String name,
+                                                        int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        return new AsyncGameStateListener(delegate, null, name, capacity, policy);
+    }
+
+    /**
+     * Queues the event for the wrapped listener and returns straight away
+     * (unless the queue is full and the policy is BLOCK).
+     *
+     * @param event the published state
+     */
+    @Override
+    public void gameStateChanged(GameStateEvent event) {
+        if (closed) return;
+        if (executor != null) {
+            executor.execute(() -> {
+                if (!closed) delegate.gameStateChanged(event);
+            });
+            return;
+        }
+
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                }
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(event)) {
+                    dropped.incrementAndGet();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(event)) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+        }
+    }
+
+    private void drain() {
+        while (!closed) {
+            GameStateEvent event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                delegate.gameStateChanged(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error in game state listener " + worker.getName() + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of events discarded because the queue was full.
+     *
+     * @return the dropped event count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of events waiting to be delivered.
+     *
+     * @return the queue length, always 0 for executor listeners
+     */
+    public int getPendingCount() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Stops delivering events. Events still queued are discarded and the
+     * worker thread exits. Called automatically when the listener is removed.
+     */
+    public void close() {
+        closed = true;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
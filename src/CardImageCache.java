@@ -0,0 +1,145 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered card faces for the hand view.
+ *
+ * Each distinct face (colour + value) is drawn into a BufferedImage the first
+ * time it is needed and reused after that, so painting a hand is one
+ * drawImage call per card. The images are built for one card size; asking
+ * for a different size (e.g. after the window was resized) drops the cached
+ * faces and they are redrawn crisply at the new size on demand.
+ *
+ * Also owns the colour table shared by every part of the view that shows
+ * a card colour.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class CardImageCache {
+
+    private static final Map<Card.Color, Color> CARD_COLORS = new EnumMap<>(Card.Color.class);
+    static {
+        CARD_COLORS.put(Card.Color.RED, new Color(255, 80, 80));
+        CARD_COLORS.put(Card.Color.BLUE, new Color(87, 151, 246));
+        CARD_COLORS.put(Card.Color.GREEN, new Color(69, 246, 129));
+        CARD_COLORS.put(Card.Color.YELLOW, new Color(255, 220, 80));
+        CARD_COLORS.put(Card.Color.PURPLE, new Color(182, 52, 207));
+        CARD_COLORS.put(Card.Color.ORANGE, new Color(244, 109, 82));
+        CARD_COLORS.put(Card.Color.PINK, new Color(241, 111, 194));
+        CARD_COLORS.put(Card.Color.TEAL, new Color(0, 143, 134));
+    }
+
+    private static final int COLOR_SLOTS = Card.Color.values().length + 1; // + colourless (wild)
+    private static final int BORDER = 3;
+
+    private final BufferedImage[] faces = new BufferedImage[Card.Value.values().length * COLOR_SLOTS];
+    private int width = -1;
+    private int height = -1;
+    private int rendered = 0;
+
+    /**
+     * Converts a card colour to the colour used on screen.
+     *
+     * @param color the card colour
+     * @return the display colour, white for an unknown colour
+     */
+    public static Color colorFor(Card.Color color) {
+        Color c = color == null ? null : CARD_COLORS.get(color);
+        return c != null ? c : Color.WHITE;
+    }
+
+    /**
+     * Gets the background colour of a card face (black for wild cards).
+     *
+     * @param card the card
+     * @return the card's background colour
+     */
+    public static Color backgroundFor(Card card) {
+        return card.getColor() == null ? Color.BLACK : colorFor(card.getColor());
+    }
+
+    /**
+     * Gets the text colour that reads well on a card face.
+     *
+     * @param card the card
+     * @return black on yellow cards, white otherwise
+     */
+    public static Color foregroundFor(Card card) {
+        return card.getColor() == Card.Color.YELLOW ? Color.BLACK : Color.WHITE;
+    }
+
+    /**
+     * Gets the image of a card face at the given size, drawing it if needed.
+     *
+     * @param card the card to show
+     * @param width the card width in pixels
+     * @param height the card height in pixels
+     * @return the card face image
+     */
+    public BufferedImage get(Card card, int width, int height) {
+        if (width != this.width || height != this.height) {
+            Arrays.fill(faces, null);
+            this.width = width;
+            this.height = height;
+        }
+        int key = card.getValue().ordinal() * COLOR_SLOTS
+                + (card.getColor() == null ? 0 : card.getColor().ordinal() + 1);
+        BufferedImage img = faces[key];
+        if (img == null) {
+            img = render(card, width, height);
+            faces[key] = img;
+            rendered++;
+        }
+        return img;
+    }
+
+    /**
+     * Gets how many face images have been drawn so far (including redraws
+     * after a size change).
+     *
+     * @return the number of rendered faces
+     */
+    public int getRenderCount() {
+        return rendered;
+    }
+
+    private static BufferedImage render(Card card, int width, int height) {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            int arc = Math.max(6, width / 8);
+            g.setColor(Color.BLACK);
+            g.fillRoundRect(0, 0, width, height, arc, arc);
+            g.setColor(backgroundFor(card));
+            g.fillRoundRect(BORDER, BORDER, width - 2 * BORDER, height - 2 * BORDER, arc, arc);
+
+            g.setColor(foregroundFor(card));
+            String value = card.getValue().toString().replace("_", " ");
+            Font valueFont = new Font("Arial", Font.BOLD, Math.max(9, width / 10));
+            if (card.getColor() == null) {
+                drawCentered(g, value, valueFont, width, height / 2);
+            } else {
+                Font colorFont = valueFont.deriveFont(Font.PLAIN);
+                drawCentered(g, card.getColor().toString(), colorFont, width, height / 2 - valueFont.getSize());
+                drawCentered(g, value, valueFont, width, height / 2 + valueFont.getSize() / 2);
+            }
+        } finally {
+            g.dispose();
+        }
+        return img;
+    }
+
+    private static void drawCentered(Graphics2D g, String text, Font font, int width, int baseline) {
+        g.setFont(font);
+        FontMetrics fm = g.getFontMetrics();
+        int x = (width - fm.stringWidth(text)) / 2;
+        g.drawString(text, Math.max(BORDER + 2, x), baseline);
+    }
+}
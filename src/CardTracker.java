@@ -0,0 +1,347 @@
+import java.util.List;
+
+/**
+ * Counts which cards each player has not seen, side by side.
+ *
+ * A player has seen its own hand, both discard piles and the top card
+ * turned face up by a flip. Every other card of a side (in the draw pile
+ * or in another player's hand) is unseen. Game keeps one tracker and
+ * updates it as cards are played, drawn, flipped and reshuffled, keeping
+ * the seen cards counted by card, by color and by side. That way questions
+ * about the unseen cards are answered from a few counters instead of
+ * scanning piles and hands.
+ *
+ * Unseen counts are the side's full composition minus what was seen and
+ * never go below zero. Cards flipped into hands belong to no deck in this
+ * game, so counts for them are an estimate.
+ *
+ * A tracker belongs to the thread that owns the Game; hand a copy() to
+ * other threads.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class CardTracker {
+
+    private static final Card.Color[] COLORS = Card.Color.values();
+    private static final Card.Value[] VALUES = Card.Value.values();
+    private static final int COLOR_SLOTS = COLORS.length + 1;
+    private static final int CODES = VALUES.length * COLOR_SLOTS;
+    private static final int SIDES = Side.values().length;
+
+    private static final int[] COMPOSITION = new int[CODES];
+    private static final int[] SIDE_OF = new int[CODES];
+    private static final int[] SIDE_TOTAL = new int[SIDES];
+    private static final int[] COLOR_TOTAL = new int[COLOR_SLOTS];
+    private static final int[][] WILDS = new int[SIDES][];
+    private static final int[][] FLIPPED = new int[SIDES][CODES]; // [new side][code]
+
+    static {
+        count(Rules.lightSideCards(), Side.LIGHT);
+        count(Rules.darkSideCards(), Side.DARK);
+        for (int code = 0; code < CODES; code++) {
+            int slot = code % COLOR_SLOTS;
+            Card card = new Card(slot == 0 ? null : COLORS[slot - 1], VALUES[code / COLOR_SLOTS]);
+            for (Side side : Side.values()) {
+                FLIPPED[side.ordinal()][code] = GameCodec.cardCode(Rules.flipCard(card, side));
+            }
+        }
+        WILDS[Side.LIGHT.ordinal()] = new int[] {
+                GameCodec.cardCode(new Card(null, Card.Value.WILD)),
+                GameCodec.cardCode(new Card(null, Card.Value.WILD_DRAW_TWO))};
+        WILDS[Side.DARK.ordinal()] = new int[] {
+                GameCodec.cardCode(new Card(null, Card.Value.WILD_DRAW_COLOR))};
+    }
+
+    private static void count(List<Card> cards, Side side) {
+        for (Card c : cards) {
+            int code = GameCodec.cardCode(c);
+            COMPOSITION[code]++;
+            SIDE_OF[code] = side.ordinal();
+            SIDE_TOTAL[side.ordinal()]++;
+            COLOR_TOTAL[code % COLOR_SLOTS]++;
+        }
+    }
+
+    // Face-up cards: both discard piles, plus a top card revealed by a flip
+    private final int[] seen = new int[CODES];
+    private final int[] seenByColor = new int[COLOR_SLOTS];
+    private final int[] seenBySide = new int[SIDES];
+    private int revealedTop = -1;
+
+    // Every seat's hand
+    private final int[][] held;
+    private final int[][] heldByColor;
+    private final int[][] heldBySide;
+    private final int[] handSize;
+
+    private CardTracker(int players) {
+        held = new int[players][CODES];
+        heldByColor = new int[players][COLOR_SLOTS];
+        heldBySide = new int[players][SIDES];
+        handSize = new int[players];
+    }
+
+    /**
+     * Builds a tracker from a game's hands and piles. Must be called on the
+     * thread that owns the game.
+     *
+     * @param game the game
+     * @return the tracker
+     */
+    public static CardTracker of(Game game) {
+        CardTracker t = new CardTracker(game.getPlayerCount());
+        for (int seat = 0; seat < game.getPlayerCount(); seat++) {
+            for (Card c : game.getPlayer(seat).getHand().getCardsList()) {
+                t.onDraw(seat, c);
+            }
+        }
+        for (Side side : Side.values()) {
+            for (Card c : game.getDiscardPile(side)) {
+                t.addSeen(GameCodec.cardCode(c), 1);
+            }
+        }
+        Card top = game.getTopCard();
+        if (isRevealed(top, game.getDiscardPile(game.getCurrentSide()))) {
+            t.reveal(top);
+        }
+        return t;
+    }
+
+    // A top card that is not the last card of its discard pile was turned up by a flip
+    private static boolean isRevealed(Card top, List<Card> pile) {
+        if (top == null) return false;
+        if (pile.isEmpty()) return true;
+        Card last = pile.get(pile.size() - 1);
+        return last.getValue() != top.getValue() || last.getColor() != top.getColor();
+    }
+
+    /**
+     * Copies the tracker, for a snapshot read on another thread.
+     *
+     * @return an independent copy
+     */
+    public CardTracker copy() {
+        CardTracker t = new CardTracker(handSize.length);
+        System.arraycopy(seen, 0, t.seen, 0, CODES);
+        System.arraycopy(seenByColor, 0, t.seenByColor, 0, COLOR_SLOTS);
+        System.arraycopy(seenBySide, 0, t.seenBySide, 0, SIDES);
+        t.revealedTop = revealedTop;
+        for (int p = 0; p < handSize.length; p++) {
+            System.arraycopy(held[p], 0, t.held[p], 0, CODES);
+            System.arraycopy(heldByColor[p], 0, t.heldByColor[p], 0, COLOR_SLOTS);
+            System.arraycopy(heldBySide[p], 0, t.heldBySide[p], 0, SIDES);
+        }
+        System.arraycopy(handSize, 0, t.handSize, 0, handSize.length);
+        return t;
+    }
+
+    // ---------------------------------------------------------------
+    // Updates
+    // ---------------------------------------------------------------
+
+    /**
+     * Records a card added to a hand.
+     *
+     * @param seat the player's seat
+     * @param card the card
+     */
+    public void onDraw(int seat, Card card) {
+        addHeld(seat, GameCodec.cardCode(card), 1);
+    }
+
+    /**
+     * Records a card played from a hand onto the discard pile.
+     *
+     * @param seat the player's seat
+     * @param card the card
+     */
+    public void onPlay(int seat, Card card) {
+        int code = GameCodec.cardCode(card);
+        addHeld(seat, code, -1);
+        addSeen(code, 1);
+        // A revealed top is covered; the game does not keep it in any pile
+        if (revealedTop >= 0) {
+            addSeen(revealedTop, -1);
+            revealedTop = -1;
+        }
+    }
+
+    /**
+     * Records a flip: every hand turns to the new side and the top card
+     * shows its other face.
+     *
+     * @param newSide the side now in play
+     * @param newTop the top card after flipping
+     * @param newPile the new side's discard pile; a top card equal to its
+     *        last card is counted once, as of() does
+     */
+    public void onFlip(Side newSide, Card newTop, List<Card> newPile) {
+        int[] flip = FLIPPED[newSide.ordinal()];
+        int[] before = new int[CODES];
+        for (int p = 0; p < handSize.length; p++) {
+            System.arraycopy(held[p], 0, before, 0, CODES);
+            for (int code = 0; code < CODES; code++) {
+                if (before[code] > 0) addHeld(p, code, -before[code]);
+            }
+            for (int code = 0; code < CODES; code++) {
+                if (before[code] > 0) addHeld(p, flip[code], before[code]);
+            }
+        }
+        if (revealedTop >= 0) {
+            addSeen(revealedTop, -1);
+            revealedTop = -1;
+        }
+        if (isRevealed(newTop, newPile)) {
+            reveal(newTop);
+        }
+    }
+
+    /**
+     * Records a reshuffle: cards of a discard pile went back into the draw
+     * pile and are unseen again.
+     *
+     * @param returned the cards taken off the discard pile
+     */
+    public void onReshuffle(List<Card> returned) {
+        for (Card c : returned) {
+            addSeen(GameCodec.cardCode(c), -1);
+        }
+    }
+
+    private void reveal(Card top) {
+        revealedTop = GameCodec.cardCode(top);
+        addSeen(revealedTop, 1);
+    }
+
+    private void addSeen(int code, int n) {
+        seen[code] += n;
+        seenByColor[code % COLOR_SLOTS] += n;
+        seenBySide[SIDE_OF[code]] += n;
+    }
+
+    private void addHeld(int seat, int code, int n) {
+        held[seat][code] += n;
+        heldByColor[seat][code % COLOR_SLOTS] += n;
+        heldBySide[seat][SIDE_OF[code]] += n;
+        handSize[seat] += n;
+    }
+
+    // ---------------------------------------------------------------
+    // Questions
+    // ---------------------------------------------------------------
+
+    /**
+     * Gets how many copies of a card a player has not seen.
+     *
+     * @param observer the player's seat
+     * @param card the card
+     * @return the unseen copies
+     */
+    public int unseen(int observer, Card card) {
+        return unseen(observer, GameCodec.cardCode(card));
+    }
+
+    /**
+     * Gets how many copies of a card code a player has not seen.
+     *
+     * @param observer the player's seat
+     * @param code the card code (see GameCodec.cardCode)
+     * @return the unseen copies
+     */
+    int unseen(int observer, int code) {
+        return Math.max(0, COMPOSITION[code] - seen[code] - held[observer][code]);
+    }
+
+    /**
+     * Gets how many cards of a side a player has not seen.
+     *
+     * @param observer the player's seat
+     * @param side the side
+     * @return the unseen cards
+     */
+    public int unseenCount(int observer, Side side) {
+        int s = side.ordinal();
+        return Math.max(0, SIDE_TOTAL[s] - seenBySide[s] - heldBySide[observer][s]);
+    }
+
+    /**
+     * Gets how many cards of a color a player has not seen.
+     *
+     * @param observer the player's seat
+     * @param color the color, or null for the colorless wild cards of both sides
+     * @return the unseen cards
+     */
+    public int unseenOfColor(int observer, Card.Color color) {
+        int slot = color == null ? 0 : color.ordinal() + 1;
+        return Math.max(0, COLOR_TOTAL[slot] - seenByColor[slot] - heldByColor[observer][slot]);
+    }
+
+    /**
+     * Gets the chance, for a player, that the next card drawn has a color.
+     * The unseen cards of the color's side are taken as equally likely to
+     * be on top of the draw pile.
+     *
+     * @param observer the player's seat
+     * @param color a light or dark color
+     * @return the probability, 0 when no cards of that side are unseen
+     */
+    public double probabilityNextDrawIs(int observer, Card.Color color) {
+        int total = unseenCount(observer, sideOf(color));
+        return total == 0 ? 0.0 : (double) Math.min(total, unseenOfColor(observer, color)) / total;
+    }
+
+    /**
+     * Gets how many cards a player expects to draw until one has a color,
+     * counting the matching card: with n unseen cards of which k match,
+     * drawing without replacement takes (n + 1) / (k + 1) draws on average.
+     *
+     * @param observer the player's seat
+     * @param color a light or dark color
+     * @return the expected number of draws, infinite if no such card is unseen
+     */
+    public double expectedDrawsUntil(int observer, Card.Color color) {
+        int total = unseenCount(observer, sideOf(color));
+        int matching = Math.min(total, unseenOfColor(observer, color));
+        return matching == 0 ? Double.POSITIVE_INFINITY : (total + 1.0) / (matching + 1.0);
+    }
+
+    /**
+     * Gets the chance, for a player, that an opponent holds at least one
+     * wild card of a side. The opponent's cards are taken as a random draw
+     * from the unseen cards of that side. Takes time proportional to the
+     * opponent's hand size.
+     *
+     * @param observer the player's seat
+     * @param opponent the opponent's seat
+     * @param side the side in play
+     * @return the probability
+     */
+    public double probabilityHoldsWild(int observer, int opponent, Side side) {
+        int total = unseenCount(observer, side);
+        int wilds = 0;
+        for (int code : WILDS[side.ordinal()]) wilds += unseen(observer, code);
+        wilds = Math.min(wilds, total);
+        int cards = Math.min(handSize[opponent], total);
+        // P(no wild) = C(total - wilds, cards) / C(total, cards)
+        double none = 1.0;
+        for (int i = 0; i < cards && none > 0; i++) {
+            none *= (double) Math.max(0, total - wilds - i) / (total - i);
+        }
+        return 1.0 - none;
+    }
+
+    /**
+     * Gets how many cards a seat holds.
+     *
+     * @param seat the seat
+     * @return the hand size
+     */
+    public int getHandSize(int seat) {
+        return handSize[seat];
+    }
+
+    private static Side sideOf(Card.Color color) {
+        return Rules.isDarkColor(color) ? Side.DARK : Side.LIGHT;
+    }
+}
@@ -0,0 +1,63 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Small pool of direct ByteBuffers used by the save/load code.
+ *
+ * Direct buffers are expensive to allocate and are only freed by the garbage
+ * collector, so every save borrows one from here and hands it back when the
+ * bytes are on disk. Once the pool holds a buffer big enough for a save file,
+ * saving no longer allocates any buffer memory.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class DirectBufferPool {
+
+    /** Capacity of a freshly allocated buffer; a whole base image fits easily. */
+    public static final int DEFAULT_CAPACITY = 4 * 1024;
+
+    private static final int MAX_POOLED = 16;
+
+    // ArrayDeque rather than a concurrent queue: push/pop never allocate
+    private static final ArrayDeque<ByteBuffer> POOL = new ArrayDeque<>();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Borrows a cleared buffer with at least the requested capacity.
+     *
+     * @param minCapacity the smallest acceptable capacity in bytes
+     * @return a direct buffer positioned at 0 with its limit at its capacity
+     */
+    public static ByteBuffer acquire(int minCapacity) {
+        synchronized (POOL) {
+            int n = POOL.size();
+            for (int i = 0; i < n; i++) {
+                ByteBuffer buf = POOL.pollFirst();
+                if (buf.capacity() >= minCapacity) {
+                    buf.clear();
+                    return buf;
+                }
+                POOL.addLast(buf);
+            }
+        }
+        return ByteBuffer.allocateDirect(Math.max(minCapacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Returns a buffer to the pool. Only buffers obtained from acquire may be
+     * released.
+     *
+     * @param buf the buffer to give back, may be null
+     */
+    public static void release(ByteBuffer buf) {
+        if (buf == null || !buf.isDirect()) return;
+        synchronized (POOL) {
+            if (POOL.size() < MAX_POOLED) {
+                POOL.addFirst(buf);
+            }
+        }
+    }
+}
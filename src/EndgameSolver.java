@@ -0,0 +1,372 @@
+import java.util.SplittableRandom;
+
+/**
+ * Solves endgames exactly: positions where all players together hold only
+ * a few cards.
+ *
+ * The solver deals the cards this player cannot see into a number of
+ * random but consistent arrangements (see PlayoutSimulator). With the
+ * hands and the draw pile order fixed, each deal is a game of perfect
+ * information, which is searched with alpha-beta to the end of the round:
+ * this player maximizes its result and the opponents play against it
+ * (for two players this is plain minimax). Positions met twice are
+ * looked up in a bounded transposition table keyed by a Zobrist hash of
+ * the position (see StateHash).
+ *
+ * Each deal is searched with iterative deepening and gets an equal share
+ * of the time left: if the round cannot be played out within it, the
+ * deepest finished iteration counts, with a card-points estimate at its
+ * horizon. The move with the best
+ * average over the deals is played; its average is the expected score
+ * swing (points won, or minus points given away, at the end of the round).
+ *
+ * The controller switches any AI player to the solver once appliesTo is
+ * true. It runs on the deciding thread only, so a move uses one core.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class EndgameSolver implements AIStrategy {
+
+    /** The name this strategy reports. */
+    public static final String NAME = "endgame";
+
+    /** Default largest total number of cards in all hands for which the solver takes over. */
+    public static final int DEFAULT_MAX_CARDS = 8;
+
+    /** Default number of transposition table entries, as a power of two. */
+    public static final int DEFAULT_TABLE_BITS = 16;
+
+    /** Default number of deals averaged for one move. */
+    public static final int DEFAULT_DEALS = 24;
+
+    /** Deepest search, in moves. */
+    static final int MAX_DEPTH = 40;
+
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+    private static final int HORIZON = 4; // flag bit: the value depends on a horizon estimate
+    private static final int CHECK_EVERY = 1024;
+
+    /** The outcome of a solve. */
+    public static final class Result {
+        private final AIDecision decision;
+        private final double expectedScore;
+        private final int deals;
+        private final boolean exact;
+
+        Result(AIDecision decision, double expectedScore, int deals, boolean exact) {
+            this.decision = decision;
+            this.expectedScore = expectedScore;
+            this.deals = deals;
+            this.exact = exact;
+        }
+
+        /** @return the best move found */
+        public AIDecision getDecision() { return decision; }
+
+        /** @return the best move's average round result for this player, in points */
+        public double getExpectedScore() { return expectedScore; }
+
+        /** @return how many deals were searched */
+        public int getDeals() { return deals; }
+
+        /** @return true if every deal was searched to the end of the round */
+        public boolean isExact() { return exact; }
+
+        @Override
+        public String toString() {
+            return decision + " (" + String.format("%+.1f", expectedScore) + " points over " + deals
+                    + " deals" + (exact ? ", exact)" : ")");
+        }
+    }
+
+    private final int maxCards;
+    private final int deals;
+    private final SplittableRandom random;
+
+    // Transposition table, one entry per slot, replaced when a new position needs the slot;
+    // allocated by the first solve, so controllers that never reach an endgame don't pay for it
+    private final int tableMask;
+    private long[] tableKeys;
+    private int[] tableValues;
+    private int[] tableMoves;
+    private byte[] tableDepths;
+    private byte[] tableFlags;
+
+    private final int[][] moves = new int[MAX_DEPTH + 1][PlayoutSimulator.MOVES + 1];
+    private PlayoutSimulator.Saved[] saved = new PlayoutSimulator.Saved[0];
+
+    // Per-search state
+    private PlayoutSimulator sim;
+    private SearchBudget budget;
+    private int me;
+    private int players;
+    private long salt;
+    private long nodes;
+    private boolean aborted;
+    private boolean horizonHit;
+
+    private Result lastResult;
+
+    /**
+     * Creates a solver with the default table size and deal count. The
+     * system property uno.endgameCards sets the threshold (0 turns the
+     * solver off).
+     */
+    public EndgameSolver() {
+        this(Integer.getInteger("uno.endgameCards", DEFAULT_MAX_CARDS), DEFAULT_TABLE_BITS, DEFAULT_DEALS,
+                new SplittableRandom());
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param maxCards the largest total hand size the solver takes over at, 0 for never
+     * @param tableBits the transposition table has 2^tableBits entries
+     * @param deals how many deals to average for one move
+     * @param random deals the unseen cards; seed it for repeatable play
+     */
+    public EndgameSolver(int maxCards, int tableBits, int deals, SplittableRandom random) {
+        if (maxCards < 0 || tableBits < 1 || tableBits > 28 || deals < 1) {
+            throw new IllegalArgumentException("Invalid endgame solver settings");
+        }
+        this.maxCards = maxCards;
+        this.deals = deals;
+        this.random = random;
+        tableMask = (1 << tableBits) - 1;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /** Solving takes the whole budget and keeps nothing between moves. */
+    @Override
+    public boolean ponders() {
+        return true;
+    }
+
+    public int getMaxCards() {
+        return maxCards;
+    }
+
+    /**
+     * Checks whether a position is small enough for the solver.
+     *
+     * @param view the AI player's view
+     * @return true if all hands together hold at most getMaxCards() cards
+     */
+    public boolean appliesTo(AITurnSnapshot view) {
+        if (maxCards == 0 || view.getTopCard() == null) return false;
+        int cards = 0;
+        for (int seat = 0; seat < view.getPlayerCount(); seat++) {
+            cards += view.getHandSize(seat);
+        }
+        return cards <= maxCards;
+    }
+
+    /**
+     * Gets the result of the last solve.
+     *
+     * @return the result, or null before the first solve
+     */
+    public synchronized Result getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        if (!appliesTo(view)) {
+            return GreedyStrategy.choose(view);
+        }
+        Result r = solve(view, budget);
+        return r == null ? GreedyStrategy.choose(view) : r.getDecision();
+    }
+
+    /**
+     * Searches the position.
+     *
+     * @param view the AI player's view
+     * @param budget limits the search; nodes are positions searched
+     * @return the best move and its expected score, or null if the budget
+     *         ran out before one search iteration finished
+     */
+    public synchronized Result solve(AITurnSnapshot view, SearchBudget budget) {
+        this.budget = budget;
+        this.me = view.getSeat();
+        this.players = view.getPlayerCount();
+        this.sim = new PlayoutSimulator(PlayoutSimulator.Table.of(view), random);
+        sim.setReshuffles(false);
+        if (tableKeys == null) {
+            int size = tableMask + 1;
+            tableKeys = new long[size];
+            tableValues = new int[size];
+            tableMoves = new int[size];
+            tableDepths = new byte[size];
+            tableFlags = new byte[size];
+        }
+        if (saved.length == 0 || saved[0].getPlayerCount() != players) {
+            saved = new PlayoutSimulator.Saved[MAX_DEPTH + 1];
+            for (int i = 0; i < saved.length; i++) saved[i] = new PlayoutSimulator.Saved(players);
+        }
+        nodes = 0;
+        aborted = false;
+
+        sim.reset();
+        int[] rootMoves = new int[PlayoutSimulator.MOVES + 1];
+        int count = sim.legalMoves(rootMoves);
+        long[] sums = new long[count];
+        int searched = 0;
+        boolean exact = true;
+
+        int[] values = new int[count];
+        int[] finished = new int[count];
+        for (int deal = 0; deal < deals && !aborted; deal++) {
+            if (deal > 0) sim.reset();
+            salt = random.nextLong();
+            // Each deal gets a fair share of the time left for starting deeper iterations
+            long share = budget.getRemainingMillis() / (deals - deal);
+            long dealStart = System.nanoTime();
+            boolean complete = false;
+            boolean dealExact = false;
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+                if (complete && (System.nanoTime() - dealStart) / 1_000_000L >= share) break;
+                horizonHit = false;
+                sim.save(saved[0]);
+                for (int i = 0; i < count && !aborted; i++) {
+                    int winner = sim.apply(rootMoves[i]);
+                    values[i] = winner >= 0 ? outcome(winner) : search(1, depth - 1,
+                            Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+                    sim.restore(saved[0]);
+                }
+                if (aborted) break;
+                System.arraycopy(values, 0, finished, 0, count);
+                complete = true;
+                if (!horizonHit) {
+                    dealExact = true;
+                    break;
+                }
+            }
+            if (!complete) break;
+            for (int i = 0; i < count; i++) sums[i] += finished[i];
+            searched++;
+            exact &= dealExact;
+        }
+        if (searched == 0) {
+            return null;
+        }
+
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            if (PlayoutSimulator.toDecision(view, rootMoves[i]) == null) continue;
+            if (best < 0 || sums[i] > sums[best]) best = i;
+        }
+        if (best < 0) {
+            return null;
+        }
+        lastResult = new Result(PlayoutSimulator.toDecision(view, rootMoves[best]),
+                (double) sums[best] / searched, searched, exact);
+        return lastResult;
+    }
+
+    /**
+     * Alpha-beta search below the root. The player at seat me maximizes,
+     * everybody else minimizes.
+     *
+     * @param ply moves from the root, indexes the move and save buffers
+     * @param depth moves left before the horizon
+     * @return the position's value for seat me
+     */
+    private int search(int ply, int depth, int alpha, int beta) {
+        if (++nodes % CHECK_EVERY == 0 && budget.isExhausted(nodes)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+        if (depth == 0 || ply >= MAX_DEPTH) {
+            horizonHit = true;
+            return estimate();
+        }
+
+        long key = sim.stateKey() ^ salt;
+        int slot = (int) (key ^ (key >>> 32)) & tableMask;
+        int ttMove = Integer.MIN_VALUE;
+        if (tableKeys[slot] == key) {
+            ttMove = tableMoves[slot];
+            if (tableDepths[slot] >= depth) {
+                int flags = tableFlags[slot];
+                int v = tableValues[slot];
+                int bound = flags & 3;
+                if (bound == EXACT || (bound == LOWER && v >= beta) || (bound == UPPER && v <= alpha)) {
+                    if ((flags & HORIZON) != 0) horizonHit = true;
+                    return v;
+                }
+            }
+        }
+
+        boolean maximizing = sim.currentPlayer() == me;
+        int[] list = moves[ply];
+        int n = sim.legalMoves(list);
+        // Try the table's best move first; it usually cuts the rest off
+        if (ttMove != Integer.MIN_VALUE) {
+            for (int i = 1; i < n; i++) {
+                if (list[i] == ttMove) {
+                    list[i] = list[0];
+                    list[0] = ttMove;
+                    break;
+                }
+            }
+        }
+
+        boolean horizonBefore = horizonHit;
+        horizonHit = false;
+        int a = alpha, b = beta;
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestMove = list[0];
+        PlayoutSimulator.Saved state = saved[ply];
+        sim.save(state);
+        for (int i = 0; i < n; i++) {
+            int winner = sim.apply(list[i]);
+            int v = winner >= 0 ? outcome(winner) : search(ply + 1, depth - 1, a, b);
+            sim.restore(state);
+            if (aborted) return 0;
+            if (maximizing ? v > best : v < best) {
+                best = v;
+                bestMove = list[i];
+            }
+            if (maximizing) a = Math.max(a, v); else b = Math.min(b, v);
+            if (a >= b) break;
+        }
+
+        int bound = best <= alpha ? UPPER : best >= beta ? LOWER : EXACT;
+        tableKeys[slot] = key;
+        tableValues[slot] = best;
+        tableMoves[slot] = bestMove;
+        tableDepths[slot] = (byte) depth;
+        tableFlags[slot] = (byte) (bound | (horizonHit ? HORIZON : 0));
+        horizonHit |= horizonBefore;
+        return best;
+    }
+
+    /**
+     * The round result for seat me: the points it wins, or minus the
+     * points its hand gives away.
+     */
+    private int outcome(int winner) {
+        return sim.points(winner, me);
+    }
+
+    /**
+     * Estimates an unfinished position: the card points the opponents hold
+     * against those this player holds, as if each were equally likely to go
+     * out next.
+     */
+    private int estimate() {
+        int mine = sim.handScore(me);
+        int theirs = 0;
+        for (int p = 0; p < players; p++) {
+            if (p != me) theirs += sim.handScore(p);
+        }
+        return (theirs - mine * (players - 1)) / players;
+    }
+}
@@ -2,7 +2,6 @@ import java.io.*;
 import java.util.*;
 import java.util.List;
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 
 /**
  * Represents the main UNO game logic and state.
@@ -30,15 +29,13 @@ public class Game implements Serializable {
     private List<Card> lightDiscard = new ArrayList<>();
     private List<Card> darkDiscard = new ArrayList<>();
 
-    private transient PropertyChangeSupport pcs;
+    private transient GameEventBus bus;
 
     private int pendingSkips = 0; // number of upcoming players to skip on the next "Next Player" click
 
     private Side currentSide = Side.LIGHT; //to track Light/Dark state
     private Card.Color darkWildColor = null;
 
-    private static final Card.Color[] LIGHT_COLORS = {Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
-    private static final Card.Color[] DARK_COLORS = {Card.Color.PINK, Card.Color.PURPLE, Card.Color.TEAL, Card.Color.ORANGE };
 
     private transient List<GameViewInterface> views;
     private transient Integer skipEveryoneFinalPlayer = null;
@@ -50,6 +47,27 @@ public class Game implements Serializable {
     private transient ArrayList<GameMemento> undoStack = new ArrayList<>(); //stores past game states
     private transient ArrayList<GameMemento> redoStack = new ArrayList<>(); //rewinds state to a saved snapshot
 
+    private transient IncrementalGameSaver incrementalSaver; //delta save mode, created on first use
+    private transient GameImage saveImage; //reused by saveGame so repeated saves don't allocate
+    private transient CardTracker tracker; //seen/unseen card counts, rebuilt on first use after a deal or restore
+    private transient long cardHash;        //sum of StateHash keys of every card in a hand or pile
+    private transient boolean cardHashValid; //false: recomputed on the next stateHash()
+    private transient Random shuffleRandom; //null: the shared source of Collections.shuffle
+
+    // --- Event batching (see beginBatch/commitBatch) ---
+    private transient int batchDepth = 0;
+    private transient GameStateEvent pendingState = null; //latest event held back while batching
+    private transient boolean pendingViewRender = false;  //whether registered views must render it
+
+    // --- Versioned state (see GameStateDelta) ---
+    private transient volatile long stateVersion = 0;     //version of the last published event
+    private transient volatile GameStateEvent latestState = null; //last published event, for other threads
+    private transient GameStateEvent lastPublished = null; //last published event, base for the next delta
+    private transient int lastPublishedPlayer = -1;
+    private transient Side lastPublishedSide = null;
+    private transient int[] lastPublishedScores = new int[0];
+    private transient volatile GameStateEvent snapshot = null; //exportState() cache, valid for one version
+
     /**
      * Ensures the undo and redo stacks are initialized.
      * This prevents null pointer errors after loading or deserialization.
@@ -72,6 +90,7 @@ public class Game implements Serializable {
         GameMemento snapshot = createMemento();
         undoStack.add(snapshot);
         redoStack.clear();
+        invalidateSnapshot(); // canUndo changed
     }
 
     /**
@@ -109,7 +128,8 @@ public class Game implements Serializable {
         redoStack.add(current);
         GameMemento previous = undoStack.remove(undoStack.size() - 1);
         restoreFromMemento(previous);
-        notifyStateChanged();
+        invalidateSnapshot();
+        notifyStateChanged(GameStateEvent.Kind.STATE_RESTORED);
     }
 
     /**
@@ -127,7 +147,8 @@ public class Game implements Serializable {
         undoStack.add(current);
         GameMemento previous = redoStack.remove(redoStack.size() - 1);
         restoreFromMemento(previous);
-        notifyStateChanged();
+        invalidateSnapshot();
+        notifyStateChanged(GameStateEvent.Kind.STATE_RESTORED);
     }
 
     /**
@@ -179,6 +200,7 @@ public class Game implements Serializable {
 
         this.topWild = m.getWildColor();
         this.darkWildColor = m.getDarkWildColor();
+        resetCardCounts();
     }
 
 
@@ -207,10 +229,11 @@ public class Game implements Serializable {
      * Initializes transient fields. Called from constructor and after deserialization.
      */
     private void initializeTransientFields() {
-        this.pcs = new PropertyChangeSupport(this);
+        this.bus = new GameEventBus();
         this.views = new ArrayList<>();
         this.undoStack = new ArrayList<>();
         this.redoStack = new ArrayList<>();
+        this.lastPublishedScores = new int[0];
     }
 
     /**
@@ -247,55 +270,7 @@ public class Game implements Serializable {
      * All cards are added to the lightDeck list.
      */
     private void buildLightDeck() {
-        for (Card.Color color : LIGHT_COLORS) {
-            // According to the UNO website, there is only one 0 card per color
-            lightDeck.add(new Card(color, Card.Value.ZERO));
-
-            // Every other number has two per color
-            lightDeck.add(new Card(color, Card.Value.ONE));
-            lightDeck.add(new Card(color, Card.Value.ONE));
-            lightDeck.add(new Card(color, Card.Value.TWO));
-            lightDeck.add(new Card(color, Card.Value.TWO));
-            lightDeck.add(new Card(color, Card.Value.THREE));
-            lightDeck.add(new Card(color, Card.Value.THREE));
-            lightDeck.add(new Card(color, Card.Value.FOUR));
-            lightDeck.add(new Card(color, Card.Value.FOUR));
-            lightDeck.add(new Card(color, Card.Value.FIVE));
-            lightDeck.add(new Card(color, Card.Value.FIVE));
-            lightDeck.add(new Card(color, Card.Value.SIX));
-            lightDeck.add(new Card(color, Card.Value.SIX));
-            lightDeck.add(new Card(color, Card.Value.SEVEN));
-            lightDeck.add(new Card(color, Card.Value.SEVEN));
-            lightDeck.add(new Card(color, Card.Value.EIGHT));
-            lightDeck.add(new Card(color, Card.Value.EIGHT));
-            lightDeck.add(new Card(color, Card.Value.NINE));
-            lightDeck.add(new Card(color, Card.Value.NINE));
-
-            // Light side action cards (two of each per color)
-            lightDeck.add(new Card(color, Card.Value.SKIP));
-            lightDeck.add(new Card(color, Card.Value.SKIP));
-            lightDeck.add(new Card(color, Card.Value.DRAW_ONE));
-            lightDeck.add(new Card(color, Card.Value.DRAW_ONE));
-            lightDeck.add(new Card(color, Card.Value.REVERSE));
-            lightDeck.add(new Card(color, Card.Value.REVERSE));
-
-            // Draw Five (two per color)
-            lightDeck.add(new Card(color, Card.Value.DRAW_FIVE));
-            lightDeck.add(new Card(color, Card.Value.DRAW_FIVE));
-            
-            // Skip Everyone (two per color)
-            lightDeck.add(new Card(color, Card.Value.SKIP_EVERYONE));
-            lightDeck.add(new Card(color, Card.Value.SKIP_EVERYONE));
-            
-            // FLIP card (one per color)
-            lightDeck.add(new Card(color, Card.Value.FLIP));
-
-        }
-        // Light-Side Wild cards (4 of each type, no color)
-        for (int i = 0; i < 4; i++) {
-            lightDeck.add(new Card(null, Card.Value.WILD));
-            lightDeck.add(new Card(null, Card.Value.WILD_DRAW_TWO));
-        }
+        lightDeck.addAll(Rules.lightSideCards());
     }
 
     /**
@@ -307,47 +282,7 @@ public class Game implements Serializable {
      * All cards are added to the darkDeck list.
      */
     private void buildDarkDeck() {
-        for  (Card.Color color : DARK_COLORS) {
-            // Dark side has numbers 1-9 (no zero)
-            // Two of each number per color
-            darkDeck.add(new Card(color, Card.Value.ONE));
-            darkDeck.add(new Card(color, Card.Value.ONE));
-            darkDeck.add(new Card(color, Card.Value.TWO));
-            darkDeck.add(new Card(color, Card.Value.TWO));
-            darkDeck.add(new Card(color, Card.Value.THREE));
-            darkDeck.add(new Card(color, Card.Value.THREE));
-            darkDeck.add(new Card(color, Card.Value.FOUR));
-            darkDeck.add(new Card(color, Card.Value.FOUR));
-            darkDeck.add(new Card(color, Card.Value.FIVE));
-            darkDeck.add(new Card(color, Card.Value.FIVE));
-            darkDeck.add(new Card(color, Card.Value.SIX));
-            darkDeck.add(new Card(color, Card.Value.SIX));
-            darkDeck.add(new Card(color, Card.Value.SEVEN));
-            darkDeck.add(new Card(color, Card.Value.SEVEN));
-            darkDeck.add(new Card(color, Card.Value.EIGHT));
-            darkDeck.add(new Card(color, Card.Value.EIGHT));
-            darkDeck.add(new Card(color, Card.Value.NINE));
-            darkDeck.add(new Card(color, Card.Value.NINE));
-            
-            // Dark side action cards (two of each per color)
-            darkDeck.add(new Card(color, Card.Value.DRAW_FIVE));
-            darkDeck.add(new Card(color, Card.Value.DRAW_FIVE));
-            
-            darkDeck.add(new Card(color, Card.Value.SKIP_EVERYONE));
-            darkDeck.add(new Card(color, Card.Value.SKIP_EVERYONE));
-            
-            // REVERSE exists on both light and dark sides
-            darkDeck.add(new Card(color, Card.Value.REVERSE));
-            darkDeck.add(new Card(color, Card.Value.REVERSE));
-            
-            // FLIP card (one per color)
-            darkDeck.add(new Card(color, Card.Value.FLIP));
-        }
-        
-        // Dark-side Wild Draw Color (4 copies)
-        for (int i = 0; i < 4; i++) {
-            darkDeck.add(new Card(null, Card.Value.WILD_DRAW_COLOR));
-        }
+        darkDeck.addAll(Rules.darkSideCards());
     }
 
     /**
@@ -362,7 +297,7 @@ public class Game implements Serializable {
         deck = lightDeck;
 
         // Shuffle the deck
-        Collections.shuffle(deck);
+        shuffle(deck);
     }
 
     /**
@@ -377,6 +312,7 @@ public class Game implements Serializable {
             return;
         }
         players.add(p);
+        invalidateSnapshot();
     }
 
     /**
@@ -386,6 +322,7 @@ public class Game implements Serializable {
      */
     public void removePlayer(Player p){
         players.remove(p);
+        invalidateSnapshot();
     }
 
     /**
@@ -409,6 +346,7 @@ public class Game implements Serializable {
         }
 
         // Deal 7 cards to each player
+        resetCardCounts();
         for (Player player : players) {
             player.getHand().startCards(deck);
         }
@@ -422,9 +360,10 @@ public class Game implements Serializable {
         } while (top.isActionCard());
 
         lightDiscard.add(top);
+        invalidateSnapshot();
 
         // Trigger initial state for GUI
-        notifyStateChanged();
+        notifyStateChanged(GameStateEvent.Kind.GAME_STARTED);
     }
 
     /**
@@ -465,61 +404,19 @@ public class Game implements Serializable {
      *
      * @param cardToPlay the card being checked for validity
      * @return true if the card can be played, false otherwise
+     * @see Rules#isValidPlay
      */
     public boolean isValidPlay(Card cardToPlay) {
-        if (cardToPlay == null) return false;
-
-        // Side-specific restrictions
-        if (getCurrentSide() == Side.LIGHT) {
-            // WILD_DRAW_COLOR is dark-side only
-            if (cardToPlay.getValue() == Card.Value.WILD_DRAW_COLOR) {
-                return false;
-            }
-            // Dark colors not allowed on light side
-            if (cardToPlay.getColor() == Card.Color.TEAL || 
-                cardToPlay.getColor() == Card.Color.PURPLE ||
-                cardToPlay.getColor() == Card.Color.PINK || 
-                cardToPlay.getColor() == Card.Color.ORANGE) {
-                return false;
-            }
-        } else { // DARK side
-            // WILD and WILD_DRAW_TWO are light-side only
-            if (cardToPlay.getValue() == Card.Value.WILD || 
-                cardToPlay.getValue() == Card.Value.WILD_DRAW_TWO) {
-                return false;
-            }
-            // Light colors not allowed on dark side
-            if (cardToPlay.getColor() == Card.Color.RED || 
-                cardToPlay.getColor() == Card.Color.BLUE ||
-                cardToPlay.getColor() == Card.Color.GREEN || 
-                cardToPlay.getColor() == Card.Color.YELLOW) {
-                return false;
-            }
-        }
-        
-        // Wild cards (appropriate for current side) can always be played
-        if ((getCurrentSide() == Side.LIGHT && 
-            (cardToPlay.getValue() == Card.Value.WILD || 
-            cardToPlay.getValue() == Card.Value.WILD_DRAW_TWO)) ||
-            (getCurrentSide() == Side.DARK && 
-            cardToPlay.getValue() == Card.Value.WILD_DRAW_COLOR)) {
-            return true;
-        }
-        
-        // If a wild color is active (a color chosen from a previous wild)
-        if (topWild != null) {
-            return cardToPlay.getColor() == topWild;
-        }
-        
-        // If there is a top card on the discard pile
-        if (top != null) {
-            // Allow match by color OR value
-            return (cardToPlay.getColor() == top.getColor()) ||
-                (cardToPlay.getValue() == top.getValue());
-        }
+        return Rules.isValidPlay(cardToPlay, top, topWild, getCurrentSide());
+    }
 
-        // Default true if no top card yet
-        return true;
+    /**
+     * Gets the color chosen for the light wild card on top of the pile.
+     *
+     * @return the chosen color, or null when no light wild color is active
+     */
+    public Card.Color getTopWildColor() {
+        return topWild;
     }
 
     /**
@@ -528,31 +425,8 @@ public class Game implements Serializable {
      * and dark-side cards convert to their light equivalents.
      */
     private void flipTopCard() {
-        if (top == null) return;
-
-        Card.Value v = top.getValue();
-
-        // If top card is a light-side card, convert to dark equivalent
-        if (currentSide == Side.DARK) {
-            switch (v) {
-                case SKIP:          top = new Card(null, Card.Value.SKIP_EVERYONE); break;
-                case DRAW_ONE:      top = new Card(null, Card.Value.DRAW_FIVE); break;
-                case WILD:          top = new Card(null, Card.Value.WILD_DRAW_COLOR); break;
-                case WILD_DRAW_TWO: top = new Card(null, Card.Value.WILD_DRAW_COLOR); break;
-                // number cards simply "flip" by recolor
-                default: top = new Card(Card.Color.PINK, v); break;
-            }
-        }
-
-        // If top card is a dark-side card, convert to light equivalent
-        else {
-            switch (v) {
-                case SKIP_EVERYONE: top = new Card(null, Card.Value.SKIP); break;
-                case DRAW_FIVE:     top = new Card(null, Card.Value.DRAW_ONE); break;
-                case WILD_DRAW_COLOR: top = new Card(null, Card.Value.WILD); break;
-                default: top = new Card(Card.Color.RED, v); break;
-            }
-        }
+        top = Rules.flipTopCard(top, currentSide);
+        invalidateSnapshot();
     }
 
 
@@ -569,7 +443,7 @@ public class Game implements Serializable {
         deck = (currentSide == Side.LIGHT) ? lightDeck : darkDeck;
 
         // Shuffle new active deck
-        Collections.shuffle(deck);
+        shuffle(deck);
     }
 
 
@@ -587,10 +461,11 @@ public class Game implements Serializable {
                     // Do not advance now. Let the "Next Player" button apply the skip.
                     pendingSkips += 1;
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.ACTION_APPLIED);
                     s.setStatusMessage("SKIP played. Next player will be skipped when you click Next Player.");
                     s.setTurnComplete(true); // current player’s action is done; must click Next
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
@@ -598,7 +473,8 @@ public class Game implements Serializable {
                     // Flip direction immediately, but don't advance. Next button will move according to new direction.
                     clockwise = !clockwise;
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.ACTION_APPLIED);
                     if (players.size() == 2) {
                         // In 2-player, Reverse acts like a Skip → same player goes again after Next
                         pendingSkips += 1;
@@ -607,24 +483,27 @@ public class Game implements Serializable {
                         s.setStatusMessage("REVERSE played. Direction changed. Click Next Player to continue.");
                     }
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
                 case WILD: {
                     // Choose color now; don't advance. Next button will move turn.
                     topWild = null;
+                    invalidateSnapshot();
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.WILD_COLOR_REQUESTED);
                     s.setNeedsWildColor(true);
                     s.setStatusMessage("WILD played. Choose a color, then click Next Player.");
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
                 case WILD_DRAW_TWO: {
                     topWild = null;
+                    invalidateSnapshot();
 
                     // Draw to the next player now, but don't advance. On Next Player, we skip that player (as per UNO).
                     int target = nextPlayer(currentPlayerIndex);
@@ -632,18 +511,19 @@ public class Game implements Serializable {
                     for (int i = 0; i < 2; i++) {
                         Card drawnCard = drawCard();
                         if (drawnCard != null) {
-                            players.get(target).getHand().addCard(drawnCard);
+                            giveCard(target, drawnCard);
                         }
                     }
 
                     // After a +2, the target loses their turn, so schedule a skip for when Next is pressed.
                     pendingSkips += 1;
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.WILD_COLOR_REQUESTED);
                     s.setNeedsWildColor(true);
                     s.setStatusMessage(players.get(target).getName() + " draws 2. Click Next Player to continue (they will be skipped).");
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
@@ -653,15 +533,16 @@ public class Game implements Serializable {
 
                     Card drawnCard = drawCard();
                     if (drawnCard != null) {
-                        players.get(target).getHand().addCard(drawnCard);
+                        giveCard(target, drawnCard);
                     }
 
                     pendingSkips += 1;
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.ACTION_APPLIED);
                     s.setStatusMessage(players.get(target).getName() + " draws 1. Click Next Player to continue (they will be skipped).");
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
@@ -673,11 +554,13 @@ public class Game implements Serializable {
                     flipAllPlayerHands();
                     
                     flipTopCard();
+                    if (tracker != null) tracker.onFlip(currentSide, top, getDiscardPile(currentSide));
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.SIDE_FLIPPED);
                     s.setStatusMessage("Flipped to " + getCurrentSide());
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
@@ -688,16 +571,17 @@ public class Game implements Serializable {
                     for (int i = 0; i < 5; i++) {
                         Card drawnCard = drawCard();
                         if (drawnCard != null) {
-                            players.get(target).getHand().addCard(drawnCard);
+                            giveCard(target, drawnCard);
                         }
                     }
 
                     pendingSkips += 1;
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.ACTION_APPLIED);
                     s.setStatusMessage(players.get(target).getName() + " draws 5. Click Next Player to continue (they will be skipped).");
                     s.setTurnComplete(true);
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
@@ -712,34 +596,37 @@ public class Game implements Serializable {
                     }
 
                     // After the skips are processed in advanceTurn(), force correct landing spot
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.ACTION_APPLIED);
                     s.setStatusMessage("SKIP EVERYONE played!");
                     s.setTurnComplete(false);
 
                     // Save the final target for advanceTurn to use
                     this.skipEveryoneFinalPlayer = finalTarget;
 
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
                 case WILD_DRAW_COLOR: {
                     // PHASE 1 — prompt user for color, do NOT draw cards yet
                     darkWildColor = null; // IMPORTANT: reset any previous color
+                    invalidateSnapshot();
 
-                    GameStateEvent s = exportState();
+                    GameStateEvent s = buildState();
+                    s.setKind(GameStateEvent.Kind.WILD_COLOR_REQUESTED);
                     s.setNeedsDarkWildColor(true);  // tells GameView to open dark color dialog
                     s.setStatusMessage("WILD DRAW COLOUR played! Choose a DARK color.");
                     s.setTurnComplete(true);
 
-                    pcs.firePropertyChange("state", null, s);
+                    fireState(s);
                     return;
                 }
 
 
             }
         }
-        notifyStateChanged();
+        notifyStateChanged(GameStateEvent.Kind.ACTION_APPLIED);
     }
 
     /**
@@ -750,67 +637,7 @@ public class Game implements Serializable {
      * @return the flipped version of the card
      */
     private Card flipCard(Card card) {
-        if (card == null) return null;
-        
-        Card.Value v = card.getValue();
-        Card.Color c = card.getColor();
-        
-        // If currently on DARK side, we're flipping FROM light TO dark
-        if (currentSide == Side.DARK) {
-            // Convert light colors to dark colors
-            Card.Color newColor = null;
-            if (c != null) {
-                switch (c) {
-                    case RED:    newColor = Card.Color.PINK; break;
-                    case BLUE:   newColor = Card.Color.PURPLE; break;
-                    case GREEN:  newColor = Card.Color.TEAL; break;
-                    case YELLOW: newColor = Card.Color.ORANGE; break;
-                    default:     newColor = c; // Already dark
-                }
-            }
-            
-            // Convert light action cards to dark action cards
-            Card.Value newValue = v;
-            switch (v) {
-                case SKIP:          newValue = Card.Value.SKIP_EVERYONE; break;
-                case DRAW_ONE:      newValue = Card.Value.DRAW_FIVE; break;
-                case WILD:          newValue = Card.Value.WILD_DRAW_COLOR; break;
-                case WILD_DRAW_TWO: newValue = Card.Value.WILD_DRAW_COLOR; break;
-                case REVERSE:       newValue = Card.Value.REVERSE; break; // Same on both
-                case FLIP:          newValue = Card.Value.FLIP; break; // Same on both
-                default:            newValue = v; // Numbers stay same
-            }
-            
-            return new Card(newColor, newValue);
-        }
-        
-        // If currently on LIGHT side, we're flipping FROM dark TO light
-        else {
-            // Convert dark colors to light colors
-            Card.Color newColor = null;
-            if (c != null) {
-                switch (c) {
-                    case PINK:   newColor = Card.Color.RED; break;
-                    case PURPLE: newColor = Card.Color.BLUE; break;
-                    case TEAL:   newColor = Card.Color.GREEN; break;
-                    case ORANGE: newColor = Card.Color.YELLOW; break;
-                    default:     newColor = c; // Already light
-                }
-            }
-            
-            // Convert dark action cards to light action cards
-            Card.Value newValue = v;
-            switch (v) {
-                case SKIP_EVERYONE:   newValue = Card.Value.SKIP; break;
-                case DRAW_FIVE:       newValue = Card.Value.DRAW_ONE; break;
-                case WILD_DRAW_COLOR: newValue = Card.Value.WILD; break;
-                case REVERSE:         newValue = Card.Value.REVERSE; break; // Same
-                case FLIP:            newValue = Card.Value.FLIP; break; // Same
-                default:              newValue = v; // Numbers stay same
-            }
-            
-            return new Card(newColor, newValue);
-        }
+        return Rules.flipCard(card, currentSide);
     }
 
     /**
@@ -830,6 +657,11 @@ public class Game implements Serializable {
                 Card flippedCard = flipCard(oldCard);
                 hand.addCard(flippedCard);
             }
+            invalidateSnapshot();
+            if (cardHashValid) {
+                int seat = players.indexOf(player);
+                cardHash += StateHash.cards(seat, hand.getCardsList()) - StateHash.cards(seat, oldCards);
+            }
         }
     }
 
@@ -862,11 +694,16 @@ public class Game implements Serializable {
 
             Card lastTop = discard.remove(discard.size() - 1); // keep top card
 
+            if (cardHashValid) {
+                int discardPlace = (currentSide == Side.LIGHT) ? StateHash.LIGHT_DISCARD : StateHash.DARK_DISCARD;
+                cardHash += StateHash.cards(deckPlace(), discard) - StateHash.cards(discardPlace, discard);
+            }
+            if (tracker != null) tracker.onReshuffle(discard);
             deck.addAll(discard);   // return all other cards to deck
             discard.clear();
             discard.add(lastTop);   // put top card back
 
-            Collections.shuffle(deck);
+            shuffle(deck);
         }
     }
 
@@ -883,7 +720,9 @@ public class Game implements Serializable {
             reshuffleFromDiscard();
         }
         if (deck.isEmpty()) return null; // still empty
-        return deck.remove(0);
+        Card card = deck.remove(0);
+        hashCard(deckPlace(), card, -1);
+        return card;
     }
 
     //Drawing a Card from deck and putting it in players hands
@@ -898,10 +737,24 @@ public class Game implements Serializable {
         for (int i = 0; i < count; i++) {
             Card card = drawCard();
             if (card != null) {
-                players.get(index).getHand().addCard(card);
+                giveCard(index, card);
             }
         }
-        notifyStateChanged();
+        notifyStateChanged(GameStateEvent.Kind.CARD_DRAWN);
+    }
+
+    /**
+     * Adds a drawn card to a player's hand and counts it in the card tracker
+     * and the state hash.
+     *
+     * @param index the index of the player receiving the card
+     * @param card the card
+     */
+    private void giveCard(int index, Card card) {
+        players.get(index).getHand().addCard(card);
+        invalidateSnapshot();
+        if (tracker != null) tracker.onDraw(index, card);
+        hashCard(index, card, 1);
     }
 
     /**
@@ -915,47 +768,7 @@ public class Game implements Serializable {
      * @param card the card in which assigning points to
      */
     private int getCardScore(Card card) {
-        Card.Value v = card.getValue();
-
-        switch (v) {
-            //number cards: face value
-            case ZERO:  return 0;
-            case ONE:   return 1;
-            case TWO:   return 2;
-            case THREE: return 3;
-            case FOUR:  return 4;
-            case FIVE:  return 5;
-            case SIX:   return 6;
-            case SEVEN: return 7;
-            case EIGHT: return 8;
-            case NINE:  return 9;
-
-            //light-side action card
-            case DRAW_ONE:
-                return 10;
-
-            //20-point actions
-            case DRAW_FIVE:   // dark
-            case SKIP:        // light
-            case REVERSE:     // light/dark
-            case FLIP:        // light/dark
-                return 20;
-
-            //special dark action
-            case SKIP_EVERYONE:
-                return 30;
-
-            //wild cards
-            case WILD:
-                return 40;
-            case WILD_DRAW_TWO:
-                return 50;
-            case WILD_DRAW_COLOR:
-                return 60;
-
-            default:
-                return 0;
-        }
+        return Rules.cardScore(card);
     }
 
     /**
@@ -977,9 +790,10 @@ public class Game implements Serializable {
 
         winner.addScore(totalScore);
 
-        GameStateEvent s = exportState();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.ROUND_SCORED);
         s.setStatusMessage(winner.getName() + " wins and scores " + totalScore + " points!");
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
     //Getting user to pick next color
@@ -1022,13 +836,164 @@ public class Game implements Serializable {
         return top;
     }
 
+    /**
+     * Gets the number of seated players.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Gets the seat index of the player whose turn it is.
+     *
+     * @return the current player's index
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    /**
+     * Checks the direction of play.
+     *
+     * @return true if play moves to increasing seat indexes
+     */
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    /**
+     * Gets a side's discard pile, bottom card first. The piles are face up,
+     * so every player may look at them.
+     *
+     * @param side the side
+     * @return a read-only view of the pile
+     */
+    public List<Card> getDiscardPile(Side side) {
+        return Collections.unmodifiableList(side == Side.LIGHT ? lightDiscard : darkDiscard);
+    }
+
+    /**
+     * Gets the card tracker, which counts the cards each player has not
+     * seen. It follows the game's own plays, draws, flips and reshuffles,
+     * and is rebuilt from the hands and piles after a deal, undo, redo or
+     * load. Must be used on the thread that owns the model.
+     *
+     * @return the tracker
+     */
+    public CardTracker getCardTracker() {
+        if (tracker == null) {
+            tracker = CardTracker.of(this);
+        }
+        return tracker;
+    }
+
+    /**
+     * Gets a 64-bit Zobrist hash of the game state: every hand, both discard
+     * piles and both draw piles as collections of cards, plus the top card,
+     * side, direction, current player, wild colors and pending skips. The
+     * order of the draw piles and the scores are not part of it.
+     *
+     * The card part is updated as each card moves, so this takes constant
+     * time; after a deal, undo, redo or load it is recomputed once. Equal
+     * states hash equal in every run, different states collide with a
+     * chance of about 2^-64.
+     *
+     * @return the state hash
+     */
+    public long stateHash() {
+        if (!cardHashValid) {
+            if (players.size() > StateHash.MAX_SEATS) {
+                throw new IllegalStateException("State hash supports at most " + StateHash.MAX_SEATS + " players");
+            }
+            long h = StateHash.cards(StateHash.LIGHT_DISCARD, lightDiscard)
+                    + StateHash.cards(StateHash.DARK_DISCARD, darkDiscard)
+                    + StateHash.cards(StateHash.LIGHT_DECK, lightDeck)
+                    + StateHash.cards(StateHash.DARK_DECK, darkDeck);
+            for (int i = 0; i < players.size(); i++) {
+                h += StateHash.cards(i, players.get(i).getHand().getCardsList());
+            }
+            cardHash = h;
+            cardHashValid = true;
+        }
+        return cardHash ^ StateHash.turn(top, currentSide, clockwise, currentPlayerIndex, topWild,
+                darkWildColor, pendingSkips, skipEveryoneFinalPlayer);
+    }
+
+    /**
+     * Moves a card's key into or out of the state hash.
+     *
+     * @param place a seat index or a StateHash pile
+     * @param card the card
+     * @param sign 1 when the card arrives, -1 when it leaves
+     */
+    private void hashCard(int place, Card card, int sign) {
+        if (cardHashValid) {
+            cardHash += sign * StateHash.card(place, card);
+        }
+    }
+
+    private int deckPlace() {
+        return (currentSide == Side.LIGHT) ? StateHash.LIGHT_DECK : StateHash.DARK_DECK;
+    }
+
+    /**
+     * Drops the card tracker and the card part of the state hash after the
+     * cards were moved wholesale (a deal or a restore). Both are rebuilt
+     * from the piles and hands when next asked for.
+     */
+    private void resetCardCounts() {
+        tracker = null;
+        cardHashValid = false;
+    }
+
+    /**
+     * Sets the random source the decks are shuffled with. Games played on
+     * many threads at once (self-play, simulations) should each get their
+     * own, so they neither contend for one source nor depend on each other.
+     *
+     * @param random the source, or null for the shared default
+     */
+    void setShuffleRandom(Random random) {
+        this.shuffleRandom = random;
+    }
+
+    private void shuffle(List<Card> cards) {
+        if (shuffleRandom == null) {
+            Collections.shuffle(cards);
+        } else {
+            Collections.shuffle(cards, shuffleRandom);
+        }
+    }
+
+    /**
+     * Adds a typed listener to receive game state events.
+     *
+     * @param listener the listener to add
+     */
+    public void addGameStateListener(GameStateListener listener) {
+        bus.addListener(listener);
+    }
+
+    /**
+     * Removes a previously registered game state listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeGameStateListener(GameStateListener listener) {
+        bus.removeListener(listener);
+    }
+
     /**
      * Adds a PropertyChangeListener to receive game state events.
+     * Each event is delivered as a PropertyChangeEvent named "state";
+     * prefer addGameStateListener, which does not wrap every event.
      *
      * @param listener the listener to add
      */
     public void addPropertyChangeListener(PropertyChangeListener listener) {
-        pcs.addPropertyChangeListener(listener);
+        bus.addListener(new GameEventBus.PropertyChangeAdapter(this, listener));
     }
 
     /**
@@ -1037,25 +1002,234 @@ public class Game implements Serializable {
      * @param listener the listener to remove
      */
     public void removePropertyChangeListener(PropertyChangeListener listener) {
-        pcs.removePropertyChangeListener(listener);
+        bus.removeListener(new GameEventBus.PropertyChangeAdapter(this, listener));
+    }
+
+    /**
+     * Opens a batching scope. Until the matching commitBatch, state events are
+     * not published; only the most recent one is kept. Scopes may be nested,
+     * and only the outermost commit publishes.
+     * Use this around any sequence of model calls that makes up one action,
+     * so listeners and views see a single state frame for it.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Closes a batching scope opened by beginBatch. When the outermost scope
+     * closes, the last event raised inside it (if any) is published once.
+     *
+     * @throws IllegalStateException if no batch is open
+     */
+    public void commitBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("commitBatch without beginBatch");
+        }
+        batchDepth--;
+        if (batchDepth > 0 || pendingState == null) return;
+
+        GameStateEvent state = pendingState;
+        boolean renderViews = pendingViewRender;
+        pendingState = null;
+        pendingViewRender = false;
+        dispatch(state, renderViews);
+    }
+
+    /**
+     * Publishes a state event to every registered listener, or holds it
+     * back if a batch is open.
+     *
+     * @param state the event to publish
+     */
+    private void fireState(GameStateEvent state) {
+        if (batchDepth > 0) {
+            pendingState = state;
+            return;
+        }
+        dispatch(state, false);
+    }
+
+    private void dispatch(GameStateEvent state, boolean renderViews) {
+        long previousVersion = stateVersion;
+        state.setVersion(previousVersion + 1);
+        state.freeze();
+        latestState = state;
+        stateVersion = previousVersion + 1;
+
+        // The delta is built and recorded before any listener runs: a listener
+        // may change the model, and the event it causes must follow this one
+        GameStateDelta delta = bus.hasDeltaListeners() ? buildDelta(previousVersion, state) : null;
+        rememberPublished(state);
+        if (delta != null) {
+            bus.publishDelta(delta);
+        }
+
+        bus.publish(state);
+        if (renderViews) {
+            for (GameViewInterface view : views) {
+                view.render(state);
+            }
+        }
+    }
+
+    /**
+     * Describes what changed between the last published state and the given one.
+     */
+    private GameStateDelta buildDelta(long previousVersion, GameStateEvent state) {
+        List<GameStateDelta.Change> changes = new ArrayList<>();
+
+        if (lastPublished == null || lastPublishedPlayer != currentPlayerIndex) {
+            changes.add(GameStateDelta.Change.currentPlayer(currentPlayerIndex, state.getCurPlayerName()));
+            changes.add(GameStateDelta.Change.handReset(state.getCurHand()));
+        } else {
+            GameStateDelta.diffHands(lastPublished.getCurHand(), state.getCurHand(), changes);
+        }
+        if (lastPublished == null || lastPublished.getTopCard() != state.getTopCard()) {
+            changes.add(GameStateDelta.Change.topCard(state.getTopCard()));
+        }
+        if (lastPublished == null || lastPublished.getWildColor() != state.getWildColor()) {
+            changes.add(GameStateDelta.Change.wildColor(state.getWildColor()));
+        }
+        if (lastPublishedSide != currentSide) {
+            changes.add(GameStateDelta.Change.side(currentSide));
+        }
+        for (int i = 0; i < players.size(); i++) {
+            int score = players.get(i).getScore();
+            if (i >= lastPublishedScores.length || lastPublishedScores[i] != score) {
+                changes.add(GameStateDelta.Change.score(i, score));
+            }
+        }
+        return new GameStateDelta(this, previousVersion, state, changes);
+    }
+
+    private void rememberPublished(GameStateEvent state) {
+        lastPublished = state;
+        lastPublishedPlayer = currentPlayerIndex;
+        lastPublishedSide = currentSide;
+        if (lastPublishedScores.length != players.size()) {
+            lastPublishedScores = new int[players.size()];
+        }
+        for (int i = 0; i < players.size(); i++) {
+            lastPublishedScores[i] = players.get(i).getScore();
+        }
+    }
+
+    /**
+     * Gets the version of the most recently published state.
+     * Starts at 0 and increases by one for every published event.
+     *
+     * @return the current state version
+     */
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
+    /**
+     * Gets the most recently published state. It is frozen and stored when
+     * it is published, so any thread may call this: it never reads the live
+     * model. Changes not published yet (inside a batch) are not shown.
+     *
+     * @return the last published state, or null before the first one
+     */
+    public GameStateEvent getLatestState() {
+        return latestState;
+    }
+
+    /**
+     * Returns a full snapshot of the current state stamped with the current
+     * version. Delta consumers call this after detecting a version gap and
+     * then continue applying deltas that follow the returned version.
+     *
+     * @return the full current state
+     */
+    public GameStateEvent resync() {
+        return exportState();
+    }
+
+    /**
+     * Adds a listener that receives a GameStateDelta for every published state.
+     *
+     * @param listener the listener to add
+     */
+    public void addGameDeltaListener(GameDeltaListener listener) {
+        bus.addDeltaListener(listener);
+    }
+
+    /**
+     * Removes a previously registered delta listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeGameDeltaListener(GameDeltaListener listener) {
+        bus.removeDeltaListener(listener);
     }
 
     /**
-     * Creates a GameStateEvent representing the current visible
+     * Returns a read-only GameStateEvent representing the current visible
      * game state, including player hand, top card, and wild settings.
      *
-     * @return a GameStateEvent snapshot of the game state
+     * The snapshot is built at most once per state version and then shared:
+     * repeated calls (views, spectators, AI polling) return the same frozen
+     * instance until the model changes. Every change made through Game drops
+     * the cached snapshot where it happens, published or not, so a hit costs
+     * one volatile read and never touches the live model. A miss builds the
+     * snapshot from the live model, so it must run on the model's thread;
+     * other threads should use getLatestState instead.
+     *
+     * @return a frozen GameStateEvent snapshot of the game state
      */
     public GameStateEvent exportState() {
+        GameStateEvent cached = snapshot;
+        if (cached != null && cached.getVersion() == stateVersion) {
+            return cached;
+        }
+        cached = buildState();
+        cached.setVersion(stateVersion);
+        cached.freeze();
+        snapshot = cached;
+        return cached;
+    }
+
+    /**
+     * Sets the controls available once a round has ended: only New Round,
+     * or New Game when the game is over.
+     */
+    private static void endOfRoundControls(GameStateEvent s) {
+        s.setCanPlay(false);
+        s.setCanDraw(false);
+        s.setCanNext(false);
+        s.setCanNewRound(!s.isGameOver());
+        s.setCanNewGame(s.isGameOver());
+    }
+
+    /**
+     * Drops the exportState() cache; called wherever the state it shows
+     * (seat, hand, top card, wild colors, undo and redo) is changed.
+     */
+    private void invalidateSnapshot() {
+        snapshot = null;
+    }
+
+    /**
+     * Creates a new, still writable GameStateEvent for the current state.
+     * Fire sites fill in the kind, status message and prompts before publishing.
+     *
+     * @return a fresh GameStateEvent
+     */
+    private GameStateEvent buildState() {
         Player cur = getCurrentPlayer();
         GameStateEvent s = new GameStateEvent(this, cur.getName(), cur.getHand().getCardsList(), getTopCard());
 
+        s.setCurrentPlayerAI(cur instanceof AIPlayer);
         s.setWildColor(topWild);
         s.setDarkWildColor(this.darkWildColor); // send chosen dark color to UI
 
         s.setCanDraw(true);
         s.setCanPlay(true);
         s.setCanNext(true);
+        s.setCanUndo(canUndo());
+        s.setCanRedo(canRedo());
 
         s.setNeedsWildColor(false);
         s.setNeedsDarkWildColor(false);
@@ -1068,14 +1242,18 @@ public class Game implements Serializable {
     /**
      * Notifies all registered listeners and views that the game state
      * has changed by exporting the current state and dispatching it.
+     *
+     * @param kind what happened
      */
-    private void notifyStateChanged() {
-        GameStateEvent state = exportState();
-        pcs.firePropertyChange("state", null, state);
-
-        for (GameViewInterface view : views) {
-            view.render(state);
+    private void notifyStateChanged(GameStateEvent.Kind kind) {
+        GameStateEvent state = buildState();
+        state.setKind(kind);
+        if (batchDepth > 0) {
+            pendingState = state;
+            pendingViewRender = true;
+            return;
         }
+        dispatch(state, true);
     }
 
     /**
@@ -1084,11 +1262,10 @@ public class Game implements Serializable {
      * @return true if a card was drawn, false if the deck was empty
      */
     public boolean drawCardForCurrentPlayer() {
-        Player cur = getCurrentPlayer();
         Card card = drawCard();
         if (card == null) return false;
-        cur.getHand().addCard(card);
-        notifyStateChanged();
+        giveCard(currentPlayerIndex, card);
+        notifyStateChanged(GameStateEvent.Kind.CARD_DRAWN);
         return true;
     }
 
@@ -1100,10 +1277,12 @@ public class Game implements Serializable {
             currentPlayerIndex = skipEveryoneFinalPlayer;
             skipEveryoneFinalPlayer = null;
             pendingSkips = 0;
+            invalidateSnapshot();
 
-            GameStateEvent s = exportState();
+            GameStateEvent s = buildState();
+            s.setKind(GameStateEvent.Kind.TURN_STARTED);
             s.setStatusMessage(getCurrentPlayer().getName() + "'s turn!");
-            pcs.firePropertyChange("state", null, s);
+            fireState(s);
             return;
         }
         // Apply any pending skip(s) when the user presses "Next Player"
@@ -1116,11 +1295,13 @@ public class Game implements Serializable {
             // normal one-step advance in current direction
             currentPlayerIndex = nextPlayer(currentPlayerIndex);
         }
+        invalidateSnapshot();
 
-        GameStateEvent s = exportState();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.TURN_STARTED);
         s.setStatusMessage(getCurrentPlayer().getName() + "'s turn!");
         // turnComplete is false here; it's a fresh turn
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
     /**
@@ -1153,9 +1334,10 @@ public class Game implements Serializable {
         buildLightDeck();
         buildDarkDeck();
         deck = lightDeck;
-        Collections.shuffle(deck);
+        shuffle(deck);
         
         // Deal new hands
+        resetCardCounts();
         for (Player player : players) {
             player.getHand().startCards(deck);
         }
@@ -1169,12 +1351,14 @@ public class Game implements Serializable {
         } while (top.isActionCard());
         
         lightDiscard.add(top);
+        invalidateSnapshot();
         
         // Notify observers
-        GameStateEvent s = exportState();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.ROUND_STARTED);
         s.setStatusMessage("Round " + currentRound + " begins! " + 
             getCurrentPlayer().getName() + "'s turn.");
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
     /**
@@ -1208,9 +1392,10 @@ public class Game implements Serializable {
         buildLightDeck();
         buildDarkDeck();
         deck = lightDeck;
-        Collections.shuffle(deck);
+        shuffle(deck);
         
         // Deal new hands
+        resetCardCounts();
         for (Player player : players) {
             player.getHand().startCards(deck);
         }
@@ -1224,12 +1409,14 @@ public class Game implements Serializable {
         } while (top.isActionCard());
         
         lightDiscard.add(top);
+        invalidateSnapshot();
         
         // Notify observers
-        GameStateEvent s = exportState();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.ROUND_STARTED);
         s.setStatusMessage("NEW GAME! Round 1 begins! " + 
             getCurrentPlayer().getName() + "'s turn.");
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
 
@@ -1241,10 +1428,12 @@ public class Game implements Serializable {
      */
     public void setTopWildColor(Card.Color color) {
         this.topWild = color;
-        GameStateEvent s = exportState();
+        invalidateSnapshot();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.WILD_COLOR_CHOSEN);
         s.setStatusMessage("Wild color set to " + color + ". Click Next Player to continue.");
         s.setNeedsWildColor(false); // Without this, playing a wildcard will lock the color to "wildcard" permanently
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
     /**
@@ -1260,6 +1449,7 @@ public class Game implements Serializable {
 
         this.darkWildColor = color;
         this.topWild = color; // top card now behaves like a wild with chosen color
+        invalidateSnapshot();
 
         int target = nextPlayer(currentPlayerIndex);
         Card drawn;
@@ -1268,20 +1458,21 @@ public class Game implements Serializable {
         do {
             drawn = drawCard();
             if (drawn != null) {
-                players.get(target).getHand().addCard(drawn);
+                giveCard(target, drawn);
             }
         } while (drawn != null && drawn.getColor() != darkWildColor);
 
         // Target loses their next turn
         pendingSkips += 1;
 
-        GameStateEvent s = exportState();
+        GameStateEvent s = buildState();
+        s.setKind(GameStateEvent.Kind.WILD_COLOR_CHOSEN);
         s.setStatusMessage(players.get(target).getName()
                 + " draws until they get " + darkWildColor + "! Click Next Player.");
         s.setNeedsDarkWildColor(false);
         s.setTurnComplete(true);
 
-        pcs.firePropertyChange("state", null, s);
+        fireState(s);
     }
 
     /**
@@ -1293,11 +1484,28 @@ public class Game implements Serializable {
      * @return true if the card was successfully played, false if the move was invalid
      */
     public boolean playCardFromHand(int handIndex) {
+        // Scoring, win checks and action effects can each raise an event; publish only the last
+        beginBatch();
+        try {
+            return playCard(handIndex);
+        } finally {
+            commitBatch();
+        }
+    }
+
+    private boolean playCard(int handIndex) {
         Player cur = getCurrentPlayer();
         Card played = cur.getHand().removeCard(handIndex);
+        invalidateSnapshot();
 
         // Invalid play
-        if (played == null || !isValidPlay(played)) return false;
+        if (played == null || !isValidPlay(played)) {
+            resetCardCounts(); // the hand changed without a play
+            return false;
+        }
+        if (tracker != null) tracker.onPlay(currentPlayerIndex, played);
+        hashCard(currentPlayerIndex, played, -1);
+        hashCard(currentSide == Side.LIGHT ? StateHash.LIGHT_DISCARD : StateHash.DARK_DISCARD, played, 1);
 
         // Set new top card
         top = played;
@@ -1311,6 +1519,7 @@ public class Game implements Serializable {
         if (played.getValue() != Card.Value.WILD && played.getValue() != Card.Value.WILD_DRAW_TWO) {
             topWild = null;
         }
+        invalidateSnapshot();
 
         // ---- WIN CONDITION CHECK BEFORE ACTION CARD ----
         if (cur.getHand().getSize() == 0) {
@@ -1327,17 +1536,23 @@ public class Game implements Serializable {
             
             if (gameWinner != null) {
                 // GAME OVER - someone reached 500 points
-                GameStateEvent winState = exportState();
+                GameStateEvent winState = buildState();
+                winState.setKind(GameStateEvent.Kind.GAME_OVER);
+                winState.setRoundOver(true);
                 winState.setGameOver(true);
+                endOfRoundControls(winState);
                 winState.setStatusMessage(gameWinner.getName() + " WINS THE GAME with " + 
                     gameWinner.getScore() + " points! Click 'New Game' to play again.");
-                pcs.firePropertyChange("state", null, winState);
+                fireState(winState);
             } else {
                 // ROUND OVER - start new round
-                GameStateEvent roundState = exportState();
+                GameStateEvent roundState = buildState();
+                roundState.setKind(GameStateEvent.Kind.ROUND_OVER);
+                roundState.setRoundOver(true);
+                endOfRoundControls(roundState);
                 roundState.setStatusMessage(cur.getName() + " wins round " + currentRound + 
                     " and scores " + cur.getScore() + " points! Click 'New Round' to continue.");
-                pcs.firePropertyChange("state", null, roundState);
+                fireState(roundState);
             }
             
             return true;
@@ -1351,57 +1566,207 @@ public class Game implements Serializable {
         }
 
         // ---- REGULAR CARD PLAY: now update state ----
-        GameStateEvent state = exportState();
+        GameStateEvent state = buildState();
+        state.setKind(GameStateEvent.Kind.CARD_PLAYED);
         state.setTurnComplete(true); // player finished their turn
-        pcs.firePropertyChange("state", null, state);
+        fireState(state);
 
         return true;
     }
 
     /**
-     * Saves the current game state to a file using Java serialization.
+     * Saves the current game state to a file using the binary save format
+     * (see GameCodec). The image is encoded into a pooled direct buffer and
+     * written through a FileChannel, so repeated saves allocate almost nothing.
      * 
      * @param filename the file to save to
      * @return true if save successful, false otherwise
      */
     public boolean saveGame(String filename) {
-        FileOutputStream ostream = null;
-        ObjectOutputStream p = null;
-        
         try {
-            // Create output streams
-            ostream = new FileOutputStream(filename);
-            p = new ObjectOutputStream(ostream);
-            
-            // Write the entire game object
-            p.writeObject(this);
-            
+            if (saveImage == null) {
+                saveImage = new GameImage();
+            }
+            // A full save replaces the file, so incremental saves to it must start over,
+            // and the old saver's pending compaction must not overwrite the new file
+            if (incrementalSaver != null && incrementalSaver.getFilename().equals(filename)) {
+                incrementalSaver.retire();
+                incrementalSaver = null;
+            }
+            captureImage(saveImage);
+            IncrementalGameSaver.writeBaseFile(filename, saveImage);
+
             System.out.println("Game saved successfully to " + filename);
             return true;
-            
+
         } catch (IOException e) {
             System.err.println("Error saving game: " + e.getMessage());
             e.printStackTrace();
             return false;
-            
-        } finally {
-            // Always close streams 
-            try {
-                if (p != null) p.close();
-                if (ostream != null) ostream.close();
-            } catch (IOException e) {
-                System.err.println("Error closing streams: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the game in incremental mode: the first save to a file writes the
+     * whole game, later saves to the same file only append what changed.
+     * Files written this way are read back by loadGame like any other save.
+     *
+     * @param filename the file to save to
+     * @return true if save successful, false otherwise
+     */
+    public boolean saveGameIncremental(String filename) {
+        return saveGameIncremental(filename, IncrementalGameSaver.DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Saves the game in incremental mode with the given compaction threshold,
+     * which applies when this call starts a new saver.
+     *
+     * @param filename the file to save to
+     * @param compactThreshold delta bytes after which the file is compacted
+     * @return true if save successful, false otherwise
+     */
+    boolean saveGameIncremental(String filename, long compactThreshold) {
+        try {
+            if (incrementalSaver == null || !incrementalSaver.getFilename().equals(filename)) {
+                retireIncrementalSaver();
+                incrementalSaver = new IncrementalGameSaver(filename, compactThreshold);
             }
+            incrementalSaver.save(this);
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("Error saving game: " + e.getMessage());
+            // Start over with a full save next time, the file may be incomplete
+            retireIncrementalSaver();
+            return false;
+        }
+    }
+
+    private void retireIncrementalSaver() {
+        if (incrementalSaver != null) {
+            incrementalSaver.retire();
+            incrementalSaver = null;
         }
     }
 
     /**
-     * Loads a game state from a file using Java deserialization.
+     * Fills the given image with the current game state.
+     * Only card references are copied, so this is cheap enough to run on every save.
+     *
+     * @param image the image to overwrite
+     */
+    void captureImage(GameImage image) {
+        image.setPlayerCount(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            image.playerNames.add(p.getName());
+            image.playerIsAI.add(p instanceof AIPlayer);
+            if (p instanceof AIPlayer) {
+                AIPlayer ai = (AIPlayer) p;
+                // Players deserialized from before strategies existed have no name and play greedy
+                image.playerStrategies.add(ai.getStrategyName() != null ? ai.getStrategyName() : GreedyStrategy.NAME);
+                image.playerMoveTimes.add(ai.getMoveTimeMillis());
+                image.playerMaxNodes.add(ai.getMaxNodes());
+            } else {
+                image.playerStrategies.add(null);
+                image.playerMoveTimes.add(0L);
+                image.playerMaxNodes.add(0L);
+            }
+            image.playerScores.add(p.getScore());
+            List<Card> hand = image.hands.get(i);
+            hand.clear();
+            hand.addAll(p.getHand().getCardsList());
+        }
+        image.lightDeck.clear();
+        image.lightDeck.addAll(lightDeck);
+        image.darkDeck.clear();
+        image.darkDeck.addAll(darkDeck);
+        image.lightDiscard.clear();
+        image.lightDiscard.addAll(lightDiscard);
+        image.darkDiscard.clear();
+        image.darkDiscard.addAll(darkDiscard);
+
+        image.currentPlayerIndex = currentPlayerIndex;
+        image.clockwise = clockwise;
+        image.top = top;
+        image.topWild = topWild;
+        image.pendingSkips = pendingSkips;
+        image.currentSide = currentSide;
+        image.darkWildColor = darkWildColor;
+        image.currentRound = currentRound;
+    }
+
+    /**
+     * Builds a new Game from a saved image.
+     *
+     * @param image the image to rebuild from
+     * @return the restored Game
+     */
+    static Game fromImage(GameImage image) {
+        Game game = new Game();
+
+        for (int i = 0; i < image.getPlayerCount(); i++) {
+            String name = image.playerNames.get(i);
+            Player p;
+            if (image.playerIsAI.get(i)) {
+                // AIPlayer appends " (AI)" itself, so strip it from the stored name
+                AIPlayer ai = new AIPlayer(name.endsWith(" (AI)") ? name.substring(0, name.length() - 5) : name,
+                        AIStrategies.create(image.playerStrategies.get(i)));
+                // Saves from before the AI setup was stored hold 0, and newMoveBudget then uses the defaults
+                ai.setMoveBudget(image.playerMoveTimes.get(i), image.playerMaxNodes.get(i));
+                p = ai;
+            } else {
+                p = new Player(name);
+            }
+            p.setScore(image.playerScores.get(i));
+            for (Card c : image.hands.get(i)) {
+                p.getHand().addCard(c);
+            }
+            game.players.add(p);
+        }
+
+        game.lightDeck.clear();
+        game.lightDeck.addAll(image.lightDeck);
+        game.darkDeck.clear();
+        game.darkDeck.addAll(image.darkDeck);
+        game.lightDiscard.addAll(image.lightDiscard);
+        game.darkDiscard.addAll(image.darkDiscard);
+
+        game.currentPlayerIndex = image.currentPlayerIndex;
+        game.clockwise = image.clockwise;
+        game.top = image.top;
+        game.topWild = image.topWild;
+        game.pendingSkips = image.pendingSkips;
+        game.currentSide = image.currentSide;
+        game.darkWildColor = image.darkWildColor;
+        game.currentRound = image.currentRound;
+        game.deck = (game.currentSide == Side.LIGHT) ? game.lightDeck : game.darkDeck;
+
+        return game;
+    }
+
+    /**
+     * Loads a game state from a file. Binary saves (written by saveGame and
+     * saveGameIncremental) are read through a FileChannel and rebuilt from their
+     * base image plus any deltas. Older saves written with Java serialization
+     * are still read with an ObjectInputStream.
      * 
      * @param filename the file to load from
      * @return the loaded Game object, or null if loading failed
      */
     public static Game loadGame(String filename) {
+        if (IncrementalGameSaver.isIncrementalSave(filename)) {
+            try {
+                Game game = IncrementalGameSaver.load(filename);
+                System.out.println("Game loaded successfully from " + filename);
+                return game;
+            } catch (IOException e) {
+                System.err.println("Error loading game: " + e.getMessage());
+                return null;
+            }
+        }
+
         FileInputStream istream = null;
         ObjectInputStream p = null;
         
@@ -1414,7 +1779,7 @@ public class Game implements Serializable {
             Game game = (Game) p.readObject();
             
             // Re-initialize transient fields (they weren't serialized)
-            game.pcs = new PropertyChangeSupport(game);
+            game.bus = new GameEventBus();
             game.views = new ArrayList<>();
 
             // RECREATE UNDO/REDO STACKS
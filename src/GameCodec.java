@@ -0,0 +1,396 @@
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compact binary encoding of a GameImage.
+ *
+ * A card is a single byte (value and colour packed together), piles and hands
+ * are a length followed by card bytes, and the scalar turn state is a handful
+ * of bytes. Two kinds of payload are supported:
+ *
+ * - a base image, which holds the complete game
+ * - a delta, which holds only what changed between two images: the scalar
+ *   state, the scores that moved, and for every hand or pile that changed a
+ *   "splice" (kept prefix length, kept suffix length, replaced middle cards).
+ *   Drawing from the top of a deck or adding to a discard pile therefore costs
+ *   a few bytes instead of rewriting the whole pile.
+ *
+ * Everything is written straight into a ByteBuffer (normally a pooled direct
+ * buffer, see DirectBufferPool) so the bytes can go to a FileChannel without
+ * any intermediate copies. Writing past the end of the buffer throws
+ * BufferOverflowException; callers retry with a bigger buffer. Reading past
+ * the end throws BufferUnderflowException.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameCodec {
+
+    private static final int NULL_CODE = 0xFF;
+    private static final int COLORS_PER_VALUE = Card.Color.values().length + 1;
+
+    private static final Card.Color[] COLORS = Card.Color.values();
+    private static final Card.Value[] VALUES = Card.Value.values();
+
+    // Pile order used by the delta mask
+    private static final int PILE_LIGHT_DECK = 0;
+    private static final int PILE_DARK_DECK = 1;
+    private static final int PILE_LIGHT_DISCARD = 2;
+    private static final int PILE_DARK_DISCARD = 3;
+
+    /** The first save format version that stores each AI seat's strategy and budget. */
+    static final int AI_SETUP_VERSION = 2;
+
+    private GameCodec() {
+    }
+
+    // ---------------------------------------------------------------
+    // Cards
+    // ---------------------------------------------------------------
+
+    /**
+     * Packs a card into a single byte code.
+     *
+     * @param card the card, may be null
+     * @return the code (0-170), or 255 for a null card
+     */
+    public static int cardCode(Card card) {
+        if (card == null) return NULL_CODE;
+        int color = (card.getColor() == null) ? 0 : card.getColor().ordinal() + 1;
+        return card.getValue().ordinal() * COLORS_PER_VALUE + color;
+    }
+
+    /**
+     * Rebuilds a card from its byte code.
+     *
+     * @param code the code produced by cardCode
+     * @return the card, or null for the null code
+     * @throws StreamCorruptedException if the code is out of range
+     */
+    public static Card decodeCard(int code) throws StreamCorruptedException {
+        if (code == NULL_CODE) return null;
+        int valueIndex = code / COLORS_PER_VALUE;
+        int colorIndex = code % COLORS_PER_VALUE;
+        if (valueIndex >= VALUES.length) {
+            throw new StreamCorruptedException("Invalid card code " + code);
+        }
+        Card.Color color = (colorIndex == 0) ? null : COLORS[colorIndex - 1];
+        return new Card(color, VALUES[valueIndex]);
+    }
+
+    private static void writeCards(ByteBuffer out, List<Card> cards, int from, int to) {
+        out.putShort((short) (to - from));
+        for (int i = from; i < to; i++) {
+            out.put((byte) cardCode(cards.get(i)));
+        }
+    }
+
+    private static void readCards(ByteBuffer in, List<Card> into) throws IOException {
+        int count = readUnsignedShort(in);
+        for (int i = 0; i < count; i++) {
+            into.add(decodeCard(readUnsignedByte(in)));
+        }
+    }
+
+    private static void writeColor(ByteBuffer out, Card.Color color) {
+        out.put((byte) (color == null ? NULL_CODE : color.ordinal()));
+    }
+
+    private static Card.Color readColor(ByteBuffer in) throws IOException {
+        int ordinal = readUnsignedByte(in);
+        if (ordinal == NULL_CODE) return null;
+        if (ordinal >= COLORS.length) {
+            throw new StreamCorruptedException("Invalid color " + ordinal);
+        }
+        return COLORS[ordinal];
+    }
+
+    // Names are stored as UTF-16 chars so writing them never allocates
+    private static void writeName(ByteBuffer out, String name) {
+        out.putShort((short) name.length());
+        for (int i = 0; i < name.length(); i++) {
+            out.putChar(name.charAt(i));
+        }
+    }
+
+    private static String readName(ByteBuffer in) {
+        char[] chars = new char[readUnsignedShort(in)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = in.getChar();
+        }
+        return new String(chars);
+    }
+
+    private static int readUnsignedByte(ByteBuffer in) {
+        return in.get() & 0xFF;
+    }
+
+    private static int readUnsignedShort(ByteBuffer in) {
+        return in.getShort() & 0xFFFF;
+    }
+
+    // ---------------------------------------------------------------
+    // Base image
+    // ---------------------------------------------------------------
+
+    /**
+     * Writes a complete game image.
+     *
+     * @param out the destination
+     * @param image the image to write
+     */
+    public static void writeBase(ByteBuffer out, GameImage image) {
+        out.put((byte) image.getPlayerCount());
+        for (int i = 0; i < image.getPlayerCount(); i++) {
+            writeName(out, image.playerNames.get(i));
+            out.put((byte) (image.playerIsAI.get(i) ? 1 : 0));
+            if (image.playerIsAI.get(i)) {
+                writeName(out, image.playerStrategies.get(i));
+                out.putLong(image.playerMoveTimes.get(i));
+                out.putLong(image.playerMaxNodes.get(i));
+            }
+            out.putInt(image.playerScores.get(i));
+            List<Card> hand = image.hands.get(i);
+            writeCards(out, hand, 0, hand.size());
+        }
+        for (int pile = PILE_LIGHT_DECK; pile <= PILE_DARK_DISCARD; pile++) {
+            List<Card> cards = pile(image, pile);
+            writeCards(out, cards, 0, cards.size());
+        }
+        writeScalars(out, image);
+    }
+
+    /**
+     * Reads a complete game image, replacing the contents of the given image.
+     *
+     * @param in the source
+     * @param image the image to fill
+     * @param version the save format version it was written with; before
+     *        AI_SETUP_VERSION AI seats have no strategy (null) or budget (0)
+     * @throws IOException if the data is malformed
+     */
+    public static void readBase(ByteBuffer in, GameImage image, int version) throws IOException {
+        int count = readUnsignedByte(in);
+        image.setPlayerCount(count);
+        for (int i = 0; i < count; i++) {
+            image.playerNames.add(readName(in));
+            boolean ai = in.get() != 0;
+            image.playerIsAI.add(ai);
+            boolean setup = ai && version >= AI_SETUP_VERSION;
+            image.playerStrategies.add(setup ? readName(in) : null);
+            image.playerMoveTimes.add(setup ? in.getLong() : 0L);
+            image.playerMaxNodes.add(setup ? in.getLong() : 0L);
+            image.playerScores.add(in.getInt());
+            List<Card> hand = image.hands.get(i);
+            hand.clear();
+            readCards(in, hand);
+        }
+        for (int pile = PILE_LIGHT_DECK; pile <= PILE_DARK_DISCARD; pile++) {
+            List<Card> cards = pile(image, pile);
+            cards.clear();
+            readCards(in, cards);
+        }
+        readScalars(in, image);
+    }
+
+    // ---------------------------------------------------------------
+    // Delta
+    // ---------------------------------------------------------------
+
+    /**
+     * Writes the changes that turn {@code prev} into {@code cur}.
+     * Both images must seat the same players (see GameImage.hasSameSeats).
+     *
+     * @param out the destination
+     * @param prev the image the delta will be applied on top of
+     * @param cur the image the delta should produce
+     */
+    public static void writeDelta(ByteBuffer out, GameImage prev, GameImage cur) {
+        writeScalars(out, cur);
+
+        int players = cur.getPlayerCount();
+
+        int changedScores = 0;
+        for (int i = 0; i < players; i++) {
+            if (!prev.playerScores.get(i).equals(cur.playerScores.get(i))) changedScores++;
+        }
+        out.put((byte) changedScores);
+        for (int i = 0; i < players; i++) {
+            if (!prev.playerScores.get(i).equals(cur.playerScores.get(i))) {
+                out.put((byte) i);
+                out.putInt(cur.playerScores.get(i));
+            }
+        }
+
+        int changedHands = 0;
+        for (int i = 0; i < players; i++) {
+            if (!sameCards(prev.hands.get(i), cur.hands.get(i))) changedHands++;
+        }
+        out.put((byte) changedHands);
+        for (int i = 0; i < players; i++) {
+            if (!sameCards(prev.hands.get(i), cur.hands.get(i))) {
+                out.put((byte) i);
+                writeSplice(out, prev.hands.get(i), cur.hands.get(i));
+            }
+        }
+
+        int pileMask = 0;
+        for (int pile = PILE_LIGHT_DECK; pile <= PILE_DARK_DISCARD; pile++) {
+            if (!sameCards(pile(prev, pile), pile(cur, pile))) pileMask |= 1 << pile;
+        }
+        out.put((byte) pileMask);
+        for (int pile = PILE_LIGHT_DECK; pile <= PILE_DARK_DISCARD; pile++) {
+            if ((pileMask & (1 << pile)) != 0) {
+                writeSplice(out, pile(prev, pile), pile(cur, pile));
+            }
+        }
+    }
+
+    /**
+     * Applies a delta written by writeDelta to the given image in place.
+     *
+     * @param in the source
+     * @param image the image to update
+     * @throws IOException if the data is malformed
+     */
+    public static void applyDelta(ByteBuffer in, GameImage image) throws IOException {
+        readScalars(in, image);
+
+        int players = image.getPlayerCount();
+
+        int changedScores = readUnsignedByte(in);
+        for (int n = 0; n < changedScores; n++) {
+            int seat = readSeat(in, players);
+            image.playerScores.set(seat, in.getInt());
+        }
+
+        int changedHands = readUnsignedByte(in);
+        for (int n = 0; n < changedHands; n++) {
+            int seat = readSeat(in, players);
+            applySplice(in, image.hands.get(seat));
+        }
+
+        int pileMask = readUnsignedByte(in);
+        for (int pile = PILE_LIGHT_DECK; pile <= PILE_DARK_DISCARD; pile++) {
+            if ((pileMask & (1 << pile)) != 0) {
+                applySplice(in, pile(image, pile));
+            }
+        }
+    }
+
+    private static int readSeat(ByteBuffer in, int players) throws IOException {
+        int seat = readUnsignedByte(in);
+        if (seat >= players) {
+            throw new StreamCorruptedException("Invalid player index " + seat);
+        }
+        return seat;
+    }
+
+    /**
+     * Writes the cards of {@code cur} that differ from {@code prev}, keeping the
+     * longest common prefix and suffix.
+     */
+    private static void writeSplice(ByteBuffer out, List<Card> prev, List<Card> cur) {
+        int prefix = commonPrefix(prev, cur);
+        int suffix = commonSuffix(prev, cur, prefix);
+
+        out.putShort((short) prefix);
+        out.putShort((short) suffix);
+        writeCards(out, cur, prefix, cur.size() - suffix);
+    }
+
+    private static void applySplice(ByteBuffer in, List<Card> cards) throws IOException {
+        int prefix = readUnsignedShort(in);
+        int suffix = readUnsignedShort(in);
+        if (prefix + suffix > cards.size()) {
+            throw new StreamCorruptedException("Delta does not match its base image");
+        }
+        // Drop the replaced middle, then insert the new one in its place
+        cards.subList(prefix, cards.size() - suffix).clear();
+        int count = readUnsignedShort(in);
+        for (int i = 0; i < count; i++) {
+            cards.add(prefix + i, decodeCard(readUnsignedByte(in)));
+        }
+    }
+
+    /**
+     * Counts how many leading cards two lists share (compared by face).
+     *
+     * @param prev the older list
+     * @param cur the newer list
+     * @return the length of the common prefix
+     */
+    static int commonPrefix(List<Card> prev, List<Card> cur) {
+        int max = Math.min(prev.size(), cur.size());
+        int prefix = 0;
+        while (prefix < max && cardCode(prev.get(prefix)) == cardCode(cur.get(prefix))) {
+            prefix++;
+        }
+        return prefix;
+    }
+
+    /**
+     * Counts how many trailing cards two lists share (compared by face),
+     * without overlapping an already matched prefix.
+     *
+     * @param prev the older list
+     * @param cur the newer list
+     * @param prefix the common prefix length from commonPrefix
+     * @return the length of the common suffix
+     */
+    static int commonSuffix(List<Card> prev, List<Card> cur, int prefix) {
+        int max = Math.min(prev.size(), cur.size()) - prefix;
+        int suffix = 0;
+        while (suffix < max &&
+                cardCode(prev.get(prev.size() - 1 - suffix)) == cardCode(cur.get(cur.size() - 1 - suffix))) {
+            suffix++;
+        }
+        return suffix;
+    }
+
+    private static boolean sameCards(List<Card> a, List<Card> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (cardCode(a.get(i)) != cardCode(b.get(i))) return false;
+        }
+        return true;
+    }
+
+    // ---------------------------------------------------------------
+    // Scalars
+    // ---------------------------------------------------------------
+
+    private static void writeScalars(ByteBuffer out, GameImage image) {
+        out.put((byte) image.currentPlayerIndex);
+        int flags = (image.clockwise ? 1 : 0) | (image.currentSide == Side.DARK ? 2 : 0);
+        out.put((byte) flags);
+        out.put((byte) cardCode(image.top));
+        writeColor(out, image.topWild);
+        writeColor(out, image.darkWildColor);
+        out.putShort((short) image.pendingSkips);
+        out.putInt(image.currentRound);
+    }
+
+    private static void readScalars(ByteBuffer in, GameImage image) throws IOException {
+        image.currentPlayerIndex = readUnsignedByte(in);
+        int flags = readUnsignedByte(in);
+        image.clockwise = (flags & 1) != 0;
+        image.currentSide = (flags & 2) != 0 ? Side.DARK : Side.LIGHT;
+        image.top = decodeCard(readUnsignedByte(in));
+        image.topWild = readColor(in);
+        image.darkWildColor = readColor(in);
+        image.pendingSkips = readUnsignedShort(in);
+        image.currentRound = in.getInt();
+    }
+
+    private static List<Card> pile(GameImage image, int pile) {
+        switch (pile) {
+            case PILE_LIGHT_DECK:    return image.lightDeck;
+            case PILE_DARK_DECK:     return image.darkDeck;
+            case PILE_LIGHT_DISCARD: return image.lightDiscard;
+            default:                 return image.darkDiscard;
+        }
+    }
+}
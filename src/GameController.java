@@ -4,26 +4,17 @@
  * Observes model state changes and refreshes the view accordingly.
  */
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.JFileChooser;
-import javax.swing.JOptionPane;
-
-public class GameController implements GameUIListener, ActionListener {
+public class GameController implements GameUIListener {
     private Game model;
     private final GameViewInterface view;
     private boolean hasPlayedThisTurn = false;
+    private String lastPlayer = null; // player of the last state event, used to detect turn changes
+    private AsyncGameStateListener modelListener; // wrapper that delivers events on the view's thread
+    private final TurnScheduler aiTurns;
+    private final AIDecisionService aiDecisions;
+    private final EndgameSolver endgame; // takes over every AI seat once few cards are left; null: never
+    private final PonderingService pondering; // null: AI seats stay idle during other turns
 
-
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        // unused or route events here if desired
-    }
     /**
      * Constructs a new GameController and connects the model and view
      *
@@ -31,241 +22,248 @@ public class GameController implements GameUIListener, ActionListener {
      * @param view the game view responsible for the GUI
      */
     public GameController(Game model, GameViewInterface view) {
+        this(model, view, AIDecisionService.async(GreedyStrategy::choose), new EndgameSolver(),
+                new PonderingService());
+    }
+
+    /**
+     * Constructs a new GameController that asks the given service for AI moves.
+     *
+     * @param model the game model that contains the logic and data
+     * @param view the game view responsible for the GUI
+     * @param aiDecisions computes the AI players' moves
+     */
+    public GameController(Game model, GameViewInterface view, AIDecisionService aiDecisions) {
+        this(model, view, aiDecisions, new EndgameSolver(), null);
+    }
+
+    /**
+     * Constructs a new GameController with its own endgame solver.
+     *
+     * @param model the game model that contains the logic and data
+     * @param view the game view responsible for the GUI
+     * @param aiDecisions computes the AI players' moves
+     * @param endgame solves small endgames for every AI seat, or null to let
+     *        each seat's strategy play to the end (as self-play tuning needs)
+     */
+    GameController(Game model, GameViewInterface view, AIDecisionService aiDecisions, EndgameSolver endgame) {
+        this(model, view, aiDecisions, endgame, null);
+    }
+
+    /**
+     * Constructs a new GameController whose AI seats may think ahead while
+     * a human player is up (see PonderingService).
+     *
+     * @param model the game model that contains the logic and data
+     * @param view the game view responsible for the GUI
+     * @param aiDecisions computes the AI players' moves
+     * @param endgame solves small endgames for every AI seat, or null
+     * @param pondering searches the next AI seat's likely turns ahead, or null
+     */
+    private GameController(Game model, GameViewInterface view, AIDecisionService aiDecisions,
+                           EndgameSolver endgame, PonderingService pondering) {
         this.model = model;
         this.view = view;
+        this.aiDecisions = aiDecisions;
+        this.endgame = endgame;
+        this.pondering = pondering;
         this.view.setListener(this);
 
-        this.model.addPropertyChangeListener(new PropertyChangeListener() {
-            private String lastPlayer = null;
-
-            @Override
-            public void propertyChange(PropertyChangeEvent evt) {
-                if (!"state".equals(evt.getPropertyName())) return;
-
-                GameStateEvent newState = (GameStateEvent) evt.getNewValue();
-
-                // Unlock only when the player changes or a 2-player reverse replay occurs
-                boolean turnChanged = newState.getCurPlayerName() != null &&
-                        !newState.getCurPlayerName().equals(lastPlayer);
-                boolean twoPlayerReverseReplay = newState.getStatusMessage() != null &&
-                        newState.getStatusMessage().contains("Same player goes again!");
-                if (turnChanged || twoPlayerReverseReplay) {
-                    hasPlayedThisTurn = false;
-                }
-                lastPlayer = newState.getCurPlayerName();
-
-                // Always show the model’s status message
-                if (newState.getStatusMessage() != null && !newState.getStatusMessage().isEmpty()) {
-                    view.updateStatusMessage(newState.getStatusMessage());
-                }
-
-                view.render(newState);
-
-                view.getUndoButton().setEnabled((model.canUndo()));
-                view.getRedoButton().setEnabled((model.canRedo()));
-
-                // --- SHOW ROUND COMPLETE POPUP ---
-                if (newState.getStatusMessage() != null && newState.getStatusMessage().contains("wins round")) {
-                    JOptionPane.showMessageDialog(null,
-                            newState.getStatusMessage() + "\nClick NEW ROUND to continue.",
-                            "Round Complete",
-                            JOptionPane.INFORMATION_MESSAGE);
-                }
-
-                // --- SHOW GAME OVER POPUP ---
-                if (newState.isGameOver()) {
-                    JOptionPane.showMessageDialog(
-                            null,
-                            newState.getStatusMessage() + "\nClick NEW GAME to restart.",
-                            "Game Over",
-                            JOptionPane.INFORMATION_MESSAGE
-                    );
-                }
-
-                // Check if current player is AI and handle their turn
-                Player currentPlayer = model.getCurrentPlayer();
-                if (currentPlayer instanceof AIPlayer && !hasPlayedThisTurn) {
-                    
-                    // Disable buttons for AI turn
-                    view.getDrawCardButton().setEnabled(false);
-                    view.getNextPlayerButton().setEnabled(false);
-
-                    handleAITurn();
-
-                }
-            }
-        });
+        // AI turns are paced on the view's thread, so it stays responsive between moves
+        this.aiTurns = new TurnScheduler(this::runScheduledAITurn, view.getAITurnDelayMillis(), view::runLater);
+
+        // Events are handled on the view's thread after the model call returns,
+        // so a popup shown while handling one never blocks the model
+        this.modelListener = createModelListener();
+        this.model.addGameStateListener(modelListener);
 
     }
 
     /**
-     * Executes the entire turn logic for an AI-controlled player.
-     * The AI selects a playable card using a basic strategy, or draws if none are valid.
-     * After playing or drawing, the AI chooses wild colors when required and then
-     * advances the turn to the next player. Button states are updated to prevent
-     * human interaction during the AI's turn.
+     * Wraps onModelStateChanged so events reach it through the view's runLater.
+     *
+     * @return the listener to register with the model
      */
-    private void handleAITurn() {
-        hasPlayedThisTurn = true; // lock out extra actions this turn
+    private AsyncGameStateListener createModelListener() {
+        return AsyncGameStateListener.onExecutor(this::onModelStateChanged, task -> view.runLater(task, 0));
+    }
 
-        Player currentPlayer = model.getCurrentPlayer();
-        if (!(currentPlayer instanceof AIPlayer)) {
-            // Safety check – should not happen, but just in case
-            view.getDrawCardButton().setEnabled(false);
-            view.getNextPlayerButton().setEnabled(false);
+    /**
+     * Reacts to a state event published by the model: updates the turn lock,
+     * renders the view, shows round/game popups and starts the AI's turn
+     * when an AI player is up.
+     *
+     * @param newState the state published by the model
+     */
+    private void onModelStateChanged(GameStateEvent newState) {
+        // Unlock when the player changes or a fresh turn starts (a 2-player
+        // reverse hands the turn back to the same player)
+        boolean turnChanged = newState.getCurPlayerName() != null &&
+                !newState.getCurPlayerName().equals(lastPlayer);
+        GameStateEvent.Kind kind = newState.getKind();
+        boolean freshTurn = kind == GameStateEvent.Kind.TURN_STARTED
+                || kind == GameStateEvent.Kind.ROUND_STARTED
+                || kind == GameStateEvent.Kind.GAME_STARTED;
+        if (turnChanged || freshTurn) {
             hasPlayedThisTurn = false;
-            return;
         }
+        lastPlayer = newState.getCurPlayerName();
 
-        // Choose what card to play, if any
-        Hand hand = currentPlayer.getHand();
-        int chosenIndex = chooseAIPlayIndex(hand);
-
-        if (chosenIndex >= 0) {
-            // Get the card before playing it to check if it's a wild
-            Card chosenCard = hand.getCard(chosenIndex);
-            boolean isLightWild = (chosenCard.getValue() == Card.Value.WILD || 
-                                   chosenCard.getValue() == Card.Value.WILD_DRAW_TWO);
-            boolean isDarkWild = (chosenCard.getValue() == Card.Value.WILD_DRAW_COLOR);
-            
-            // Try to play the chosen card
-            boolean success = model.playCardFromHand(chosenIndex);
-            
-            if (success && (isLightWild || isDarkWild)) {
-                // AI needs to choose a color for the wild card
-                Card.Color chosenColor;
-                
-                if (isDarkWild) {
-                    chosenColor = chooseAIDarkWildColor(hand);
-                    model.setDarkWildColor(chosenColor);
-                } else {
-                    chosenColor = chooseAIWildColor(hand);
-                    model.setTopWildColor(chosenColor);
-                }
-            } else if (!success) {
-                // If somehow invalid, just draw instead
-                model.drawCardForCurrentPlayer();
-            }
-        } else {
-            // No playable card, draw one
-            model.drawCardForCurrentPlayer();
+        // Always show the model’s status message
+        if (newState.getStatusMessage() != null && !newState.getStatusMessage().isEmpty()) {
+            view.updateStatusMessage(newState.getStatusMessage());
         }
 
-        // After action or draw, advance to next player
-        model.advanceTurn();
+        // Which controls are enabled (undo, redo, draw, ...) travels in the event itself
+        view.render(newState);
 
-        // Re-enable buttons (in case the next player is human)
-        view.getDrawCardButton().setEnabled(true);
-        view.getNextPlayerButton().setEnabled(true);
+        // --- SHOW ROUND COMPLETE POPUP ---
+        if (newState.isRoundOver() && !newState.isGameOver()) {
+            view.showMessage("Round Complete",
+                    newState.getStatusMessage() + "\nClick NEW ROUND to continue.");
+        }
 
-        // New player's turn starts fresh
-        hasPlayedThisTurn = false;
+        // --- SHOW GAME OVER POPUP ---
+        if (newState.isGameOver()) {
+            view.showMessage("Game Over",
+                    newState.getStatusMessage() + "\nClick NEW GAME to restart.");
+        }
 
+        // Check if current player is AI and handle their turn
+        // Only the newest event may start an AI turn; an older one that was
+        // still queued describes a turn that has already been played
+        boolean isLatest = newState.getVersion() == model.getStateVersion();
+        if (isLatest && pondering != null) {
+            // Any change means the guesses are settled or stale; a human's fresh turn starts new ones.
+            // Only human turns are used, so pondering never shares a strategy with a running AI turn.
+            pondering.stop();
+            if (freshTurn && !newState.isCurrentPlayerAI() && !newState.isRoundOver()) {
+                pondering.start(model, this::strategyFor);
+            }
+        }
+        if (isLatest && newState.isCurrentPlayerAI() && !newState.isRoundOver() && !hasPlayedThisTurn) {
+            // Queued rather than played here, so consecutive AI turns never nest
+            aiTurns.request();
+
+        }
     }
 
     /**
-     * Simple AI strategy:
-     * 1. Find all playable cards.
-     * 2. Prefer a non-wild card that matches the current color.
-     * 3. Otherwise, play the first playable card.
-     * 4. If none are playable, return -1.
+     * Plays the AI turn requested through the scheduler, provided an AI
+     * player is still up by the time it runs.
      */
-    private int chooseAIPlayIndex(Hand hand) {
-        List<Integer> playable = new ArrayList<>();
-
-        for (int i = 0; i < hand.getSize(); i++) {
-            Card c = hand.getCard(i);
-            if (model.isValidPlay(c)) {
-                playable.add(i);
-            }
+    private void runScheduledAITurn() {
+        if (model.getCurrentPlayer() instanceof AIPlayer && !hasPlayedThisTurn) {
+            handleAITurn();
         }
+    }
+
+    /**
+     * Starts the turn of an AI-controlled player. The player's AIStrategy
+     * chooses the move on a worker thread from a snapshot of the table
+     * (see AIDecisionService),
+     * so the view keeps painting while the AI thinks, and is applied by
+     * applyAIDecision back on this thread. The published state marks the
+     * AI as current, so the view keeps human controls disabled meanwhile.
+     */
+    private void handleAITurn() {
+        hasPlayedThisTurn = true; // lock out extra actions this turn
 
-        if (playable.isEmpty()) {
-            return -1; // nothing legal, must draw
+        if (!(model.getCurrentPlayer() instanceof AIPlayer)) {
+            // Safety check – should not happen, but just in case
+            hasPlayedThisTurn = false;
+            return;
         }
 
-        // Determine "current color": wild color if active, otherwise top card's color
-        Card top = model.getTopCard();
-        Card.Color activeColor = (top != null) ? top.getColor() : null;
-
-        // 1) Try to play a non-wild card that matches the active color
-        if (activeColor != null) {
-            for (int idx : playable) {
-                Card c = hand.getCard(idx);
-                if (c.getColor() != null && c.getColor() == activeColor) {
-                    return idx;
-                }
-            }
+        AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+        AITurnSnapshot snapshot = AITurnSnapshot.of(model);
+        AIDecision pondered = pondering == null ? null : pondering.take(snapshot);
+        if (pondered != null) {
+            // This exact turn was searched while the previous player thought
+            applyAIDecision(snapshot, pondered);
+            return;
         }
+        aiDecisions.decide(snapshot, strategyFor(ai, snapshot), ai.newMoveBudget(), task -> view.runLater(task, 0),
+                decision -> applyAIDecision(snapshot, decision));
+    }
 
-        // 2) Otherwise just play the first playable card
-        return playable.get(0);
+    /**
+     * Picks the strategy an AI seat plays a turn with: each seat brings its
+     * own, but small endgames are solved exactly instead.
+     *
+     * @param ai the AI player
+     * @param snapshot the turn
+     * @return the strategy
+     */
+    private AIStrategy strategyFor(AIPlayer ai, AITurnSnapshot snapshot) {
+        return endgame != null && endgame.appliesTo(snapshot) ? endgame : ai.getStrategy();
     }
 
     /**
-     * AI strategy for choosing a light-side wild card color.
-     * Selects the color that appears most frequently in the AI's remaining hand.
-     * This maximizes the chance of playing more cards on the next turn.
-     * 
-     * @param hand the AI player's hand
-     * @return the chosen light color (RED, BLUE, GREEN, or YELLOW)
+     * Applies a decided AI move: the chosen card (and wild colour), or a
+     * draw, followed by advancing the turn. The whole move is published as
+     * one state frame. A decision made on a state that has changed since
+     * (another action, undo, load) is dropped and the turn is decided again.
+     *
+     * @param snapshot the state the decision was made on
+     * @param decision the move to make
      */
-    private Card.Color chooseAIWildColor(Hand hand) {
-        // Count occurrences of each light color in AI's hand
-        int red = 0, blue = 0, green = 0, yellow = 0;
-        
-        for (int i = 0; i < hand.getSize(); i++) {
-            Card c = hand.getCard(i);
-            if (c.getColor() == null) continue; // Skip wild cards
-            
-            switch (c.getColor()) {
-                case RED: red++; break;
-                case BLUE: blue++; break;
-                case GREEN: green++; break;
-                case YELLOW: yellow++; break;
+    private void applyAIDecision(AITurnSnapshot snapshot, AIDecision decision) {
+        hasPlayedThisTurn = false;
+        if (snapshot.getStateVersion() != model.getStateVersion()) {
+            if (model.getCurrentPlayer() instanceof AIPlayer) {
+                aiTurns.request();
             }
+            return;
+        }
+
+        model.beginBatch();
+        try {
+            playAIMove(model.getCurrentPlayer(), decision);
+        } finally {
+            model.commitBatch();
         }
-        
-        // Choose the color with most cards
-        int max = Math.max(Math.max(red, blue), Math.max(green, yellow));
-        
-        if (red == max) return Card.Color.RED;
-        if (blue == max) return Card.Color.BLUE;
-        if (green == max) return Card.Color.GREEN;
-        return Card.Color.YELLOW;
     }
 
     /**
-     * AI strategy for choosing a dark-side wild card color.
-     * Selects the color that appears most frequently in the AI's remaining hand.
-     * This maximizes the chance of playing more cards on the next turn.
-     * 
-     * @param hand the AI player's hand
-     * @return the chosen dark color (TEAL, PURPLE, PINK, or ORANGE)
+     * Plays one AI move against the model, followed by advancing the turn.
+     *
+     * @param currentPlayer the AI player whose turn it is
+     * @param decision the move chosen for it
      */
-    private Card.Color chooseAIDarkWildColor(Hand hand) {
-        // Count occurrences of each dark color in AI's hand
-        int teal = 0, purple = 0, pink = 0, orange = 0;
-        
-        for (int i = 0; i < hand.getSize(); i++) {
-            Card c = hand.getCard(i);
-            if (c.getColor() == null) continue; // Skip wild cards
+    private void playAIMove(Player currentPlayer, AIDecision decision) {
+        Hand hand = currentPlayer.getHand();
+
+        if (!decision.isDraw()) {
+            // Get the card before playing it to check if it's a wild
+            Card chosenCard = hand.getCard(decision.getHandIndex());
+            boolean isLightWild = (chosenCard.getValue() == Card.Value.WILD || 
+                                   chosenCard.getValue() == Card.Value.WILD_DRAW_TWO);
+            boolean isDarkWild = (chosenCard.getValue() == Card.Value.WILD_DRAW_COLOR);
             
-            switch (c.getColor()) {
-                case TEAL: teal++; break;
-                case PURPLE: purple++; break;
-                case PINK: pink++; break;
-                case ORANGE: orange++; break;
+            // Try to play the chosen card
+            boolean success = model.playCardFromHand(decision.getHandIndex());
+
+            // Going out ends the round; advancing would replace the round-over state in this frame
+            if (success && hand.getSize() == 0) {
+                return;
             }
+            
+            if (success && isDarkWild) {
+                model.setDarkWildColor(decision.getWildColor());
+            } else if (success && isLightWild) {
+                model.setTopWildColor(decision.getWildColor());
+            } else if (!success) {
+                // If somehow invalid, just draw instead
+                model.drawCardForCurrentPlayer();
+            }
+        } else {
+            // No playable card, draw one
+            model.drawCardForCurrentPlayer();
         }
-        
-        // Choose the color with most cards
-        int max = Math.max(Math.max(teal, purple), Math.max(pink, orange));
-        
-        if (teal == max) return Card.Color.TEAL;
-        if (purple == max) return Card.Color.PURPLE;
-        if (pink == max) return Card.Color.PINK;
-        return Card.Color.ORANGE;
+
+        // After action or draw, advance to next player
+        model.advanceTurn();
     }
 
     /**
@@ -337,6 +335,7 @@ public class GameController implements GameUIListener, ActionListener {
 
     @Override
     public void onNewRound() {
+        aiDecisions.cancel();
         model.saveState();
         model.startNewRound();
         view.updateStatusMessage("Starting Round " + model.getCurrentRound() + "!");
@@ -344,6 +343,7 @@ public class GameController implements GameUIListener, ActionListener {
 
     @Override
     public void onNewGame() {
+        aiDecisions.cancel();
         model.saveState();
         model.startNewGame();
         view.updateStatusMessage("New Game Started — Round 1!");
@@ -377,32 +377,27 @@ public class GameController implements GameUIListener, ActionListener {
 
     @Override
     public void onUndo() {
+        aiDecisions.cancel();
         model.undo();
         hasPlayedThisTurn = false;
     }
 
     @Override
     public void onRedo() {
+        aiDecisions.cancel();
         model.redo();
         hasPlayedThisTurn = false;
     }
 
     /**
      * Handles save game request from user.
-     * Opens a file chooser dialog and saves the game state to the selected file.
+     * Asks the view for a file and saves the game state to it.
      */
     @Override
     public void onSaveGame() {
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Save Game");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
-            "UNO Save Files (*.uno)", "uno"));
-        
-        int result = fileChooser.showSaveDialog(null);
-        
-        if (result == JFileChooser.APPROVE_OPTION) {
-            String filename = fileChooser.getSelectedFile().getAbsolutePath();
-            
+        String filename = view.chooseSaveFile();
+
+        if (filename != null) {
             // Add .uno extension if not present
             if (!filename.toLowerCase().endsWith(".uno")) {
                 filename += ".uno";
@@ -411,46 +406,27 @@ public class GameController implements GameUIListener, ActionListener {
             boolean success = model.saveGame(filename);
             
             if (success) {
-                JOptionPane.showMessageDialog(null, 
-                    "Game saved successfully!", 
-                    "Save Complete", 
-                    JOptionPane.INFORMATION_MESSAGE);
+                view.showMessage("Save Complete", "Game saved successfully!");
             } else {
-                JOptionPane.showMessageDialog(null,
-                    "Failed to save game. Please try again.",
-                    "Save Error",
-                    JOptionPane.ERROR_MESSAGE);
+                view.showError("Failed to save game. Please try again.");
             }
         }
     }
 
     /**
      * Handles load game request from user.
-     * Opens a file chooser dialog and loads a previously saved game.
+     * Asks the view for a saved game file and loads it.
      */
     @Override
     public void onLoadGame() {
         // Confirm with user
-        int confirm = JOptionPane.showConfirmDialog(
-            null,
-            "Loading a game will replace the current game. Continue?",
-            "Confirm Load",
-            JOptionPane.YES_NO_OPTION
-        );
-        
-        if (confirm != JOptionPane.YES_OPTION) {
+        if (!view.confirm("Confirm Load", "Loading a game will replace the current game. Continue?")) {
             return;
         }
         
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Load Game");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
-            "UNO Save Files (*.uno)", "uno"));
-        
-        int result = fileChooser.showOpenDialog(null);
+        String filename = view.chooseLoadFile();
         
-        if (result == JFileChooser.APPROVE_OPTION) {
-            String filename = fileChooser.getSelectedFile().getAbsolutePath();
+        if (filename != null) {
             
             // Load the game (returns new Game object)
             Game loadedGame = Game.loadGame(filename);
@@ -459,15 +435,9 @@ public class GameController implements GameUIListener, ActionListener {
                 // Reconnect controller to the loaded game
                 reconnectModel(loadedGame);
                 
-                JOptionPane.showMessageDialog(null,
-                    "Game loaded successfully!",
-                    "Load Complete",
-                    JOptionPane.INFORMATION_MESSAGE);
+                view.showMessage("Load Complete", "Game loaded successfully!");
             } else {
-                JOptionPane.showMessageDialog(null,
-                    "Failed to load game. File may be corrupted.",
-                    "Load Error",
-                    JOptionPane.ERROR_MESSAGE);
+                view.showError("Failed to load game. File may be corrupted.");
             }
         }
     }
@@ -479,60 +449,21 @@ public class GameController implements GameUIListener, ActionListener {
      * @param newModel the newly loaded Game object
      */
     private void reconnectModel(Game newModel) {
+        // Removing the listener also discards events the old model still had queued
+        this.model.removeGameStateListener(modelListener);
+        aiTurns.cancel();
+        aiDecisions.cancel();
+        if (pondering != null) {
+            pondering.stop();
+        }
+        hasPlayedThisTurn = false;
         this.model = newModel;
-        model.addView(view);
-        
-        this.model.addPropertyChangeListener(new PropertyChangeListener() {
-            private String lastPlayer = null;
-
-            @Override
-            public void propertyChange(PropertyChangeEvent evt) {
-                if (!"state".equals(evt.getPropertyName())) return;
-
-                GameStateEvent newState = (GameStateEvent) evt.getNewValue();
-
-                boolean turnChanged = newState.getCurPlayerName() != null &&
-                        !newState.getCurPlayerName().equals(lastPlayer);
-                boolean twoPlayerReverseReplay = newState.getStatusMessage() != null &&
-                        newState.getStatusMessage().contains("Same player goes again!");
-                if (turnChanged || twoPlayerReverseReplay) {
-                    hasPlayedThisTurn = false;
-                }
-                lastPlayer = newState.getCurPlayerName();
-
-                if (newState.getStatusMessage() != null && !newState.getStatusMessage().isEmpty()) {
-                    view.updateStatusMessage(newState.getStatusMessage());
-                }
-
-                view.render(newState);
-
-                view.getUndoButton().setEnabled((model.canUndo()));
-                view.getRedoButton().setEnabled((model.canRedo()));
-
-                if (newState.getStatusMessage() != null && newState.getStatusMessage().contains("wins round")) {
-                    JOptionPane.showMessageDialog(null,
-                            newState.getStatusMessage() + "\nClick NEW ROUND to continue.",
-                            "Round Complete",
-                            JOptionPane.INFORMATION_MESSAGE);
-                }
-
-                if (newState.isGameOver()) {
-                    JOptionPane.showMessageDialog(
-                            null,
-                            newState.getStatusMessage() + "\nClick NEW GAME to restart.",
-                            "Game Over",
-                            JOptionPane.INFORMATION_MESSAGE
-                    );
-                }
-
-                Player currentPlayer = model.getCurrentPlayer();
-                if (currentPlayer instanceof AIPlayer && !hasPlayedThisTurn) {
-                    view.getDrawCardButton().setEnabled(false);
-                    view.getNextPlayerButton().setEnabled(false);
-                    handleAITurn();
-                }
-            }
-        });
+
+        // The state listener below already renders the view, so it is not also
+        // registered with addView (that would render every state twice)
+        this.lastPlayer = null;
+        this.modelListener = createModelListener();
+        this.model.addGameStateListener(modelListener);
         
         GameStateEvent loadedState = model.exportState();
         view.render(loadedState);
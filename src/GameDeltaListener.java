@@ -0,0 +1,11 @@
+/**
+ * Listener for incremental game state changes published by the Game model.
+ * Registered through Game.addGameDeltaListener and called once per
+ * published state with a GameStateDelta describing what changed.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public interface GameDeltaListener {
+    void gameStateDelta(GameStateDelta delta);
+}
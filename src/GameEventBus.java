@@ -0,0 +1,167 @@
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+
+/**
+ * Typed event bus used by the Game model to publish state changes.
+ *
+ * Listeners are kept in a copy-on-write array: adding or removing a listener
+ * copies the array, but publishing an event only walks it, so dispatching one
+ * event to every listener allocates nothing. Each event is frozen before it is
+ * delivered and the same instance is handed to every listener.
+ *
+ * Listeners are called on the publishing thread. A listener that is slow or
+ * must run on the EDT can be wrapped in an AsyncGameStateListener, which
+ * queues the event and returns immediately.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameEventBus {
+
+    private static final GameStateListener[] NO_LISTENERS = new GameStateListener[0];
+
+    private static final GameDeltaListener[] NO_DELTA_LISTENERS = new GameDeltaListener[0];
+
+    private volatile GameStateListener[] listeners = NO_LISTENERS;
+    private volatile GameDeltaListener[] deltaListeners = NO_DELTA_LISTENERS;
+
+    /**
+     * Registers a listener. Adding the same listener twice has no effect.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addListener(GameStateListener listener) {
+        if (listener == null || indexOf(listener) >= 0) return;
+        GameStateListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+        grown[listeners.length] = listener;
+        listeners = grown;
+    }
+
+    /**
+     * Unregisters a listener. Listeners are matched with equals(), so a
+     * PropertyChangeAdapter can be removed by wrapping the same delegate again.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeListener(GameStateListener listener) {
+        int index = indexOf(listener);
+        if (index < 0) return;
+        GameStateListener[] shrunk = new GameStateListener[listeners.length - 1];
+        System.arraycopy(listeners, 0, shrunk, 0, index);
+        System.arraycopy(listeners, index + 1, shrunk, index, listeners.length - index - 1);
+        GameStateListener removed = listeners[index];
+        listeners = shrunk;
+        if (removed instanceof AsyncGameStateListener) {
+            ((AsyncGameStateListener) removed).close();
+        }
+    }
+
+    /**
+     * Gets the number of registered listeners.
+     *
+     * @return the listener count
+     */
+    public int getListenerCount() {
+        return listeners.length;
+    }
+
+    /**
+     * Freezes the event and delivers it to every registered listener in
+     * registration order.
+     *
+     * @param event the event to publish
+     */
+    public void publish(GameStateEvent event) {
+        event.freeze();
+        GameStateListener[] snapshot = listeners;
+        for (GameStateListener listener : snapshot) {
+            listener.gameStateChanged(event);
+        }
+    }
+
+    /**
+     * Registers a listener for incremental state changes.
+     *
+     * @param listener the listener to add
+     */
+    public synchronized void addDeltaListener(GameDeltaListener listener) {
+        if (listener == null || Arrays.asList(deltaListeners).contains(listener)) return;
+        GameDeltaListener[] grown = Arrays.copyOf(deltaListeners, deltaListeners.length + 1);
+        grown[deltaListeners.length] = listener;
+        deltaListeners = grown;
+    }
+
+    /**
+     * Unregisters a listener for incremental state changes.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void removeDeltaListener(GameDeltaListener listener) {
+        int index = Arrays.asList(deltaListeners).indexOf(listener);
+        if (index < 0) return;
+        GameDeltaListener[] shrunk = new GameDeltaListener[deltaListeners.length - 1];
+        System.arraycopy(deltaListeners, 0, shrunk, 0, index);
+        System.arraycopy(deltaListeners, index + 1, shrunk, index, deltaListeners.length - index - 1);
+        deltaListeners = shrunk;
+    }
+
+    /**
+     * Checks whether anyone listens for deltas, so the model can skip
+     * computing them when nobody does.
+     *
+     * @return true if at least one delta listener is registered
+     */
+    public boolean hasDeltaListeners() {
+        return deltaListeners.length > 0;
+    }
+
+    /**
+     * Delivers a delta to every registered delta listener.
+     *
+     * @param delta the delta to publish
+     */
+    public void publishDelta(GameStateDelta delta) {
+        GameDeltaListener[] snapshot = deltaListeners;
+        for (GameDeltaListener listener : snapshot) {
+            listener.gameStateDelta(delta);
+        }
+    }
+
+    private int indexOf(GameStateListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Bridges the bus to a legacy PropertyChangeListener by wrapping every
+     * event in a PropertyChangeEvent named "state". Two adapters are equal when
+     * they wrap the same delegate.
+     */
+    static class PropertyChangeAdapter implements GameStateListener {
+        private final Object source;
+        private final PropertyChangeListener delegate;
+
+        PropertyChangeAdapter(Object source, PropertyChangeListener delegate) {
+            this.source = source;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void gameStateChanged(GameStateEvent event) {
+            delegate.propertyChange(new PropertyChangeEvent(source, "state", null, event));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PropertyChangeAdapter && ((PropertyChangeAdapter) o).delegate.equals(delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flat, reusable picture of everything a save file needs to rebuild a Game:
+ * the players (name, AI flag and setup, score, hand), both decks, both
+ * discard piles and the scalar turn state.
+ *
+ * Unlike GameMemento this does not deep-copy anything. Cards never change
+ * after construction, so the lists only hold references, and an image can be
+ * refilled in place by Game.captureImage(GameImage) without new allocations.
+ *
+ * Used by GameCodec and IncrementalGameSaver.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameImage {
+
+    // Per-player data, all lists indexed by seat
+    final List<String> playerNames = new ArrayList<>();
+    final List<Boolean> playerIsAI = new ArrayList<>();
+    final List<Integer> playerScores = new ArrayList<>();
+    final List<List<Card>> hands = new ArrayList<>();
+
+    // AI setup per seat: strategy name (null for humans), move time and node limit
+    final List<String> playerStrategies = new ArrayList<>();
+    final List<Long> playerMoveTimes = new ArrayList<>();
+    final List<Long> playerMaxNodes = new ArrayList<>();
+
+    // Piles (draw piles are ordered from the top, discard piles from the bottom)
+    final List<Card> lightDeck = new ArrayList<>();
+    final List<Card> darkDeck = new ArrayList<>();
+    final List<Card> lightDiscard = new ArrayList<>();
+    final List<Card> darkDiscard = new ArrayList<>();
+
+    // Scalar turn state
+    int currentPlayerIndex;
+    boolean clockwise = true;
+    Card top;
+    Card.Color topWild;
+    int pendingSkips;
+    Side currentSide = Side.LIGHT;
+    Card.Color darkWildColor;
+    int currentRound = 1;
+
+    /**
+     * Gets the number of players held in this image.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return playerNames.size();
+    }
+
+    /**
+     * Resizes the per-player lists to the given player count,
+     * reusing the existing hand lists where possible.
+     *
+     * @param count the number of players
+     */
+    void setPlayerCount(int count) {
+        while (hands.size() < count) {
+            hands.add(new ArrayList<>());
+        }
+        while (hands.size() > count) {
+            hands.remove(hands.size() - 1);
+        }
+        playerNames.clear();
+        playerIsAI.clear();
+        playerScores.clear();
+        playerStrategies.clear();
+        playerMoveTimes.clear();
+        playerMaxNodes.clear();
+    }
+
+    /**
+     * Copies every field of another image into this one.
+     *
+     * @param other the image to copy from
+     */
+    void copyFrom(GameImage other) {
+        setPlayerCount(other.getPlayerCount());
+        playerNames.addAll(other.playerNames);
+        playerIsAI.addAll(other.playerIsAI);
+        playerScores.addAll(other.playerScores);
+        playerStrategies.addAll(other.playerStrategies);
+        playerMoveTimes.addAll(other.playerMoveTimes);
+        playerMaxNodes.addAll(other.playerMaxNodes);
+        for (int i = 0; i < other.hands.size(); i++) {
+            replace(hands.get(i), other.hands.get(i));
+        }
+        replace(lightDeck, other.lightDeck);
+        replace(darkDeck, other.darkDeck);
+        replace(lightDiscard, other.lightDiscard);
+        replace(darkDiscard, other.darkDiscard);
+
+        currentPlayerIndex = other.currentPlayerIndex;
+        clockwise = other.clockwise;
+        top = other.top;
+        topWild = other.topWild;
+        pendingSkips = other.pendingSkips;
+        currentSide = other.currentSide;
+        darkWildColor = other.darkWildColor;
+        currentRound = other.currentRound;
+    }
+
+    /**
+     * Checks whether another image seats the same players in the same order,
+     * which is what a delta block needs to be applicable on top of it.
+     * Deltas do not carry the AI setup, so that must match too.
+     *
+     * @param other the image to compare with
+     * @return true if names, AI flags and AI setups match seat by seat
+     */
+    boolean hasSameSeats(GameImage other) {
+        return playerNames.equals(other.playerNames) && playerIsAI.equals(other.playerIsAI)
+                && playerStrategies.equals(other.playerStrategies)
+                && playerMoveTimes.equals(other.playerMoveTimes)
+                && playerMaxNodes.equals(other.playerMaxNodes);
+    }
+
+    private static void replace(List<Card> target, List<Card> source) {
+        target.clear();
+        target.addAll(source);
+    }
+}
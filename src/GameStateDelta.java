@@ -0,0 +1,231 @@
+import java.util.Collections;
+import java.util.EventObject;
+import java.util.List;
+
+/**
+ * Incremental counterpart of GameStateEvent: instead of a full copy of the
+ * current hand and every field, it lists only what changed since the
+ * previously published state.
+ *
+ * Every published state has a version number. A delta carries its own
+ * version and the version it was computed against; a consumer that last saw
+ * a different version has missed an update and should call Game.resync() for
+ * a full GameStateEvent before applying further deltas.
+ *
+ * The small per-event fields (kind, status message, prompts, flags) are
+ * always included because they describe the event itself, not the state.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameStateDelta extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /** The kinds of change a delta can describe. */
+    public enum ChangeType {
+        /** The current player's whole hand (sent when the current player changes). */
+        HAND_RESET,
+        /** A card was inserted into the current hand at a position. */
+        CARD_ADDED,
+        /** The card at a position was removed from the current hand. */
+        CARD_REMOVED,
+        TOP_CARD_CHANGED,
+        WILD_COLOR_CHANGED,
+        SIDE_FLIPPED,
+        CURRENT_PLAYER_CHANGED,
+        SCORE_CHANGED
+    }
+
+    /**
+     * One change within a delta. Only the fields relevant to its type are set.
+     */
+    public static class Change {
+        private final ChangeType type;
+        private final int index;        // hand position, or player index
+        private final Card card;        // added card or new top card
+        private final List<Card> cards; // whole hand for HAND_RESET
+        private final String name;      // player name for CURRENT_PLAYER_CHANGED
+        private final int score;
+        private final Side side;
+        private final Card.Color color;
+
+        private Change(ChangeType type, int index, Card card, List<Card> cards,
+                       String name, int score, Side side, Card.Color color) {
+            this.type = type;
+            this.index = index;
+            this.card = card;
+            this.cards = cards;
+            this.name = name;
+            this.score = score;
+            this.side = side;
+            this.color = color;
+        }
+
+        static Change handReset(List<Card> hand) {
+            return new Change(ChangeType.HAND_RESET, -1, null, hand, null, 0, null, null);
+        }
+
+        static Change cardAdded(int position, Card card) {
+            return new Change(ChangeType.CARD_ADDED, position, card, null, null, 0, null, null);
+        }
+
+        static Change cardRemoved(int position) {
+            return new Change(ChangeType.CARD_REMOVED, position, null, null, null, 0, null, null);
+        }
+
+        static Change topCard(Card card) {
+            return new Change(ChangeType.TOP_CARD_CHANGED, -1, card, null, null, 0, null, null);
+        }
+
+        static Change wildColor(Card.Color color) {
+            return new Change(ChangeType.WILD_COLOR_CHANGED, -1, null, null, null, 0, null, color);
+        }
+
+        static Change side(Side side) {
+            return new Change(ChangeType.SIDE_FLIPPED, -1, null, null, null, 0, side, null);
+        }
+
+        static Change currentPlayer(int playerIndex, String name) {
+            return new Change(ChangeType.CURRENT_PLAYER_CHANGED, playerIndex, null, null, name, 0, null, null);
+        }
+
+        static Change score(int playerIndex, int score) {
+            return new Change(ChangeType.SCORE_CHANGED, playerIndex, null, null, null, score, null, null);
+        }
+
+        public ChangeType getType() { return type; }
+        /** @return the hand position (card changes) or player index (player/score changes) */
+        public int getIndex() { return index; }
+        public Card getCard() { return card; }
+        public List<Card> getCards() { return cards; }
+        public String getPlayerName() { return name; }
+        public int getScore() { return score; }
+        public Side getSide() { return side; }
+        public Card.Color getColor() { return color; }
+
+        @Override
+        public String toString() {
+            return type + (index >= 0 ? "@" + index : "") + (card != null ? " " + card : "");
+        }
+    }
+
+    private final long version;
+    private final long previousVersion;
+    private final List<Change> changes;
+
+    private final GameStateEvent.Kind kind;
+    private final boolean roundOver;
+    private final boolean currentPlayerAI;
+    private final String statusMessage;
+    private final boolean needsWildColor;
+    private final boolean needsDarkWildColor;
+    private final boolean canPlay;
+    private final boolean canDraw;
+    private final boolean canNext;
+    private final boolean canUndo;
+    private final boolean canRedo;
+    private final boolean canNewRound;
+    private final boolean canNewGame;
+    private final boolean gameOver;
+
+    /**
+     * Creates a delta for a published state.
+     *
+     * @param source the Game that published the state
+     * @param previousVersion the version this delta applies on top of
+     * @param state the published state
+     * @param changes the changes since the previous version
+     */
+    GameStateDelta(Object source, long previousVersion, GameStateEvent state, List<Change> changes) {
+        super(source);
+        this.version = state.getVersion();
+        this.previousVersion = previousVersion;
+        this.changes = Collections.unmodifiableList(changes);
+        this.kind = state.getKind();
+        this.roundOver = state.isRoundOver();
+        this.currentPlayerAI = state.isCurrentPlayerAI();
+        this.statusMessage = state.getStatusMessage();
+        this.needsWildColor = state.isNeedsWildColor();
+        this.needsDarkWildColor = state.isNeedsDarkWildColor();
+        this.canPlay = state.isCanPlay();
+        this.canDraw = state.isCanDraw();
+        this.canNext = state.isCanNext();
+        this.canUndo = state.isCanUndo();
+        this.canRedo = state.isCanRedo();
+        this.canNewRound = state.isCanNewRound();
+        this.canNewGame = state.isCanNewGame();
+        this.gameOver = state.isGameOver();
+    }
+
+    /**
+     * Builds the list of hand changes that turn {@code prev} into {@code cur}:
+     * removals first (highest position first), then insertions in order.
+     *
+     * @param prev the previously published hand
+     * @param cur the new hand
+     * @param into the list to append changes to
+     */
+    static void diffHands(List<Card> prev, List<Card> cur, List<Change> into) {
+        int prefix = GameCodec.commonPrefix(prev, cur);
+        int suffix = GameCodec.commonSuffix(prev, cur, prefix);
+        for (int i = prev.size() - suffix - 1; i >= prefix; i--) {
+            into.add(Change.cardRemoved(i));
+        }
+        for (int i = prefix; i < cur.size() - suffix; i++) {
+            into.add(Change.cardAdded(i, cur.get(i)));
+        }
+    }
+
+    /**
+     * Applies this delta's hand changes to a consumer's copy of the current hand.
+     *
+     * @param hand the consumer's hand as of previousVersion, updated in place
+     */
+    public void applyToHand(List<Card> hand) {
+        for (Change c : changes) {
+            switch (c.getType()) {
+                case HAND_RESET:
+                    hand.clear();
+                    hand.addAll(c.getCards());
+                    break;
+                case CARD_REMOVED:
+                    hand.remove(c.getIndex());
+                    break;
+                case CARD_ADDED:
+                    hand.add(c.getIndex(), c.getCard());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Checks whether this delta directly follows the version a consumer last saw.
+     *
+     * @param lastSeenVersion the version of the last state or delta the consumer applied
+     * @return true if the delta can be applied, false if a resync is needed
+     */
+    public boolean follows(long lastSeenVersion) {
+        return previousVersion == lastSeenVersion;
+    }
+
+    public long getVersion() { return version; }
+    public long getPreviousVersion() { return previousVersion; }
+    public List<Change> getChanges() { return changes; }
+
+    public GameStateEvent.Kind getKind() { return kind; }
+    public boolean isRoundOver() { return roundOver; }
+    public boolean isCurrentPlayerAI() { return currentPlayerAI; }
+    public String getStatusMessage() { return statusMessage; }
+    public boolean isNeedsWildColor() { return needsWildColor; }
+    public boolean isNeedsDarkWildColor() { return needsDarkWildColor; }
+    public boolean isCanPlay() { return canPlay; }
+    public boolean isCanDraw() { return canDraw; }
+    public boolean isCanNext() { return canNext; }
+    public boolean isCanUndo() { return canUndo; }
+    public boolean isCanRedo() { return canRedo; }
+    public boolean isCanNewRound() { return canNewRound; }
+    public boolean isCanNewGame() { return canNewGame; }
+    public boolean isGameOver() { return gameOver; }
+}
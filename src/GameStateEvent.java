@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EventObject;
 import java.util.List;
 
@@ -9,13 +10,59 @@ import java.util.List;
  * 
  * Contains all information necessary for the View to render the game state,
  * including current player, their hand, top card, and various game flags.
+ *
+ * The hand is copied once when the event is built and then shared as a
+ * read-only list with every reader. Once the event has been published
+ * (see GameEventBus) it is frozen and its setters throw IllegalStateException,
+ * so the same instance can safely be handed to any number of listeners.
  * 
  * @author G27
- * @version 3.0
+ * @version 5.0
  */
 public class GameStateEvent extends EventObject {
+
+    /**
+     * What happened to produce this event. Listeners branch on the kind and
+     * the flags below instead of reading the status message, which is only
+     * meant for display.
+     */
+    public enum Kind {
+        /** Generic refresh with no more specific meaning. */
+        STATE_CHANGED,
+        /** The first round of a game was dealt. */
+        GAME_STARTED,
+        /** A new round was dealt (also sent for round 1 of a new game). */
+        ROUND_STARTED,
+        /** The turn passed to the current player, who has not acted yet. */
+        TURN_STARTED,
+        /** The current player played a card without a special effect. */
+        CARD_PLAYED,
+        /** The current player played an action card and its effect was applied. */
+        ACTION_APPLIED,
+        /** A FLIP card turned every card over. */
+        SIDE_FLIPPED,
+        /** A wild card was played and its colour must now be chosen. */
+        WILD_COLOR_REQUESTED,
+        /** The colour of the wild on top of the pile was chosen. */
+        WILD_COLOR_CHOSEN,
+        /** One or more cards were drawn. */
+        CARD_DRAWN,
+        /** The winner of the round was awarded their points. */
+        ROUND_SCORED,
+        /** A player emptied their hand; the round is finished. */
+        ROUND_OVER,
+        /** A player reached the winning score; the game is finished. */
+        GAME_OVER,
+        /** An undo or redo restored an earlier state. */
+        STATE_RESTORED
+    }
+
+    private Kind kind = Kind.STATE_CHANGED;
+    private boolean roundOver = false;
+    private boolean currentPlayerAI = false;
+
     private String curPlayerName;
-    private List<Card> curHand = new ArrayList<>();
+    private final List<Card> curHand;
     private Card topCard;
 
     private boolean turnComplete = false;
@@ -24,6 +71,10 @@ public class GameStateEvent extends EventObject {
     private boolean canPlay;
     private boolean canDraw;
     private boolean canNext;
+    private boolean canUndo;
+    private boolean canRedo;
+    private boolean canNewRound;
+    private boolean canNewGame;
 
     private boolean needsWildColor;
     private Card.Color wildColor;
@@ -33,45 +84,91 @@ public class GameStateEvent extends EventObject {
 
     private boolean gameOver = false;
 
+    private long version = 0;   // set by the Game when the event is published
+    private boolean frozen = false;
+
     public GameStateEvent(Object source, String curPlayerName, List<Card> curHand, Card topCard) {
         super(source);
         this.curPlayerName = curPlayerName;
-        this.curHand = new ArrayList<>(curHand);
+        this.curHand = Collections.unmodifiableList(new ArrayList<>(curHand));
         this.topCard = topCard;
     }
 
+    /**
+     * Makes this event read-only. Called by the event bus before the
+     * event is delivered to any listener.
+     */
+    void freeze() { frozen = true; }
+
+    /** @return true if this event has been published and can no longer change */
+    public boolean isFrozen() { return frozen; }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("GameStateEvent is read-only once published");
+        }
+    }
+
+    /** @return the model's state version at publish time (0 if never published) */
+    public long getVersion() { return version; }
+    void setVersion(long version) { checkNotFrozen(); this.version = version; }
+
+    public Kind getKind() { return kind; }
+    public void setKind(Kind kind) { checkNotFrozen(); this.kind = kind; }
+
+    /** @return true once a player has emptied their hand, until the next round is dealt */
+    public boolean isRoundOver() { return roundOver; }
+    public void setRoundOver(boolean roundOver) { checkNotFrozen(); this.roundOver = roundOver; }
+
+    /** @return true if the current player is controlled by the computer */
+    public boolean isCurrentPlayerAI() { return currentPlayerAI; }
+    public void setCurrentPlayerAI(boolean currentPlayerAI) { checkNotFrozen(); this.currentPlayerAI = currentPlayerAI; }
+
     //Getters and Setters
     public String getCurPlayerName() { return curPlayerName; }
-    public List<Card> getCurHand() { return new ArrayList<>(curHand); }
+    /** @return a read-only view of the current player's hand, shared by all readers */
+    public List<Card> getCurHand() { return curHand; }
     public Card getTopCard() { return topCard; }
 
     public boolean isTurnComplete() { return turnComplete; }
-    public void setTurnComplete(boolean turnComplete) { this.turnComplete = turnComplete; }
+    public void setTurnComplete(boolean turnComplete) { checkNotFrozen(); this.turnComplete = turnComplete; }
 
     public String getStatusMessage() { return statusMessage; }
-    public void setStatusMessage(String msg) { this.statusMessage = msg; }
+    public void setStatusMessage(String msg) { checkNotFrozen(); this.statusMessage = msg; }
 
     public boolean isCanPlay() { return canPlay; }
-    public void setCanPlay(boolean canPlay) { this.canPlay = canPlay; }
+    public void setCanPlay(boolean canPlay) { checkNotFrozen(); this.canPlay = canPlay; }
 
     public boolean isCanDraw() { return canDraw; }
-    public void setCanDraw(boolean canDraw) { this.canDraw = canDraw; }
+    public void setCanDraw(boolean canDraw) { checkNotFrozen(); this.canDraw = canDraw; }
 
     public boolean isCanNext() { return canNext; }
-    public void setCanNext(boolean canNext) { this.canNext = canNext; }
+    public void setCanNext(boolean canNext) { checkNotFrozen(); this.canNext = canNext; }
+
+    public boolean isCanUndo() { return canUndo; }
+    public void setCanUndo(boolean canUndo) { checkNotFrozen(); this.canUndo = canUndo; }
+
+    public boolean isCanRedo() { return canRedo; }
+    public void setCanRedo(boolean canRedo) { checkNotFrozen(); this.canRedo = canRedo; }
+
+    public boolean isCanNewRound() { return canNewRound; }
+    public void setCanNewRound(boolean canNewRound) { checkNotFrozen(); this.canNewRound = canNewRound; }
+
+    public boolean isCanNewGame() { return canNewGame; }
+    public void setCanNewGame(boolean canNewGame) { checkNotFrozen(); this.canNewGame = canNewGame; }
 
     public boolean isNeedsWildColor() { return needsWildColor; }
-    public void setNeedsWildColor(boolean needsWildColor) { this.needsWildColor = needsWildColor; }
+    public void setNeedsWildColor(boolean needsWildColor) { checkNotFrozen(); this.needsWildColor = needsWildColor; }
 
     public Card.Color getWildColor() { return wildColor; }
-    public void setWildColor(Card.Color wildColor) { this.wildColor = wildColor; }
+    public void setWildColor(Card.Color wildColor) { checkNotFrozen(); this.wildColor = wildColor; }
 
     public boolean isNeedsDarkWildColor() { return needsDarkWildColor; }
-    public void setNeedsDarkWildColor(boolean needsDarkWildColor) { this.needsDarkWildColor = needsDarkWildColor; }
+    public void setNeedsDarkWildColor(boolean needsDarkWildColor) { checkNotFrozen(); this.needsDarkWildColor = needsDarkWildColor; }
 
     public Card.Color getDarkWildColor() { return darkWildColor; }
-    public void setDarkWildColor(Card.Color darkWildColor) { this.darkWildColor = darkWildColor; }
+    public void setDarkWildColor(Card.Color darkWildColor) { checkNotFrozen(); this.darkWildColor = darkWildColor; }
 
     public boolean isGameOver() { return gameOver; }
-    public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
+    public void setGameOver(boolean gameOver) { checkNotFrozen(); this.gameOver = gameOver; }
 }
@@ -0,0 +1,14 @@
+/**
+ * Listener for game state changes published by the Game model.
+ * Registered through Game.addGameStateListener and called once per
+ * published GameStateEvent.
+ *
+ * Part of the MVC architecture, this replaces the untyped
+ * PropertyChangeListener("state") callback with a typed one.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public interface GameStateListener {
+    void gameStateChanged(GameStateEvent event);
+}
@@ -1,6 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Collections;
 
@@ -24,9 +23,14 @@ public class GameView extends JFrame implements GameViewInterface {
     private JLabel currentPlayerLabel;
     private JLabel statusMessageLabel;
     
-    // Center panel for player's hand
-    private JPanel handPanel;
-    private ArrayList<JButton> cardButtons;
+    // Center panel for player's hand, painted as one component
+    private HandComponent handPanel;
+    private static final Color HAND_BACKGROUND = new Color(200, 220, 240);
+    private static final Color HAND_HIGHLIGHT = new Color(180, 220, 255);
+
+    // Highlights for the end-of-round buttons, set on every render
+    private static final Color NEW_ROUND_READY = new Color(0, 200, 0);
+    private static final Color NEW_GAME_READY = new Color(0, 150, 255);
     
     // Bottom panel components
     private JButton nextPlayerButton;
@@ -47,6 +51,14 @@ public class GameView extends JFrame implements GameViewInterface {
     private JMenu fileMenu;
     private JMenuItem saveMenuItem;
     private JMenuItem loadMenuItem;
+    private JMenu viewMenu;
+    private JCheckBoxMenuItem groupByColorMenuItem;
+
+    // Pause before each AI move so the table stays readable
+    private static final int AI_TURN_DELAY_MS = 300;
+
+    // Coalesces bursts of render calls into one frame
+    private final RenderScheduler renderScheduler = new RenderScheduler(this::renderFrame);
     
     /**
      * Constructs the GameView window.
@@ -58,8 +70,6 @@ public class GameView extends JFrame implements GameViewInterface {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
         
-        cardButtons = new ArrayList<>();
-        
         createMenuBar();
         initializeComponents();
         
@@ -83,7 +93,8 @@ public class GameView extends JFrame implements GameViewInterface {
                 JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED
         );
 
-        handScrollPane.setBorder(BorderFactory.createEmptyBorder());
+        // The title sits on the scroll pane so it stays put while the cards scroll
+        handScrollPane.setBorder(BorderFactory.createTitledBorder("Your Hand"));
 
         // Constrain height properly
         handScrollPane.setPreferredSize(new Dimension(1400, 240));
@@ -145,14 +156,16 @@ public class GameView extends JFrame implements GameViewInterface {
     /**
      * Creates the center panel for displaying player's cards.
      *
-     * @return JPanel for the player's hand
+     * @return HandComponent for the player's hand
      */
-    private JPanel createHandPanel() {
-        JPanel panel = new JPanel();
-        panel.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 30));
-        panel.setBorder(BorderFactory.createTitledBorder("Your Hand"));
-        panel.setBackground(new Color(200, 220, 240));
-        panel.setPreferredSize(new Dimension(1400, 300));
+    private HandComponent createHandPanel() {
+        HandComponent panel = new HandComponent();
+        panel.setBackground(HAND_BACKGROUND);
+        panel.setCardClickListener(index -> {
+            if (uiListener != null) {
+                uiListener.onPlayCard(index);
+            }
+        });
         return panel;
     }
 
@@ -234,8 +247,8 @@ public class GameView extends JFrame implements GameViewInterface {
     }
 
     /**
-     * Creates and configures the menu bar with File menu options.
-     * Provides Save Game and Load Game functionality.
+     * Creates and configures the menu bar with File and View menu options.
+     * Provides Save Game and Load Game functionality, and hand grouping.
      */
     private void createMenuBar() {
         menuBar = new JMenuBar();
@@ -262,6 +275,17 @@ public class GameView extends JFrame implements GameViewInterface {
         fileMenu.add(saveMenuItem);
         fileMenu.add(loadMenuItem);
         menuBar.add(fileMenu);
+
+        viewMenu = new JMenu("View");
+        viewMenu.setFont(new Font("Arial", Font.PLAIN, 14));
+
+        groupByColorMenuItem = new JCheckBoxMenuItem("Group Cards by Colour");
+        groupByColorMenuItem.setFont(new Font("Arial", Font.PLAIN, 12));
+        groupByColorMenuItem.addActionListener(e ->
+                handPanel.setGroupByColor(groupByColorMenuItem.isSelected()));
+
+        viewMenu.add(groupByColorMenuItem);
+        menuBar.add(viewMenu);
         
         setJMenuBar(menuBar);
     }
@@ -299,56 +323,7 @@ public class GameView extends JFrame implements GameViewInterface {
      * @param hand the Hand object containing the player's cards
      */
     public void displayHand(Hand hand) {
-        handPanel.removeAll();
-        cardButtons.clear();
-        
-        for (int i = 0; i < hand.getSize(); i++) {
-            Card card = hand.getCard(i);
-            JButton cardButton = createCardButton(card, i);
-            cardButtons.add(cardButton);
-            handPanel.add(cardButton);
-        }
-
-        // Will have to implement these        
-        handPanel.revalidate();
-        handPanel.repaint();
-    }
-
-    /**
-     * Creates a button representing a card in the player's hand.
-     *
-     * @param card the card to represent
-     * @param index the position of the card in the hand
-     * @return JButton styled as a card
-     */
-    private JButton createCardButton(Card card, int index) {
-        JButton button = new JButton(formatCardText(card));
-        button.setPreferredSize(new Dimension(120, 180));
-        button.setBackground(getColorForCard(card));
-        button.setOpaque(true);
-        if (card.getColor() == null) {
-            // Wild cards are black → use white text
-            button.setForeground(Color.WHITE);
-        } else if (card.getColor() == Card.Color.YELLOW) {
-            // Yellow is bright → black text
-            button.setForeground(Color.BLACK);
-        } else {
-            // All other colors → white text
-            button.setForeground(Color.WHITE);
-        }
-        button.setFont(new Font("Arial", Font.BOLD, 11));
-        button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 3));
-        button.setFocusPainted(false);
-        
-        // Store the index in the button's action command
-        button.setActionCommand(String.valueOf(index));
-        button.addActionListener(e -> {
-            if (uiListener != null){
-                uiListener.onPlayCard((Integer.parseInt((e.getActionCommand()))));
-            }
-        });
-
-        return button;
+        handPanel.setCards(hand.getCardsList());
     }
     
     /**
@@ -373,10 +348,7 @@ public class GameView extends JFrame implements GameViewInterface {
      * @return Color object for the card's background
      */
     private Color getColorForCard(Card card) {
-        if (card.getColor() == null) {
-            return Color.BLACK;
-        }
-        return getColorForCardColor(card.getColor());
+        return CardImageCache.backgroundFor(card);
     }
 
     /**
@@ -386,26 +358,7 @@ public class GameView extends JFrame implements GameViewInterface {
      * @return corresponding java.awt.Color
      */
     private Color getColorForCardColor(Card.Color color) {
-        switch (color) {
-            case RED:
-                return new Color(255, 80, 80);
-            case BLUE:
-                return new Color(87, 151, 246);
-            case GREEN:
-                return new Color(69, 246, 129);
-            case YELLOW:
-                return new Color(255, 220, 80);
-            case PURPLE:
-                return new Color(182, 52, 207);
-            case ORANGE:
-                return new Color(244, 109, 82);
-            case PINK:
-                return new Color(241, 111, 194);
-            case TEAL:
-                return new Color(0, 143, 134);
-            default:
-                return Color.WHITE;
-        }
+        return CardImageCache.colorFor(color);
     }
 
     /**
@@ -477,14 +430,32 @@ public class GameView extends JFrame implements GameViewInterface {
         scoreboardLabel.setText(sb.toString());
     }
 
+    /**
+     * Schedules the game state to be drawn on the next frame (see
+     * RenderScheduler), so a burst of events is drawn once, as its latest
+     * state. A state that opens a wild colour prompt for a human player is
+     * drawn immediately so the prompt appears exactly once, and so is the end
+     * of a round or game, so it is on screen before the controller's popup.
+     *
+     * @param s the current GameStateEvent containing all visible game data
+     */
+    public void render(GameStateEvent s) {
+        boolean needsPrompt = (s.isNeedsWildColor() || s.isNeedsDarkWildColor()) && !s.isCurrentPlayerAI();
+        if (needsPrompt || s.isRoundOver()) {
+            renderScheduler.submitUrgent(s);
+        } else {
+            renderScheduler.submit(s);
+        }
+    }
+
     /**
      * Renders the game state on the screen by updating all UI components.
      * This includes the top card display, player's hand, button states,
      * status messages, scoreboard, and wild card color prompts.
      *
-     * @param s the current GameStateEvent containing all visible game data
+     * @param s the GameStateEvent to draw
      */
-    public void render(GameStateEvent s) {
+    private void renderFrame(GameStateEvent s) {
 
         // --- TOP CARD + PLAYER NAME ---
         if (s.getTopCard() != null) {
@@ -495,7 +466,7 @@ public class GameView extends JFrame implements GameViewInterface {
         }
 
         // Check if current player is human
-        boolean isAIPlayer = s.getCurPlayerName() != null && s.getCurPlayerName().contains("(AI)");
+        boolean isAIPlayer = s.isCurrentPlayerAI();
 
         // --- DARK WILD COLOR PROMPT FIRST ---
         if (s.isNeedsDarkWildColor() && !isAIPlayer) {
@@ -531,58 +502,32 @@ public class GameView extends JFrame implements GameViewInterface {
         }
 
         //Highlight the new round visually
-        if (s.getStatusMessage() != null && s.getStatusMessage().contains("Round")) {
-            handPanel.setBackground(new Color(180, 220, 255));
+        if (s.getKind() == GameStateEvent.Kind.ROUND_STARTED || s.isRoundOver()) {
+            handPanel.setBackground(HAND_HIGHLIGHT);
         } else {
-            handPanel.setBackground(new Color(200, 220, 240));
+            handPanel.setBackground(HAND_BACKGROUND);
         }
 
 
-        // Show New Round / New Game buttons when appropriate
-        if (s.getStatusMessage() != null && s.getStatusMessage().contains("wins round")) {
-            // Round over - show New Round button
-            nextPlayerButton.setEnabled(false);
-            drawCardButton.setEnabled(false);
-            newRoundButton.setEnabled(true);
-            newGameButton.setEnabled(false);
-            newRoundButton.setBackground(new Color(0, 200, 0));
-        } else if (s.isGameOver()) {
-            // Game over - show New Game button
-            nextPlayerButton.setEnabled(false);
-            drawCardButton.setEnabled(false);
-            newRoundButton.setEnabled(false);
-            newGameButton.setEnabled(true);
-            newGameButton.setBackground(new Color(0, 150, 255));
-        } else {
-            // Normal gameplay
-            newRoundButton.setEnabled(false);
-            newGameButton.setEnabled(false);
-            newRoundButton.setBackground(null);
-            newGameButton.setBackground(null);
-            drawCardButton.setEnabled(s.isCanDraw());
-            nextPlayerButton.setEnabled(s.isCanNext());
-        }
+        // --- BUTTON STATES (decided by the model, see GameStateEvent) ---
+        // The AI acts by itself, so its turn leaves Draw / Next off
+        drawCardButton.setEnabled(s.isCanDraw() && !isAIPlayer);
+        nextPlayerButton.setEnabled(s.isCanNext() && !isAIPlayer);
+        newRoundButton.setEnabled(s.isCanNewRound());
+        newGameButton.setEnabled(s.isCanNewGame());
+        undoButton.setEnabled(s.isCanUndo());
+        redoButton.setEnabled(s.isCanRedo());
+
+        // Highlight New Round / New Game when they are the way forward
+        newRoundButton.setBackground(s.isCanNewRound() ? NEW_ROUND_READY : null);
+        newGameButton.setBackground(s.isCanNewGame() ? NEW_GAME_READY : null);
 
         // --- STATUS MESSAGE ---
         updateStatusMessage(s.getStatusMessage() == null ? "" : s.getStatusMessage());
 
-        // --- BUTTON STATES ---
-        drawCardButton.setEnabled(s.isCanDraw());
-        nextPlayerButton.setEnabled(s.isCanNext());
-
         // --- REDRAW PLAYER HAND ---
-        handPanel.removeAll();
-        cardButtons.clear();
         List<Card> hand = s.getCurHand() == null ? Collections.emptyList() : s.getCurHand();
-
-        for (int i = 0; i < hand.size(); i++) {
-            JButton cardBtn = createCardButton(hand.get(i), i);
-            cardButtons.add(cardBtn);
-            handPanel.add(cardBtn);
-        }
-
-        handPanel.revalidate();
-        handPanel.repaint();
+        handPanel.setCards(hand);
     }
 
     
@@ -605,12 +550,12 @@ public class GameView extends JFrame implements GameViewInterface {
     }
     
     /**
-     * Gets the list of card buttons.
+     * Gets the component that paints the player's hand.
      *
-     * @return ArrayList of card buttons
+     * @return the hand component
      */
-    public ArrayList<JButton> getCardButtons() {
-        return cardButtons;
+    public HandComponent getHandComponent() {
+        return handPanel;
     }
 
     public JButton getNewRoundButton() {
@@ -649,7 +594,94 @@ public class GameView extends JFrame implements GameViewInterface {
      * @param message the information message
      */
     public void showMessage(String message) {
-        JOptionPane.showMessageDialog(this, message, "Information", JOptionPane.INFORMATION_MESSAGE);
+        showMessage("Information", message);
+    }
+
+    /**
+     * Displays an information message dialog with a title.
+     *
+     * @param title the dialog title
+     * @param message the information message
+     */
+    @Override
+    public void showMessage(String title, String message) {
+        JOptionPane.showMessageDialog(this, message, title, JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Asks a yes/no question in a dialog.
+     *
+     * @param title the dialog title
+     * @param question the question text
+     * @return true if the user clicked Yes
+     */
+    @Override
+    public boolean confirm(String title, String question) {
+        return JOptionPane.showConfirmDialog(this, question, title, JOptionPane.YES_NO_OPTION)
+                == JOptionPane.YES_OPTION;
+    }
+
+    /**
+     * Opens a save dialog for UNO save files.
+     *
+     * @return the chosen path, or null if cancelled
+     */
+    @Override
+    public String chooseSaveFile() {
+        JFileChooser fileChooser = createSaveFileChooser("Save Game");
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile().getAbsolutePath();
+    }
+
+    /**
+     * Opens a load dialog for UNO save files.
+     *
+     * @return the chosen path, or null if cancelled
+     */
+    @Override
+    public String chooseLoadFile() {
+        JFileChooser fileChooser = createSaveFileChooser("Load Game");
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile().getAbsolutePath();
+    }
+
+    private JFileChooser createSaveFileChooser(String title) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle(title);
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "UNO Save Files (*.uno)", "uno"));
+        return fileChooser;
+    }
+
+    /**
+     * Runs a task on the EDT, after a one-shot Swing Timer when a delay is given.
+     *
+     * @param task the task to run
+     * @param delayMillis the delay in milliseconds, 0 to queue it straight away
+     */
+    @Override
+    public void runLater(Runnable task, int delayMillis) {
+        if (delayMillis <= 0) {
+            SwingUtilities.invokeLater(task);
+            return;
+        }
+        Timer timer = new Timer(delayMillis, e -> task.run());
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    /**
+     * Gets the pause before each AI move, so the table stays readable.
+     *
+     * @return the delay in milliseconds
+     */
+    @Override
+    public int getAITurnDelayMillis() {
+        return AI_TURN_DELAY_MS;
     }
     
     /**
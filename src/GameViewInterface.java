@@ -1,25 +1,70 @@
-import javax.swing.*;
-
 /**
  * Interface defining the contract for the game's View component.
  * This interface is implemented by GameView and defines all methods
  * that the Controller needs to interact with the View.
- * 
+ *
  * Part of the MVC architecture, this interface allows the Controller
  * to work with any View implementation that conforms to this contract.
- * 
+ *
+ * The contract uses no UI toolkit types: which controls are enabled is
+ * part of each GameStateEvent (canDraw, canUndo, canNewRound, ...), and
+ * dialogs and threading are expressed as plain methods. A controller
+ * driving a HeadlessGameView therefore never loads AWT or Swing.
+ *
  * @author G27
- * @version 3.0
+ * @version 5.0
  */
 public interface GameViewInterface {
     void setListener(GameUIListener listener);
     void updateStatusMessage(String message);
     void render(GameStateEvent state);
-    JButton getDrawCardButton();
-    JButton getNextPlayerButton();
-    JButton getNewRoundButton(); 
-    JButton getNewGameButton();
-    JButton getUndoButton();
-    JButton getRedoButton();
     void showError(String message);
+
+    /**
+     * Shows an informational message (round over, game saved, ...).
+     *
+     * @param title a short title
+     * @param message the message text
+     */
+    void showMessage(String title, String message);
+
+    /**
+     * Asks the user a yes/no question.
+     *
+     * @param title a short title
+     * @param question the question text
+     * @return true if the user agreed
+     */
+    boolean confirm(String title, String question);
+
+    /**
+     * Asks the user where to save a game.
+     *
+     * @return the chosen file path, or null if cancelled
+     */
+    String chooseSaveFile();
+
+    /**
+     * Asks the user which saved game to load.
+     *
+     * @return the chosen file path, or null if cancelled
+     */
+    String chooseLoadFile();
+
+    /**
+     * Runs a task on the thread that owns this view, after the given delay.
+     * State events and AI turns are delivered through this method.
+     *
+     * @param task the task to run
+     * @param delayMillis the delay in milliseconds, 0 to run as soon as possible
+     */
+    void runLater(Runnable task, int delayMillis);
+
+    /**
+     * Gets the pause before each AI move. Views watched by a person use a
+     * short pause so moves can be followed; 0 plays AI turns back to back.
+     *
+     * @return the delay in milliseconds
+     */
+    int getAITurnDelayMillis();
 }
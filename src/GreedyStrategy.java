@@ -0,0 +1,108 @@
+/**
+ * The baseline AI strategy: plays a card matching the active color when it
+ * can, otherwise the first playable card, and draws when nothing is
+ * playable. Wild cards name the color the hand holds most of.
+ *
+ * It answers instantly and ignores the search budget, which also makes it
+ * the fallback when a stronger strategy runs out of time.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GreedyStrategy implements AIStrategy {
+
+    /** The name this strategy is registered under. */
+    public static final String NAME = "greedy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        return choose(view);
+    }
+
+    /**
+     * Chooses a move without a strategy instance.
+     *
+     * @param s the AI player's view of the game
+     * @return the move to make
+     */
+    public static AIDecision choose(AITurnSnapshot s) {
+        int index = choosePlayIndex(s);
+        if (index < 0) {
+            return AIDecision.draw();
+        }
+        Card card = s.getHand().get(index);
+        Card.Color color = null;
+        if (card.getValue() == Card.Value.WILD_DRAW_COLOR) {
+            color = chooseDarkWildColor(s);
+        } else if (Rules.isWild(card)) {
+            color = chooseWildColor(s);
+        }
+        return AIDecision.play(index, color);
+    }
+
+    /**
+     * Simple AI strategy:
+     * 1. Find all playable cards.
+     * 2. Prefer a card that matches the current color.
+     * 3. Otherwise, play the first playable card.
+     * 4. If none are playable, return -1.
+     */
+    private static int choosePlayIndex(AITurnSnapshot s) {
+        int firstPlayable = -1;
+
+        // Determine "current color": the top card's color
+        Card top = s.getTopCard();
+        Card.Color activeColor = (top != null) ? top.getColor() : null;
+
+        for (int i = 0; i < s.getHand().size(); i++) {
+            Card c = s.getHand().get(i);
+            if (!s.isPlayable(c)) continue;
+            // 1) Play a card that matches the active color
+            if (activeColor != null && c.getColor() == activeColor) {
+                return i;
+            }
+            if (firstPlayable < 0) firstPlayable = i;
+        }
+
+        // 2) Otherwise just play the first playable card (or -1: nothing legal, must draw)
+        return firstPlayable;
+    }
+
+    /**
+     * Chooses a light-side wild color: the light color that appears most
+     * often in the hand, which maximizes the chance of playing again.
+     */
+    static Card.Color chooseWildColor(AITurnSnapshot s) {
+        return mostCommon(s, Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW);
+    }
+
+    /**
+     * Chooses a dark-side wild color: the dark color that appears most
+     * often in the hand.
+     */
+    static Card.Color chooseDarkWildColor(AITurnSnapshot s) {
+        return mostCommon(s, Card.Color.TEAL, Card.Color.PURPLE, Card.Color.PINK, Card.Color.ORANGE);
+    }
+
+    /**
+     * Returns the option held most often, the earliest option on ties.
+     */
+    private static Card.Color mostCommon(AITurnSnapshot s, Card.Color... options) {
+        int[] counts = new int[options.length];
+        for (Card c : s.getHand()) {
+            for (int i = 0; i < options.length; i++) {
+                if (c.getColor() == options[i]) counts[i]++;
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < options.length; i++) {
+            if (counts[i] > counts[best]) best = i;
+        }
+        return options[best];
+    }
+}
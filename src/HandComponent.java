@@ -0,0 +1,408 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paints the current player's hand as a single component.
+ *
+ * Instead of one button per card, the whole hand is drawn with one drawImage
+ * call per card from a CardImageCache, and clicks are mapped back to hand
+ * positions with a little arithmetic. Cards scale with the height available
+ * to the component, so the hand resizes smoothly with the window.
+ *
+ * The component is Scrollable and virtualized: only the cards inside the
+ * visible part of the scroll pane are painted, so the cost of a repaint does
+ * not grow with the size of the hand. The arrow keys, Home and End move a
+ * keyboard focus between cards (scrolling it into view) and Enter or Space
+ * plays the focused card. Cards can optionally be shown grouped by colour;
+ * clicks still report the card's real position in the hand.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class HandComponent extends JComponent implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Receives clicks on a card.
+     */
+    public interface CardClickListener {
+        /**
+         * Called when a card is clicked.
+         *
+         * @param handIndex the position of the card in the hand
+         */
+        void cardClicked(int handIndex);
+    }
+
+    static final int MAX_CARD_HEIGHT = 180;
+    static final int MIN_CARD_HEIGHT = 90;
+    static final int GAP = 15;   // horizontal space between cards
+    static final int VGAP = 30;  // space above and below the row
+
+    private static final Color HOVER_OUTLINE = Color.YELLOW;
+    private static final Stroke HOVER_STROKE = new BasicStroke(3);
+    private static final Color FOCUS_OUTLINE = Color.WHITE;
+    private static final Stroke FOCUS_STROKE = new BasicStroke(2, BasicStroke.CAP_BUTT,
+            BasicStroke.JOIN_ROUND, 1, new float[] {6, 4}, 0);
+
+    private final List<Card> cards = new ArrayList<>();
+    private final CardImageCache faces = new CardImageCache();
+    private CardClickListener clickListener;
+
+    // Display slots: slot i shows cards.get(order[i]); identity unless grouped by colour
+    private int[] order = new int[0];
+    private boolean groupByColor = false;
+
+    private int hoverSlot = -1;
+    private int focusSlot = 0;
+
+    /**
+     * Creates an empty hand component.
+     */
+    public HandComponent() {
+        setOpaque(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = indexAt(e.getX(), e.getY());
+                if (index >= 0 && clickListener != null) {
+                    clickListener.cardClicked(index);
+                }
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverSlot(slotAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverSlot(-1);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+
+        setFocusable(true);
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                repaintSlot(focusSlot);
+            }
+
+            @Override
+            public void focusLost(FocusEvent e) {
+                repaintSlot(focusSlot);
+            }
+        });
+        bindKey(KeyEvent.VK_LEFT, "previousCard", () -> moveFocus(focusSlot - 1));
+        bindKey(KeyEvent.VK_RIGHT, "nextCard", () -> moveFocus(focusSlot + 1));
+        bindKey(KeyEvent.VK_HOME, "firstCard", () -> moveFocus(0));
+        bindKey(KeyEvent.VK_END, "lastCard", () -> moveFocus(cards.size() - 1));
+        bindKey(KeyEvent.VK_ENTER, "playCard", this::playFocused);
+        bindKey(KeyEvent.VK_SPACE, "playCard", this::playFocused);
+    }
+
+    private void bindKey(int keyCode, String name, Runnable action) {
+        getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+        getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                action.run();
+            }
+        });
+    }
+
+    private void moveFocus(int slot) {
+        if (cards.isEmpty()) return;
+        int target = Math.max(0, Math.min(cards.size() - 1, slot));
+        if (target == focusSlot) return;
+        repaintSlot(focusSlot);
+        focusSlot = target;
+        repaintSlot(focusSlot);
+        scrollRectToVisible(cardBounds(focusSlot));
+    }
+
+    private void playFocused() {
+        if (focusSlot < cards.size() && clickListener != null) {
+            clickListener.cardClicked(order[focusSlot]);
+        }
+    }
+
+    /**
+     * Sets the listener notified when a card is clicked.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setCardClickListener(CardClickListener listener) {
+        this.clickListener = listener;
+    }
+
+    /**
+     * Shows the given cards. Nothing is repainted if the faces did not change,
+     * and the layout is only redone when the number of cards changed.
+     *
+     * @param hand the cards to show, in hand order
+     */
+    public void setCards(List<Card> hand) {
+        if (sameFaces(hand)) return;
+        boolean sizeChanged = hand.size() != cards.size();
+        cards.clear();
+        cards.addAll(hand);
+        rebuildOrder();
+        if (hoverSlot >= cards.size()) hoverSlot = -1;
+        if (focusSlot >= cards.size()) focusSlot = Math.max(0, cards.size() - 1);
+        if (sizeChanged) revalidate();
+        repaint();
+    }
+
+    /**
+     * Shows the cards grouped by colour (wild cards last) instead of in hand order.
+     *
+     * @param group true to group by colour
+     */
+    public void setGroupByColor(boolean group) {
+        if (group == groupByColor) return;
+        groupByColor = group;
+        rebuildOrder();
+        repaint();
+    }
+
+    /**
+     * Checks whether the cards are shown grouped by colour.
+     *
+     * @return true if grouped by colour
+     */
+    public boolean isGroupByColor() {
+        return groupByColor;
+    }
+
+    /**
+     * Works out which card each display slot shows. Grouping is a stable
+     * counting sort on colour, so cards keep their hand order within a colour.
+     */
+    private void rebuildOrder() {
+        int n = cards.size();
+        if (order.length != n) order = new int[n];
+        if (!groupByColor) {
+            for (int i = 0; i < n; i++) order[i] = i;
+            return;
+        }
+        int buckets = Card.Color.values().length + 1;
+        int[] start = new int[buckets + 1];
+        for (Card c : cards) start[colorBucket(c) + 1]++;
+        for (int b = 0; b < buckets; b++) start[b + 1] += start[b];
+        for (int i = 0; i < n; i++) order[start[colorBucket(cards.get(i))]++] = i;
+    }
+
+    private static int colorBucket(Card card) {
+        // Wild (colourless) cards go after every colour
+        return card.getColor() == null ? Card.Color.values().length : card.getColor().ordinal();
+    }
+
+    /**
+     * Gets the number of cards shown.
+     *
+     * @return the card count
+     */
+    public int getCardCount() {
+        return cards.size();
+    }
+
+    private boolean sameFaces(List<Card> hand) {
+        if (hand.size() != cards.size()) return false;
+        for (int i = 0; i < hand.size(); i++) {
+            Card a = cards.get(i);
+            Card b = hand.get(i);
+            if (a != b && (a.getColor() != b.getColor() || a.getValue() != b.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setHoverSlot(int slot) {
+        if (slot == hoverSlot) return;
+        int old = hoverSlot;
+        hoverSlot = slot;
+        repaintSlot(old);
+        repaintSlot(slot);
+    }
+
+    private void repaintSlot(int slot) {
+        if (slot >= 0 && slot < cards.size()) repaint(cardBounds(slot));
+    }
+
+    // --- Geometry ---
+
+    int cardHeight() {
+        Insets in = getInsets();
+        int available = getHeight() - in.top - in.bottom - 2 * VGAP;
+        if (available <= 0) return MAX_CARD_HEIGHT;
+        return Math.max(MIN_CARD_HEIGHT, Math.min(MAX_CARD_HEIGHT, available));
+    }
+
+    int cardWidth() {
+        return cardHeight() * 2 / 3;
+    }
+
+    private int rowWidth() {
+        int n = cards.size();
+        return n == 0 ? 0 : n * cardWidth() + (n - 1) * GAP;
+    }
+
+    private int rowX() {
+        Insets in = getInsets();
+        int inner = getWidth() - in.left - in.right;
+        return in.left + Math.max(GAP, (inner - rowWidth()) / 2);
+    }
+
+    private int rowY() {
+        Insets in = getInsets();
+        int inner = getHeight() - in.top - in.bottom;
+        return in.top + Math.max(0, (inner - cardHeight()) / 2);
+    }
+
+    /**
+     * Gets the screen area of a display slot.
+     *
+     * @param slot the display slot (the hand position unless grouped by colour)
+     * @return the card's bounds in this component
+     */
+    Rectangle cardBounds(int slot) {
+        int w = cardWidth();
+        return new Rectangle(rowX() + slot * (w + GAP), rowY(), w, cardHeight());
+    }
+
+    private int slotAt(int x, int y) {
+        int w = cardWidth();
+        int dx = x - rowX();
+        int dy = y - rowY();
+        if (dx < 0 || dy < 0 || dy >= cardHeight()) return -1;
+        int slot = dx / (w + GAP);
+        if (slot >= cards.size() || dx % (w + GAP) >= w) return -1;
+        return slot;
+    }
+
+    /**
+     * Maps a point to the hand position of the card under it.
+     *
+     * @param x the x coordinate in this component
+     * @param y the y coordinate in this component
+     * @return the hand position, or -1 if the point is not on a card
+     */
+    public int indexAt(int x, int y) {
+        int slot = slotAt(x, y);
+        return slot < 0 ? -1 : order[slot];
+    }
+
+    // --- Scrollable ---
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? cardWidth() + GAP : VGAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Stretch to the viewport (and centre the row) until the hand is wider than it
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        // Cards scale with the height instead of scrolling vertically
+        return true;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) return super.getPreferredSize();
+        Insets in = getInsets();
+        return new Dimension(in.left + in.right + rowWidth() + 2 * GAP,
+                in.top + in.bottom + MAX_CARD_HEIGHT + 2 * VGAP);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+        if (cards.isEmpty()) return;
+
+        // Only the slots inside the clip (the visible part of the viewport) are painted
+        int w = cardWidth();
+        int h = cardHeight();
+        int x0 = rowX();
+        int y = rowY();
+        Rectangle clip = g.getClipBounds();
+        int first = clip == null ? 0 : firstSlotIn(clip);
+        int last = clip == null ? cards.size() - 1 : lastSlotIn(clip);
+        for (int slot = first; slot <= last; slot++) {
+            g.drawImage(faces.get(cards.get(order[slot]), w, h), x0 + slot * (w + GAP), y, null);
+        }
+
+        if (hoverSlot >= 0 || isFocusOwner()) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            if (hoverSlot >= 0) {
+                Rectangle r = cardBounds(hoverSlot);
+                g2.setColor(HOVER_OUTLINE);
+                g2.setStroke(HOVER_STROKE);
+                g2.drawRoundRect(r.x + 1, r.y + 1, r.width - 3, r.height - 3, w / 8, w / 8);
+            }
+            if (isFocusOwner() && focusSlot < cards.size()) {
+                Rectangle r = cardBounds(focusSlot);
+                g2.setColor(FOCUS_OUTLINE);
+                g2.setStroke(FOCUS_STROKE);
+                g2.drawRoundRect(r.x + 5, r.y + 5, r.width - 11, r.height - 11, w / 10, w / 10);
+            }
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Gets how many cards the last paint with the given clip would draw.
+     * Used to check that painting stays bounded by the visible area.
+     *
+     * @param clip the visible area
+     * @return the number of cards inside it
+     */
+    int visibleCardCount(Rectangle clip) {
+        return Math.max(0, lastSlotIn(clip) - firstSlotIn(clip) + 1);
+    }
+
+    private int firstSlotIn(Rectangle clip) {
+        return Math.max(0, (clip.x - rowX()) / (cardWidth() + GAP));
+    }
+
+    private int lastSlotIn(Rectangle clip) {
+        return Math.min(cards.size() - 1, (clip.x + clip.width - rowX()) / (cardWidth() + GAP));
+    }
+}
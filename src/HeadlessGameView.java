@@ -0,0 +1,169 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A GameViewInterface with no user interface, for simulations, tests and
+ * servers. It records what it was asked to show instead of drawing it, and
+ * uses no AWT or Swing classes, so a controller driving it never loads the
+ * desktop toolkit.
+ *
+ * Threading: the thread that creates the view owns it, and tasks handed to
+ * runLater are run on it at once. Tasks requested while one is already
+ * running are queued and run once it returns, so a chain of AI turns is
+ * played in a flat loop instead of recursing. runLater from any other
+ * thread throws, since its task would change the game off the owner
+ * thread; give the controller an AIDecisionService.direct service and no
+ * pondering service, which never call back from their own threads.
+ *
+ * Dialogs answer without a user: confirm returns false and the file
+ * choosers return null, so loading and saving are simply cancelled.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class HeadlessGameView implements GameViewInterface {
+
+    private final Thread owner = Thread.currentThread();
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining = false;
+
+    private GameUIListener listener;
+    private GameStateEvent lastState;
+    private String lastStatus;
+    private String lastMessage;
+    private String lastError;
+    private int renderCount = 0;
+
+    @Override
+    public void setListener(GameUIListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the listener the controller registered, so callers can send it
+     * the same input a real view would.
+     *
+     * @return the UI listener, or null before a controller is attached
+     */
+    public GameUIListener getListener() {
+        return listener;
+    }
+
+    @Override
+    public void updateStatusMessage(String message) {
+        this.lastStatus = message;
+    }
+
+    @Override
+    public void render(GameStateEvent state) {
+        this.lastState = state;
+        renderCount++;
+    }
+
+    @Override
+    public void showError(String message) {
+        this.lastError = message;
+    }
+
+    @Override
+    public void showMessage(String title, String message) {
+        this.lastMessage = message;
+    }
+
+    @Override
+    public boolean confirm(String title, String question) {
+        return false;
+    }
+
+    @Override
+    public String chooseSaveFile() {
+        return null;
+    }
+
+    @Override
+    public String chooseLoadFile() {
+        return null;
+    }
+
+    /**
+     * Runs the task now, or after the task currently running. The delay is
+     * ignored; nobody is watching.
+     *
+     * @param task the task to run
+     * @param delayMillis ignored
+     * @throws IllegalStateException if called on a thread other than the owner
+     */
+    @Override
+    public void runLater(Runnable task, int delayMillis) {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("HeadlessGameView tasks must be run on "
+                    + owner.getName() + ", not " + Thread.currentThread().getName());
+        }
+        tasks.addLast(task);
+        if (draining) return;
+        draining = true;
+        try {
+            Runnable next;
+            while ((next = tasks.pollFirst()) != null) {
+                next.run();
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    /**
+     * AI players move back to back.
+     *
+     * @return always 0
+     */
+    @Override
+    public int getAITurnDelayMillis() {
+        return 0;
+    }
+
+    /**
+     * Gets the newest state rendered.
+     *
+     * @return the last state, or null before the first render
+     */
+    public GameStateEvent getLastState() {
+        return lastState;
+    }
+
+    /**
+     * Gets the number of states rendered so far.
+     *
+     * @return the render count
+     */
+    public int getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Gets the last status line set by the controller.
+     *
+     * @return the status message, or null
+     */
+    public String getLastStatus() {
+        return lastStatus;
+    }
+
+    /**
+     * Gets the last informational message (round over, game over, ...).
+     *
+     * @return the message, or null
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    /**
+     * Gets the last error message.
+     *
+     * @return the error, or null
+     */
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,393 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An AI strategy using information-set Monte Carlo tree search (ISMCTS).
+ *
+ * Each iteration deals a fresh determinization of the cards this player
+ * cannot see (see PlayoutSimulator), walks down one shared tree of moves
+ * choosing with UCT among the moves legal in that deal, adds one new node,
+ * finishes the round with random moves and backs the result up the path.
+ * Every node is scored for the player who made its move, so opponents are
+ * searched as playing their best too. Moves are card codes with the wild
+ * color to name (one move per color for WILD, WILD_DRAW_TWO and
+ * WILD_DRAW_COLOR) or a draw.
+ *
+ * The search is anytime: it runs until the budget's time or node limit
+ * and then plays the most visited legal root move.
+ *
+ * Nodes live in preallocated parallel int and double arrays, so a search
+ * allocates nothing per iteration. After a decision the strategy keeps the
+ * tree; on its next turn it follows its own move and the cards that were
+ * discarded since down the tree and keeps that subtree, copied to the
+ * front of a second set of arrays. When what happened cannot be matched
+ * (a flip, a reshuffle, a new round) it starts a fresh tree.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class ISMCTSStrategy implements AIStrategy {
+
+    /** The name this strategy is registered under. */
+    public static final String NAME = "ismcts";
+
+    /** Default number of tree nodes. */
+    public static final int DEFAULT_CAPACITY = 1 << 17;
+
+    /** UCT exploration constant for results between 0 and 1. */
+    static final double EXPLORATION = 0.7;
+
+    /** Points at which a result counts as a full win or loss. */
+    private static final double SCORE_SCALE = 200.0;
+
+    private static final int NO_NODE = -1;
+    private static final int NO_MOVE = Integer.MIN_VALUE;
+
+    private final SplittableRandom random;
+    private Nodes tree;
+    private Nodes spare;
+    private final int[] moves = new int[PlayoutSimulator.MOVES + 1];
+    private final int[] untried = new int[PlayoutSimulator.MOVES + 1];
+    private final int[] legalStamp = new int[PlayoutSimulator.MOVES + 1];
+    private final int[] childStamp = new int[PlayoutSimulator.MOVES + 1];
+    private int stamp = 0;
+
+    // What the tree's root was, for reuse on the next turn
+    private int lastSeat = -1;
+    private Side lastSide;
+    private int lastPileSize;
+    private int lastMove = NO_MOVE;
+
+    /**
+     * Creates the strategy with the default tree size.
+     */
+    public ISMCTSStrategy() {
+        this(DEFAULT_CAPACITY, new SplittableRandom());
+    }
+
+    /**
+     * Creates the strategy.
+     *
+     * @param capacity the most tree nodes to keep
+     * @param random the random source; seed it for repeatable play
+     */
+    public ISMCTSStrategy(int capacity, SplittableRandom random) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.random = random;
+        this.tree = new Nodes(capacity);
+        this.spare = new Nodes(capacity);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Gets the number of nodes in the tree, including any kept from the
+     * previous move.
+     *
+     * @return the node count
+     */
+    public synchronized int getTreeSize() {
+        return tree.size;
+    }
+
+    /**
+     * Gets how often the root was visited, including visits kept from the
+     * previous move.
+     *
+     * @return the root visit count, 0 for an empty tree
+     */
+    public synchronized int getRootVisits() {
+        return tree.size == 0 ? 0 : tree.visits[0];
+    }
+
+    @Override
+    public synchronized AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        List<AIDecision> candidates = MonteCarloStrategy.candidates(view);
+        if (candidates.size() == 1) {
+            forget();
+            return candidates.get(0);
+        }
+
+        reuseOrReset(view);
+        PlayoutSimulator sim = new PlayoutSimulator(PlayoutSimulator.Table.of(view), random);
+        long iterations = 0;
+        while (!budget.isExhausted(iterations)) {
+            iterate(sim);
+            iterations++;
+        }
+
+        int best = NO_NODE;
+        for (int c = tree.firstChild[0]; c != NO_NODE; c = tree.nextSibling[c]) {
+            if (PlayoutSimulator.toDecision(view, tree.move[c]) == null) continue;
+            if (best == NO_NODE || tree.visits[c] > tree.visits[best]) best = c;
+        }
+        if (best == NO_NODE) {
+            forget();
+            return GreedyStrategy.choose(view);
+        }
+        remember(view, tree.move[best]);
+        return PlayoutSimulator.toDecision(view, tree.move[best]);
+    }
+
+    // ---------------------------------------------------------------
+    // Search
+    // ---------------------------------------------------------------
+
+    /**
+     * One ISMCTS iteration: determinize, select, expand, simulate, back up.
+     */
+    private void iterate(PlayoutSimulator sim) {
+        Nodes t = tree;
+        sim.reset();
+        int node = 0;
+        int winner = -1;
+        while (true) {
+            int player = sim.currentPlayer();
+            int n = sim.legalMoves(moves);
+            int level = ++stamp;
+            for (int i = 0; i < n; i++) legalStamp[moves[i] + 1] = level;
+
+            // Select among the children legal in this deal; each of them was available once more
+            int best = NO_NODE;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int c = t.firstChild[node]; c != NO_NODE; c = t.nextSibling[c]) {
+                int m = t.move[c] + 1;
+                if (legalStamp[m] != level) continue;
+                childStamp[m] = level;
+                t.available[c]++;
+                double value = t.reward[c] / t.visits[c]
+                        + EXPLORATION * Math.sqrt(Math.log(t.available[c]) / t.visits[c]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = c;
+                }
+            }
+
+            int open = 0;
+            for (int i = 0; i < n; i++) {
+                if (childStamp[moves[i] + 1] != level) untried[open++] = moves[i];
+            }
+            if (open > 0 && t.size < t.capacity) {
+                int m = untried[random.nextInt(open)];
+                winner = sim.apply(m);
+                node = t.add(node, m, player);
+                t.toMove[node] = sim.currentPlayer();
+                t.available[node] = 1;
+                break;
+            }
+            if (best == NO_NODE) {
+                break; // tree full
+            }
+            winner = sim.apply(t.move[best]);
+            node = best;
+            if (winner >= 0) break;
+        }
+        if (winner < 0) {
+            winner = sim.finish();
+        }
+
+        for (int v = node; v != NO_NODE; v = t.parent[v]) {
+            t.visits[v]++;
+            if (v != 0) t.reward[v] += outcome(sim, winner, t.mover[v]);
+        }
+    }
+
+    /**
+     * Scales a round result into 0..1 for a seat: above 0.5 for a win,
+     * more for a bigger win; below 0.5 for a loss, less the more points
+     * the seat's hand gives away.
+     */
+    private static double outcome(PlayoutSimulator sim, int winner, int seat) {
+        if (winner < 0) return 0.5;
+        double points = Math.min(SCORE_SCALE, Math.abs(sim.points(winner, seat))) / SCORE_SCALE;
+        return winner == seat ? 0.5 + 0.5 * points : 0.5 - 0.5 * points;
+    }
+
+    // ---------------------------------------------------------------
+    // Tree reuse
+    // ---------------------------------------------------------------
+
+    private void forget() {
+        lastSeat = -1;
+        lastMove = NO_MOVE;
+    }
+
+    private void remember(AITurnSnapshot view, int move) {
+        lastSeat = view.getSeat();
+        lastSide = view.getSide();
+        lastPileSize = view.getDiscardPile(view.getSide()).size();
+        lastMove = move;
+    }
+
+    /**
+     * Keeps the subtree for what happened since the last decision, or
+     * starts an empty tree with the current position as its root.
+     */
+    private void reuseOrReset(AITurnSnapshot view) {
+        int kept = findCurrentNode(view);
+        if (kept > 0) {
+            spare.copySubtree(tree, kept);
+            Nodes t = tree;
+            tree = spare;
+            spare = t;
+        } else {
+            tree.clear();
+            tree.add(NO_NODE, NO_MOVE, -1);
+            tree.toMove[0] = view.getSeat();
+        }
+    }
+
+    /**
+     * Follows the last move and the cards discarded since down the tree.
+     *
+     * @return the node for the current position, or NO_NODE
+     */
+    private int findCurrentNode(AITurnSnapshot view) {
+        if (lastMove == NO_MOVE || tree.size == 0 || view.getSeat() != lastSeat || view.getSide() != lastSide) {
+            return NO_NODE;
+        }
+        List<Card> pile = view.getDiscardPile(view.getSide());
+        if (pile.size() < lastPileSize) {
+            return NO_NODE; // reshuffled or a new round
+        }
+        int[] played = new int[pile.size() - lastPileSize];
+        for (int i = 0; i < played.length; i++) {
+            played[i] = GameCodec.cardCode(pile.get(lastPileSize + i));
+        }
+        int wildSlot = PlayoutSimulator.slotOf(view.getWildColor());
+
+        int start = NO_NODE;
+        for (int c = tree.firstChild[0]; c != NO_NODE; c = tree.nextSibling[c]) {
+            if (tree.move[c] == lastMove) start = c;
+        }
+        if (start == NO_NODE) return NO_NODE;
+        int from = lastMove == PlayoutSimulator.DRAW ? 0 : 1;
+        if (from == 1 && (played.length == 0 || played[0] != PlayoutSimulator.moveCode(lastMove))) {
+            return NO_NODE;
+        }
+        return match(start, played, from, wildSlot, view.getSeat(), 2 * view.getPlayerCount());
+    }
+
+    /**
+     * Searches below a node for the path that plays the given cards in
+     * order, with any number of draws in between (at most drawsLeft), and
+     * ends with the given seat to move. Wild colors are only known for the
+     * last card. When several paths fit, the most visited end node wins.
+     */
+    private int match(int node, int[] played, int next, int wildSlot, int seat, int drawsLeft) {
+        int best = NO_NODE;
+        if (next == played.length && tree.toMove[node] == seat) {
+            best = node;
+        }
+        for (int c = tree.firstChild[node]; c != NO_NODE; c = tree.nextSibling[c]) {
+            int m = tree.move[c];
+            int found = NO_NODE;
+            if (m == PlayoutSimulator.DRAW) {
+                if (drawsLeft > 0) found = match(c, played, next, wildSlot, seat, drawsLeft - 1);
+            } else if (next < played.length && PlayoutSimulator.moveCode(m) == played[next]) {
+                boolean last = next == played.length - 1;
+                int slot = PlayoutSimulator.moveSlot(m);
+                if (!last || slot == 0 || slot == wildSlot) {
+                    found = match(c, played, next + 1, wildSlot, seat, drawsLeft);
+                }
+            }
+            if (found != NO_NODE && (best == NO_NODE || tree.visits[found] > tree.visits[best])) {
+                best = found;
+            }
+        }
+        return best;
+    }
+
+    // ---------------------------------------------------------------
+    // Node storage
+    // ---------------------------------------------------------------
+
+    /**
+     * Tree nodes in parallel arrays. Children form a linked list through
+     * firstChild and nextSibling.
+     */
+    private static final class Nodes {
+        final int capacity;
+        final int[] move;
+        final int[] mover;       // seat that made the move into the node
+        final int[] toMove;      // seat to move after it
+        final int[] parent;
+        final int[] firstChild;
+        final int[] nextSibling;
+        final int[] visits;
+        final int[] available;
+        final double[] reward;
+        final int[] sourceIndex; // scratch for copySubtree
+        int size;
+
+        Nodes(int capacity) {
+            this.capacity = capacity;
+            move = new int[capacity];
+            mover = new int[capacity];
+            toMove = new int[capacity];
+            parent = new int[capacity];
+            firstChild = new int[capacity];
+            nextSibling = new int[capacity];
+            visits = new int[capacity];
+            available = new int[capacity];
+            reward = new double[capacity];
+            sourceIndex = new int[capacity];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * Adds a node as the first child of its parent. The caller sets
+         * toMove once it knows whose turn follows.
+         */
+        int add(int parentNode, int m, int seat) {
+            int n = size++;
+            move[n] = m;
+            mover[n] = seat;
+            toMove[n] = -1;
+            parent[n] = parentNode;
+            firstChild[n] = NO_NODE;
+            nextSibling[n] = NO_NODE;
+            visits[n] = 0;
+            available[n] = 0;
+            reward[n] = 0;
+            if (parentNode != NO_NODE) {
+                nextSibling[n] = firstChild[parentNode];
+                firstChild[parentNode] = n;
+            }
+            return n;
+        }
+
+        /**
+         * Replaces this tree with a copy of another tree's subtree, in
+         * breadth-first order with the subtree's root at index 0.
+         */
+        void copySubtree(Nodes from, int root) {
+            size = 0;
+            copyNode(from, root, NO_NODE);
+            sourceIndex[0] = root;
+            for (int n = 0; n < size; n++) {
+                int src = sourceIndex[n];
+                for (int c = from.firstChild[src]; c != NO_NODE && size < capacity; c = from.nextSibling[c]) {
+                    sourceIndex[size] = c;
+                    copyNode(from, c, n);
+                }
+            }
+        }
+
+        private void copyNode(Nodes from, int src, int parentNode) {
+            int n = add(parentNode, from.move[src], from.mover[src]);
+            toMove[n] = from.toMove[src];
+            visits[n] = from.visits[src];
+            available[n] = from.available[src];
+            reward[n] = from.reward[src];
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Save mode that writes only what changed since the previous save.
+ *
+ * The save file starts with a base image of the whole game (see GameCodec)
+ * followed by any number of delta blocks. Each call to save(Game) appends one
+ * delta against the last persisted image, which is usually a few dozen bytes.
+ * Once the deltas written since the last base exceed a size threshold, a
+ * background compactor rewrites the file as a single new base so loading
+ * never has to replay a long chain.
+ *
+ * File layout:
+ *   int magic "UNOI", byte version,
+ *   then blocks of: byte type ('B' base or 'D' delta), int length, payload.
+ * A block cut short by a crash is ignored when loading, so the file always
+ * loads as of the last complete save. Game.saveGame writes the same layout
+ * with a single base block.
+ *
+ * All I/O goes through FileChannel using pooled direct buffers, so steady-state
+ * saving and loading do not allocate buffers.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class IncrementalGameSaver {
+
+    static final int MAGIC = 0x554E4F49; // "UNOI"
+    private static final byte FORMAT_VERSION = GameCodec.AI_SETUP_VERSION;
+
+    private static final byte BLOCK_BASE = 'B';
+    private static final byte BLOCK_DELTA = 'D';
+
+    private static final int FILE_HEADER_BYTES = 5;  // magic + version
+    private static final int BLOCK_HEADER_BYTES = 5; // type + length
+
+    /** Default number of delta bytes allowed to pile up before compacting. */
+    public static final long DEFAULT_COMPACT_THRESHOLD = 8 * 1024;
+
+    // One background thread is enough to compact every open save file
+    static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "uno-save-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String filename;
+    private final long compactThreshold;
+
+    private final GameImage lastImage = new GameImage(); // what the file currently loads as
+    private final GameImage scratch = new GameImage();   // reused for every capture
+
+    private boolean hasBase = false;
+    private long deltaBytes = 0;
+    private Future<?> compaction;   // queued or running compaction, null if none
+    private boolean retired = false; // the file has been handed to another writer
+
+    /**
+     * Creates a saver for the given file using the default compaction threshold.
+     *
+     * @param filename the save file
+     */
+    public IncrementalGameSaver(String filename) {
+        this(filename, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    /**
+     * Creates a saver for the given file.
+     *
+     * @param filename the save file
+     * @param compactThreshold delta bytes after which the file is compacted
+     */
+    public IncrementalGameSaver(String filename, long compactThreshold) {
+        this.filename = filename;
+        this.compactThreshold = compactThreshold;
+    }
+
+    /**
+     * Gets the file this saver writes to.
+     *
+     * @return the save file name
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Gets the number of delta bytes appended since the last base was written.
+     *
+     * @return the pending delta size in bytes
+     */
+    public synchronized long getDeltaBytes() {
+        return deltaBytes;
+    }
+
+    /**
+     * Saves the game. The first save (or a save after the seating changed)
+     * writes a full base image; later saves append a delta block.
+     *
+     * @param game the game to save
+     * @return the number of bytes written to disk
+     * @throws IOException if writing fails
+     */
+    public synchronized long save(Game game) throws IOException {
+        if (retired) {
+            throw new IllegalStateException("This saver was retired");
+        }
+        game.captureImage(scratch);
+
+        long written;
+        if (!hasBase || !scratch.hasSameSeats(lastImage)) {
+            written = writeBaseFile(filename, scratch);
+            hasBase = true;
+            deltaBytes = 0;
+        } else {
+            ByteBuffer buf = encode(BLOCK_DELTA, lastImage, scratch, false);
+            try (FileChannel ch = FileChannel.open(Paths.get(filename),
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                written = writeFully(ch, buf);
+            } finally {
+                DirectBufferPool.release(buf);
+            }
+            deltaBytes += written;
+        }
+        lastImage.copyFrom(scratch);
+
+        if (deltaBytes > compactThreshold && compaction == null) {
+            compaction = COMPACTOR.submit(() -> {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    System.err.println("Error compacting save file: " + e.getMessage());
+                }
+            });
+        }
+        return written;
+    }
+
+    /**
+     * Folds all deltas into a new base image. Normally run by the background
+     * compactor, but may be called directly (e.g. before closing the game).
+     *
+     * @throws IOException if writing fails
+     */
+    public synchronized void compact() throws IOException {
+        compaction = null;
+        if (retired || !hasBase || deltaBytes == 0) return;
+        writeBaseFile(filename, lastImage);
+        deltaBytes = 0;
+    }
+
+    /**
+     * Stops this saver before something else writes its file (a full save,
+     * or a new saver). A queued compaction is cancelled, and one already
+     * running is waited for, since it holds this saver's lock; otherwise it
+     * could replace the newer file with this saver's older image.
+     */
+    public synchronized void retire() {
+        retired = true;
+        if (compaction != null) {
+            compaction.cancel(false);
+            compaction = null;
+        }
+    }
+
+    /**
+     * Writes a new save file holding only a base image. The data goes to a
+     * temporary file first so a crash never leaves a half-written save behind;
+     * every write gets its own, so two writers never share one.
+     *
+     * @param filename the save file
+     * @param image the game image to write
+     * @return the number of bytes written
+     * @throws IOException if writing fails
+     */
+    static long writeBaseFile(String filename, GameImage image) throws IOException {
+        Path target = Paths.get(filename).toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+
+        ByteBuffer buf = encode(BLOCK_BASE, null, image, true);
+        long written;
+        try {
+            try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                written = writeFully(ch, buf);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            DirectBufferPool.release(buf);
+            Files.deleteIfExists(temp); // only still there if the write failed
+        }
+        return written;
+    }
+
+    /**
+     * Encodes one block (and optionally the file header) into a pooled buffer,
+     * retrying with a bigger buffer if the first one was too small.
+     * The returned buffer is flipped and ready to write.
+     */
+    private static ByteBuffer encode(byte type, GameImage prev, GameImage cur, boolean withFileHeader) {
+        int capacity = DirectBufferPool.DEFAULT_CAPACITY;
+        while (true) {
+            ByteBuffer buf = DirectBufferPool.acquire(capacity);
+            try {
+                if (withFileHeader) {
+                    buf.putInt(MAGIC);
+                    buf.put(FORMAT_VERSION);
+                }
+                buf.put(type);
+                int lengthPos = buf.position();
+                buf.putInt(0); // patched below once the payload size is known
+                if (prev == null) {
+                    GameCodec.writeBase(buf, cur);
+                } else {
+                    GameCodec.writeDelta(buf, prev, cur);
+                }
+                buf.putInt(lengthPos, buf.position() - lengthPos - 4);
+                buf.flip();
+                return buf;
+            } catch (BufferOverflowException e) {
+                capacity = buf.capacity() * 2;
+                DirectBufferPool.release(buf);
+            }
+        }
+    }
+
+    private static long writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        long written = 0;
+        while (buf.hasRemaining()) {
+            written += ch.write(buf);
+        }
+        return written;
+    }
+
+    /**
+     * Checks whether a file uses the binary save layout written by
+     * IncrementalGameSaver and Game.saveGame.
+     *
+     * @param filename the file to check
+     * @return true if the file starts with the binary save header
+     */
+    public static boolean isIncrementalSave(String filename) {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (header.hasRemaining() && ch.read(header) != -1) {
+                // keep reading until the magic number is in
+            }
+            return !header.hasRemaining() && header.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads a game from a binary save file by reading the base image and
+     * applying every complete delta block after it.
+     *
+     * @param filename the file to load
+     * @return the loaded Game
+     * @throws IOException if the file is missing, corrupted or has no base image
+     */
+    public static Game load(String filename) throws IOException {
+        GameImage image = new GameImage();
+
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < FILE_HEADER_BYTES) {
+                throw new StreamCorruptedException("Save file is too short");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("Save file is too large");
+            }
+
+            ByteBuffer buf = DirectBufferPool.acquire((int) size);
+            try {
+                buf.limit((int) size);
+                while (buf.hasRemaining() && ch.read(buf) != -1) {
+                    // read the whole file
+                }
+                buf.flip();
+                readImage(buf, image);
+            } catch (BufferUnderflowException e) {
+                throw new StreamCorruptedException("Save file block is malformed");
+            } finally {
+                DirectBufferPool.release(buf);
+            }
+        }
+        return Game.fromImage(image);
+    }
+
+    private static void readImage(ByteBuffer buf, GameImage image) throws IOException {
+        if (buf.getInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a binary save file");
+        }
+        int version = buf.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new InvalidClassException("Unsupported save format version " + version);
+        }
+
+        boolean hasBase = false;
+        int end = buf.limit();
+        while (buf.remaining() >= BLOCK_HEADER_BYTES) {
+            byte type = buf.get();
+            int length = buf.getInt();
+            if (length < 0 || length > buf.remaining()) {
+                break; // last block was cut short, keep what we have
+            }
+
+            int blockEnd = buf.position() + length;
+            buf.limit(blockEnd);
+            if (type == BLOCK_BASE) {
+                GameCodec.readBase(buf, image, version);
+                hasBase = true;
+            } else if (type == BLOCK_DELTA && hasBase) {
+                GameCodec.applyDelta(buf, image);
+            } else {
+                throw new StreamCorruptedException("Unexpected block type " + type);
+            }
+            buf.limit(end);
+            buf.position(blockEnd);
+        }
+        if (!hasBase) {
+            throw new StreamCorruptedException("Save file has no base image");
+        }
+    }
+}
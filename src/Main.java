@@ -1,4 +1,6 @@
 import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Main entry point for the UNO Flip card game application.
@@ -28,15 +30,16 @@ public class Main {
             // Calculate how many AI players we can add (we can have a max of 4 total players)
             int maxAIPlayers = 4 - numPlayers;
             int numAIPlayers = 0;
+            List<String> strategies = Collections.emptyList();
             
             if (maxAIPlayers > 0) {
-                numAIPlayers = AIPlayerSelectionDialog.showDialog(view);
-                if (numAIPlayers == -1) {
-                    numAIPlayers = 0; // Default to no AI if cancelled
+                strategies = AIPlayerSelectionDialog.showStrategyDialog(view);
+                if (strategies == null) {
+                    strategies = Collections.emptyList(); // Default to no AI if cancelled
                 }
                 
                 // Ensure we don't exceed 4 total players
-                numAIPlayers = Math.min(numAIPlayers, maxAIPlayers);
+                numAIPlayers = Math.min(strategies.size(), maxAIPlayers);
             }
 
             // Create players automatically
@@ -46,7 +49,7 @@ public class Main {
 
             // Create AI players automatically
             for (int i = 1; i <= numAIPlayers; i++) {
-                model.addPlayer(new AIPlayer("AI Player " + i));
+                model.addPlayer(new AIPlayer("AI Player " + i, AIStrategies.create(strategies.get(i - 1))));
             }
             new GameController(model, view);
             // Start the game
@@ -0,0 +1,257 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An AI strategy that tries every legal move in many random games.
+ *
+ * For each candidate move (every distinct playable card, every wild color,
+ * or a draw when nothing is playable) it plays random games to the end of
+ * the round with PlayoutSimulator. Each playout deals the cards this player
+ * cannot see into a fresh, random but consistent arrangement of opponent
+ * hands and draw piles (determinization). The move with the best average
+ * round result, scored with the UNO Flip card points, is played.
+ *
+ * Playouts are independent, so they are split across a ForkJoinPool and
+ * scale with the number of cores. Each worker has its own simulator and
+ * random stream and the results are only added up at the end, so the
+ * workers share nothing while they play.
+ *
+ * The number of playouts is the smaller of playoutsPerMove and the budget's
+ * node limit; the search stops early when the budget's time runs out or
+ * the thread is interrupted and decides on the playouts finished so far.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class MonteCarloStrategy implements AIStrategy {
+
+    /** The name this strategy is registered under. */
+    public static final String NAME = "montecarlo";
+
+    /** Default number of playouts for one move, split between the candidates. */
+    public static final int DEFAULT_PLAYOUTS = 4000;
+
+    /** Playouts one fork/join leaf runs before it stops splitting. */
+    static final int LEAF_PLAYOUTS = 64;
+
+    private final int playoutsPerMove;
+    private final ForkJoinPool pool;
+    private final SplittableRandom seeds;
+
+    /**
+     * Creates the strategy with the default playout count, running on the
+     * common fork/join pool.
+     */
+    public MonteCarloStrategy() {
+        this(DEFAULT_PLAYOUTS, ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    /**
+     * Creates the strategy.
+     *
+     * @param playoutsPerMove how many playouts to run for one move
+     * @param pool the pool to run playouts on
+     * @param random the source of the playout random streams; seed it for repeatable play
+     */
+    public MonteCarloStrategy(int playoutsPerMove, ForkJoinPool pool, SplittableRandom random) {
+        if (playoutsPerMove <= 0) {
+            throw new IllegalArgumentException("playoutsPerMove must be positive");
+        }
+        this.playoutsPerMove = playoutsPerMove;
+        this.pool = pool;
+        this.seeds = random;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /** Playouts take the whole budget, so a move worked out ahead saves that time. */
+    @Override
+    public boolean ponders() {
+        return true;
+    }
+
+    @Override
+    public AIStrategy onPool(ForkJoinPool other) {
+        return other == pool ? this : new MonteCarloStrategy(playoutsPerMove, other, seeds.split());
+    }
+
+    public int getPlayoutsPerMove() {
+        return playoutsPerMove;
+    }
+
+    @Override
+    public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        List<AIDecision> candidates = candidates(view);
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        int[] hands = new int[candidates.size()];
+        int[] slots = new int[candidates.size()];
+        for (int i = 0; i < hands.length; i++) {
+            AIDecision d = candidates.get(i);
+            hands[i] = d.getHandIndex();
+            slots[i] = PlayoutSimulator.slotOf(d.getWildColor());
+        }
+
+        int total = (int) Math.min(playoutsPerMove, budget.getMaxNodes());
+        Stats stats = run(PlayoutSimulator.Table.of(view), hands, slots, total, budget);
+        if (stats == null) {
+            return GreedyStrategy.choose(view);
+        }
+
+        int best = -1;
+        double bestMean = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < hands.length; i++) {
+            if (stats.counts[i] == 0) continue;
+            double mean = (double) stats.sums[i] / stats.counts[i];
+            if (mean > bestMean) {
+                bestMean = mean;
+                best = i;
+            }
+        }
+        return best < 0 ? GreedyStrategy.choose(view) : candidates.get(best);
+    }
+
+    /**
+     * Lists the moves worth trying: each distinct playable card once, a
+     * wild card once per color of its side, or a draw when nothing can be
+     * played.
+     */
+    static List<AIDecision> candidates(AITurnSnapshot view) {
+        List<AIDecision> moves = new ArrayList<>();
+        boolean[] seen = new boolean[PlayoutSimulator.CODES];
+        List<Card> hand = view.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            int code = GameCodec.cardCode(card);
+            if (seen[code] || !view.isPlayable(card)) continue;
+            seen[code] = true;
+            if (Rules.isWild(card)) {
+                boolean dark = card.getValue() == Card.Value.WILD_DRAW_COLOR;
+                for (int slot : PlayoutSimulator.wildSlots(dark)) {
+                    moves.add(AIDecision.play(i, PlayoutSimulator.colorOf(slot)));
+                }
+            } else {
+                moves.add(AIDecision.play(i, null));
+            }
+        }
+        if (moves.isEmpty()) {
+            moves.add(AIDecision.draw());
+        }
+        return moves;
+    }
+
+    /**
+     * Runs the playouts on the pool and waits for them.
+     *
+     * @return the results, or null if the wait was interrupted before anything was counted
+     */
+    private Stats run(PlayoutSimulator.Table table, int[] hands, int[] slots, int total, SearchBudget budget) {
+        AtomicBoolean stop = new AtomicBoolean();
+        SplittableRandom random;
+        synchronized (seeds) {
+            random = seeds.split();
+        }
+        Playouts task = new Playouts(table, hands, slots, 0, total, budget, stop, random);
+        ForkJoinTask<Stats> running = pool.submit(task);
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            stop.set(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Monte Carlo search failed: " + e.getCause());
+            return null;
+        }
+    }
+
+    /** Summed playout results per candidate. */
+    private static final class Stats {
+        final long[] sums;
+        final int[] counts;
+
+        Stats(int candidates) {
+            sums = new long[candidates];
+            counts = new int[candidates];
+        }
+
+        Stats add(Stats other) {
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+                counts[i] += other.counts[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Runs playouts from..to. Playout i tries candidate i % k, so every
+     * range, and every early stop, covers the candidates evenly.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private static final class Playouts extends RecursiveTask<Stats> {
+        private final PlayoutSimulator.Table table;
+        private final int[] hands;
+        private final int[] slots;
+        private final int from;
+        private final int to;
+        private final SearchBudget budget;
+        private final AtomicBoolean stop;
+        private final SplittableRandom random;
+
+        Playouts(PlayoutSimulator.Table table, int[] hands, int[] slots, int from, int to,
+                 SearchBudget budget, AtomicBoolean stop, SplittableRandom random) {
+            this.table = table;
+            this.hands = hands;
+            this.slots = slots;
+            this.from = from;
+            this.to = to;
+            this.budget = budget;
+            this.stop = stop;
+            this.random = random;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (stop.get()) {
+                return new Stats(hands.length);
+            }
+            if (to - from <= LEAF_PLAYOUTS) {
+                return play();
+            }
+            int mid = (from + to) >>> 1;
+            Playouts right = new Playouts(table, hands, slots, mid, to, budget, stop, random.split());
+            right.fork();
+            Stats left = new Playouts(table, hands, slots, from, mid, budget, stop, random).compute();
+            return left.add(right.join());
+        }
+
+        private Stats play() {
+            Stats stats = new Stats(hands.length);
+            PlayoutSimulator sim = new PlayoutSimulator(table, random);
+            for (int i = from; i < to; i++) {
+                // Workers in the pool are not interrupted; the deciding thread sets stop instead
+                if (stop.get() || budget.isExpired()) {
+                    stop.set(true);
+                    break;
+                }
+                int c = i % hands.length;
+                sim.reset();
+                stats.sums[c] += sim.playout(hands[c], slots[c]);
+                stats.counts[c]++;
+            }
+            return stats;
+        }
+    }
+}
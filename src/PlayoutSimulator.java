@@ -0,0 +1,811 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays fast random games to the end of the round, for Monte Carlo AI.
+ *
+ * The simulator follows the same rules as Game (see Rules) but keeps the
+ * whole table in int arrays of card codes (GameCodec.cardCode) and looks
+ * card validity, flips and scores up in tables built once from Rules, so a
+ * playout allocates nothing and runs in a few microseconds.
+ *
+ * A Table holds what one decision knows: the AI's hand, the visible piles
+ * and the cards it cannot see. Every playout starts with reset(), which
+ * deals the unseen cards randomly into opponent hands and draw piles
+ * (a determinization consistent with hand sizes and both discard piles).
+ * A playout can be run in one call (playout) or, for tree search, one
+ * move at a time (legalMoves, apply, finish).
+ *
+ * One simulator must only be used by one thread; the Table may be shared.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class PlayoutSimulator {
+
+    private static final Card.Color[] COLORS = Card.Color.values();
+    private static final Card.Value[] VALUES = Card.Value.values();
+    private static final int COLOR_SLOTS = COLORS.length + 1; // slot 0: no color
+    /** Number of distinct card codes. */
+    public static final int CODES = VALUES.length * COLOR_SLOTS;
+
+    /** Turns after which a playout is abandoned as a draw. */
+    static final int MAX_TURNS = 500;
+
+    private static final int[] LIGHT_SLOTS = slots(Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW);
+    private static final int[] DARK_SLOTS = slots(Card.Color.TEAL, Card.Color.PURPLE, Card.Color.PINK, Card.Color.ORANGE);
+
+    private static final boolean[] VALID = new boolean[2 * CODES * COLOR_SLOTS * CODES];
+    private static final int[][] FLIP_HAND = new int[2][CODES]; // [new side][code]
+    private static final int[][] FLIP_TOP = new int[2][CODES];
+    private static final int[] SCORE = new int[CODES];
+    private static final int[] LIGHT_DECK = codes(Rules.lightSideCards());
+    private static final int[] DARK_DECK = codes(Rules.darkSideCards());
+
+    static {
+        Side[] sides = Side.values();
+        for (int code = 0; code < CODES; code++) {
+            Card card = card(code);
+            SCORE[code] = Rules.cardScore(card);
+            for (Side side : sides) {
+                FLIP_HAND[side.ordinal()][code] = GameCodec.cardCode(Rules.flipCard(card, side));
+                FLIP_TOP[side.ordinal()][code] = GameCodec.cardCode(Rules.flipTopCard(card, side));
+            }
+        }
+        for (Side side : sides) {
+            for (int top = 0; top < CODES; top++) {
+                Card topCard = card(top);
+                for (int wild = 0; wild < COLOR_SLOTS; wild++) {
+                    Card.Color wildColor = wild == 0 ? null : COLORS[wild - 1];
+                    int base = index(side == Side.DARK, top, wild, 0);
+                    for (int code = 0; code < CODES; code++) {
+                        VALID[base + code] = Rules.isValidPlay(card(code), topCard, wildColor, side);
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Card codes
+    // ---------------------------------------------------------------
+
+    private static Card card(int code) {
+        int color = code % COLOR_SLOTS;
+        return new Card(color == 0 ? null : COLORS[color - 1], VALUES[code / COLOR_SLOTS]);
+    }
+
+    private static Card.Value value(int code) {
+        return VALUES[code / COLOR_SLOTS];
+    }
+
+    private static int index(boolean dark, int top, int wild, int code) {
+        return (((dark ? 1 : 0) * CODES + top) * COLOR_SLOTS + wild) * CODES + code;
+    }
+
+    private static int[] slots(Card.Color... colors) {
+        int[] slots = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) slots[i] = colors[i].ordinal() + 1;
+        return slots;
+    }
+
+    private static int[] codes(List<Card> cards) {
+        int[] codes = new int[cards.size()];
+        for (int i = 0; i < codes.length; i++) codes[i] = GameCodec.cardCode(cards.get(i));
+        return codes;
+    }
+
+    /**
+     * Gets the color-slot used by the simulator for a wild color.
+     *
+     * @param color a color, or null
+     * @return 0 for null, otherwise the color's ordinal + 1
+     */
+    static int slotOf(Card.Color color) {
+        return color == null ? 0 : color.ordinal() + 1;
+    }
+
+    /**
+     * Gets the color for a color-slot.
+     *
+     * @param slot a slot from slotOf
+     * @return the color, or null for slot 0
+     */
+    static Card.Color colorOf(int slot) {
+        return slot == 0 ? null : COLORS[slot - 1];
+    }
+
+    /**
+     * Gets the four wild colors for a side.
+     *
+     * @param dark true for the dark side
+     * @return the color slots
+     */
+    static int[] wildSlots(boolean dark) {
+        return dark ? DARK_SLOTS : LIGHT_SLOTS;
+    }
+
+    /**
+     * Gets the points a card code is worth to the round winner.
+     *
+     * @param code the card code
+     * @return the score
+     */
+    static int score(int code) {
+        return SCORE[code];
+    }
+
+    // ---------------------------------------------------------------
+    // What one decision knows
+    // ---------------------------------------------------------------
+
+    /**
+     * The known and unknown cards for one decision, shared by all playouts.
+     */
+    public static final class Table {
+        final int players;
+        final int seat;
+        final int[] handSizes;
+        final int[] myHand;
+        final boolean dark;
+        final int top;
+        final int wild;
+        final boolean clockwise;
+        final int[] lightDiscard;
+        final int[] darkDiscard;
+        final int[] unseenActive;  // cards of the side in play nobody has seen
+        final int[] unseenOther;   // the other side's draw pile
+
+        private Table(AITurnSnapshot s) {
+            players = s.getPlayerCount();
+            seat = s.getSeat();
+            handSizes = new int[players];
+            for (int i = 0; i < players; i++) handSizes[i] = s.getHandSize(i);
+            myHand = codes(s.getHand());
+            dark = s.getSide() == Side.DARK;
+            top = GameCodec.cardCode(s.getTopCard());
+            wild = slotOf(s.getWildColor());
+            clockwise = s.isClockwise();
+            lightDiscard = codes(s.getDiscardPile(Side.LIGHT));
+            darkDiscard = codes(s.getDiscardPile(Side.DARK));
+
+            CardTracker tracker = s.getCardTracker();
+            if (tracker != null) {
+                unseenActive = unseen(tracker, dark ? DARK_DECK : LIGHT_DECK);
+                unseenOther = unseen(tracker, dark ? LIGHT_DECK : DARK_DECK);
+            } else {
+                int[] activeDeck = dark ? DARK_DECK : LIGHT_DECK;
+                unseenActive = subtract(activeDeck, dark ? darkDiscard : lightDiscard, myHand);
+                unseenOther = subtract(dark ? LIGHT_DECK : DARK_DECK, dark ? lightDiscard : darkDiscard, new int[0]);
+            }
+        }
+
+        /**
+         * Lists the unseen copies of a side's cards from the tracker's counts.
+         */
+        private int[] unseen(CardTracker tracker, int[] sideDeck) {
+            int[] counts = new int[CODES];
+            int n = 0;
+            for (int code : sideDeck) {
+                if (counts[code] == 0) {
+                    counts[code] = tracker.unseen(seat, code);
+                    n += counts[code];
+                }
+            }
+            int[] rest = new int[n];
+            int k = 0;
+            for (int code = 0; code < CODES; code++) {
+                for (int i = 0; i < counts[code]; i++) rest[k++] = code;
+            }
+            return rest;
+        }
+
+        /**
+         * Builds the table for a snapshot.
+         *
+         * @param s the AI player's view
+         * @return the table
+         */
+        public static Table of(AITurnSnapshot s) {
+            if (s.getTopCard() == null) {
+                throw new IllegalArgumentException("Cannot simulate before the first card is turned up");
+            }
+            return new Table(s);
+        }
+
+        /**
+         * Removes seen cards from a side's full composition. Cards that were
+         * flipped into hands are not part of either deck, so counts stop at 0.
+         */
+        private static int[] subtract(int[] all, int[] seenA, int[] seenB) {
+            int[] counts = new int[CODES];
+            for (int c : all) counts[c]++;
+            for (int c : seenA) if (counts[c] > 0) counts[c]--;
+            for (int c : seenB) if (counts[c] > 0) counts[c]--;
+            int n = 0;
+            for (int c : counts) n += c;
+            int[] rest = new int[n];
+            int k = 0;
+            for (int code = 0; code < CODES; code++) {
+                for (int i = 0; i < counts[code]; i++) rest[k++] = code;
+            }
+            return rest;
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Playout state
+    // ---------------------------------------------------------------
+
+    private final Table table;
+    private final SplittableRandom random;
+
+    private final int[][] hands;
+    private final int[] sizes;
+    private int[] lightDeck, darkDeck, lightDisc, darkDisc;
+    private int lightDeckSize, darkDeckSize, lightDiscSize, darkDiscSize;
+    private boolean dark;
+    private int top;
+    private int wild;
+    private boolean clockwise;
+    private int pendingSkips;
+    private int skipEveryoneTarget;
+    private int current;
+    private boolean reshuffles = true;
+
+    /**
+     * Creates a simulator for one thread.
+     *
+     * @param table what the decision knows
+     * @param random this thread's random source
+     */
+    public PlayoutSimulator(Table table, SplittableRandom random) {
+        this.table = table;
+        this.random = random;
+        int total = LIGHT_DECK.length + DARK_DECK.length + table.myHand.length;
+        hands = new int[table.players][total];
+        sizes = new int[table.players];
+        lightDeck = new int[total];
+        darkDeck = new int[total];
+        lightDisc = new int[total];
+        darkDisc = new int[total];
+    }
+
+    /**
+     * Deals a fresh determinization: the AI keeps its real hand, opponents
+     * get random unseen cards matching their hand sizes, and the rest of
+     * the unseen cards become the draw piles in random order.
+     */
+    public void reset() {
+        Table t = table;
+        dark = t.dark;
+        top = t.top;
+        wild = t.wild;
+        clockwise = t.clockwise;
+        pendingSkips = 0;
+        skipEveryoneTarget = -1;
+        current = t.seat;
+
+        System.arraycopy(t.lightDiscard, 0, lightDisc, 0, t.lightDiscard.length);
+        lightDiscSize = t.lightDiscard.length;
+        System.arraycopy(t.darkDiscard, 0, darkDisc, 0, t.darkDiscard.length);
+        darkDiscSize = t.darkDiscard.length;
+
+        int[] active = dark ? darkDeck : lightDeck;
+        int activeSize = fillShuffled(active, t.unseenActive);
+        for (int p = 0; p < t.players; p++) {
+            if (p == t.seat) {
+                System.arraycopy(t.myHand, 0, hands[p], 0, t.myHand.length);
+                sizes[p] = t.myHand.length;
+                continue;
+            }
+            int need = t.handSizes[p];
+            for (int i = 0; i < need; i++) {
+                // Unseen cards ran out (hands hold flipped cards): deal any card of the side
+                int[] side = dark ? DARK_DECK : LIGHT_DECK;
+                hands[p][i] = activeSize > 0 ? active[--activeSize] : side[random.nextInt(side.length)];
+            }
+            sizes[p] = need;
+        }
+        int otherSize = fillShuffled(dark ? lightDeck : darkDeck, t.unseenOther);
+        if (dark) {
+            darkDeckSize = activeSize;
+            lightDeckSize = otherSize;
+        } else {
+            lightDeckSize = activeSize;
+            darkDeckSize = otherSize;
+        }
+    }
+
+    private int fillShuffled(int[] dest, int[] src) {
+        int n = src.length;
+        System.arraycopy(src, 0, dest, 0, n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = dest[i];
+            dest[i] = dest[j];
+            dest[j] = tmp;
+        }
+        return n;
+    }
+
+    /**
+     * Plays the AI's candidate move and then random moves for everybody
+     * until someone goes out.
+     *
+     * @param handIndex the card to play from the AI's hand, or -1 to draw
+     * @param wildSlot the wild color to name (see slotOf), ignored for other cards
+     * @return the round result for the AI seat: the points it wins, or minus
+     *         the points its hand gives away; 0 if the playout was abandoned
+     */
+    public int playout(int handIndex, int wildSlot) {
+        int me = table.seat;
+        if (handIndex < 0) {
+            drawTo(me);
+            advance();
+        } else if (play(me, handIndex, wildSlot)) {
+            return result(me, me);
+        }
+        int winner = finish();
+        return winner < 0 ? 0 : result(winner, me);
+    }
+
+    // ---------------------------------------------------------------
+    // Step by step, for tree search
+    // ---------------------------------------------------------------
+
+    /**
+     * Encodes a move for legalMoves and apply: a card code with the wild
+     * color to name, or DRAW.
+     *
+     * @param code the card code
+     * @param wildSlot the color slot, 0 for cards that are not wild
+     * @return the move
+     */
+    static int move(int code, int wildSlot) {
+        return code * COLOR_SLOTS + wildSlot;
+    }
+
+    /** Largest move value plus one, for tables indexed by move + 1. */
+    static final int MOVES = CODES * COLOR_SLOTS;
+
+    /** The move that draws a card. */
+    static final int DRAW = -1;
+
+    static int moveCode(int move) {
+        return move / COLOR_SLOTS;
+    }
+
+    static int moveSlot(int move) {
+        return move % COLOR_SLOTS;
+    }
+
+    /**
+     * Gets the seat whose turn it is.
+     *
+     * @return the seat index
+     */
+    int currentPlayer() {
+        return current;
+    }
+
+    /**
+     * Lists the moves the current player may make: each distinct playable
+     * card once, wild cards once per color of their side, or only DRAW
+     * when nothing is playable.
+     *
+     * @param out receives the moves; needs room for MOVES entries
+     * @return the number of moves
+     */
+    int legalMoves(int[] out) {
+        int base = index(dark, top, wild, 0);
+        int[] hand = hands[current];
+        int n = 0;
+        for (int i = 0; i < sizes[current]; i++) {
+            int code = hand[i];
+            if (!VALID[base + code]) continue;
+            Card.Value v = value(code);
+            if (v == Card.Value.WILD || v == Card.Value.WILD_DRAW_TWO || v == Card.Value.WILD_DRAW_COLOR) {
+                for (int slot : wildSlots(v == Card.Value.WILD_DRAW_COLOR)) n = addOnce(out, n, move(code, slot));
+            } else {
+                n = addOnce(out, n, move(code, 0));
+            }
+        }
+        if (n == 0) out[n++] = DRAW;
+        return n;
+    }
+
+    private static int addOnce(int[] moves, int n, int move) {
+        // Hands hold few distinct cards, so a scan beats a set
+        for (int i = 0; i < n; i++) if (moves[i] == move) return n;
+        moves[n] = move;
+        return n + 1;
+    }
+
+    /**
+     * Makes a move for the current player.
+     *
+     * @param move a move from legalMoves
+     * @return the seat that went out, or -1 if the round goes on
+     */
+    int apply(int move) {
+        int p = current;
+        if (move == DRAW) {
+            drawTo(p);
+            advance();
+            return -1;
+        }
+        int code = moveCode(move);
+        int[] hand = hands[p];
+        for (int i = 0; i < sizes[p]; i++) {
+            if (hand[i] == code) {
+                return play(p, i, moveSlot(move)) ? p : -1;
+            }
+        }
+        throw new IllegalArgumentException("Seat " + p + " does not hold card " + code);
+    }
+
+    /**
+     * Plays random moves for everybody until someone goes out.
+     *
+     * @return the seat that went out, or -1 if the playout was abandoned
+     */
+    int finish() {
+        for (int turn = 0; turn < MAX_TURNS; turn++) {
+            int p = current;
+            int chosen = randomPlayable(p);
+            if (chosen < 0) {
+                drawTo(p);
+                advance();
+                continue;
+            }
+            int card = hands[p][chosen];
+            int slot = 0;
+            Card.Value v = value(card);
+            if (v == Card.Value.WILD || v == Card.Value.WILD_DRAW_TWO || v == Card.Value.WILD_DRAW_COLOR) {
+                int[] options = wildSlots(v == Card.Value.WILD_DRAW_COLOR);
+                slot = options[random.nextInt(options.length)];
+            }
+            if (play(p, chosen, slot)) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the round result for a seat once someone has gone out.
+     *
+     * @param winner the seat that went out
+     * @param seat the seat to score
+     * @return the points the seat wins, or minus the points its hand gives away
+     */
+    int points(int winner, int seat) {
+        return result(winner, seat);
+    }
+
+    /**
+     * Turns a simulator move into a decision for the real hand.
+     *
+     * @param view the snapshot the simulator was built from
+     * @param move a move from legalMoves
+     * @return the decision, or null if the hand cannot make the move
+     */
+    static AIDecision toDecision(AITurnSnapshot view, int move) {
+        if (move == DRAW) {
+            for (Card c : view.getHand()) {
+                if (view.isPlayable(c)) return null;
+            }
+            return AIDecision.draw();
+        }
+        int code = moveCode(move);
+        List<Card> hand = view.getHand();
+        for (int i = 0; i < hand.size(); i++) {
+            if (GameCodec.cardCode(hand.get(i)) == code && view.isPlayable(hand.get(i))) {
+                return AIDecision.play(i, colorOf(moveSlot(move)));
+            }
+        }
+        return null;
+    }
+
+    // ---------------------------------------------------------------
+    // Taking moves back, for exhaustive search
+    // ---------------------------------------------------------------
+
+    /**
+     * Turns reshuffling on or off. Without it a player facing an empty
+     * draw pile draws nothing, which keeps a deal fully deterministic, so
+     * that save and restore can take moves back.
+     *
+     * @param on true to reshuffle the discard pile into an empty draw pile (the default)
+     */
+    void setReshuffles(boolean on) {
+        reshuffles = on;
+    }
+
+    /**
+     * The part of the state that moves change, saved by save().
+     */
+    static final class Saved {
+        private final int[][] hands;
+        private final int[] sizes;
+        private int lightDeckSize, darkDeckSize, lightDiscSize, darkDiscSize;
+        private boolean dark;
+        private int top;
+        private int wild;
+        private boolean clockwise;
+        private int pendingSkips;
+        private int skipEveryoneTarget;
+        private int current;
+
+        Saved(int players) {
+            hands = new int[players][16];
+            sizes = new int[players];
+        }
+
+        int getPlayerCount() {
+            return sizes.length;
+        }
+    }
+
+    /**
+     * Saves the state. With reshuffles off, playing moves and then calling
+     * restore brings the simulator back exactly: draws only take from the
+     * end of the draw piles and plays only add to the discard piles.
+     *
+     * @param into where to save; made by new Saved(player count)
+     */
+    void save(Saved into) {
+        for (int p = 0; p < sizes.length; p++) {
+            if (into.hands[p].length < sizes[p]) {
+                into.hands[p] = new int[hands[p].length];
+            }
+            System.arraycopy(hands[p], 0, into.hands[p], 0, sizes[p]);
+            into.sizes[p] = sizes[p];
+        }
+        into.lightDeckSize = lightDeckSize;
+        into.darkDeckSize = darkDeckSize;
+        into.lightDiscSize = lightDiscSize;
+        into.darkDiscSize = darkDiscSize;
+        into.dark = dark;
+        into.top = top;
+        into.wild = wild;
+        into.clockwise = clockwise;
+        into.pendingSkips = pendingSkips;
+        into.skipEveryoneTarget = skipEveryoneTarget;
+        into.current = current;
+    }
+
+    /**
+     * Restores a state saved by save().
+     *
+     * @param from the saved state
+     */
+    void restore(Saved from) {
+        for (int p = 0; p < sizes.length; p++) {
+            System.arraycopy(from.hands[p], 0, hands[p], 0, from.sizes[p]);
+            sizes[p] = from.sizes[p];
+        }
+        lightDeckSize = from.lightDeckSize;
+        darkDeckSize = from.darkDeckSize;
+        lightDiscSize = from.lightDiscSize;
+        darkDiscSize = from.darkDiscSize;
+        dark = from.dark;
+        top = from.top;
+        wild = from.wild;
+        clockwise = from.clockwise;
+        pendingSkips = from.pendingSkips;
+        skipEveryoneTarget = from.skipEveryoneTarget;
+        current = from.current;
+    }
+
+    /**
+     * Gets a Zobrist key of the position: every hand, the top card, the
+     * turn state and how far the draw piles have been used. Within one deal
+     * the draw piles' order is fixed, so equal keys mean equal futures.
+     * Takes time proportional to the cards in hands.
+     *
+     * @return the key
+     */
+    long stateKey() {
+        long h = 0;
+        for (int p = 0; p < sizes.length; p++) {
+            int[] hand = hands[p];
+            for (int i = 0; i < sizes[p]; i++) h += StateHash.card(p, hand[i]);
+        }
+        h ^= StateHash.turn(top, dark ? 1 : 0, clockwise, current, wild, pendingSkips,
+                skipEveryoneTarget < 0 ? null : skipEveryoneTarget);
+        // Decks only shrink within a deal, so their sizes identify what is left
+        return h ^ Long.rotateLeft((lightDeckSize * 0x9E3779B97F4A7C15L) ^ (darkDeckSize * 0xC2B2AE3D27D4EB4FL), 17);
+    }
+
+    private int randomPlayable(int p) {
+        int base = index(dark, top, wild, 0);
+        int[] hand = hands[p];
+        int count = 0;
+        int chosen = -1;
+        // Reservoir sampling: a uniform choice without building a list
+        for (int i = 0; i < sizes[p]; i++) {
+            if (VALID[base + hand[i]] && random.nextInt(++count) == 0) {
+                chosen = i;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Plays a card and applies its effect. Returns true if the player went out.
+     */
+    private boolean play(int p, int handIndex, int wildSlot) {
+        int[] hand = hands[p];
+        int card = hand[handIndex];
+        hand[handIndex] = hand[--sizes[p]];
+
+        top = card;
+        if (dark) darkDisc[darkDiscSize++] = card;
+        else lightDisc[lightDiscSize++] = card;
+
+        Card.Value v = value(card);
+        if (v != Card.Value.WILD && v != Card.Value.WILD_DRAW_TWO) {
+            wild = 0;
+        }
+        if (sizes[p] == 0) {
+            return true;
+        }
+
+        int n = table.players;
+        switch (v) {
+            case SKIP:
+                pendingSkips++;
+                break;
+            case REVERSE:
+                clockwise = !clockwise;
+                if (n == 2) pendingSkips++;
+                break;
+            case WILD:
+                wild = wildSlot;
+                break;
+            case WILD_DRAW_TWO:
+                drawTo(next(p));
+                drawTo(next(p));
+                pendingSkips++;
+                wild = wildSlot;
+                break;
+            case DRAW_ONE:
+                drawTo(next(p));
+                pendingSkips++;
+                break;
+            case DRAW_FIVE:
+                for (int i = 0; i < 5; i++) drawTo(next(p));
+                pendingSkips++;
+                break;
+            case FLIP:
+                flip();
+                break;
+            case SKIP_EVERYONE: {
+                pendingSkips = n - 1;
+                int target = p;
+                for (int i = 0; i < pendingSkips; i++) target = next(target);
+                skipEveryoneTarget = target;
+                break;
+            }
+            case WILD_DRAW_COLOR: {
+                wild = wildSlot;
+                int target = next(p);
+                int drawn;
+                do {
+                    drawn = drawTo(target);
+                } while (drawn >= 0 && drawn % COLOR_SLOTS != wildSlot);
+                pendingSkips++;
+                break;
+            }
+            default:
+                break;
+        }
+        advance();
+        return false;
+    }
+
+    private void flip() {
+        pendingSkips = 0;
+        dark = !dark;
+        int side = dark ? Side.DARK.ordinal() : Side.LIGHT.ordinal();
+        int[] handFlip = FLIP_HAND[side];
+        for (int p = 0; p < table.players; p++) {
+            int[] hand = hands[p];
+            for (int i = 0; i < sizes[p]; i++) hand[i] = handFlip[hand[i]];
+        }
+        top = FLIP_TOP[side][top];
+    }
+
+    private int next(int p) {
+        int n = table.players;
+        return clockwise ? (p + 1) % n : (p - 1 + n) % n;
+    }
+
+    private void advance() {
+        if (skipEveryoneTarget >= 0) {
+            current = skipEveryoneTarget;
+            skipEveryoneTarget = -1;
+            pendingSkips = 0;
+        } else if (pendingSkips > 0) {
+            current = next(next(current));
+            pendingSkips--;
+        } else {
+            current = next(current);
+        }
+    }
+
+    /**
+     * Draws one card for a player, reshuffling the side's discard pile
+     * (except its top card) when the draw pile is empty.
+     *
+     * @return the card drawn, or -1 if there was none
+     */
+    private int drawTo(int p) {
+        if (reshuffles && (dark ? darkDeckSize == 0 : lightDeckSize == 0)) {
+            reshuffle();
+        }
+        int card;
+        if (dark) {
+            if (darkDeckSize == 0) return -1;
+            card = darkDeck[--darkDeckSize];
+        } else {
+            if (lightDeckSize == 0) return -1;
+            card = lightDeck[--lightDeckSize];
+        }
+        int[] hand = hands[p];
+        if (sizes[p] == hand.length) {
+            hands[p] = hand = java.util.Arrays.copyOf(hand, hand.length * 2);
+        }
+        hand[sizes[p]++] = card;
+        return card;
+    }
+
+    private void reshuffle() {
+        int[] disc = dark ? darkDisc : lightDisc;
+        int size = dark ? darkDiscSize : lightDiscSize;
+        if (size <= 1) return;
+        int[] deck = dark ? darkDeck : lightDeck;
+        int n = size - 1;
+        if (deck.length < n) {
+            deck = java.util.Arrays.copyOf(deck, n);
+            if (dark) darkDeck = deck; else lightDeck = deck;
+        }
+        int[] copy = new int[n];
+        System.arraycopy(disc, 0, copy, 0, n);
+        int shuffled = fillShuffled(deck, copy);
+        disc[0] = disc[size - 1];
+        if (dark) {
+            darkDiscSize = 1;
+            darkDeckSize = shuffled;
+        } else {
+            lightDiscSize = 1;
+            lightDeckSize = shuffled;
+        }
+    }
+
+    private int result(int winner, int me) {
+        if (winner == me) {
+            int points = 0;
+            for (int p = 0; p < table.players; p++) {
+                if (p != me) points += handScore(p);
+            }
+            return points;
+        }
+        return -handScore(me);
+    }
+
+    /**
+     * Gets the points a seat's hand is worth to the round winner.
+     *
+     * @param p the seat
+     * @return the hand's score
+     */
+    int handScore(int p) {
+        int points = 0;
+        int[] hand = hands[p];
+        for (int i = 0; i < sizes[p]; i++) points += SCORE[hand[i]];
+        return points;
+    }
+}
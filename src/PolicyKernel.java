@@ -0,0 +1,91 @@
+/**
+ * Computes a PolicyModel's scores for a batch of feature rows.
+ *
+ * The batch is stored feature by feature (see PolicyModel.Batch), so every
+ * step of the model is the same multiply-add applied to a run of rows,
+ * which maps directly onto SIMD lanes. The scalar kernel is always
+ * available. A kernel using the jdk.incubator.vector API lives in
+ * src-vector/VectorPolicyKernel.java, because that module must be added
+ * when compiling and running; best() loads it by name when it is there.
+ *
+ * @author G27
+ * @version 5.0
+ */
+interface PolicyKernel {
+
+    /**
+     * Gets a short description for logs and benchmarks.
+     *
+     * @return the kernel's name
+     */
+    String getName();
+
+    /**
+     * Scores every row of a batch into its out array.
+     *
+     * @param model the model
+     * @param batch the rows; batch.h is scratch for the hidden layer
+     */
+    void score(PolicyModel model, PolicyModel.Batch batch);
+
+    /**
+     * Picks the fastest kernel this JVM can run: the vector kernel when it
+     * was compiled in and the JVM runs with --add-modules
+     * jdk.incubator.vector, unless the system property uno.policy.scalar is
+     * true; the scalar kernel otherwise.
+     *
+     * @return the kernel
+     */
+    static PolicyKernel best() {
+        if (!Boolean.getBoolean("uno.policy.scalar")) {
+            try {
+                return (PolicyKernel) Class.forName("VectorPolicyKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not compiled in, or the incubator module is missing: fall back
+            }
+        }
+        return new Scalar();
+    }
+
+    /**
+     * The plain Java kernel: the same sums, one float at a time.
+     */
+    final class Scalar implements PolicyKernel {
+
+        @Override
+        public String getName() {
+            return "scalar";
+        }
+
+        @Override
+        public void score(PolicyModel m, PolicyModel.Batch b) {
+            int n = b.rows;
+            int stride = b.capacity;
+            if (m.hidden == 0) {
+                weightedSum(m.w2, 0, m.inputs, m.b2, b.x, stride, n, b.out, 0, false);
+                return;
+            }
+            for (int j = 0; j < m.hidden; j++) {
+                weightedSum(m.w1, j * m.inputs, m.inputs, m.b1[j], b.x, stride, n, b.h, j * stride, true);
+            }
+            weightedSum(m.w2, 0, m.hidden, m.b2, b.h, stride, n, b.out, 0, false);
+        }
+
+        /**
+         * For every row r: out[outBase + r] = bias + sum over f of
+         * w[wBase + f] * in[f * stride + r], clamped at zero if relu.
+         */
+        private static void weightedSum(float[] w, int wBase, int count, float bias, float[] in, int stride, int n,
+                                        float[] out, int outBase, boolean relu) {
+            for (int r = 0; r < n; r++) out[outBase + r] = bias;
+            for (int f = 0; f < count; f++) {
+                float wf = w[wBase + f];
+                int base = f * stride;
+                for (int r = 0; r < n; r++) out[outBase + r] += wf * in[base + r];
+            }
+            if (relu) {
+                for (int r = 0; r < n; r++) out[outBase + r] = Math.max(0f, out[outBase + r]);
+            }
+        }
+    }
+}
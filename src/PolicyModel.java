@@ -0,0 +1,298 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * A small move-scoring model: a linear model, or a perceptron with one
+ * hidden layer of ReLU units, over a fixed number of float inputs.
+ *
+ * Scores are computed for a Batch of rows at a time, by the fastest
+ * PolicyKernel the JVM offers (see PolicyKernel.best). A batch may hold
+ * the candidate moves of one table or of many, so one call can decide for
+ * many AI seats.
+ *
+ * Models are stored as properties files: inputs and hidden give the
+ * sizes, and w1, b1, w2 and b2 the comma-separated weights (w1 row by row,
+ * one row per hidden unit). A linear model has hidden=0 and keeps its
+ * input weights in w2.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class PolicyModel {
+
+    private static final PolicyKernel KERNEL = PolicyKernel.best();
+
+    // Read by the kernels
+    final int inputs;
+    final int hidden;
+    final float[] w1;
+    final float[] b1;
+    final float[] w2;
+    final float b2;
+
+    private PolicyModel(int inputs, int hidden, float[] w1, float[] b1, float[] w2, float b2) {
+        if (inputs < 1 || hidden < 0 || w1.length != hidden * inputs || b1.length != hidden
+                || w2.length != (hidden == 0 ? inputs : hidden)) {
+            throw new IllegalArgumentException("Weights do not match a " + inputs + "-" + hidden + " model");
+        }
+        this.inputs = inputs;
+        this.hidden = hidden;
+        this.w1 = w1.clone();
+        this.b1 = b1.clone();
+        this.w2 = w2.clone();
+        this.b2 = b2;
+    }
+
+    /**
+     * Creates a linear model: score = bias + sum of weight * input.
+     *
+     * @param weights one weight per input
+     * @param bias the constant term
+     * @return the model
+     */
+    public static PolicyModel linear(float[] weights, float bias) {
+        return new PolicyModel(weights.length, 0, new float[0], new float[0], weights, bias);
+    }
+
+    /**
+     * Creates a model with one hidden layer of ReLU units.
+     *
+     * @param inputs the number of inputs
+     * @param hidden the number of hidden units
+     * @param w1 hidden-layer weights, hidden rows of inputs weights
+     * @param b1 hidden-layer biases
+     * @param w2 output weights, one per hidden unit
+     * @param b2 output bias
+     * @return the model
+     */
+    public static PolicyModel mlp(int inputs, int hidden, float[] w1, float[] b1, float[] w2, float b2) {
+        if (hidden < 1) {
+            throw new IllegalArgumentException("A perceptron needs hidden units");
+        }
+        return new PolicyModel(inputs, hidden, w1, b1, w2, b2);
+    }
+
+    public int getInputs() {
+        return inputs;
+    }
+
+    public int getHidden() {
+        return hidden;
+    }
+
+    /**
+     * Gets the kernel scores are computed with.
+     *
+     * @return its name, e.g. "scalar"
+     */
+    public static String getKernelName() {
+        return KERNEL.getName();
+    }
+
+    /**
+     * Scores every row of a batch; the scores are read with Batch.getScore.
+     *
+     * @param batch rows made by newBatch on this model
+     */
+    public void score(Batch batch) {
+        score(batch, KERNEL);
+    }
+
+    void score(Batch batch, PolicyKernel kernel) {
+        if (batch.inputs != inputs || batch.hiddenUnits != hidden) {
+            throw new IllegalArgumentException("Batch was made for another model");
+        }
+        kernel.score(this, batch);
+    }
+
+    /**
+     * Creates an empty batch for this model.
+     *
+     * @param capacity rows to make room for; the batch grows when needed
+     * @return the batch
+     */
+    public Batch newBatch(int capacity) {
+        return new Batch(inputs, hidden, capacity);
+    }
+
+    /**
+     * Reads a model from a properties file.
+     *
+     * @param file the file
+     * @return the model
+     * @throws IOException if the file cannot be read or does not hold a valid model
+     */
+    public static PolicyModel load(Path file) throws IOException {
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+        }
+        try {
+            int inputs = Integer.parseInt(p.getProperty("inputs", "").trim());
+            int hidden = Integer.parseInt(p.getProperty("hidden", "0").trim());
+            return new PolicyModel(inputs, hidden, floats(p, "w1"), floats(p, "b1"), floats(p, "w2"),
+                    Float.parseFloat(p.getProperty("b2", "0").trim()));
+        } catch (IllegalArgumentException e) { // NumberFormatException is one
+            throw new IOException("Invalid policy model in " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static float[] floats(Properties p, String key) {
+        String value = p.getProperty(key, "").trim();
+        if (value.isEmpty()) return new float[0];
+        String[] parts = value.split(",");
+        float[] values = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Float.parseFloat(parts[i].trim());
+        }
+        return values;
+    }
+
+    /**
+     * Writes the model in the format load reads.
+     *
+     * @param file the file
+     * @param comment a comment for the file's first line
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file, String comment) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("inputs", Integer.toString(inputs));
+        p.setProperty("hidden", Integer.toString(hidden));
+        p.setProperty("w1", join(w1));
+        p.setProperty("b1", join(b1));
+        p.setProperty("w2", join(w2));
+        p.setProperty("b2", Float.toString(b2));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            p.store(out, comment);
+        }
+    }
+
+    private static String join(float[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (float v : values) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(v);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PolicyModel)) return false;
+        PolicyModel m = (PolicyModel) o;
+        return inputs == m.inputs && hidden == m.hidden && b2 == m.b2 && Arrays.equals(w1, m.w1)
+                && Arrays.equals(b1, m.b1) && Arrays.equals(w2, m.w2);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(w2) + inputs * 7 + hidden;
+    }
+
+    /**
+     * Rows of model inputs and their scores.
+     *
+     * Inputs are stored feature by feature: x[f * capacity + row]. The
+     * kernels then walk the rows of one feature with unit stride. Fill a
+     * row with addRow and set, score the batch, then read getScore; clear
+     * empties it for reuse without allocating. A batch is used by one
+     * thread at a time.
+     */
+    public static final class Batch {
+        private final int inputs;
+        private final int hiddenUnits;
+
+        // Read by the kernels
+        int capacity;
+        int rows;
+        float[] x;
+        float[] h;
+        float[] out;
+
+        private Batch(int inputs, int hidden, int capacity) {
+            this.inputs = inputs;
+            this.hiddenUnits = hidden;
+            allocate(Math.max(capacity, 1));
+        }
+
+        private void allocate(int capacity) {
+            this.capacity = capacity;
+            x = new float[inputs * capacity];
+            h = new float[hiddenUnits * capacity];
+            out = new float[capacity];
+        }
+
+        /**
+         * Adds a row of zero inputs.
+         *
+         * @return the row's index
+         */
+        public int addRow() {
+            if (rows == capacity) {
+                float[] old = x;
+                int oldCapacity = capacity;
+                allocate(capacity * 2);
+                for (int f = 0; f < inputs; f++) {
+                    System.arraycopy(old, f * oldCapacity, x, f * capacity, rows);
+                }
+            }
+            for (int f = 0; f < inputs; f++) {
+                x[f * capacity + rows] = 0f;
+            }
+            return rows++;
+        }
+
+        /**
+         * Sets one input of a row.
+         *
+         * @param row the row index
+         * @param feature the input index
+         * @param value the value
+         */
+        public void set(int row, int feature, float value) {
+            x[feature * capacity + row] = value;
+        }
+
+        /**
+         * Gets a row's score from the last call to score.
+         *
+         * @param row the row index
+         * @return the score
+         */
+        public float getScore(int row) {
+            return out[row];
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * Finds the best-scored row in a range.
+         *
+         * @param from the first row
+         * @param to one past the last row
+         * @return the row with the highest score, the earliest on ties
+         */
+        public int best(int from, int to) {
+            int best = from;
+            for (int r = from + 1; r < to; r++) {
+                if (out[r] > out[best]) best = r;
+            }
+            return best;
+        }
+
+        /**
+         * Removes all rows, keeping the memory.
+         */
+        public void clear() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An AI strategy that scores every candidate move with a small learned
+ * model (see PolicyModel) and plays the best one.
+ *
+ * Each move is described by a compact feature vector: the hand's color
+ * mix, the opponents' hand sizes in turn order, the side in play, the
+ * points at risk, estimates from the unseen-card counts, and what the
+ * move itself does. All candidates are scored in one batch, and
+ * decideAll scores the candidates of many tables in a single batch, so a
+ * decision costs microseconds and one machine can play for thousands of
+ * seats.
+ *
+ * The model is read at startup from the file named by the system property
+ * uno.policy, or policy-model.properties in the working directory. Without
+ * one a built-in linear model plays close to the greedy baseline.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class PolicyStrategy implements AIStrategy {
+
+    /** The name this strategy is registered under. */
+    public static final String NAME = "policy";
+
+    /** The model file read when uno.policy is not set. */
+    public static final String DEFAULT_MODEL_FILE = "policy-model.properties";
+
+    /** What the model's inputs mean, in input order. */
+    public static final String[] FEATURE_NAMES = {
+            // The table, the same for every move
+            "color_share_1", "color_share_2", "color_share_3", "color_share_4", "wild_share",
+            "hand_size", "next_hand_size", "second_hand_size", "third_hand_size", "dark_side",
+            "points_at_risk", "draw_chance_active_color", "leader_wild_chance",
+            // The move
+            "draw", "wild", "card_points", "matches_active_color", "hand_share_color_left",
+            "attack_next", "flip", "draw_chance_color_left"
+    };
+
+    /** The number of model inputs. */
+    public static final int FEATURES = FEATURE_NAMES.length;
+
+    private static final int TABLE_FEATURES = 13;
+    private static final Card.Color[] LIGHT = {Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW};
+    private static final Card.Color[] DARK = {Card.Color.TEAL, Card.Color.PURPLE, Card.Color.PINK, Card.Color.ORANGE};
+
+    private static PolicyModel startupModel; // read once, on first use
+
+    private final PolicyModel model;
+    private final PolicyModel.Batch batch;
+    private final float[] table = new float[TABLE_FEATURES];
+
+    /**
+     * Creates the strategy with the model read at startup.
+     */
+    public PolicyStrategy() {
+        this(startupModel());
+    }
+
+    /**
+     * Creates the strategy with the given model.
+     *
+     * @param model a model with FEATURES inputs
+     */
+    public PolicyStrategy(PolicyModel model) {
+        if (model.getInputs() != FEATURES) {
+            throw new IllegalArgumentException("The policy needs a model with " + FEATURES + " inputs");
+        }
+        this.model = model;
+        this.batch = model.newBatch(16);
+    }
+
+    /**
+     * Gets the built-in model: a linear model that prefers the active
+     * color, keeps to the color held most, holds wilds and dumps points.
+     *
+     * @return the default model
+     */
+    public static PolicyModel defaultModel() {
+        float[] w = new float[FEATURES];
+        w[14] = -0.5f; // wild
+        w[15] = 0.2f;  // card_points
+        w[16] = 1.0f;  // matches_active_color
+        w[17] = 0.5f;  // hand_share_color_left
+        w[18] = 0.3f;  // attack_next
+        return PolicyModel.linear(w, 0f);
+    }
+
+    /**
+     * Gets the model from the model file, reading it the first time. A
+     * missing file means the default model; an unreadable or mismatched
+     * one is reported and the default is used.
+     *
+     * @return the startup model
+     */
+    static synchronized PolicyModel startupModel() {
+        if (startupModel == null) {
+            Path file = Paths.get(System.getProperty("uno.policy", DEFAULT_MODEL_FILE));
+            try {
+                PolicyModel m = PolicyModel.load(file);
+                if (m.getInputs() != FEATURES) {
+                    throw new IOException("expected " + FEATURES + " inputs, found " + m.getInputs());
+                }
+                startupModel = m;
+            } catch (NoSuchFileException e) {
+                startupModel = defaultModel();
+            } catch (IOException e) {
+                System.err.println("Error loading policy model from " + file + ": " + e.getMessage());
+                startupModel = defaultModel();
+            }
+        }
+        return startupModel;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    public PolicyModel getModel() {
+        return model;
+    }
+
+    @Override
+    public synchronized AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        List<AIDecision> moves = MonteCarloStrategy.candidates(view);
+        if (moves.size() == 1) {
+            return moves.get(0);
+        }
+        batch.clear();
+        addMoves(view, moves, batch, table);
+        model.score(batch);
+        return moves.get(batch.best(0, moves.size()));
+    }
+
+    /**
+     * Decides for many tables at once: the candidates of every table are
+     * scored in one batch.
+     *
+     * @param views one view per deciding seat
+     * @return the move for each view, in the same order
+     */
+    public synchronized List<AIDecision> decideAll(List<AITurnSnapshot> views) {
+        List<List<AIDecision>> moves = new ArrayList<>(views.size());
+        batch.clear();
+        for (AITurnSnapshot view : views) {
+            List<AIDecision> m = MonteCarloStrategy.candidates(view);
+            moves.add(m);
+            addMoves(view, m, batch, table);
+        }
+        model.score(batch);
+        List<AIDecision> decisions = new ArrayList<>(views.size());
+        int row = 0;
+        for (List<AIDecision> m : moves) {
+            decisions.add(m.get(batch.best(row, row + m.size()) - row));
+            row += m.size();
+        }
+        return decisions;
+    }
+
+    /**
+     * Adds one row per move to a batch.
+     *
+     * @param view the table
+     * @param moves the candidate moves
+     * @param batch receives the rows, in move order
+     * @param table scratch for the table features
+     */
+    static void addMoves(AITurnSnapshot view, List<AIDecision> moves, PolicyModel.Batch batch, float[] table) {
+        tableFeatures(view, table);
+        for (AIDecision move : moves) {
+            int row = batch.addRow();
+            for (int f = 0; f < TABLE_FEATURES; f++) {
+                batch.set(row, f, table[f]);
+            }
+            moveFeatures(view, move, batch, row);
+        }
+    }
+
+    private static void tableFeatures(AITurnSnapshot view, float[] into) {
+        List<Card> hand = view.getHand();
+        Card.Color[] colors = view.getSide() == Side.DARK ? DARK : LIGHT;
+        int size = Math.max(hand.size(), 1);
+        int[] counts = new int[colors.length + 1];
+        int points = 0;
+        for (Card c : hand) {
+            points += Rules.cardScore(c);
+            if (Rules.isWild(c)) {
+                counts[colors.length]++;
+                continue;
+            }
+            for (int i = 0; i < colors.length; i++) {
+                if (c.getColor() == colors[i]) counts[i]++;
+            }
+        }
+        for (int i = 0; i <= colors.length; i++) {
+            into[i] = (float) counts[i] / size;
+        }
+        into[5] = hand.size() / 10f;
+
+        int seat = view.getSeat();
+        int players = view.getPlayerCount();
+        int leader = -1;
+        for (int k = 1; k <= 3; k++) {
+            into[5 + k] = 0f;
+            if (k >= players) continue;
+            int p = view.isClockwise() ? (seat + k) % players : (seat - k + players) % players;
+            into[5 + k] = view.getHandSize(p) / 10f;
+            if (leader < 0 || view.getHandSize(p) < view.getHandSize(leader)) leader = p;
+        }
+        into[9] = view.getSide() == Side.DARK ? 1f : 0f;
+        into[10] = points / 100f;
+
+        CardTracker tracker = view.getCardTracker();
+        Card.Color active = activeColor(view);
+        into[11] = tracker == null || active == null ? 0f
+                : (float) tracker.probabilityNextDrawIs(seat, active);
+        into[12] = tracker == null || leader < 0 ? 0f
+                : (float) tracker.probabilityHoldsWild(seat, leader, view.getSide());
+    }
+
+    private static void moveFeatures(AITurnSnapshot view, AIDecision move, PolicyModel.Batch batch, int row) {
+        if (move.isDraw()) {
+            batch.set(row, 13, 1f);
+            return;
+        }
+        List<Card> hand = view.getHand();
+        Card card = hand.get(move.getHandIndex());
+        Card.Color left = Rules.isWild(card) ? move.getWildColor() : card.getColor();
+        int same = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            if (i != move.getHandIndex() && left != null && hand.get(i).getColor() == left) same++;
+        }
+        int seat = view.getSeat();
+        int players = view.getPlayerCount();
+        int next = view.isClockwise() ? (seat + 1) % players : (seat - 1 + players) % players;
+        CardTracker tracker = view.getCardTracker();
+
+        batch.set(row, 14, Rules.isWild(card) ? 1f : 0f);
+        batch.set(row, 15, Rules.cardScore(card) / 60f);
+        Card.Color active = activeColor(view);
+        batch.set(row, 16, active != null && card.getColor() == active ? 1f : 0f);
+        batch.set(row, 17, hand.size() > 1 ? (float) same / (hand.size() - 1) : 0f);
+        batch.set(row, 18, attacks(card) ? 1f / Math.max(view.getHandSize(next), 1) : 0f);
+        batch.set(row, 19, card.getValue() == Card.Value.FLIP ? 1f : 0f);
+        batch.set(row, 20, tracker == null || left == null ? 0f
+                : (float) tracker.probabilityNextDrawIs(seat, left));
+    }
+
+    private static Card.Color activeColor(AITurnSnapshot view) {
+        Card top = view.getTopCard();
+        return top != null && top.getColor() != null ? top.getColor() : view.getWildColor();
+    }
+
+    private static boolean attacks(Card card) {
+        switch (card.getValue()) {
+            case SKIP:
+            case SKIP_EVERYONE:
+            case DRAW_ONE:
+            case DRAW_FIVE:
+            case WILD_DRAW_TWO:
+            case WILD_DRAW_COLOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,388 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Lets an AI player think during the turn before its own ("pondering").
+ *
+ * While another player is thinking, the service guesses the states the
+ * next seat may be handed: the current player draws, or plays one of the
+ * cards that pass the turn on unchanged (a number card, or a plain wild
+ * with each color), the likeliest cards first by how many copies the AI
+ * has not seen. For each guess it builds the snapshot the AI would get and
+ * asks the AI's strategy for its move with the AI's normal budget, then
+ * keeps the answer. When the AI's turn comes, take finds the answer for
+ * the real snapshot, if it was guessed, and the move is played at once.
+ *
+ * Pondering runs at the lowest thread priority, so it only uses time the
+ * rest of the program leaves idle: on one daemon thread, and for strategies
+ * that spread a search over a pool (Monte Carlo, see AIStrategy.onPool) on
+ * the service's own pool of at most half the cores. It stops once its
+ * threads have used a fixed amount of CPU time per turn (the table's
+ * budget), as measured by the JVM for each thread; the search running when
+ * the budget is reached may finish past it. stop ends it the
+ * moment the real move is known: the search in progress is cancelled
+ * through its budget and its unfinished answer thrown away. Only
+ * strategies whose ponders() is true are asked.
+ *
+ * start, stop and take are called on the thread that owns the game.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class PonderingService {
+
+    /** Default CPU time pondering may use per turn and table. */
+    public static final long DEFAULT_TABLE_BUDGET_MS = 6000;
+
+    /** How long take waits for a cancelled search to return. */
+    private static final long STOP_WAIT_MS = 1000;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ExecutorService worker; // null: ponder on the calling thread
+    private final ForkJoinPool pool;
+    private final Set<Long> poolThreadIds = ConcurrentHashMap.newKeySet();
+    private final long tableBudgetMillis;
+    private final Map<Long, AIDecision> ready = new ConcurrentHashMap<>();
+    private Session session;   // pondering now, null if none
+    private Session stopping;  // stopped since the last take, may still be returning
+    private int hits;
+    private int misses;
+
+    /**
+     * Creates a service with its own low-priority threads and the default budget.
+     */
+    public PonderingService() {
+        this(newLowPriorityWorker(), Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                DEFAULT_TABLE_BUDGET_MS);
+    }
+
+    private PonderingService(ExecutorService worker, int poolThreads, long tableBudgetMillis) {
+        if (tableBudgetMillis <= 0) {
+            throw new IllegalArgumentException("The pondering budget must be positive");
+        }
+        this.worker = worker;
+        this.pool = newLowPriorityPool(poolThreads, poolThreadIds);
+        this.tableBudgetMillis = tableBudgetMillis;
+    }
+
+    /**
+     * Creates a service that ponders on the thread calling start, which
+     * returns only when done; for tests and simulations.
+     *
+     * @param tableBudgetMillis pondering time per turn
+     * @return the service
+     */
+    public static PonderingService direct(long tableBudgetMillis) {
+        return new PonderingService(null, 1, tableBudgetMillis);
+    }
+
+    private static ExecutorService newLowPriorityWorker() {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "uno-ai-ponder");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    private static ForkJoinPool newLowPriorityPool(int threads, Set<Long> ids) {
+        return new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("uno-ai-ponder-" + t.getPoolIndex());
+            t.setPriority(Thread.MIN_PRIORITY);
+            ids.add(t.getId());
+            return t;
+        }, null, false);
+    }
+
+    /**
+     * Starts pondering for the seat after the current player, if it is an
+     * AI. Answers from an earlier turn are dropped.
+     *
+     * @param game the live game
+     * @param strategies picks the strategy an AI player would use for a snapshot
+     */
+    public void start(Game game, BiFunction<AIPlayer, AITurnSnapshot, AIStrategy> strategies) {
+        stop();
+        ready.clear();
+        int seat = nextSeat(game);
+        if (!(game.getPlayer(seat) instanceof AIPlayer) || seat == game.getCurrentPlayerIndex()) {
+            return;
+        }
+        Session s = new Session((AIPlayer) game.getPlayer(seat), hypotheses(game), strategies);
+        session = s;
+        if (worker == null) {
+            s.run();
+        } else {
+            worker.execute(s);
+        }
+    }
+
+    /**
+     * Stops pondering; answers already worked out are kept.
+     */
+    public void stop() {
+        Session s = session;
+        session = null;
+        if (s != null) {
+            s.stop();
+            stopping = s;
+        }
+    }
+
+    /**
+     * Stops pondering and takes the answer worked out for a state. Waits
+     * for the last stopped search to return first, even if stop was
+     * called earlier, since the strategy may keep
+     * its search state in fields (EndgameSolver does) and the real turn is
+     * about to use it.
+     *
+     * @param actual the snapshot of the AI's real turn
+     * @return the move, or null if that state was not pondered
+     */
+    public AIDecision take(AITurnSnapshot actual) {
+        stop();
+        Session s = stopping;
+        stopping = null;
+        if (s != null) {
+            s.await();
+        }
+        AIDecision decision = ready.get(key(actual));
+        ready.clear();
+        if (decision != null) hits++; else misses++;
+        return decision;
+    }
+
+    /** @return how many turns were answered from pondering */
+    public int getHits() { return hits; }
+
+    /** @return how many turns were not */
+    public int getMisses() { return misses; }
+
+    /**
+     * Stops pondering and its threads.
+     */
+    public void shutdown() {
+        stop();
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    private static int nextSeat(Game game) {
+        int n = game.getPlayerCount();
+        int p = game.getCurrentPlayerIndex();
+        return game.isClockwise() ? (p + 1) % n : (p - 1 + n) % n;
+    }
+
+    /**
+     * Builds the snapshots the next seat may get after the current
+     * player's move, the likeliest first.
+     *
+     * @param game the live game
+     * @return the guessed snapshots
+     */
+    static List<AITurnSnapshot> hypotheses(Game game) {
+        int p = game.getCurrentPlayerIndex();
+        int seat = nextSeat(game);
+        Side side = game.getCurrentSide();
+        Card top = game.getTopCard();
+        int[] sizes = new int[game.getPlayerCount()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = game.getPlayer(i).getHand().getSize();
+        }
+        CardTracker tracker = game.getCardTracker();
+        List<AITurnSnapshot> out = new ArrayList<>();
+
+        // They draw: only their hand size changes
+        sizes[p]++;
+        out.add(snapshot(game, seat, top, game.getTopWildColor(), sizes, null, tracker.copy()));
+        sizes[p] -= 2;
+        if (sizes[p] == 0) {
+            return out; // playing their last card ends the round
+        }
+
+        // They play a card that hands the turn on without side effects
+        Map<Integer, Card> plays = new LinkedHashMap<>();
+        for (Card c : side == Side.LIGHT ? Rules.lightSideCards() : Rules.darkSideCards()) {
+            boolean plain = c.getValue().ordinal() <= Card.Value.NINE.ordinal() || c.getValue() == Card.Value.WILD;
+            if (plain && tracker.unseen(seat, c) > 0 && Rules.isValidPlay(c, top, game.getTopWildColor(), side)) {
+                plays.putIfAbsent(GameCodec.cardCode(c), c);
+            }
+        }
+        List<Card> likeliest = new ArrayList<>(plays.values());
+        likeliest.sort((a, b) -> tracker.unseen(seat, b) - tracker.unseen(seat, a));
+        for (Card c : likeliest) {
+            CardTracker after = tracker.copy();
+            after.onPlay(p, c);
+            if (c.getValue() != Card.Value.WILD) {
+                out.add(snapshot(game, seat, c, null, sizes, c, after));
+                continue;
+            }
+            for (Card.Color color : Card.Color.values()) {
+                if (Rules.isLightColor(color)) {
+                    out.add(snapshot(game, seat, c, color, sizes, c, after));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static AITurnSnapshot snapshot(Game game, int seat, Card top, Card.Color wildColor, int[] sizes,
+                                           Card played, CardTracker tracker) {
+        Player ai = game.getPlayer(seat);
+        List<Card> light = game.getDiscardPile(Side.LIGHT);
+        List<Card> dark = game.getDiscardPile(Side.DARK);
+        if (played != null) {
+            List<Card> pile = new ArrayList<>(game.getCurrentSide() == Side.LIGHT ? light : dark);
+            pile.add(played);
+            if (game.getCurrentSide() == Side.LIGHT) light = pile; else dark = pile;
+        }
+        return new AITurnSnapshot(ai.getName(), ai.getHand().getCardsList(), top, wildColor, game.getCurrentSide(),
+                game.getStateVersion(), seat, sizes, game.isClockwise(), light, dark, tracker);
+    }
+
+    /**
+     * Sums up what a strategy sees in a snapshot: the seat, its hand, the
+     * top card and wild color, the side, the direction, every hand size and
+     * the discard piles' sizes. Two snapshots with the same key get the
+     * same move.
+     *
+     * @param s the snapshot
+     * @return the key
+     */
+    static long key(AITurnSnapshot s) {
+        long h = mix(0, s.getSeat());
+        h = mix(h, s.getSide().ordinal() * 2 + (s.isClockwise() ? 1 : 0));
+        h = mix(h, s.getTopCard() == null ? -1 : GameCodec.cardCode(s.getTopCard()));
+        h = mix(h, s.getWildColor() == null ? -1 : s.getWildColor().ordinal());
+        for (Card c : s.getHand()) h = mix(h, GameCodec.cardCode(c));
+        for (int p = 0; p < s.getPlayerCount(); p++) h = mix(h, s.getHandSize(p));
+        h = mix(h, s.getDiscardPile(Side.LIGHT).size());
+        return mix(h, s.getDiscardPile(Side.DARK).size());
+    }
+
+    private static long mix(long h, int value) {
+        // splitmix64 step over the running hash
+        long z = (h ^ value) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One turn's pondering: the guesses are searched in order until the
+     * table's CPU time is used up or stop is called.
+     */
+    private final class Session implements Runnable {
+        private final AIPlayer ai;
+        private final List<AITurnSnapshot> hypotheses;
+        private final BiFunction<AIPlayer, AITurnSnapshot, AIStrategy> strategies;
+        private volatile boolean stopped;
+        private volatile SearchBudget current;
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        Session(AIPlayer ai, List<AITurnSnapshot> hypotheses,
+                BiFunction<AIPlayer, AITurnSnapshot, AIStrategy> strategies) {
+            this.ai = ai;
+            this.hypotheses = hypotheses;
+            this.strategies = strategies;
+        }
+
+        @Override
+        public void run() {
+            try {
+                search();
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private void search() {
+            Map<Long, Long> startCpu = cpuTimes();
+            long elapsed = 0; // stands in for CPU time where the JVM cannot measure it
+            for (AITurnSnapshot h : hypotheses) {
+                if (stopped) return;
+                if (Math.max(cpuUsed(startCpu), elapsed) >= tableBudgetMillis * 1_000_000L) return;
+                AIStrategy strategy = strategies.apply(ai, h);
+                if (!strategy.ponders()) continue;
+                AIStrategy search = strategy.onPool(pool);
+                SearchBudget budget = ai.newMoveBudget();
+                current = budget;
+                if (stopped) return; // stop may have run before current was set
+                long start = System.nanoTime();
+                try {
+                    AIDecision decision = search.decide(h, budget);
+                    elapsed += System.nanoTime() - start;
+                    if (stopped) return; // cut short; the real turn searches again
+                    ready.put(key(h), decision);
+                } catch (RuntimeException e) {
+                    System.err.println("AI pondering failed: " + e);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads the CPU time of this thread and of the pool's threads.
+         *
+         * @return nanoseconds by thread id; empty if the JVM cannot measure it
+         */
+        private Map<Long, Long> cpuTimes() {
+            Map<Long, Long> times = new HashMap<>();
+            if (!THREADS.isThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+                return times;
+            }
+            times.put(Thread.currentThread().getId(), THREADS.getCurrentThreadCpuTime());
+            for (long id : poolThreadIds) {
+                long t = THREADS.getThreadCpuTime(id);
+                if (t >= 0) {
+                    times.put(id, t);
+                } else {
+                    poolThreadIds.remove(id); // the thread has ended
+                }
+            }
+            return times;
+        }
+
+        private long cpuUsed(Map<Long, Long> start) {
+            long used = 0;
+            for (Map.Entry<Long, Long> e : cpuTimes().entrySet()) {
+                used += e.getValue() - start.getOrDefault(e.getKey(), 0L);
+            }
+            return used;
+        }
+
+        void stop() {
+            stopped = true;
+            SearchBudget b = current;
+            if (b != null) b.cancel();
+        }
+
+        void await() {
+            try {
+                if (!finished.await(STOP_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    System.err.println("AI pondering did not stop in time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import javax.swing.Timer;
+import java.util.function.Consumer;
+
+/**
+ * Paces rendering to at most one frame per display refresh.
+ *
+ * A view hands every state it receives to submit(). Instead of rendering
+ * straight away, the scheduler remembers the state and starts a one-shot
+ * Swing Timer; when it fires, only the newest state is rendered. A burst of
+ * events (an AI streak, a long draw) therefore costs a single layout and
+ * paint pass, and the frame on screen is always the latest state.
+ *
+ * States that must not be skipped, such as one that opens a modal colour
+ * prompt, are submitted as urgent: any pending frame is dropped and the
+ * urgent state is rendered immediately, exactly once.
+ *
+ * Must be used from the EDT (the timer also fires there).
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class RenderScheduler {
+
+    /** About one frame at 60 Hz. */
+    public static final int DEFAULT_FRAME_MILLIS = 16;
+
+    private final Consumer<GameStateEvent> renderer;
+    private final Timer frameTimer;
+    private GameStateEvent pending = null;
+    private int framesRendered = 0;
+
+    /**
+     * Creates a scheduler with the default frame length.
+     *
+     * @param renderer does the actual rendering of one state
+     */
+    public RenderScheduler(Consumer<GameStateEvent> renderer) {
+        this(renderer, DEFAULT_FRAME_MILLIS);
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param renderer does the actual rendering of one state
+     * @param frameMillis the shortest time between two rendered frames
+     */
+    public RenderScheduler(Consumer<GameStateEvent> renderer, int frameMillis) {
+        this.renderer = renderer;
+        this.frameTimer = new Timer(frameMillis, e -> flush());
+        this.frameTimer.setRepeats(false);
+    }
+
+    /**
+     * Marks the view dirty with a new state. It is rendered on the next frame
+     * unless a newer state replaces it first.
+     *
+     * @param state the latest state
+     */
+    public void submit(GameStateEvent state) {
+        pending = state;
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    /**
+     * Renders a state immediately, dropping any older state still waiting
+     * for its frame.
+     *
+     * @param state the state that must be rendered now
+     */
+    public void submitUrgent(GameStateEvent state) {
+        frameTimer.stop();
+        pending = null;
+        renderFrame(state);
+    }
+
+    /**
+     * Renders the pending state now, if there is one.
+     */
+    public void flush() {
+        frameTimer.stop();
+        GameStateEvent state = pending;
+        pending = null;
+        if (state != null) {
+            renderFrame(state);
+        }
+    }
+
+    /**
+     * Checks whether a state is waiting for its frame.
+     *
+     * @return true if a render is pending
+     */
+    public boolean isDirty() {
+        return pending != null;
+    }
+
+    /**
+     * Gets the number of frames rendered so far.
+     *
+     * @return the frame count
+     */
+    public int getFramesRendered() {
+        return framesRendered;
+    }
+
+    private void renderFrame(GameStateEvent state) {
+        framesRendered++;
+        renderer.accept(state);
+    }
+}
@@ -0,0 +1,395 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rules of UNO Flip as pure functions: card matching, the cards on
+ * each side, how cards flip and what they score. Game uses them for its
+ * own play, and AI code uses them on snapshots and simulations from other
+ * threads without touching the live model.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class Rules {
+
+    private static final Card.Color[] LIGHT_COLORS = {Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW };
+    private static final Card.Color[] DARK_COLORS = {Card.Color.PINK, Card.Color.PURPLE, Card.Color.TEAL, Card.Color.ORANGE };
+
+    private Rules() {
+    }
+
+    /**
+     * Checks if a card can be legally played.
+     * A card is valid if:
+     * - It belongs to the current side
+     * - It's a wild card of that side (can always be played)
+     * - Its color matches the wild color (if a wild was played)
+     * - Otherwise its color or value matches the top card
+     *
+     * @param cardToPlay the card being checked
+     * @param top the top card of the discard pile, or null before the first card
+     * @param wildColor the color chosen for a light wild, or null
+     * @param side the side in play
+     * @return true if the card can be played, false otherwise
+     */
+    public static boolean isValidPlay(Card cardToPlay, Card top, Card.Color wildColor, Side side) {
+        if (cardToPlay == null) return false;
+
+        // Side-specific restrictions
+        if (side == Side.LIGHT) {
+            // WILD_DRAW_COLOR is dark-side only
+            if (cardToPlay.getValue() == Card.Value.WILD_DRAW_COLOR) {
+                return false;
+            }
+            // Dark colors not allowed on light side
+            if (isDarkColor(cardToPlay.getColor())) {
+                return false;
+            }
+        } else { // DARK side
+            // WILD and WILD_DRAW_TWO are light-side only
+            if (cardToPlay.getValue() == Card.Value.WILD ||
+                cardToPlay.getValue() == Card.Value.WILD_DRAW_TWO) {
+                return false;
+            }
+            // Light colors not allowed on dark side
+            if (isLightColor(cardToPlay.getColor())) {
+                return false;
+            }
+        }
+
+        // Wild cards (appropriate for current side) can always be played
+        if (isWild(cardToPlay)) {
+            return true;
+        }
+
+        // If a wild color is active (a color chosen from a previous wild)
+        if (wildColor != null) {
+            return cardToPlay.getColor() == wildColor;
+        }
+
+        // If there is a top card on the discard pile
+        if (top != null) {
+            // Allow match by color OR value
+            return (cardToPlay.getColor() == top.getColor()) ||
+                (cardToPlay.getValue() == top.getValue());
+        }
+
+        // Default true if no top card yet
+        return true;
+    }
+
+    /**
+     * Checks whether a card is a wild card of either side.
+     *
+     * @param card the card
+     * @return true for WILD, WILD_DRAW_TWO and WILD_DRAW_COLOR
+     */
+    public static boolean isWild(Card card) {
+        Card.Value v = card.getValue();
+        return v == Card.Value.WILD || v == Card.Value.WILD_DRAW_TWO || v == Card.Value.WILD_DRAW_COLOR;
+    }
+
+    /**
+     * Checks whether a color belongs to the light side.
+     *
+     * @param color the color, may be null
+     * @return true for RED, BLUE, GREEN and YELLOW
+     */
+    public static boolean isLightColor(Card.Color color) {
+        return color == Card.Color.RED || color == Card.Color.BLUE
+                || color == Card.Color.GREEN || color == Card.Color.YELLOW;
+    }
+
+    /**
+     * Checks whether a color belongs to the dark side.
+     *
+     * @param color the color, may be null
+     * @return true for TEAL, PURPLE, PINK and ORANGE
+     */
+    public static boolean isDarkColor(Card.Color color) {
+        return color == Card.Color.TEAL || color == Card.Color.PURPLE
+                || color == Card.Color.PINK || color == Card.Color.ORANGE;
+    }
+
+    /**
+     * Creates all cards used on the light side of UNO Flip.
+     * This includes:
+     * - Number cards (0–9)
+     * - Skip, Reverse, Draw One
+     * - Wild and Wild Draw Two cards
+     *
+     * @return a new, unshuffled list of the light-side cards
+     */
+    public static List<Card> lightSideCards() {
+        List<Card> cards = new ArrayList<>();
+        for (Card.Color color : LIGHT_COLORS) {
+            // According to the UNO website, there is only one 0 card per color
+            cards.add(new Card(color, Card.Value.ZERO));
+
+            // Every other number has two per color
+            cards.add(new Card(color, Card.Value.ONE));
+            cards.add(new Card(color, Card.Value.ONE));
+            cards.add(new Card(color, Card.Value.TWO));
+            cards.add(new Card(color, Card.Value.TWO));
+            cards.add(new Card(color, Card.Value.THREE));
+            cards.add(new Card(color, Card.Value.THREE));
+            cards.add(new Card(color, Card.Value.FOUR));
+            cards.add(new Card(color, Card.Value.FOUR));
+            cards.add(new Card(color, Card.Value.FIVE));
+            cards.add(new Card(color, Card.Value.FIVE));
+            cards.add(new Card(color, Card.Value.SIX));
+            cards.add(new Card(color, Card.Value.SIX));
+            cards.add(new Card(color, Card.Value.SEVEN));
+            cards.add(new Card(color, Card.Value.SEVEN));
+            cards.add(new Card(color, Card.Value.EIGHT));
+            cards.add(new Card(color, Card.Value.EIGHT));
+            cards.add(new Card(color, Card.Value.NINE));
+            cards.add(new Card(color, Card.Value.NINE));
+
+            // Light side action cards (two of each per color)
+            cards.add(new Card(color, Card.Value.SKIP));
+            cards.add(new Card(color, Card.Value.SKIP));
+            cards.add(new Card(color, Card.Value.DRAW_ONE));
+            cards.add(new Card(color, Card.Value.DRAW_ONE));
+            cards.add(new Card(color, Card.Value.REVERSE));
+            cards.add(new Card(color, Card.Value.REVERSE));
+
+            // Draw Five (two per color)
+            cards.add(new Card(color, Card.Value.DRAW_FIVE));
+            cards.add(new Card(color, Card.Value.DRAW_FIVE));
+            
+            // Skip Everyone (two per color)
+            cards.add(new Card(color, Card.Value.SKIP_EVERYONE));
+            cards.add(new Card(color, Card.Value.SKIP_EVERYONE));
+            
+            // FLIP card (one per color)
+            cards.add(new Card(color, Card.Value.FLIP));
+
+        }
+        // Light-Side Wild cards (4 of each type, no color)
+        for (int i = 0; i < 4; i++) {
+            cards.add(new Card(null, Card.Value.WILD));
+            cards.add(new Card(null, Card.Value.WILD_DRAW_TWO));
+        }
+        return cards;
+    }
+
+    /**
+     * Creates all cards used on the dark side of UNO Flip.
+     * This includes:
+     * - Draw Five
+     * - Skip Everyone
+     * - Wild Draw Color
+     *
+     * @return a new, unshuffled list of the dark-side cards
+     */
+    public static List<Card> darkSideCards() {
+        List<Card> cards = new ArrayList<>();
+        for  (Card.Color color : DARK_COLORS) {
+            // Dark side has numbers 1-9 (no zero)
+            // Two of each number per color
+            cards.add(new Card(color, Card.Value.ONE));
+            cards.add(new Card(color, Card.Value.ONE));
+            cards.add(new Card(color, Card.Value.TWO));
+            cards.add(new Card(color, Card.Value.TWO));
+            cards.add(new Card(color, Card.Value.THREE));
+            cards.add(new Card(color, Card.Value.THREE));
+            cards.add(new Card(color, Card.Value.FOUR));
+            cards.add(new Card(color, Card.Value.FOUR));
+            cards.add(new Card(color, Card.Value.FIVE));
+            cards.add(new Card(color, Card.Value.FIVE));
+            cards.add(new Card(color, Card.Value.SIX));
+            cards.add(new Card(color, Card.Value.SIX));
+            cards.add(new Card(color, Card.Value.SEVEN));
+            cards.add(new Card(color, Card.Value.SEVEN));
+            cards.add(new Card(color, Card.Value.EIGHT));
+            cards.add(new Card(color, Card.Value.EIGHT));
+            cards.add(new Card(color, Card.Value.NINE));
+            cards.add(new Card(color, Card.Value.NINE));
+            
+            // Dark side action cards (two of each per color)
+            cards.add(new Card(color, Card.Value.DRAW_FIVE));
+            cards.add(new Card(color, Card.Value.DRAW_FIVE));
+            
+            cards.add(new Card(color, Card.Value.SKIP_EVERYONE));
+            cards.add(new Card(color, Card.Value.SKIP_EVERYONE));
+            
+            // REVERSE exists on both light and dark sides
+            cards.add(new Card(color, Card.Value.REVERSE));
+            cards.add(new Card(color, Card.Value.REVERSE));
+            
+            // FLIP card (one per color)
+            cards.add(new Card(color, Card.Value.FLIP));
+        }
+        
+        // Dark-side Wild Draw Color (4 copies)
+        for (int i = 0; i < 4; i++) {
+            cards.add(new Card(null, Card.Value.WILD_DRAW_COLOR));
+        }
+        return cards;
+    }
+
+    /**
+     * Flips the top card of the discard pile to the side now in play.
+     * Light-side cards convert to their dark equivalents,
+     * and dark-side cards convert to their light equivalents.
+     *
+     * @param top the top card, may be null
+     * @param newSide the side that is now in play
+     * @return the flipped top card
+     */
+    public static Card flipTopCard(Card top, Side newSide) {
+        if (top == null) return null;
+
+        Card.Value v = top.getValue();
+
+        // If top card is a light-side card, convert to dark equivalent
+        if (newSide == Side.DARK) {
+            switch (v) {
+                case SKIP:          return new Card(null, Card.Value.SKIP_EVERYONE);
+                case DRAW_ONE:      return new Card(null, Card.Value.DRAW_FIVE);
+                case WILD:          return new Card(null, Card.Value.WILD_DRAW_COLOR);
+                case WILD_DRAW_TWO: return new Card(null, Card.Value.WILD_DRAW_COLOR);
+                // number cards simply "flip" by recolor
+                default: return new Card(Card.Color.PINK, v);
+            }
+        }
+
+        // If top card is a dark-side card, convert to light equivalent
+        else {
+            switch (v) {
+                case SKIP_EVERYONE: return new Card(null, Card.Value.SKIP);
+                case DRAW_FIVE:     return new Card(null, Card.Value.DRAW_ONE);
+                case WILD_DRAW_COLOR: return new Card(null, Card.Value.WILD);
+                default: return new Card(Card.Color.RED, v);
+            }
+        }
+    }
+
+    /**
+     * Returns the opposite-side equivalent of a card in a hand.
+     * Light cards convert to dark, dark cards convert to light.
+     *
+     * @param card the card to flip
+     * @param newSide the side that is now in play
+     * @return the flipped version of the card
+     */
+    public static Card flipCard(Card card, Side newSide) {
+        if (card == null) return null;
+        
+        Card.Value v = card.getValue();
+        Card.Color c = card.getColor();
+        
+        // If currently on DARK side, we're flipping FROM light TO dark
+        if (newSide == Side.DARK) {
+            // Convert light colors to dark colors
+            Card.Color newColor = null;
+            if (c != null) {
+                switch (c) {
+                    case RED:    newColor = Card.Color.PINK; break;
+                    case BLUE:   newColor = Card.Color.PURPLE; break;
+                    case GREEN:  newColor = Card.Color.TEAL; break;
+                    case YELLOW: newColor = Card.Color.ORANGE; break;
+                    default:     newColor = c; // Already dark
+                }
+            }
+            
+            // Convert light action cards to dark action cards
+            Card.Value newValue = v;
+            switch (v) {
+                case SKIP:          newValue = Card.Value.SKIP_EVERYONE; break;
+                case DRAW_ONE:      newValue = Card.Value.DRAW_FIVE; break;
+                case WILD:          newValue = Card.Value.WILD_DRAW_COLOR; break;
+                case WILD_DRAW_TWO: newValue = Card.Value.WILD_DRAW_COLOR; break;
+                case REVERSE:       newValue = Card.Value.REVERSE; break; // Same on both
+                case FLIP:          newValue = Card.Value.FLIP; break; // Same on both
+                default:            newValue = v; // Numbers stay same
+            }
+            
+            return new Card(newColor, newValue);
+        }
+        
+        // If currently on LIGHT side, we're flipping FROM dark TO light
+        else {
+            // Convert dark colors to light colors
+            Card.Color newColor = null;
+            if (c != null) {
+                switch (c) {
+                    case PINK:   newColor = Card.Color.RED; break;
+                    case PURPLE: newColor = Card.Color.BLUE; break;
+                    case TEAL:   newColor = Card.Color.GREEN; break;
+                    case ORANGE: newColor = Card.Color.YELLOW; break;
+                    default:     newColor = c; // Already light
+                }
+            }
+            
+            // Convert dark action cards to light action cards
+            Card.Value newValue = v;
+            switch (v) {
+                case SKIP_EVERYONE:   newValue = Card.Value.SKIP; break;
+                case DRAW_FIVE:       newValue = Card.Value.DRAW_ONE; break;
+                case WILD_DRAW_COLOR: newValue = Card.Value.WILD; break;
+                case REVERSE:         newValue = Card.Value.REVERSE; break; // Same
+                case FLIP:            newValue = Card.Value.FLIP; break; // Same
+                default:              newValue = v; // Numbers stay same
+            }
+            
+            return new Card(newColor, newValue);
+        }
+    }
+
+    /**
+     * Returns the score value of a card according to UNO Flip rules.
+     * Scoring is based on the card's value.
+     *
+     * - Number cards: face value (0-9 points)
+     * - Action cards: 10-30 points each
+     * - Wild cards: 40-60 points each
+     *
+     * @param card the card to score
+     * @return the points the card is worth to the round winner
+     */
+    public static int cardScore(Card card) {
+        Card.Value v = card.getValue();
+
+        switch (v) {
+            //number cards: face value
+            case ZERO:  return 0;
+            case ONE:   return 1;
+            case TWO:   return 2;
+            case THREE: return 3;
+            case FOUR:  return 4;
+            case FIVE:  return 5;
+            case SIX:   return 6;
+            case SEVEN: return 7;
+            case EIGHT: return 8;
+            case NINE:  return 9;
+
+            //light-side action card
+            case DRAW_ONE:
+                return 10;
+
+            //20-point actions
+            case DRAW_FIVE:   // dark
+            case SKIP:        // light
+            case REVERSE:     // light/dark
+            case FLIP:        // light/dark
+                return 20;
+
+            //special dark action
+            case SKIP_EVERYONE:
+                return 30;
+
+            //wild cards
+            case WILD:
+                return 40;
+            case WILD_DRAW_TWO:
+                return 50;
+            case WILD_DRAW_COLOR:
+                return 60;
+
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Limits for the search behind one AI move: a time limit that starts when
+ * the budget is created, and a maximum number of nodes (positions,
+ * playouts, ... as the strategy counts them). Simple strategies may
+ * ignore it.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class SearchBudget {
+
+    private final long timeMillis;
+    private final long maxNodes;
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private SearchBudget(long timeMillis, long maxNodes) {
+        if (timeMillis <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("Budget limits must be positive");
+        }
+        this.timeMillis = timeMillis;
+        this.maxNodes = maxNodes;
+        this.deadlineNanos = System.nanoTime() + timeMillis * 1_000_000L;
+    }
+
+    /**
+     * Creates a budget whose clock starts now.
+     *
+     * @param timeMillis how long the move may take
+     * @param maxNodes how many nodes may be searched
+     * @return the budget
+     */
+    public static SearchBudget startingNow(long timeMillis, long maxNodes) {
+        return new SearchBudget(timeMillis, maxNodes);
+    }
+
+    /**
+     * Gets the time limit the budget was created with.
+     *
+     * @return the time limit in milliseconds
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Gets the number of nodes the search may visit.
+     *
+     * @return the node limit
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Checks whether the time is up, the budget was cancelled or the
+     * thread was interrupted.
+     *
+     * @return true if the search should stop
+     */
+    public boolean isExpired() {
+        return cancelled || System.nanoTime() - deadlineNanos >= 0 || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Ends the budget early, from any thread. Unlike an interrupt it also
+     * reaches searches that run on pool threads.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the search should stop after the given number of nodes.
+     *
+     * @param nodes nodes searched so far
+     * @return true if the node limit is reached or the time is up
+     */
+    public boolean isExhausted(long nodes) {
+        return nodes >= maxNodes || isExpired();
+    }
+
+    /**
+     * Gets the time left.
+     *
+     * @return remaining milliseconds, 0 when expired
+     */
+    public long getRemainingMillis() {
+        if (cancelled) return 0;
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+}
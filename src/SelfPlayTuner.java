@@ -0,0 +1,385 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tunes the weights of WeightedHeuristicStrategy by self-play, without a
+ * user interface.
+ *
+ * A genetic algorithm keeps a population of weight sets. Each generation,
+ * every member plays rounds against the current champion: one seat plays
+ * the member's weights, the others the champion's, and the seats rotate.
+ * A member's fitness is its average point margin per round. Rounds are
+ * played in batches split across a ForkJoinPool, each game on its own
+ * Game, controller and random stream, so they use every core. A member
+ * stops playing as soon as its margin is significant (its 99% confidence
+ * interval excludes zero) or it reaches the round limit.
+ *
+ * The best member replaces the champion, and is written to the weights
+ * file, only when it is significantly better, in its generation and again
+ * in a fresh set of rounds (the best of many members is often just the
+ * luckiest). Tuning stops early once
+ * that has not happened for a number of generations. The next generation
+ * keeps the two best members and breeds the rest by tournament selection,
+ * blend crossover and Gaussian mutation.
+ *
+ * Every generation reports the throughput in games (rounds) per second
+ * per core.
+ * The endgame solver is off during self-play, so only the weights decide.
+ *
+ * Usage: java SelfPlayTuner [weights file]
+ * The file defaults to ai-weights.properties and, if it exists, is where
+ * tuning starts from. System properties uno.tuner.players,
+ * uno.tuner.population, uno.tuner.rounds (the limit per member),
+ * uno.tuner.generations and uno.tuner.patience change the defaults.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class SelfPlayTuner {
+
+    /** Default number of seats at the table. */
+    public static final int DEFAULT_PLAYERS = 3;
+
+    /** Default number of weight sets per generation. */
+    public static final int DEFAULT_POPULATION = 12;
+
+    /** Default most rounds one member plays against the champion. */
+    public static final int DEFAULT_MAX_ROUNDS = 4000;
+
+    /** Default number of generations. */
+    public static final int DEFAULT_GENERATIONS = 30;
+
+    /** Default generations without a significant improvement before stopping. */
+    public static final int DEFAULT_PATIENCE = 5;
+
+    /** Rounds played between significance checks. */
+    static final int BATCH_ROUNDS = 400;
+
+    /** Rounds one fork/join leaf plays before it stops splitting. */
+    static final int LEAF_ROUNDS = 25;
+
+    private static final double Z_99 = 2.576;
+    private static final int ELITES = 2;
+    private static final int TOURNAMENT = 3;
+    private static final double MUTATION_SIGMA = 0.3;
+
+    /** How a weight set did against the champion. */
+    public static final class Evaluation {
+        private final double mean;
+        private final double standardError;
+        private final int rounds;
+
+        Evaluation(double mean, double standardError, int rounds) {
+            this.mean = mean;
+            this.standardError = standardError;
+            this.rounds = rounds;
+        }
+
+        /** @return the average point margin per round over the champion */
+        public double getMean() { return mean; }
+
+        /** @return the standard error of the mean */
+        public double getStandardError() { return standardError; }
+
+        /** @return how many rounds were played */
+        public int getRounds() { return rounds; }
+
+        /** @return true if the margin is significantly above zero */
+        public boolean isSignificantlyBetter() {
+            return mean > Z_99 * standardError;
+        }
+
+        /** @return true if the margin is significantly different from zero */
+        public boolean isSignificant() {
+            return Math.abs(mean) > Z_99 * standardError;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%+.2f +/- %.2f points over %d rounds", mean, standardError, rounds);
+        }
+    }
+
+    private final int players;
+    private final int population;
+    private final int maxRounds;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+
+    private long roundsPlayed;
+    private long playNanos;
+
+    /**
+     * Creates a tuner with the default settings on the common fork/join pool.
+     */
+    public SelfPlayTuner() {
+        this(DEFAULT_PLAYERS, DEFAULT_POPULATION, DEFAULT_MAX_ROUNDS, ForkJoinPool.commonPool(),
+                new SplittableRandom());
+    }
+
+    /**
+     * Creates a tuner.
+     *
+     * @param players seats at the table, 2 to 4
+     * @param population weight sets per generation, at least ELITES + 1
+     * @param maxRounds most rounds one member plays against the champion
+     * @param pool the pool to play rounds on
+     * @param random the source of the deals and the breeding; seed it for repeatable tuning
+     */
+    public SelfPlayTuner(int players, int population, int maxRounds, ForkJoinPool pool, SplittableRandom random) {
+        if (players < 2 || players > 4 || population <= ELITES || maxRounds <= 0) {
+            throw new IllegalArgumentException("Invalid tuner settings");
+        }
+        this.players = players;
+        this.population = population;
+        this.maxRounds = maxRounds;
+        this.pool = pool;
+        this.random = random;
+    }
+
+    public long getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    /**
+     * Gets the throughput so far.
+     *
+     * @return rounds played per second of wall time per pool thread
+     */
+    public double getRoundsPerSecondPerCore() {
+        if (playNanos == 0) return 0;
+        return roundsPlayed / (playNanos / 1e9) / pool.getParallelism();
+    }
+
+    /**
+     * Tunes the weights.
+     *
+     * @param start the first champion
+     * @param generations the most generations to breed
+     * @param patience stop after this many generations without a new champion
+     * @param out where each new champion is written, or null
+     * @return the final champion
+     */
+    public WeightedHeuristicStrategy.Weights tune(WeightedHeuristicStrategy.Weights start, int generations,
+                                                  int patience, Path out) {
+        WeightedHeuristicStrategy.Weights champion = start;
+        List<WeightedHeuristicStrategy.Weights> members = new ArrayList<>();
+        for (int i = 0; i < population; i++) {
+            members.add(mutate(start));
+        }
+        int stale = 0;
+        for (int gen = 1; gen <= generations; gen++) {
+            Evaluation[] results = new Evaluation[members.size()];
+            Integer[] order = new Integer[members.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = evaluate(members.get(i), champion);
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> -results[i].getMean()));
+            Evaluation best = results[order[0]];
+
+            boolean improved = best.isSignificantlyBetter()
+                    && evaluate(members.get(order[0]), champion).isSignificantlyBetter();
+            if (improved) {
+                champion = members.get(order[0]);
+                stale = 0;
+                if (out != null) save(champion, out, gen);
+            } else {
+                stale++;
+            }
+            System.out.println(String.format("Generation %d: best %s%s; %d rounds, %.0f rounds/s per core",
+                    gen, best, improved ? ", new champion" : "", roundsPlayed, getRoundsPerSecondPerCore()));
+            if (stale >= patience) {
+                System.out.println("No significant improvement in " + patience + " generations, stopping");
+                break;
+            }
+
+            List<WeightedHeuristicStrategy.Weights> next = new ArrayList<>();
+            for (int i = 0; i < ELITES; i++) {
+                next.add(members.get(order[i]));
+            }
+            while (next.size() < population) {
+                WeightedHeuristicStrategy.Weights a = members.get(select(order));
+                WeightedHeuristicStrategy.Weights b = members.get(select(order));
+                next.add(mutate(crossover(a, b)));
+            }
+            members = next;
+        }
+        return champion;
+    }
+
+    /**
+     * Plays rounds of a weight set against the champion, in batches, until
+     * the margin is significant or the round limit is reached.
+     *
+     * @param candidate the weights in the rotating seat
+     * @param champion the weights in every other seat
+     * @return the margin and how sure it is
+     */
+    public Evaluation evaluate(WeightedHeuristicStrategy.Weights candidate, WeightedHeuristicStrategy.Weights champion) {
+        double sum = 0, sumSquares = 0;
+        int rounds = 0;
+        while (rounds < maxRounds) {
+            int batch = Math.min(BATCH_ROUNDS, maxRounds - rounds);
+            long start = System.nanoTime();
+            double[] totals = pool.invoke(new Rounds(candidate, champion, players, rounds, rounds + batch,
+                    random.split()));
+            playNanos += System.nanoTime() - start;
+            roundsPlayed += batch;
+            sum += totals[0];
+            sumSquares += totals[1];
+            rounds += batch;
+            if (evaluation(sum, sumSquares, rounds).isSignificant()) break;
+        }
+        return evaluation(sum, sumSquares, rounds);
+    }
+
+    private static Evaluation evaluation(double sum, double sumSquares, int n) {
+        double mean = sum / n;
+        double variance = n > 1 ? Math.max(0, (sumSquares - n * mean * mean) / (n - 1)) : 0;
+        return new Evaluation(mean, Math.sqrt(variance / n), n);
+    }
+
+    /**
+     * Plays one round and scores it for the candidate: the points it won,
+     * or minus its share of the points an opponent won.
+     *
+     * @param candidateSeat the seat playing the candidate's weights
+     * @param seed the deal
+     * @return the candidate's point margin
+     */
+    static double playRound(WeightedHeuristicStrategy.Weights candidate, WeightedHeuristicStrategy.Weights champion,
+                            int players, int candidateSeat, long seed) {
+        Game game = new Game();
+        game.setShuffleRandom(new Random(seed));
+        for (int seat = 0; seat < players; seat++) {
+            game.addPlayer(new AIPlayer("P" + seat,
+                    new WeightedHeuristicStrategy(seat == candidateSeat ? candidate : champion)));
+        }
+        new GameController(game, new HeadlessGameView(), AIDecisionService.direct(), null);
+        game.startGame();
+
+        double others = 0;
+        for (int seat = 0; seat < players; seat++) {
+            if (seat != candidateSeat) others += game.getPlayer(seat).getScore();
+        }
+        return game.getPlayer(candidateSeat).getScore() - others / (players - 1);
+    }
+
+    private int select(Integer[] order) {
+        // order is best first, so the smallest of a few random ranks wins
+        int winner = random.nextInt(order.length);
+        for (int i = 1; i < TOURNAMENT; i++) {
+            winner = Math.min(winner, random.nextInt(order.length));
+        }
+        return order[winner];
+    }
+
+    private WeightedHeuristicStrategy.Weights crossover(WeightedHeuristicStrategy.Weights a,
+                                                        WeightedHeuristicStrategy.Weights b) {
+        double[] x = a.toArray(), y = b.toArray();
+        for (int i = 0; i < x.length; i++) {
+            double t = random.nextDouble();
+            x[i] = t * x[i] + (1 - t) * y[i];
+        }
+        return new WeightedHeuristicStrategy.Weights(x);
+    }
+
+    private WeightedHeuristicStrategy.Weights mutate(WeightedHeuristicStrategy.Weights w) {
+        double[] x = w.toArray();
+        for (int i = 0; i < x.length; i++) {
+            if (random.nextBoolean()) x[i] += MUTATION_SIGMA * random.nextGaussian();
+        }
+        return new WeightedHeuristicStrategy.Weights(x);
+    }
+
+    private static void save(WeightedHeuristicStrategy.Weights weights, Path out, int generation) {
+        try {
+            weights.save(out, "Tuned by SelfPlayTuner, generation " + generation);
+            System.out.println("Weights saved to " + out);
+        } catch (IOException e) {
+            System.err.println("Error saving weights: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Plays a range of rounds, splitting it across the pool. Returns the
+     * sum and the sum of squares of the candidate's margins.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private static final class Rounds extends RecursiveTask<double[]> {
+        private final WeightedHeuristicStrategy.Weights candidate;
+        private final WeightedHeuristicStrategy.Weights champion;
+        private final int players;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        Rounds(WeightedHeuristicStrategy.Weights candidate, WeightedHeuristicStrategy.Weights champion,
+               int players, int from, int to, SplittableRandom random) {
+            this.candidate = candidate;
+            this.champion = champion;
+            this.players = players;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= LEAF_ROUNDS) {
+                double[] totals = new double[2];
+                for (int i = from; i < to; i++) {
+                    double margin = playRound(candidate, champion, players, i % players, random.nextLong());
+                    totals[0] += margin;
+                    totals[1] += margin * margin;
+                }
+                return totals;
+            }
+            int mid = (from + to) >>> 1;
+            Rounds right = new Rounds(candidate, champion, players, mid, to, random.split());
+            right.fork();
+            double[] left = new Rounds(candidate, champion, players, from, mid, random).compute();
+            double[] r = right.join();
+            left[0] += r[0];
+            left[1] += r[1];
+            return left;
+        }
+    }
+
+    public static void main(String[] args) {
+        Path out = Paths.get(args.length > 0 ? args[0] : WeightedHeuristicStrategy.DEFAULT_WEIGHTS_FILE);
+        WeightedHeuristicStrategy.Weights start = WeightedHeuristicStrategy.Weights.defaults();
+        if (Files.exists(out)) {
+            try {
+                start = WeightedHeuristicStrategy.Weights.load(out);
+            } catch (IOException e) {
+                System.err.println("Error loading weights, starting from the defaults: " + e.getMessage());
+            }
+        }
+
+        // A pool of its own: the common pool leaves one core to the main thread, which only waits here
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        SelfPlayTuner tuner = new SelfPlayTuner(Integer.getInteger("uno.tuner.players", DEFAULT_PLAYERS),
+                Integer.getInteger("uno.tuner.population", DEFAULT_POPULATION),
+                Integer.getInteger("uno.tuner.rounds", DEFAULT_MAX_ROUNDS),
+                pool, new SplittableRandom());
+        System.out.println("Tuning from " + start + " on " + pool.getParallelism() + " cores");
+        WeightedHeuristicStrategy.Weights best = tuner.tune(start,
+                Integer.getInteger("uno.tuner.generations", DEFAULT_GENERATIONS),
+                Integer.getInteger("uno.tuner.patience", DEFAULT_PATIENCE), out);
+        System.out.println(String.format("Champion: %s (%d rounds, %.0f rounds/s per core)",
+                best, tuner.getRoundsPlayed(), tuner.getRoundsPerSecondPerCore()));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing a game state into 64 bits.
+ *
+ * Every card in a place (a hand, a discard pile, a draw pile) has a random
+ * key, and so does every value of the turn state (top card, side,
+ * direction, current player, wild colors, pending skips). A state's hash
+ * combines the keys of what is in it, so moving one card changes it by one
+ * key in and one key out. Cards are added rather than XORed, so two copies
+ * of the same card in one place do not cancel out.
+ *
+ * The keys come from a fixed seed: the same state hashes the same in every
+ * run, which makes hashes usable in tests and saved replays.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public final class StateHash {
+
+    /** Places a card can be; hands are 0 to MAX_SEATS - 1. */
+    static final int MAX_SEATS = 4;
+    static final int LIGHT_DISCARD = MAX_SEATS;
+    static final int DARK_DISCARD = MAX_SEATS + 1;
+    static final int LIGHT_DECK = MAX_SEATS + 2;
+    static final int DARK_DECK = MAX_SEATS + 3;
+    private static final int PLACES = MAX_SEATS + 4;
+
+    private static final int COLOR_SLOTS = Card.Color.values().length + 1;
+    private static final int CODES = Card.Value.values().length * COLOR_SLOTS;
+    private static final int MAX_SKIPS = 16;
+
+    private static final long[][] CARD = new long[PLACES][CODES];
+    private static final long[] TOP = new long[CODES + 1];             // last: no top card
+    private static final long[] SIDE = new long[Side.values().length];
+    private static final long COUNTER_CLOCKWISE;
+    private static final long[] PLAYER = new long[MAX_SEATS];
+    private static final long[] WILD = new long[COLOR_SLOTS];
+    private static final long[] DARK_WILD = new long[COLOR_SLOTS];
+    private static final long[] SKIPS = new long[MAX_SKIPS];
+    private static final long[] SKIP_EVERYONE_TARGET = new long[MAX_SEATS + 1]; // last: none
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x554E4F466C6970L); // "UNOFlip"
+        for (long[] place : CARD) fill(place, random);
+        fill(TOP, random);
+        fill(SIDE, random);
+        COUNTER_CLOCKWISE = random.nextLong();
+        fill(PLAYER, random);
+        fill(WILD, random);
+        fill(DARK_WILD, random);
+        fill(SKIPS, random);
+        fill(SKIP_EVERYONE_TARGET, random);
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+    }
+
+    private StateHash() {
+    }
+
+    private static int slot(Card.Color color) {
+        return color == null ? 0 : color.ordinal() + 1;
+    }
+
+    /**
+     * Gets the key of a card in a place.
+     *
+     * @param place a seat index, or one of the pile constants
+     * @param card the card
+     * @return the key to add when the card arrives and subtract when it leaves
+     */
+    static long card(int place, Card card) {
+        return card(place, GameCodec.cardCode(card));
+    }
+
+    /**
+     * Gets the key of a card code in a place.
+     *
+     * @param place a seat index, or one of the pile constants
+     * @param code the card code (see GameCodec.cardCode)
+     * @return the key
+     */
+    static long card(int place, int code) {
+        return CARD[place][code];
+    }
+
+    /**
+     * Sums the keys of a pile or hand.
+     *
+     * @param place a seat index, or one of the pile constants
+     * @param cards the cards there
+     * @return the sum of their keys
+     */
+    static long cards(int place, List<Card> cards) {
+        long h = 0;
+        for (Card c : cards) h += card(place, c);
+        return h;
+    }
+
+    /**
+     * Hashes the turn state that is not a card in a pile or hand.
+     *
+     * @return the XOR of the matching keys
+     */
+    static long turn(Card top, Side side, boolean clockwise, int currentPlayer, Card.Color topWild,
+                     Card.Color darkWild, int pendingSkips, Integer skipEveryoneTarget) {
+        return turn(top == null ? CODES : GameCodec.cardCode(top), side.ordinal(), clockwise, currentPlayer,
+                slot(topWild), pendingSkips, skipEveryoneTarget) ^ DARK_WILD[slot(darkWild)];
+    }
+
+    /**
+     * Hashes the turn state from card codes and color slots, for
+     * simulations that keep one wild color.
+     *
+     * @return the XOR of the matching keys
+     */
+    static long turn(int topCode, int side, boolean clockwise, int currentPlayer, int wildSlot,
+                     int pendingSkips, Integer skipEveryoneTarget) {
+        long h = TOP[topCode];
+        h ^= SIDE[side];
+        if (!clockwise) h ^= COUNTER_CLOCKWISE;
+        h ^= PLAYER[currentPlayer];
+        h ^= WILD[wildSlot];
+        h ^= SKIPS[Math.min(pendingSkips, MAX_SKIPS - 1)];
+        h ^= SKIP_EVERYONE_TARGET[skipEveryoneTarget == null ? MAX_SEATS : skipEveryoneTarget];
+        return h;
+    }
+}
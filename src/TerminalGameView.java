@@ -0,0 +1,417 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A text front-end for ANSI terminals (SSH sessions, monitoring consoles).
+ * It renders the same GameStateEvent stream as GameView and forwards typed
+ * commands to the GameUIListener, using no AWT or Swing classes.
+ *
+ * The screen is a fixed set of rows. Each render works out the text of
+ * every row and rewrites only the rows that changed, addressing them with
+ * cursor-position escapes, so a typical turn sends a few short lines
+ * instead of repainting the whole screen.
+ *
+ * Threading: one daemon thread owns the view. Controller callbacks, model
+ * calls and delayed tasks (runLater) all run on it. A second daemon thread
+ * only reads input lines and hands them over; dialogs such as confirm wait
+ * for the next line on the owner thread.
+ *
+ * Commands: a card number plays that card, d draws, n ends the turn,
+ * u / r undo and redo, nr / ng start a new round or game, s / l save and
+ * load, q quits.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class TerminalGameView implements GameViewInterface {
+
+    private static final String ESC = "\u001b[";
+    private static final String RESET = ESC + "0m";
+
+    // Screen rows (1-based, as used by the cursor-position escape)
+    private static final int ROW_TITLE = 1;
+    private static final int ROW_TOP_CARD = 3;
+    private static final int ROW_PLAYER = 4;
+    private static final int ROW_STATUS = 5;
+    private static final int ROW_HAND = 7;
+    private static final int HAND_ROWS = 4;
+    private static final int CARDS_PER_ROW = 6;
+    private static final int ROW_CONTROLS = ROW_HAND + HAND_ROWS + 1;
+    private static final int ROW_MESSAGE = ROW_CONTROLS + 1;
+    private static final int ROW_INPUT = ROW_MESSAGE + 2;
+    private static final int ROWS = ROW_INPUT;
+
+    private static final Card.Color[] LIGHT_COLORS = {
+            Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW};
+    private static final Card.Color[] DARK_COLORS = {
+            Card.Color.TEAL, Card.Color.PURPLE, Card.Color.PINK, Card.Color.ORANGE};
+
+    /** Default pause before each AI move. */
+    public static final int DEFAULT_AI_TURN_DELAY_MS = 300;
+
+    private final InputStream in;
+    private final PrintStream out;
+    private final int aiTurnDelayMillis;
+    private final ScheduledExecutorService owner;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private final CountDownLatch quit = new CountDownLatch(1);
+
+    private final String[] shown = new String[ROWS + 1]; // what each row shows now
+    private GameUIListener listener;
+    private GameStateEvent lastState;
+    private Card.Color[] colorPrompt = null; // colours offered while a wild colour is being chosen
+    private int rowsWritten = 0;
+
+    /**
+     * Creates a terminal view on the process's console with the default AI pace.
+     */
+    public TerminalGameView() {
+        this(System.in, System.out, DEFAULT_AI_TURN_DELAY_MS);
+    }
+
+    /**
+     * Creates a terminal view.
+     *
+     * @param in where commands are read from
+     * @param out where the screen is written to
+     * @param aiTurnDelayMillis pause before each AI move, 0 for none
+     */
+    public TerminalGameView(InputStream in, PrintStream out, int aiTurnDelayMillis) {
+        this.in = in;
+        this.out = out;
+        this.aiTurnDelayMillis = aiTurnDelayMillis;
+        this.owner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "uno-terminal");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Clears the screen and starts reading commands.
+     */
+    public void start() {
+        Arrays.fill(shown, null);
+        out.print(ESC + "2J");
+        writeRow(ROW_TITLE, "UNO Flip - type h for help");
+        placeCursor();
+
+        Thread reader = new Thread(this::readInput, "uno-terminal-input");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Blocks until the user quits or the input ends.
+     *
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitQuit() throws InterruptedException {
+        quit.await();
+    }
+
+    /**
+     * Moves the cursor below the game screen and stops the owner thread.
+     */
+    public void close() {
+        out.print(ESC + (ROWS + 1) + ";1H" + RESET);
+        out.println();
+        out.flush();
+        owner.shutdownNow();
+        quit.countDown();
+    }
+
+    private void readInput() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line.trim());
+                runLater(this::processInput, 0);
+            }
+        } catch (IOException e) {
+            // Input closed; treated like end of input below
+        }
+        runLater(this::close, 0);
+    }
+
+    private void processInput() {
+        String line = lines.poll();
+        if (line != null) {
+            handleLine(line);
+        }
+    }
+
+    /**
+     * Interprets one command line. Must be called on the owner thread.
+     *
+     * @param line the trimmed input line
+     */
+    void handleLine(String line) {
+        showNotice("");
+        if (colorPrompt != null) {
+            Card.Color chosen = parseColor(line, colorPrompt);
+            if (chosen == null) {
+                showError("Choose 1-4 or a colour name");
+                return;
+            }
+            boolean dark = colorPrompt == DARK_COLORS;
+            colorPrompt = null;
+            if (listener != null) {
+                if (dark) listener.onChooseDarkWildColor(chosen);
+                else listener.onChooseWildCardCol(chosen);
+            }
+            return;
+        }
+
+        if (listener == null || line.isEmpty()) {
+            placeCursor();
+            return;
+        }
+        switch (line.toLowerCase()) {
+            case "d": listener.onDraw(); break;
+            case "n": listener.onNext(); break;
+            case "u": listener.onUndo(); break;
+            case "r": listener.onRedo(); break;
+            case "nr": listener.onNewRound(); break;
+            case "ng": listener.onNewGame(); break;
+            case "s": listener.onSaveGame(); break;
+            case "l": listener.onLoadGame(); break;
+            case "q": close(); break;
+            case "h":
+                showNotice("<n> play card n | d draw | n next | u undo | r redo | nr/ng new round/game | s save | l load | q quit");
+                break;
+            default:
+                try {
+                    listener.onPlayCard(Integer.parseInt(line) - 1);
+                } catch (NumberFormatException e) {
+                    showError("Unknown command: " + line + " (h for help)");
+                }
+        }
+    }
+
+    private static Card.Color parseColor(String line, Card.Color[] options) {
+        for (int i = 0; i < options.length; i++) {
+            if (line.equals(String.valueOf(i + 1)) || line.equalsIgnoreCase(options[i].name())) {
+                return options[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setListener(GameUIListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void updateStatusMessage(String message) {
+        writeRow(ROW_STATUS, "Status: " + (message == null ? "" : message));
+        placeCursor();
+    }
+
+    /**
+     * Redraws the rows whose text differs from what is on screen.
+     *
+     * @param s the state to show
+     */
+    @Override
+    public void render(GameStateEvent s) {
+        lastState = s;
+        boolean ai = s.isCurrentPlayerAI();
+
+        Card top = s.getTopCard();
+        String topText = top == null ? "-" : paint(top.getColor(), top.toString());
+        Card.Color wild = s.getDarkWildColor() != null && top != null
+                && top.getValue() == Card.Value.WILD_DRAW_COLOR ? s.getDarkWildColor() : s.getWildColor();
+        if (top != null && top.getColor() == null && wild != null) {
+            topText += " - " + paint(wild, wild.name());
+        }
+        writeRow(ROW_TOP_CARD, "Top card: " + topText);
+        writeRow(ROW_PLAYER, "Current player: " + s.getCurPlayerName()); // AI names carry their own " (AI)"
+        writeRow(ROW_STATUS, "Status: " + (s.getStatusMessage() == null ? "" : s.getStatusMessage()));
+
+        List<Card> hand = s.getCurHand();
+        int size = hand == null ? 0 : hand.size();
+        for (int r = 0; r < HAND_ROWS; r++) {
+            int from = r * CARDS_PER_ROW;
+            int to = r == HAND_ROWS - 1 ? size : Math.min(size, from + CARDS_PER_ROW);
+            StringBuilder row = new StringBuilder(r == 0 ? "Hand: " : "      ");
+            for (int i = from; i < to; i++) {
+                Card c = hand.get(i);
+                row.append('[').append(i + 1).append("] ").append(paint(c.getColor(), c.toString())).append("  ");
+            }
+            writeRow(ROW_HAND + r, row.toString());
+        }
+
+        StringBuilder controls = new StringBuilder("Actions:");
+        if (!ai && s.isCanPlay() && size > 0) controls.append(" 1-").append(size).append(" play");
+        if (!ai && s.isCanDraw()) controls.append(" | d draw");
+        if (!ai && s.isCanNext()) controls.append(" | n next");
+        if (s.isCanUndo()) controls.append(" | u undo");
+        if (s.isCanRedo()) controls.append(" | r redo");
+        if (s.isCanNewRound()) controls.append(" | nr new round");
+        if (s.isCanNewGame()) controls.append(" | ng new game");
+        controls.append(" | s save | l load | q quit");
+        writeRow(ROW_CONTROLS, controls.toString());
+
+        if (s.isNeedsDarkWildColor() && !ai) {
+            askForColor(DARK_COLORS);
+        } else if (s.isNeedsWildColor() && !ai) {
+            askForColor(LIGHT_COLORS);
+        } else {
+            colorPrompt = null;
+        }
+        placeCursor();
+    }
+
+    private void askForColor(Card.Color[] options) {
+        colorPrompt = options;
+        StringBuilder prompt = new StringBuilder("Choose a colour:");
+        for (int i = 0; i < options.length; i++) {
+            prompt.append(' ').append(i + 1).append(") ").append(paint(options[i], options[i].name()));
+        }
+        writeRow(ROW_MESSAGE, prompt.toString());
+    }
+
+    @Override
+    public void showError(String message) {
+        writeRow(ROW_MESSAGE, ESC + "1;31m" + message + RESET);
+        placeCursor();
+    }
+
+    @Override
+    public void showMessage(String title, String message) {
+        showNotice(title + ": " + message.replace('\n', ' '));
+    }
+
+    private void showNotice(String message) {
+        writeRow(ROW_MESSAGE, message);
+        placeCursor();
+    }
+
+    /**
+     * Asks on the message row and waits for the answer on the owner thread.
+     */
+    @Override
+    public boolean confirm(String title, String question) {
+        String answer = ask(title + ": " + question + " [y/N]");
+        return answer != null && answer.toLowerCase().startsWith("y");
+    }
+
+    @Override
+    public String chooseSaveFile() {
+        return emptyToNull(ask("Save game to file (blank to cancel):"));
+    }
+
+    @Override
+    public String chooseLoadFile() {
+        return emptyToNull(ask("Load game from file (blank to cancel):"));
+    }
+
+    private static String emptyToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    private String ask(String question) {
+        showNotice(question);
+        try {
+            String answer = lines.take();
+            showNotice("");
+            return answer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Runs the task on the owner thread. Errors are shown on the message row
+     * rather than printed over the screen.
+     */
+    @Override
+    public void runLater(Runnable task, int delayMillis) {
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                showError("Error: " + e);
+            }
+        };
+        if (owner.isShutdown()) return;
+        if (delayMillis <= 0) {
+            owner.execute(guarded);
+        } else {
+            owner.schedule(guarded, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public int getAITurnDelayMillis() {
+        return aiTurnDelayMillis;
+    }
+
+    /**
+     * Rewrites one row if its text changed since it was last drawn.
+     */
+    private void writeRow(int row, String text) {
+        if (text.equals(shown[row])) return;
+        shown[row] = text;
+        out.print(ESC + row + ";1H" + text + RESET + ESC + "K");
+        rowsWritten++;
+    }
+
+    private void placeCursor() {
+        out.print(ESC + ROW_INPUT + ";1H> " + ESC + "K");
+        out.flush();
+    }
+
+    private static String paint(Card.Color color, String text) {
+        return ESC + sgrFor(color) + "m" + text + RESET;
+    }
+
+    private static String sgrFor(Card.Color color) {
+        if (color == null) return "1;97";
+        switch (color) {
+            case RED: return "1;31";
+            case GREEN: return "1;32";
+            case YELLOW: return "1;33";
+            case BLUE: return "1;34";
+            case PURPLE: return "35";
+            case TEAL: return "36";
+            case PINK: return "95";
+            case ORANGE: return "38;5;208";
+            default: return "0";
+        }
+    }
+
+    /**
+     * Gets the newest state rendered.
+     *
+     * @return the last state, or null before the first render
+     */
+    public GameStateEvent getLastState() {
+        return lastState;
+    }
+
+    /**
+     * Gets how many rows have been rewritten since the view was created.
+     * Rows whose text did not change are not counted.
+     *
+     * @return the number of row writes
+     */
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Entry point for playing or watching UNO Flip in an ANSI terminal.
+ * Starts the game with a TerminalGameView and never loads AWT or Swing,
+ * so it starts quickly and runs over SSH or on a headless server.
+ *
+ * Usage: java TerminalMain [player ...]
+ * Each argument names a player; a name starting with "AI:" adds an AI
+ * player, optionally followed by "@strategy" to pick its AIStrategy
+ * (e.g. "AI:Bob@greedy"). Without arguments one human plays against two
+ * AI players.
+ * The system property uno.aiDelay sets the pause before AI moves in
+ * milliseconds.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class TerminalMain {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            args = new String[] {"Player 1", "AI:AI Player 1", "AI:AI Player 2"};
+        }
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("UNO Flip needs 2 to 4 players.");
+            System.exit(1);
+        }
+
+        Game model = new Game();
+        for (String name : args) {
+            if (name.startsWith("AI:")) {
+                String[] parts = name.substring(3).split("@", 2);
+                AIStrategy strategy = AIStrategies.create(parts.length > 1 ? parts[1] : null);
+                model.addPlayer(new AIPlayer(parts[0], strategy));
+            } else {
+                model.addPlayer(new Player(name));
+            }
+        }
+
+        int aiDelay = Integer.getInteger("uno.aiDelay", TerminalGameView.DEFAULT_AI_TURN_DELAY_MS);
+        TerminalGameView view = new TerminalGameView(System.in, System.out, aiDelay);
+        new GameController(model, view);
+
+        view.start();
+        // The model is only touched on the view's thread
+        view.runLater(model::startGame, 0);
+        view.awaitQuit();
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Runs queued turn work (e.g. "the AI is up") without recursion.
+ *
+ * Callers request a turn instead of playing it directly. If the scheduler is
+ * already running a turn, the request is only remembered and the running
+ * loop plays it once the current turn returns, so the stack never grows no
+ * matter how many AI players move in a row.
+ *
+ * With a delay the scheduler hands each turn to a Pacer (for a Swing view,
+ * a one-shot Timer on the EDT), so the UI thread handles input and repaints
+ * between AI moves and an all-AI table can play on indefinitely without
+ * freezing the window.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class TurnScheduler {
+
+    /**
+     * Runs a task later on the thread that owns the turns.
+     */
+    public interface Pacer {
+        /**
+         * Schedules a task.
+         *
+         * @param task the task to run
+         * @param delayMillis how long to wait first
+         */
+        void runLater(Runnable task, int delayMillis);
+    }
+
+    private final Runnable turn;
+    private final Pacer pacer;      // null for an immediate (trampolined) scheduler
+    private final int delayMillis;
+
+    private boolean running = false;   // a turn is being played right now
+    private boolean requested = false; // another turn was asked for meanwhile
+    private boolean scheduled = false; // a paced turn is waiting for its delay
+    private int generation = 0;        // bumped by cancel() so stale paced turns do nothing
+
+    /**
+     * Creates a scheduler that plays requested turns immediately in a flat loop.
+     *
+     * @param turn plays one turn; may call request() again
+     */
+    public TurnScheduler(Runnable turn) {
+        this(turn, 0, null);
+    }
+
+    /**
+     * Creates a scheduler that waits the given delay before each turn.
+     *
+     * @param turn plays one turn; may call request() again
+     * @param delayMillis pause before each turn, or 0 to play immediately
+     * @param pacer runs the delayed turns; unused when the delay is 0
+     */
+    public TurnScheduler(Runnable turn, int delayMillis, Pacer pacer) {
+        this.turn = turn;
+        this.delayMillis = delayMillis;
+        this.pacer = delayMillis > 0 ? pacer : null;
+    }
+
+    /**
+     * Asks for a turn to be played. Several requests made before the turn
+     * runs are merged into one.
+     */
+    public void request() {
+        requested = true;
+        if (running) return;
+        if (pacer != null) {
+            schedule();
+        } else {
+            runPending();
+        }
+    }
+
+    /**
+     * Drops any turn that was requested but has not started yet.
+     */
+    public void cancel() {
+        requested = false;
+        scheduled = false;
+        generation++;
+    }
+
+    /**
+     * Checks whether a turn is waiting to be played.
+     *
+     * @return true if a requested turn has not run yet
+     */
+    public boolean isPending() {
+        return requested;
+    }
+
+    private void schedule() {
+        if (scheduled) return;
+        scheduled = true;
+        int expected = generation;
+        pacer.runLater(() -> {
+            if (expected != generation) return; // cancelled meanwhile
+            scheduled = false;
+            runPending();
+        }, delayMillis);
+    }
+
+    private void runPending() {
+        if (running) return;
+        running = true;
+        try {
+            if (pacer == null) {
+                // Trampoline: turns requested from inside a turn run here, one after another
+                while (requested) {
+                    requested = false;
+                    turn.run();
+                }
+            } else if (requested) {
+                requested = false;
+                turn.run();
+            }
+        } finally {
+            running = false;
+        }
+        // A paced turn that requested the next one waits for its own delay
+        if (pacer != null && requested) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * An AI strategy that scores every playable card with a weighted sum of
+ * simple features and plays the best one, drawing only when nothing is
+ * playable. Wild cards name the color the hand holds most of, like the
+ * greedy baseline.
+ *
+ * The features are what the greedy baseline hard-codes (matching the active
+ * color, keeping to the color held most) plus holding wilds back, dumping
+ * high-point cards, timing flips and attacking the leader. Their weights
+ * are tuned by self-play (see SelfPlayTuner) and read from a weights file
+ * at startup: the file named by the system property uno.weights, or
+ * ai-weights.properties in the working directory. Without a file the
+ * defaults are used.
+ *
+ * Like the greedy baseline it answers instantly and ignores the budget.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class WeightedHeuristicStrategy implements AIStrategy {
+
+    /** The name this strategy is registered under. */
+    public static final String NAME = "weighted";
+
+    /** The weights file read when uno.weights is not set. */
+    public static final String DEFAULT_WEIGHTS_FILE = "ai-weights.properties";
+
+    /** What each weight multiplies. */
+    public enum Feature {
+        /** 1 if the card has the active color. */
+        COLOR_MATCH,
+        /** The share of the rest of the hand in the color the card leaves active. */
+        COLOR_DEPTH,
+        /** 1 if the card is a wild; a negative weight holds wilds back. */
+        WILD,
+        /** The card's points, 1 for the most valuable card; dumping them limits a loss. */
+        POINTS,
+        /** For a flip, 1 over the smallest opponent hand: flip when someone is about to go out. */
+        FLIP,
+        /** For a card that hurts the next player, 1 over their hand size if they lead. */
+        ATTACK_LEADER
+    }
+
+    private static final Feature[] FEATURES = Feature.values();
+    private static final double MAX_CARD_POINTS = 60.0;
+
+    private static Weights startupWeights; // read once, on first use
+
+    /**
+     * A weight for every feature.
+     */
+    public static final class Weights {
+        private final double[] values;
+
+        /**
+         * Creates weights.
+         *
+         * @param values one weight per feature, in Feature order
+         */
+        public Weights(double... values) {
+            if (values.length != FEATURES.length) {
+                throw new IllegalArgumentException("Expected " + FEATURES.length + " weights, got " + values.length);
+            }
+            this.values = values.clone();
+        }
+
+        /**
+         * Gets the hand-picked weights, which play close to the greedy
+         * baseline.
+         *
+         * @return the default weights
+         */
+        public static Weights defaults() {
+            return new Weights(1.0, 0.5, -0.5, 0.2, 0.0, 0.0);
+        }
+
+        public double get(Feature feature) {
+            return values[feature.ordinal()];
+        }
+
+        /**
+         * Gets all weights.
+         *
+         * @return a copy, in Feature order
+         */
+        public double[] toArray() {
+            return values.clone();
+        }
+
+        /**
+         * Reads weights from a properties file with one key per feature
+         * (its name in lower case). Missing keys keep their default.
+         *
+         * @param file the file
+         * @return the weights
+         * @throws IOException if the file cannot be read or a value is not a number
+         */
+        public static Weights load(Path file) throws IOException {
+            Properties p = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                p.load(in);
+            }
+            double[] values = defaults().values;
+            for (Feature f : FEATURES) {
+                String value = p.getProperty(key(f));
+                if (value == null) continue;
+                try {
+                    values[f.ordinal()] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IOException("Bad weight for " + key(f) + ": " + value);
+                }
+            }
+            return new Weights(values);
+        }
+
+        /**
+         * Writes the weights in the format load reads.
+         *
+         * @param file the file
+         * @param comment a comment for the file's first line
+         * @throws IOException if the file cannot be written
+         */
+        public void save(Path file, String comment) throws IOException {
+            Properties p = new Properties();
+            for (Feature f : FEATURES) {
+                p.setProperty(key(f), Double.toString(values[f.ordinal()]));
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                p.store(out, comment);
+            }
+        }
+
+        private static String key(Feature f) {
+            return f.name().toLowerCase();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Feature f : FEATURES) {
+                if (sb.length() > 0) sb.append(", ");
+                sb.append(key(f)).append('=').append(String.format("%.3f", values[f.ordinal()]));
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Weights && Arrays.equals(values, ((Weights) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    private final Weights weights;
+
+    /**
+     * Creates the strategy with the weights read at startup.
+     */
+    public WeightedHeuristicStrategy() {
+        this(startupWeights());
+    }
+
+    /**
+     * Creates the strategy with the given weights.
+     *
+     * @param weights the feature weights
+     */
+    public WeightedHeuristicStrategy(Weights weights) {
+        this.weights = weights;
+    }
+
+    /**
+     * Gets the weights from the weights file, reading it the first time.
+     * A missing file means the defaults; an unreadable one is reported and
+     * the defaults are used.
+     *
+     * @return the startup weights
+     */
+    static synchronized Weights startupWeights() {
+        if (startupWeights == null) {
+            Path file = Paths.get(System.getProperty("uno.weights", DEFAULT_WEIGHTS_FILE));
+            try {
+                startupWeights = Weights.load(file);
+            } catch (NoSuchFileException e) {
+                startupWeights = Weights.defaults();
+            } catch (IOException e) {
+                System.err.println("Error loading AI weights from " + file + ": " + e.getMessage());
+                startupWeights = Weights.defaults();
+            }
+        }
+        return startupWeights;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    public Weights getWeights() {
+        return weights;
+    }
+
+    @Override
+    public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+        List<Card> hand = view.getHand();
+        double[] features = new double[FEATURES.length];
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            if (!view.isPlayable(card)) continue;
+            features(view, card, features);
+            double score = 0;
+            for (int f = 0; f < features.length; f++) {
+                score += weights.values[f] * features[f];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        if (best < 0) {
+            return AIDecision.draw();
+        }
+        Card card = hand.get(best);
+        Card.Color color = null;
+        if (card.getValue() == Card.Value.WILD_DRAW_COLOR) {
+            color = GreedyStrategy.chooseDarkWildColor(view);
+        } else if (Rules.isWild(card)) {
+            color = GreedyStrategy.chooseWildColor(view);
+        }
+        return AIDecision.play(best, color);
+    }
+
+    /**
+     * Computes the features of playing a card.
+     *
+     * @param view the AI player's view
+     * @param card a playable card from its hand
+     * @param into receives one value per feature, in Feature order
+     */
+    static void features(AITurnSnapshot view, Card card, double[] into) {
+        List<Card> hand = view.getHand();
+        Card top = view.getTopCard();
+        Card.Color active = top != null && top.getColor() != null ? top.getColor() : view.getWildColor();
+        boolean wild = Rules.isWild(card);
+
+        // A wild leaves the color named for it active, which is the color held most
+        Card.Color leaves = card.getColor();
+        if (wild) {
+            leaves = card.getValue() == Card.Value.WILD_DRAW_COLOR
+                    ? GreedyStrategy.chooseDarkWildColor(view) : GreedyStrategy.chooseWildColor(view);
+        }
+        int sameColor = 0;
+        for (Card c : hand) {
+            if (c != card && leaves != null && c.getColor() == leaves) sameColor++;
+        }
+
+        int seat = view.getSeat();
+        int players = view.getPlayerCount();
+        int next = view.isClockwise() ? (seat + 1) % players : (seat - 1 + players) % players;
+        int fewest = Integer.MAX_VALUE;
+        for (int p = 0; p < players; p++) {
+            if (p != seat) fewest = Math.min(fewest, view.getHandSize(p));
+        }
+        fewest = Math.max(fewest, 1);
+
+        into[Feature.COLOR_MATCH.ordinal()] = active != null && card.getColor() == active ? 1 : 0;
+        into[Feature.COLOR_DEPTH.ordinal()] = hand.size() > 1 ? (double) sameColor / (hand.size() - 1) : 0;
+        into[Feature.WILD.ordinal()] = wild ? 1 : 0;
+        into[Feature.POINTS.ordinal()] = Rules.cardScore(card) / MAX_CARD_POINTS;
+        into[Feature.FLIP.ordinal()] = card.getValue() == Card.Value.FLIP ? 1.0 / fewest : 0;
+        double attack = 0;
+        switch (card.getValue()) {
+            case SKIP_EVERYONE:
+                attack = 1.0 / fewest; // hits the leader wherever they sit
+                break;
+            case SKIP:
+            case DRAW_ONE:
+            case DRAW_FIVE:
+            case WILD_DRAW_TWO:
+            case WILD_DRAW_COLOR:
+                int nextSize = Math.max(view.getHandSize(next), 1);
+                attack = nextSize <= fewest ? 1.0 / nextSize : 0;
+                break;
+            default:
+                break;
+        }
+        into[Feature.ATTACK_LEADER.ordinal()] = attack;
+    }
+}
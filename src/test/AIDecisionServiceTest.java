@@ -0,0 +1,118 @@
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AIDecisionService and the GreedyStrategy baseline.
+ * Tests that decisions are made off the calling thread, that a slow
+ * decider is replaced by the fallback at its deadline, and that a
+ * cancelled decision never calls back.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class AIDecisionServiceTest {
+
+    private AITurnSnapshot snapshot() {
+        return new AITurnSnapshot("AI", Arrays.asList(
+                new Card(Card.Color.BLUE, Card.Value.ONE),
+                new Card(Card.Color.RED, Card.Value.FIVE),
+                new Card(null, Card.Value.WILD)),
+                new Card(Card.Color.RED, Card.Value.TWO), null, Side.LIGHT, 1);
+    }
+
+    private static AIStrategy strategy(Function<AITurnSnapshot, AIDecision> decider) {
+        return new AIStrategy() {
+            public String getName() { return "test"; }
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) { return decider.apply(view); }
+        };
+    }
+
+    private static SearchBudget budget(long millis) {
+        return SearchBudget.startingNow(millis, 1000);
+    }
+
+    private static AIDecision slow(AITurnSnapshot s) {
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return AIDecision.draw();
+    }
+
+    /**
+     * Tests that the greedy baseline prefers the card matching the top card's color.
+     */
+    @Test
+    void testGreedyStrategyPlaysMatchingColour() {
+        AIDecision d = new GreedyStrategy().decide(snapshot(), budget(100));
+        assertFalse(d.isDraw());
+        assertEquals(1, d.getHandIndex());
+        assertNull(d.getWildColor());
+    }
+
+    /**
+     * Tests that the decision runs on another thread and is handed to the callback executor.
+     */
+    @Test
+    void testDecisionRunsOffCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> decidedOn = new AtomicReference<>();
+        AIStrategy recording = strategy(s -> {
+            decidedOn.set(Thread.currentThread());
+            return GreedyStrategy.choose(s);
+        });
+        AIDecisionService service = AIDecisionService.async(GreedyStrategy::choose);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<AIDecision> result = new AtomicReference<>();
+
+        service.decide(snapshot(), recording, budget(5000), Runnable::run,
+                d -> { result.set(d); done.countDown(); });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, result.get().getHandIndex());
+        assertNotSame(caller, decidedOn.get());
+        service.shutdown();
+    }
+
+    /**
+     * Tests that a decider that misses its deadline is replaced by the fallback.
+     */
+    @Test
+    void testDeadlineUsesFallback() throws Exception {
+        AIDecisionService service = AIDecisionService.async(GreedyStrategy::choose);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<AIDecision> result = new AtomicReference<>();
+
+        long start = System.nanoTime();
+        service.decide(snapshot(), strategy(AIDecisionServiceTest::slow), budget(50), Runnable::run,
+                d -> { result.set(d); done.countDown(); });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(result.get().isDraw(), "The fallback's move should be used");
+        service.shutdown();
+    }
+
+    /**
+     * Tests that a cancelled decision never reaches its callback.
+     */
+    @Test
+    void testCancelledDecisionDoesNotCallBack() throws Exception {
+        AIDecisionService service = AIDecisionService.async(GreedyStrategy::choose);
+        CountDownLatch done = new CountDownLatch(1);
+
+        AIDecisionService.Pending pending = service.decide(snapshot(), strategy(AIDecisionServiceTest::slow),
+                budget(50), Runnable::run, d -> done.countDown());
+        pending.cancel();
+
+        assertFalse(done.await(500, TimeUnit.MILLISECONDS), "No decision should be delivered after cancel");
+        assertTrue(pending.isDone());
+        service.shutdown();
+    }
+}
@@ -71,4 +71,42 @@ public class AIPlayerTest {
         assertTrue(result.contains("Score: 0"));
         assertTrue(result.contains("Cards: 0"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAIPlayerDefaultsToGreedyStrategy() {
+        assertEquals(GreedyStrategy.NAME, aiPlayer.getStrategy().getName());
+        assertTrue(aiPlayer.newMoveBudget().getTimeMillis() > 0);
+    }
+
+    @Test
+    void testStrategiesAreDiscoveredByName() {
+        assertTrue(AIStrategies.availableNames().contains(GreedyStrategy.NAME));
+        assertTrue(AIStrategies.create(GreedyStrategy.NAME) instanceof GreedyStrategy);
+        // Unknown names fall back to the baseline instead of failing the game
+        assertTrue(AIStrategies.create("no-such-strategy") instanceof GreedyStrategy);
+    }
+
+    @Test
+    void testStrategyAndBudgetSurviveSaveAndLoad() {
+        String file = "test_ai_setup.uno";
+        Game game = new Game();
+        game.addPlayer(new Player("Human"));
+        AIPlayer ai = new AIPlayer("Bot", AIStrategies.create(MonteCarloStrategy.NAME));
+        ai.setMoveBudget(250, 12_345);
+        game.addPlayer(ai);
+        game.startGame();
+        try {
+            assertTrue(game.saveGame(file));
+            Game loaded = Game.loadGame(file);
+
+            assertNotNull(loaded);
+            AIPlayer copy = (AIPlayer) loaded.getPlayer(1);
+            assertEquals("Bot (AI)", copy.getName());
+            assertEquals(MonteCarloStrategy.NAME, copy.getStrategy().getName());
+            assertEquals(250, copy.getMoveTimeMillis());
+            assertEquals(12_345, copy.getMaxNodes());
+        } finally {
+            new java.io.File(file).delete();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncGameStateListener.
+ * Tests that a slow listener does not slow the model down, that the
+ * overflow policies behave as documented and that removing a wrapper stops it.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class AsyncGameStateListenerTest {
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("p1"));
+        game.addPlayer(new Player("p2"));
+        game.startGame();
+    }
+
+    /**
+     * Tests that the model keeps going while a blocked listener holds its event.
+     */
+    @Test
+    void testBlockedListenerDoesNotBlockModel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<GameStateEvent> seen = Collections.synchronizedList(new ArrayList<>());
+        AsyncGameStateListener async = AsyncGameStateListener.onWorkerThread(e -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add(e);
+        }, "test-listener", 16, AsyncGameStateListener.OverflowPolicy.DROP_NEWEST);
+        game.addGameStateListener(async);
+
+        for (int i = 0; i < 5; i++) {
+            game.drawCardForCurrentPlayer();
+        }
+        assertTrue(seen.isEmpty(), "Listener should still be stuck on its first event");
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (seen.size() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(5, seen.size());
+        game.removeGameStateListener(async);
+    }
+
+    /**
+     * Tests that DROP_OLDEST discards old events but always keeps the latest one.
+     */
+    @Test
+    void testDropOldestKeepsLatestState() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<GameStateEvent> seen = Collections.synchronizedList(new ArrayList<>());
+        AsyncGameStateListener async = AsyncGameStateListener.onWorkerThread(e -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add(e);
+        }, "test-listener", 2, AsyncGameStateListener.OverflowPolicy.DROP_OLDEST);
+        game.addGameStateListener(async);
+
+        game.drawCardForCurrentPlayer();
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 6; i++) {
+            game.drawCardForCurrentPlayer();
+        }
+        assertEquals(4, async.getDroppedCount());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (seen.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(game.getStateVersion(), seen.get(seen.size() - 1).getVersion(),
+                "Last delivered event should be the newest state");
+        game.removeGameStateListener(async);
+    }
+
+    /**
+     * Tests that a removed wrapper no longer delivers events.
+     */
+    @Test
+    void testRemovedListenerStopsDelivering() throws Exception {
+        List<GameStateEvent> seen = Collections.synchronizedList(new ArrayList<>());
+        AsyncGameStateListener async = AsyncGameStateListener.onWorkerThread(
+                seen::add, "test-listener", 4, AsyncGameStateListener.OverflowPolicy.BLOCK);
+        game.addGameStateListener(async);
+        game.removeGameStateListener(async);
+
+        game.drawCardForCurrentPlayer();
+        Thread.sleep(50);
+        assertTrue(seen.isEmpty());
+    }
+}
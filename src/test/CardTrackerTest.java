@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CardTracker.
+ * Tests the unseen-card counts and probabilities, and that the counts the
+ * game keeps up to date move by move match a tracker rebuilt from scratch.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class CardTrackerTest {
+
+    private static final int CODES = Card.Value.values().length * (Card.Color.values().length + 1);
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame();
+    }
+
+    /**
+     * Tests that a fresh deal leaves every light card unseen except the own hand and the top card.
+     */
+    @Test
+    void testUnseenCountsAfterDeal() {
+        CardTracker t = game.getCardTracker();
+        int light = Rules.lightSideCards().size();
+        int dark = Rules.darkSideCards().size();
+
+        assertEquals(light - 7 - 1, t.unseenCount(0, Side.LIGHT));
+        assertEquals(dark, t.unseenCount(0, Side.DARK));
+        assertEquals(7, t.getHandSize(1));
+    }
+
+    /**
+     * Tests the draw probabilities against the unseen counts.
+     */
+    @Test
+    void testDrawProbabilities() {
+        CardTracker t = game.getCardTracker();
+        int total = t.unseenCount(0, Side.LIGHT);
+        int red = t.unseenOfColor(0, Card.Color.RED);
+
+        assertEquals((double) red / total, t.probabilityNextDrawIs(0, Card.Color.RED), 1e-9);
+        assertEquals((total + 1.0) / (red + 1.0), t.expectedDrawsUntil(0, Card.Color.RED), 1e-9);
+        assertEquals((double) t.unseenOfColor(0, Card.Color.TEAL) / t.unseenCount(0, Side.DARK),
+                t.probabilityNextDrawIs(0, Card.Color.TEAL), 1e-9);
+
+        double sum = 0;
+        for (Card.Color c : new Card.Color[] {Card.Color.RED, Card.Color.BLUE, Card.Color.GREEN, Card.Color.YELLOW}) {
+            sum += t.probabilityNextDrawIs(0, c);
+        }
+        int wilds = t.unseen(0, new Card(null, Card.Value.WILD)) + t.unseen(0, new Card(null, Card.Value.WILD_DRAW_TWO));
+        assertEquals(1.0, sum + (double) wilds / total, 1e-9, "Colors and wilds should cover every unseen light card");
+    }
+
+    /**
+     * Tests that the chance an opponent holds a wild grows with the opponent's hand.
+     */
+    @Test
+    void testProbabilityHoldsWild() {
+        CardTracker t = game.getCardTracker();
+        double seven = t.probabilityHoldsWild(0, 1, Side.LIGHT);
+        assertTrue(seven > 0 && seven < 1);
+
+        for (int i = 0; i < 10; i++) game.drawCardForCurrentPlayer(); // seat 0 draws, seat 1 is unchanged
+        game.advanceTurn();
+        for (int i = 0; i < 10; i++) game.drawCardForCurrentPlayer(); // now seat 1 draws
+        assertTrue(game.getCardTracker().probabilityHoldsWild(0, 1, Side.LIGHT) > seven);
+    }
+
+    /**
+     * Tests that through whole AI rounds, with flips and reshuffles, the
+     * tracker the game updates stays equal to one rebuilt from the piles.
+     */
+    @Test
+    void testIncrementalCountsMatchRebuild() {
+        Game g = new Game();
+        g.addPlayer(new AIPlayer("A"));
+        g.addPlayer(new AIPlayer("B"));
+        g.addPlayer(new AIPlayer("C"));
+        int[] checks = {0};
+        HeadlessGameView view = new HeadlessGameView() {
+            @Override
+            public void render(GameStateEvent state) {
+                super.render(state);
+                assertSameCounts(CardTracker.of(g), g.getCardTracker(), g.getPlayerCount());
+                checks[0]++;
+            }
+        };
+        new GameController(g, view, AIDecisionService.direct());
+
+        g.startGame();
+
+        assertTrue(view.getLastState().isRoundOver());
+        assertTrue(checks[0] > 10);
+    }
+
+    private static void assertSameCounts(CardTracker expected, CardTracker actual, int players) {
+        for (int seat = 0; seat < players; seat++) {
+            assertEquals(expected.getHandSize(seat), actual.getHandSize(seat));
+            for (Side side : Side.values()) {
+                assertEquals(expected.unseenCount(seat, side), actual.unseenCount(seat, side));
+            }
+            for (int code = 0; code < CODES; code++) {
+                assertEquals(expected.unseen(seat, code), actual.unseen(seat, code), "card code " + code);
+            }
+        }
+    }
+
+    /**
+     * Tests that a copy does not change with the original.
+     */
+    @Test
+    void testCopyIsIndependent() {
+        CardTracker copy = game.getCardTracker().copy();
+        int before = copy.unseenCount(0, Side.LIGHT);
+
+        game.drawCardForCurrentPlayer();
+
+        assertEquals(before, copy.unseenCount(0, Side.LIGHT));
+        assertEquals(before - 1, game.getCardTracker().unseenCount(0, Side.LIGHT));
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EndgameSolver.
+ * Tests when the solver takes over and that it finds winning lines.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class EndgameSolverTest {
+
+    private static EndgameSolver solver() {
+        return new EndgameSolver(EndgameSolver.DEFAULT_MAX_CARDS, 14, 8, new SplittableRandom(27));
+    }
+
+    /**
+     * Tests that the solver takes over only at or below its threshold.
+     */
+    @Test
+    void testAppliesOnlyToSmallPositions() {
+        AITurnSnapshot small = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.BLUE, Card.Value.FIVE)),
+                new Card(Card.Color.BLUE, Card.Value.THREE), null, Side.LIGHT, 0);
+        Game game = new Game();
+        for (int i = 0; i < 3; i++) game.addPlayer(new AIPlayer("P" + i));
+        game.startGame();
+
+        assertTrue(solver().appliesTo(small));
+        assertFalse(solver().appliesTo(AITurnSnapshot.of(game)));
+        assertFalse(new EndgameSolver(0, 4, 1, new SplittableRandom(1)).appliesTo(small));
+    }
+
+    /**
+     * Tests that the last playable card is played and scored as a win.
+     */
+    @Test
+    void testGoesOutWhenItCan() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.BLUE, Card.Value.FIVE)),
+                new Card(Card.Color.BLUE, Card.Value.THREE), null, Side.LIGHT, 0);
+        EndgameSolver endgame = solver();
+
+        EndgameSolver.Result r = endgame.solve(s, SearchBudget.startingNow(2000, Long.MAX_VALUE));
+
+        assertEquals(0, r.getDecision().getHandIndex());
+        assertTrue(r.getExpectedScore() > 0, "Going out should win points, got " + r);
+        assertTrue(r.isExact());
+        assertSame(r, endgame.getLastResult());
+    }
+
+    /**
+     * Tests that, head to head against one card, a skip is played first so
+     * the opponent never gets a turn to go out.
+     */
+    @Test
+    void testPlaysSkipBeforeLastCard() {
+        Card top = new Card(Card.Color.BLUE, Card.Value.THREE);
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.BLUE, Card.Value.FIVE), new Card(Card.Color.BLUE, Card.Value.SKIP)),
+                top, null, Side.LIGHT, 0, 0, new int[] {2, 1}, true, List.of(top), List.of());
+
+        AIDecision d = solver().decide(s, SearchBudget.startingNow(2000, Long.MAX_VALUE));
+
+        assertEquals(1, d.getHandIndex());
+    }
+
+    /**
+     * Tests that AI rounds, where the controller hands the endgame to the
+     * solver, still run to the end.
+     */
+    @Test
+    void testRoundsFinishWithSolver() {
+        for (int round = 0; round < 3; round++) {
+            Game game = new Game();
+            game.addPlayer(new AIPlayer("A"));
+            game.addPlayer(new AIPlayer("B"));
+            HeadlessGameView view = new HeadlessGameView();
+            new GameController(game, view, AIDecisionService.direct());
+
+            game.startGame();
+
+            assertTrue(view.getLastState().isRoundOver());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Game's begin/commit event batching.
+ * Tests that several changes inside one batch publish a single, final
+ * state event and that nested batches only publish on the outer commit.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameBatchTest {
+
+    private Game game;
+    private List<GameStateEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("p1"));
+        game.addPlayer(new Player("p2"));
+        game.startGame();
+
+        events = new ArrayList<>();
+        game.addGameStateListener(events::add);
+    }
+
+    /**
+     * Tests that a draw followed by a turn advance publishes one event.
+     */
+    @Test
+    void testBatchPublishesOnlyFinalState() {
+        game.beginBatch();
+        game.drawCardForCurrentPlayer();
+        game.advanceTurn();
+        assertTrue(events.isEmpty(), "Nothing should be published inside a batch");
+        game.commitBatch();
+
+        assertEquals(1, events.size());
+        assertEquals("p2", events.get(0).getCurPlayerName(), "The final state should win");
+    }
+
+    /**
+     * Tests that nested batches only publish when the outermost one commits.
+     */
+    @Test
+    void testNestedBatches() {
+        game.beginBatch();
+        game.beginBatch();
+        game.drawCardForCurrentPlayer();
+        game.commitBatch();
+        assertTrue(events.isEmpty());
+        game.commitBatch();
+        assertEquals(1, events.size());
+    }
+
+    /**
+     * Tests that a winning play publishes only the round-over state, not the score update too.
+     */
+    @Test
+    void testWinningPlayPublishesOneEvent() {
+        Player cur = game.getCurrentPlayer();
+        cur.getHand().getCardsList().clear();
+        cur.getHand().addCard(new Card(null, Card.Value.WILD));
+
+        game.playCardFromHand(0);
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getStatusMessage().contains("wins round"));
+    }
+
+    /**
+     * Tests that an empty batch publishes nothing and an unmatched commit is rejected.
+     */
+    @Test
+    void testEmptyBatchAndUnmatchedCommit() {
+        game.beginBatch();
+        game.commitBatch();
+        assertTrue(events.isEmpty());
+        assertThrows(IllegalStateException.class, () -> game.commitBatch());
+    }
+}
@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GameEventBus and the typed listener API on Game.
+ * Tests that every listener receives the same frozen event, that the
+ * hand view is shared and read-only, and that legacy property change
+ * listeners can still be added and removed.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameEventBusTest {
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("p1"));
+        game.addPlayer(new Player("p2"));
+    }
+
+    /**
+     * Tests that all listeners get the same event instance, frozen.
+     */
+    @Test
+    void testListenersShareOneFrozenEvent() {
+        List<GameStateEvent> first = new ArrayList<>();
+        List<GameStateEvent> second = new ArrayList<>();
+        game.addGameStateListener(first::add);
+        game.addGameStateListener(second::add);
+
+        game.startGame();
+
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0), "Listeners should share one event");
+        assertTrue(first.get(0).isFrozen());
+        assertThrows(IllegalStateException.class, () -> first.get(0).setStatusMessage("changed"));
+    }
+
+    /**
+     * Tests that the hand is a shared read-only view.
+     */
+    @Test
+    void testHandViewIsSharedAndReadOnly() {
+        List<GameStateEvent> events = new ArrayList<>();
+        game.addGameStateListener(events::add);
+        game.startGame();
+
+        GameStateEvent e = events.get(0);
+        assertSame(e.getCurHand(), e.getCurHand(), "Readers should not get a copy each time");
+        assertThrows(UnsupportedOperationException.class, () -> e.getCurHand().clear());
+        assertEquals(7, e.getCurHand().size());
+    }
+
+    /**
+     * Tests that a PropertyChangeListener can be removed again.
+     */
+    @Test
+    void testRemovePropertyChangeListener() {
+        int[] calls = {0};
+        PropertyChangeListener listener = evt -> calls[0]++;
+        game.addPropertyChangeListener(listener);
+        game.removePropertyChangeListener(listener);
+
+        game.startGame();
+
+        assertEquals(0, calls[0], "Removed listener should not be called");
+    }
+}
@@ -0,0 +1,200 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for versioned state deltas and the exported snapshot cache.
+ * Tests that applying deltas to a mirrored hand keeps it equal to the live
+ * hand, that versions are consecutive, that a player change resets the hand,
+ * that exportState() is rebuilt only when the state changes, and that the
+ * latest published state can be read from another thread.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameStateDeltaTest {
+
+    private Game game;
+    private List<GameStateDelta> deltas;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("p1"));
+        game.addPlayer(new Player("p2"));
+        game.startGame();
+
+        deltas = new ArrayList<>();
+        game.addGameDeltaListener(deltas::add);
+    }
+
+    /**
+     * Tests that a mirrored hand follows the live hand through draws.
+     */
+    @Test
+    void testDeltasKeepMirroredHandInSync() {
+        GameStateEvent full = game.resync();
+        List<Card> mirror = new ArrayList<>(full.getCurHand());
+        long seen = full.getVersion();
+
+        for (int i = 0; i < 3; i++) {
+            game.drawCardForCurrentPlayer();
+        }
+
+        assertFalse(deltas.isEmpty(), "Draws should publish deltas");
+        for (GameStateDelta d : deltas) {
+            assertTrue(d.follows(seen), "Deltas should chain without gaps");
+            d.applyToHand(mirror);
+            seen = d.getVersion();
+        }
+        assertEquals(game.getCurrentPlayer().getHand().getCardsList(), mirror);
+        assertEquals(game.getStateVersion(), seen);
+    }
+
+    /**
+     * Tests that a single draw is described as one card insertion.
+     */
+    @Test
+    void testDrawIsSingleInsertion() {
+        game.drawCardForCurrentPlayer();
+        game.drawCardForCurrentPlayer();
+        deltas.clear();
+
+        game.drawCardForCurrentPlayer();
+
+        GameStateDelta last = deltas.get(deltas.size() - 1);
+        long added = last.getChanges().stream()
+                .filter(c -> c.getType() == GameStateDelta.ChangeType.CARD_ADDED).count();
+        assertEquals(1, added);
+        assertTrue(last.getChanges().stream()
+                .noneMatch(c -> c.getType() == GameStateDelta.ChangeType.HAND_RESET));
+    }
+
+    /**
+     * Tests that each delta carries the published state's control flags,
+     * so a consumer can enable the same controls as from a full state.
+     */
+    @Test
+    void testDeltaCarriesControlFlags() {
+        game.saveState();
+        game.drawCardForCurrentPlayer();
+        assertFlagsMatch(game.resync(), deltas.get(deltas.size() - 1));
+        assertTrue(deltas.get(deltas.size() - 1).isCanUndo(), "A draw can be undone");
+
+        game.undo();
+        assertFlagsMatch(game.resync(), deltas.get(deltas.size() - 1));
+        assertTrue(deltas.get(deltas.size() - 1).isCanRedo(), "An undo can be redone");
+    }
+
+    private static void assertFlagsMatch(GameStateEvent state, GameStateDelta delta) {
+        assertEquals(state.isCanPlay(), delta.isCanPlay());
+        assertEquals(state.isCanDraw(), delta.isCanDraw());
+        assertEquals(state.isCanNext(), delta.isCanNext());
+        assertEquals(state.isCanUndo(), delta.isCanUndo());
+        assertEquals(state.isCanRedo(), delta.isCanRedo());
+        assertEquals(state.isCanNewRound(), delta.isCanNewRound());
+        assertEquals(state.isCanNewGame(), delta.isCanNewGame());
+    }
+
+    /**
+     * Tests that a turn change sends the new player's full hand.
+     */
+    @Test
+    void testTurnChangeResetsHand() {
+        game.drawCardForCurrentPlayer();
+        deltas.clear();
+
+        game.advanceTurn();
+
+        GameStateDelta last = deltas.get(deltas.size() - 1);
+        assertTrue(last.getChanges().stream()
+                .anyMatch(c -> c.getType() == GameStateDelta.ChangeType.CURRENT_PLAYER_CHANGED));
+        assertTrue(last.getChanges().stream()
+                .anyMatch(c -> c.getType() == GameStateDelta.ChangeType.HAND_RESET));
+    }
+
+    /**
+     * Tests that a listener changing the model from inside an event gets its
+     * delta published after the delta of that event, describing the change
+     * from it.
+     */
+    @Test
+    void testNestedChangeFollowsOuterDelta() {
+        int first = game.getCurrentPlayerIndex();
+        game.addGameStateListener(e -> {
+            if (e.getKind() == GameStateEvent.Kind.CARD_DRAWN) {
+                game.advanceTurn();
+            }
+        });
+        long seen = game.getStateVersion();
+
+        game.drawCardForCurrentPlayer();
+
+        assertEquals(2, deltas.size());
+        for (GameStateDelta d : deltas) {
+            assertTrue(d.follows(seen), "Deltas should arrive in version order");
+            seen = d.getVersion();
+        }
+        assertTrue(deltas.get(0).getChanges().stream()
+                .noneMatch(c -> c.getType() == GameStateDelta.ChangeType.CURRENT_PLAYER_CHANGED));
+        assertTrue(deltas.get(1).getChanges().stream()
+                .anyMatch(c -> c.getType() == GameStateDelta.ChangeType.CURRENT_PLAYER_CHANGED
+                        && c.getIndex() != first));
+    }
+
+    /**
+     * Tests that the exported snapshot is shared until the next published change.
+     */
+    @Test
+    void testExportStateIsCachedPerVersion() {
+        GameStateEvent first = game.exportState();
+        assertSame(first, game.exportState(), "Unchanged state should not be rebuilt");
+        assertTrue(first.isFrozen());
+        assertEquals(game.getStateVersion(), first.getVersion());
+
+        game.drawCardForCurrentPlayer();
+
+        GameStateEvent second = game.exportState();
+        assertNotSame(first, second);
+        assertEquals(first.getCurHand().size() + 1, second.getCurHand().size());
+    }
+
+    /**
+     * Tests that a change made without publishing still invalidates the snapshot.
+     */
+    @Test
+    void testUnpublishedChangeInvalidatesSnapshot() {
+        GameStateEvent first = game.exportState();
+        assertFalse(first.isCanUndo());
+        game.saveState(); // changes what undo offers without publishing an event
+
+        GameStateEvent second = game.exportState();
+        assertNotSame(first, second);
+        assertTrue(second.isCanUndo());
+        assertEquals(first.getVersion(), second.getVersion());
+    }
+
+    /**
+     * Tests that the latest published state is stored frozen when it is
+     * published, and that another thread reads that same instance.
+     */
+    @Test
+    void testLatestStateIsPublishedForOtherThreads() throws InterruptedException {
+        game.drawCardForCurrentPlayer();
+        GameStateEvent latest = game.getLatestState();
+
+        assertNotNull(latest);
+        assertTrue(latest.isFrozen());
+        assertEquals(game.getStateVersion(), latest.getVersion());
+        assertEquals(deltas.get(deltas.size() - 1).getVersion(), latest.getVersion());
+
+        AtomicReference<GameStateEvent> seen = new AtomicReference<>();
+        Thread reader = new Thread(() -> seen.set(game.getLatestState()));
+        reader.start();
+        reader.join();
+        assertSame(latest, seen.get());
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the structured fields of GameStateEvent.
+ * Tests that events carry the kind of change that produced them and the
+ * player-type flag, so listeners never need to read the status message.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameStateEventKindTest {
+
+    private Game game;
+    private List<GameStateEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("p1"));
+        game.addPlayer(new AIPlayer("p2"));
+
+        events = new ArrayList<>();
+        game.addGameStateListener(events::add);
+        game.startGame();
+    }
+
+    private GameStateEvent last() {
+        return events.get(events.size() - 1);
+    }
+
+    /**
+     * Tests the kinds published for start, draw and turn change.
+     */
+    @Test
+    void testBasicKinds() {
+        assertEquals(GameStateEvent.Kind.GAME_STARTED, last().getKind());
+
+        game.drawCardForCurrentPlayer();
+        assertEquals(GameStateEvent.Kind.CARD_DRAWN, last().getKind());
+
+        game.advanceTurn();
+        assertEquals(GameStateEvent.Kind.TURN_STARTED, last().getKind());
+        assertFalse(last().isRoundOver());
+    }
+
+    /**
+     * Tests that the AI flag follows the seat type, not the name.
+     */
+    @Test
+    void testCurrentPlayerAIFlag() {
+        assertFalse(last().isCurrentPlayerAI());
+        game.advanceTurn();
+        assertTrue(last().isCurrentPlayerAI());
+    }
+
+    /**
+     * Tests that undo and redo are reported as restored state.
+     */
+    @Test
+    void testUndoIsStateRestored() {
+        game.saveState();
+        game.drawCardForCurrentPlayer();
+        game.undo();
+        assertEquals(GameStateEvent.Kind.STATE_RESTORED, last().getKind());
+    }
+}
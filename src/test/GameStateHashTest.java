@@ -0,0 +1,101 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Game.stateHash.
+ * Tests that the hash follows every change to the state, returns to its
+ * old value when the state does, and that the incrementally updated hash
+ * equals one computed from scratch.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class GameStateHashTest {
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("A"));
+        game.addPlayer(new Player("B"));
+        game.startGame();
+    }
+
+    /**
+     * Builds a copy of the game through a save image, whose hash is
+     * computed from scratch.
+     */
+    private static Game copyOf(Game g) {
+        GameImage image = new GameImage();
+        g.captureImage(image);
+        return Game.fromImage(image);
+    }
+
+    /**
+     * Tests that asking twice gives the same hash and a copy hashes the same.
+     */
+    @Test
+    void testSameStateSameHash() {
+        assertEquals(game.stateHash(), game.stateHash());
+        assertEquals(game.stateHash(), copyOf(game).stateHash());
+    }
+
+    /**
+     * Tests that drawing a card and advancing the turn change the hash.
+     */
+    @Test
+    void testMovesChangeHash() {
+        long start = game.stateHash();
+        game.drawCardForCurrentPlayer();
+        long drawn = game.stateHash();
+        assertNotEquals(start, drawn);
+
+        game.advanceTurn();
+        assertNotEquals(drawn, game.stateHash());
+    }
+
+    /**
+     * Tests that undo brings back the hash of the restored state.
+     */
+    @Test
+    void testUndoRestoresHash() {
+        long before = game.stateHash();
+        game.saveState();
+        game.drawCardForCurrentPlayer();
+        assertNotEquals(before, game.stateHash());
+
+        game.undo();
+
+        assertEquals(before, game.stateHash());
+    }
+
+    /**
+     * Tests through whole AI rounds, flips and reshuffles included, that
+     * the hash kept up to date card by card equals a fresh computation.
+     */
+    @Test
+    void testIncrementalHashMatchesRecomputation() {
+        Game g = new Game();
+        for (int i = 0; i < 4; i++) g.addPlayer(new AIPlayer("P" + i));
+        g.stateHash(); // start tracking before the deal, like a long-running search would
+        int[] checks = {0};
+        HeadlessGameView view = new HeadlessGameView() {
+            @Override
+            public void render(GameStateEvent state) {
+                super.render(state);
+                // At the start of a turn nothing outside the save image is pending
+                if (state.getKind() == GameStateEvent.Kind.TURN_STARTED) {
+                    assertEquals(copyOf(g).stateHash(), g.stateHash());
+                    checks[0]++;
+                }
+            }
+        };
+        new GameController(g, view, AIDecisionService.direct());
+
+        g.startGame();
+
+        assertTrue(checks[0] > 5);
+    }
+}
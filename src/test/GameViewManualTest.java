@@ -56,11 +56,9 @@ public class GameViewManualTest {
                 System.out.println("Next Player button works!");
             });
             
-            for (JButton btn : view.getCardButtons()) {
-                btn.addActionListener(e -> {
-                    System.out.println("Card button " + btn.getActionCommand() + " works!");
-                });
-            }
+            view.getHandComponent().setCardClickListener(index -> {
+                System.out.println("Card " + index + " works!");
+            });
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HandComponent and CardImageCache.
+ * Tests that clicks map back to hand positions, that card faces are
+ * rendered once and reused, that painting is limited to the visible cards
+ * and that grouping by colour keeps reporting real hand positions.
+ * Runs headless: the component is painted into an off-screen image.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class HandComponentTest {
+
+    private HandComponent hand;
+    private List<Card> cards;
+
+    @BeforeEach
+    void setUp() {
+        cards = new ArrayList<>();
+        cards.add(new Card(Card.Color.RED, Card.Value.THREE));
+        cards.add(new Card(Card.Color.BLUE, Card.Value.FIVE));
+        cards.add(new Card(null, Card.Value.WILD));
+
+        hand = new HandComponent();
+        hand.setCards(cards);
+        hand.setSize(hand.getPreferredSize());
+    }
+
+    /**
+     * Tests that the centre of each card maps to its position and gaps map to nothing.
+     */
+    @Test
+    void testIndexAtMapsCardsAndGaps() {
+        for (int i = 0; i < cards.size(); i++) {
+            Rectangle r = hand.cardBounds(i);
+            assertEquals(i, hand.indexAt(r.x + r.width / 2, r.y + r.height / 2));
+        }
+        Rectangle first = hand.cardBounds(0);
+        assertEquals(-1, hand.indexAt(first.x + first.width + HandComponent.GAP / 2, first.y + 10));
+        assertEquals(-1, hand.indexAt(first.x + 5, first.y - 5));
+        assertEquals(-1, hand.indexAt(1, 1));
+    }
+
+    /**
+     * Tests that each face is rendered once, however often the hand is painted.
+     */
+    @Test
+    void testFacesAreRenderedOnceAndReused() {
+        CardImageCache cache = new CardImageCache();
+        BufferedImage a = cache.get(cards.get(0), 80, 120);
+        BufferedImage b = cache.get(new Card(Card.Color.RED, Card.Value.THREE), 80, 120);
+        assertSame(a, b, "Equal faces should share one image");
+        assertEquals(1, cache.getRenderCount());
+
+        cache.get(cards.get(0), 100, 150);
+        assertEquals(2, cache.getRenderCount(), "A new size should redraw the face");
+    }
+
+    /**
+     * Tests that painting the component works off-screen and reports clicks.
+     */
+    @Test
+    void testPaintAndClick() {
+        BufferedImage img = new BufferedImage(hand.getWidth(), hand.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        hand.paint(g);
+        g.dispose();
+
+        int[] clicked = {-1};
+        hand.setCardClickListener(i -> clicked[0] = i);
+        Rectangle r = hand.cardBounds(2);
+        hand.dispatchEvent(new java.awt.event.MouseEvent(hand, java.awt.event.MouseEvent.MOUSE_CLICKED,
+                0, 0, r.x + 5, r.y + 5, 1, false));
+        assertEquals(2, clicked[0]);
+    }
+
+    /**
+     * Tests that only the cards inside the visible window are painted.
+     */
+    @Test
+    void testOnlyVisibleCardsArePainted() {
+        List<Card> big = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            big.add(new Card(Card.Color.values()[i % 4], Card.Value.values()[i % 10]));
+        }
+        hand.setCards(big);
+        hand.setSize(hand.getPreferredSize());
+
+        Rectangle window = new Rectangle(4000, 0, 1000, hand.getHeight());
+        int visible = hand.visibleCardCount(window);
+        assertTrue(visible > 0 && visible <= 10, "Only about one screen of cards should be painted, got " + visible);
+    }
+
+    /**
+     * Tests that grouping by colour reorders the display but not the reported positions.
+     */
+    @Test
+    void testGroupByColorReportsHandPositions() {
+        List<Card> mixed = new ArrayList<>();
+        mixed.add(new Card(null, Card.Value.WILD));          // 0
+        mixed.add(new Card(Card.Color.BLUE, Card.Value.ONE)); // 1
+        mixed.add(new Card(Card.Color.RED, Card.Value.TWO));  // 2
+        hand.setCards(mixed);
+        hand.setGroupByColor(true);
+
+        // RED sorts before BLUE, wild cards go last
+        Rectangle firstSlot = hand.cardBounds(0);
+        Rectangle lastSlot = hand.cardBounds(2);
+        assertEquals(2, hand.indexAt(firstSlot.x + 5, firstSlot.y + 5));
+        assertEquals(0, hand.indexAt(lastSlot.x + 5, lastSlot.y + 5));
+    }
+}
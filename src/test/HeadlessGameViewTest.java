@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HeadlessGameView.
+ * Tests that the controller can play whole rounds through the headless view
+ * and that the enabled controls come with each state event.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class HeadlessGameViewTest {
+
+    /** Safety net: stops delivering tasks if a round never ends. */
+    private static final int MAX_TASKS = 200_000;
+
+    private Game game;
+    private HeadlessGameView view;
+    private int tasksRun;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game();
+        view = new HeadlessGameView() {
+            @Override
+            public void runLater(Runnable task, int delayMillis) {
+                if (++tasksRun > MAX_TASKS) return;
+                super.runLater(task, delayMillis);
+            }
+        };
+        tasksRun = 0;
+    }
+
+    /**
+     * Tests that two AI players play a round to its end inside startGame.
+     */
+    @Test
+    void testAIOnlyRoundRunsToCompletionSynchronously() {
+        game.addPlayer(new AIPlayer("AI 1"));
+        game.addPlayer(new AIPlayer("AI 2"));
+        new GameController(game, view, AIDecisionService.direct());
+
+        game.startGame();
+
+        assertTrue(tasksRun <= MAX_TASKS, "The round should end without hitting the safety cap");
+        GameStateEvent last = view.getLastState();
+        assertNotNull(last);
+        assertTrue(last.isRoundOver(), "The last rendered state should end the round");
+        assertNotNull(view.getLastMessage(), "The round result should be shown as a message");
+    }
+
+    /**
+     * Tests that the state at the end of a round enables only New Round or New Game.
+     */
+    @Test
+    void testRoundOverStateCarriesEndOfRoundControls() {
+        game.addPlayer(new AIPlayer("AI 1"));
+        game.addPlayer(new AIPlayer("AI 2"));
+        new GameController(game, view, AIDecisionService.direct());
+        game.startGame();
+
+        GameStateEvent last = view.getLastState();
+        assertFalse(last.isCanDraw());
+        assertFalse(last.isCanNext());
+        assertFalse(last.isCanPlay());
+        assertTrue(last.isCanNewRound() != last.isCanNewGame(),
+                "Exactly one of New Round and New Game should be offered");
+        assertEquals(last.isGameOver(), last.isCanNewGame());
+    }
+
+    /**
+     * Tests that a human turn is rendered with play controls and waits for input.
+     */
+    @Test
+    void testHumanTurnWaitsWithControlsEnabled() {
+        game.addPlayer(new Player("Human"));
+        game.addPlayer(new Player("Other"));
+        new GameController(game, view, AIDecisionService.direct());
+        game.startGame();
+
+        GameStateEvent last = view.getLastState();
+        assertFalse(last.isCurrentPlayerAI());
+        assertFalse(last.isRoundOver());
+        assertTrue(last.isCanDraw());
+        assertTrue(last.isCanNext());
+        assertFalse(last.isCanNewRound());
+        assertFalse(last.isCanNewGame());
+
+        view.getListener().onDraw();
+        assertTrue(view.getLastState().isCanUndo(), "A saved move should make undo available");
+    }
+
+    /**
+     * Tests that a task from a thread other than the view's owner is
+     * refused instead of being run on that thread.
+     */
+    @Test
+    void testForeignThreadIsRejected() throws InterruptedException {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        boolean[] ran = new boolean[1];
+        Thread other = new Thread(() -> {
+            try {
+                view.runLater(() -> ran[0] = true, 0);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        other.start();
+        other.join();
+
+        assertTrue(thrown.get() instanceof IllegalStateException);
+        assertFalse(ran[0]);
+    }
+}
@@ -0,0 +1,87 @@
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ISMCTSStrategy.
+ * Tests move choice and that the search tree is kept from one turn to
+ * the next.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class ISMCTSStrategyTest {
+
+    private static final int ITERATIONS = 300;
+
+    private static ISMCTSStrategy strategy() {
+        return new ISMCTSStrategy(1 << 14, new SplittableRandom(27));
+    }
+
+    /**
+     * Tests that, head to head, a skip is played first when it lets the
+     * player go out on its next card.
+     */
+    @Test
+    void testPlaysSkipBeforeLastCard() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.BLUE, Card.Value.FIVE), new Card(Card.Color.BLUE, Card.Value.SKIP)),
+                new Card(Card.Color.BLUE, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        AIDecision d = strategy().decide(s, SearchBudget.startingNow(2000, 2000));
+
+        assertEquals(1, d.getHandIndex());
+    }
+
+    /**
+     * Tests that a wild card is played with a color of its own side.
+     */
+    @Test
+    void testWildGetsAColorOfItsSide() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(null, Card.Value.WILD), new Card(Card.Color.GREEN, Card.Value.SEVEN),
+                        new Card(Card.Color.GREEN, Card.Value.EIGHT)),
+                new Card(Card.Color.RED, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        AIDecision d = strategy().decide(s, SearchBudget.startingNow(2000, 2000));
+
+        assertEquals(0, d.getHandIndex());
+        assertTrue(Rules.isLightColor(d.getWildColor()), "Wild should name a light color, got " + d.getWildColor());
+    }
+
+    /**
+     * Tests that during rounds the tree from the previous turn is reused:
+     * some search starts with a root that was already visited, so after it
+     * the root has more visits than one search adds.
+     */
+    @Test
+    void testTreeIsReusedBetweenTurns() {
+        ISMCTSStrategy ismcts = strategy();
+        int[] mostRootVisits = {0};
+        AIStrategy recording = new AIStrategy() {
+            public String getName() { return ismcts.getName(); }
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                AIDecision d = ismcts.decide(view, budget);
+                mostRootVisits[0] = Math.max(mostRootVisits[0], ismcts.getRootVisits());
+                return d;
+            }
+        };
+        // Deals are random; a short round may never give the searcher two real choices in a row
+        for (int round = 0; round < 10 && mostRootVisits[0] <= ITERATIONS; round++) {
+            AIPlayer searcher = new AIPlayer("Search", recording);
+            searcher.setMoveBudget(5000, ITERATIONS);
+            Game game = new Game();
+            game.addPlayer(searcher);
+            game.addPlayer(new AIPlayer("Greedy"));
+            HeadlessGameView view = new HeadlessGameView();
+            new GameController(game, view, AIDecisionService.direct());
+
+            game.startGame();
+
+            assertTrue(view.getLastState().isRoundOver());
+        }
+        assertTrue(mostRootVisits[0] > ITERATIONS,
+                "Some search should have started from a kept subtree, most root visits " + mostRootVisits[0]);
+    }
+}
@@ -0,0 +1,165 @@
+import org.junit.jupiter.api.*;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incremental (delta) save mode.
+ * Tests that base + delta files load back to the same state as the live game,
+ * that deltas are much smaller than a full save, and that compaction works.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class IncrementalSaveTest {
+
+    private Game game;
+    private static final String TEST_FILE = "test_incremental.uno";
+
+    /**
+     * Set up a new game before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        game = new Game();
+        game.addPlayer(new Player("Alice"));
+        game.addPlayer(new AIPlayer("Bob"));
+        game.startGame();
+    }
+
+    /**
+     * Clean up test files after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        new File(TEST_FILE).delete();
+    }
+
+    /**
+     * Asserts that two card lists hold the same faces in the same order.
+     */
+    private void assertSameCards(List<Card> expected, List<Card> actual) {
+        assertEquals(expected.size(), actual.size(), "Card count should match");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getColor(), actual.get(i).getColor());
+            assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+        }
+    }
+
+    /**
+     * Tests that a single incremental save loads back through Game.loadGame.
+     */
+    @Test
+    public void testFirstSaveWritesBaseImage() {
+        assertTrue(game.saveGameIncremental(TEST_FILE));
+        assertTrue(IncrementalGameSaver.isIncrementalSave(TEST_FILE));
+
+        Game loaded = Game.loadGame(TEST_FILE);
+        assertNotNull(loaded);
+        assertEquals("Alice", loaded.getPlayer(0).getName());
+        assertEquals("Bob (AI)", loaded.getPlayer(1).getName());
+        assertTrue(loaded.getPlayer(1) instanceof AIPlayer, "AI seat should stay an AIPlayer");
+        assertSameCards(game.getPlayer(0).getHand().getCardsList(),
+                loaded.getPlayer(0).getHand().getCardsList());
+    }
+
+    /**
+     * Tests that base + deltas reproduce the live game after several moves.
+     */
+    @Test
+    public void testDeltasRestoreLatestState() {
+        game.saveGameIncremental(TEST_FILE);
+
+        for (int i = 0; i < 6; i++) {
+            game.drawCardForCurrentPlayer();
+            game.advanceTurn();
+            game.saveGameIncremental(TEST_FILE);
+        }
+        game.getPlayer(0).setScore(120);
+        game.saveGameIncremental(TEST_FILE);
+
+        Game loaded = Game.loadGame(TEST_FILE);
+        assertNotNull(loaded);
+        assertEquals(120, loaded.getPlayer(0).getScore());
+        assertEquals(game.getCurrentPlayer().getName(), loaded.getCurrentPlayer().getName());
+        assertEquals(game.getCurrentSide(), loaded.getCurrentSide());
+        assertEquals(game.getTopCard().getValue(), loaded.getTopCard().getValue());
+        for (int i = 0; i < 2; i++) {
+            assertSameCards(game.getPlayer(i).getHand().getCardsList(),
+                    loaded.getPlayer(i).getHand().getCardsList());
+        }
+    }
+
+    /**
+     * Tests that a delta for a single draw is far smaller than the base image.
+     */
+    @Test
+    public void testDeltaIsMuchSmallerThanBase() throws Exception {
+        IncrementalGameSaver saver = new IncrementalGameSaver(TEST_FILE);
+        long baseBytes = saver.save(game);
+
+        game.drawCardForCurrentPlayer();
+        long deltaBytes = saver.save(game);
+
+        assertTrue(deltaBytes * 5 < baseBytes,
+                "Delta (" + deltaBytes + " bytes) should be a fraction of the base (" + baseBytes + " bytes)");
+    }
+
+    /**
+     * Tests that compaction folds deltas into a base without changing the loaded state.
+     */
+    @Test
+    public void testCompactionKeepsState() throws Exception {
+        IncrementalGameSaver saver = new IncrementalGameSaver(TEST_FILE, Long.MAX_VALUE);
+        saver.save(game);
+        game.drawCardForCurrentPlayer();
+        saver.save(game);
+        long sizeBefore = new File(TEST_FILE).length();
+
+        saver.compact();
+
+        assertEquals(0, saver.getDeltaBytes());
+        assertTrue(new File(TEST_FILE).length() < sizeBefore, "Compacted file should drop the delta block");
+        Game loaded = IncrementalGameSaver.load(TEST_FILE);
+        assertSameCards(game.getPlayer(0).getHand().getCardsList(),
+                loaded.getPlayer(0).getHand().getCardsList());
+    }
+
+    /**
+     * Tests that a compaction still queued when a full save replaces the file
+     * does not write the older state over it.
+     */
+    @Test
+    public void testFullSaveDropsPendingCompaction() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IncrementalGameSaver.COMPACTOR.submit(() -> {
+            release.await();
+            return null;
+        });
+        try {
+            assertTrue(game.saveGameIncremental(TEST_FILE, 1));
+            game.drawCardForCurrentPlayer();
+            assertTrue(game.saveGameIncremental(TEST_FILE, 1)); // queues a compaction
+
+            game.drawCardForCurrentPlayer();
+            assertTrue(game.saveGame(TEST_FILE));
+            game.drawCardForCurrentPlayer();
+            assertTrue(game.saveGameIncremental(TEST_FILE, 1));
+            game.drawCardForCurrentPlayer();
+            assertTrue(game.saveGameIncremental(TEST_FILE, 1));
+        } finally {
+            release.countDown();
+        }
+        IncrementalGameSaver.COMPACTOR.submit(() -> { }).get();
+
+        Game loaded = Game.loadGame(TEST_FILE);
+        assertNotNull(loaded);
+        for (int i = 0; i < game.getPlayerCount(); i++) {
+            assertSameCards(game.getPlayer(i).getHand().getCardsList(),
+                    loaded.getPlayer(i).getHand().getCardsList());
+        }
+        assertEquals(game.getTopCard().getValue(), loaded.getTopCard().getValue());
+        assertEquals(game.getTopCard().getColor(), loaded.getTopCard().getColor());
+    }
+}
@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MonteCarloStrategy and PlayoutSimulator.
+ * Tests that the strategy picks legal moves and that playouts of real
+ * game states finish.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class MonteCarloStrategyTest {
+
+    private static MonteCarloStrategy strategy(int playouts) {
+        return new MonteCarloStrategy(playouts, ForkJoinPool.commonPool(), new SplittableRandom(27));
+    }
+
+    /**
+     * Tests that the only playable card is played when it ends the round.
+     */
+    @Test
+    void testPlaysWinningLastCard() {
+        AITurnSnapshot s = new AITurnSnapshot("AI", List.of(new Card(Card.Color.RED, Card.Value.FIVE)),
+                new Card(Card.Color.RED, Card.Value.TWO), null, Side.LIGHT, 0);
+
+        AIDecision d = strategy(500).decide(s, SearchBudget.startingNow(1000, 100_000));
+
+        assertFalse(d.isDraw());
+        assertEquals(0, d.getHandIndex());
+    }
+
+    /**
+     * Tests that, head to head, a skip is played first when it lets the
+     * player go out on its next card.
+     */
+    @Test
+    void testPlaysSkipBeforeLastCard() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.BLUE, Card.Value.FIVE), new Card(Card.Color.BLUE, Card.Value.SKIP)),
+                new Card(Card.Color.BLUE, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        AIDecision d = strategy(2000).decide(s, SearchBudget.startingNow(2000, 100_000));
+
+        assertEquals(1, d.getHandIndex());
+    }
+
+    /**
+     * Tests that a player with nothing playable draws.
+     */
+    @Test
+    void testDrawsWhenNothingIsPlayable() {
+        AITurnSnapshot s = new AITurnSnapshot("AI", List.of(new Card(Card.Color.GREEN, Card.Value.ONE)),
+                new Card(Card.Color.RED, Card.Value.TWO), null, Side.LIGHT, 0);
+
+        assertTrue(strategy(100).decide(s, SearchBudget.startingNow(1000, 100_000)).isDraw());
+    }
+
+    /**
+     * Tests that whole AI games driven by the strategy finish with legal moves.
+     */
+    @Test
+    void testMonteCarloPlayersFinishARound() {
+        Game game = new Game();
+        game.addPlayer(new AIPlayer("MC", strategy(200)));
+        game.addPlayer(new AIPlayer("Greedy"));
+        HeadlessGameView view = new HeadlessGameView();
+        new GameController(game, view, AIDecisionService.direct());
+
+        game.startGame();
+
+        assertNotNull(view.getLastState());
+        assertTrue(view.getLastState().isRoundOver());
+    }
+
+    /**
+     * Tests that random playouts from a dealt game always end.
+     */
+    @Test
+    void testPlayoutsTerminate() {
+        Game game = new Game();
+        for (int i = 0; i < 4; i++) game.addPlayer(new AIPlayer("P" + i));
+        game.startGame();
+        PlayoutSimulator sim = new PlayoutSimulator(PlayoutSimulator.Table.of(AITurnSnapshot.of(game)),
+                new SplittableRandom(1));
+
+        int decided = 0;
+        for (int i = 0; i < 500; i++) {
+            sim.reset();
+            if (sim.playout(-1, 0) != 0) decided++;
+        }
+        assertTrue(decided > 450, "Almost all playouts should reach a winner, got " + decided);
+    }
+}
@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PolicyStrategy and PolicyModel.
+ * Tests the move choice, that the kernels agree with a direct computation,
+ * batching across tables and model files.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class PolicyStrategyTest {
+
+    /** A fresh budget per decision: its clock starts when it is created. */
+    private static SearchBudget budget() {
+        return SearchBudget.startingNow(1000, 1000);
+    }
+
+    private static PolicyModel randomModel(int inputs, int hidden, SplittableRandom random) {
+        float[] w1 = new float[inputs * hidden], b1 = new float[hidden], w2 = new float[hidden];
+        for (int i = 0; i < w1.length; i++) w1[i] = (float) random.nextDouble(-1, 1);
+        for (int i = 0; i < hidden; i++) {
+            b1[i] = (float) random.nextDouble(-1, 1);
+            w2[i] = (float) random.nextDouble(-1, 1);
+        }
+        return PolicyModel.mlp(inputs, hidden, w1, b1, w2, 0.25f);
+    }
+
+    /**
+     * Tests that the default model prefers the active color.
+     */
+    @Test
+    void testDefaultModelPrefersActiveColor() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.GREEN, Card.Value.THREE), new Card(Card.Color.RED, Card.Value.FIVE)),
+                new Card(Card.Color.RED, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        assertEquals(1, new PolicyStrategy(PolicyStrategy.defaultModel()).decide(s, budget()).getHandIndex());
+    }
+
+    /**
+     * Tests that a player with nothing playable draws.
+     */
+    @Test
+    void testDrawsWhenNothingIsPlayable() {
+        AITurnSnapshot s = new AITurnSnapshot("AI", List.of(new Card(Card.Color.GREEN, Card.Value.ONE)),
+                new Card(Card.Color.RED, Card.Value.TWO), null, Side.LIGHT, 0);
+
+        assertTrue(new PolicyStrategy(PolicyStrategy.defaultModel()).decide(s, budget()).isDraw());
+    }
+
+    /**
+     * Tests that the scalar kernel and the kernel in use both compute the
+     * perceptron's scores, for a batch that had to grow and whose row count
+     * is not a multiple of any vector width.
+     */
+    @Test
+    void testKernelsMatchDirectComputation() {
+        SplittableRandom random = new SplittableRandom(27);
+        int inputs = 21, hidden = 7, rows = 37;
+        PolicyModel model = randomModel(inputs, hidden, random);
+        PolicyModel.Batch batch = model.newBatch(4);
+        float[][] x = new float[rows][inputs];
+        for (int r = 0; r < rows; r++) {
+            assertEquals(r, batch.addRow());
+            for (int f = 0; f < inputs; f++) {
+                x[r][f] = (float) random.nextDouble(-1, 1);
+                batch.set(r, f, x[r][f]);
+            }
+        }
+
+        float[] expected = new float[rows];
+        for (int r = 0; r < rows; r++) {
+            float out = model.b2;
+            for (int j = 0; j < hidden; j++) {
+                float h = model.b1[j];
+                for (int f = 0; f < inputs; f++) h += model.w1[j * inputs + f] * x[r][f];
+                out += model.w2[j] * Math.max(0f, h);
+            }
+            expected[r] = out;
+        }
+
+        model.score(batch, new PolicyKernel.Scalar());
+        for (int r = 0; r < rows; r++) assertEquals(expected[r], batch.getScore(r), 1e-4);
+        model.score(batch);
+        for (int r = 0; r < rows; r++) assertEquals(expected[r], batch.getScore(r), 1e-4, PolicyModel.getKernelName());
+    }
+
+    /**
+     * Tests that deciding many tables in one batch gives the same moves as
+     * deciding them one by one.
+     */
+    @Test
+    void testDecideAllMatchesDecide() {
+        PolicyStrategy policy = new PolicyStrategy(randomModel(PolicyStrategy.FEATURES, 8, new SplittableRandom(5)));
+        List<AITurnSnapshot> views = new ArrayList<>();
+        for (int t = 0; t < 20; t++) {
+            Game game = new Game();
+            for (int i = 0; i < 2 + t % 3; i++) game.addPlayer(new AIPlayer("P" + i));
+            game.startGame();
+            views.add(AITurnSnapshot.of(game));
+        }
+
+        List<AIDecision> together = policy.decideAll(views);
+
+        for (int t = 0; t < views.size(); t++) {
+            AIDecision alone = policy.decide(views.get(t), budget());
+            assertEquals(alone.isDraw(), together.get(t).isDraw());
+            assertEquals(alone.getHandIndex(), together.get(t).getHandIndex());
+            assertEquals(alone.getWildColor(), together.get(t).getWildColor());
+        }
+    }
+
+    /**
+     * Tests that a saved model loads back unchanged and that a broken file
+     * is rejected.
+     */
+    @Test
+    void testModelFileRoundTrip() throws IOException {
+        Path file = Files.createTempFile("policy", ".properties");
+        try {
+            PolicyModel mlp = randomModel(PolicyStrategy.FEATURES, 4, new SplittableRandom(3));
+            mlp.save(file, "test");
+            assertEquals(mlp, PolicyModel.load(file));
+
+            PolicyStrategy.defaultModel().save(file, "test");
+            assertEquals(PolicyStrategy.defaultModel(), PolicyModel.load(file));
+
+            Files.write(file, List.of("inputs=3", "hidden=0", "w2=1,2"));
+            assertThrows(IOException.class, () -> PolicyModel.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Tests that the strategy can be created by name.
+     */
+    @Test
+    void testRegisteredByName() {
+        assertTrue(AIStrategies.create(PolicyStrategy.NAME) instanceof PolicyStrategy);
+    }
+}
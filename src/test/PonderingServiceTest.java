@@ -0,0 +1,286 @@
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PonderingService.
+ * Tests that the guessed states match the real ones, that a pondered move
+ * is handed over, that searches run on low-priority threads, and that
+ * stopping ends a running search.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class PonderingServiceTest {
+
+    /**
+     * Starts a human-vs-AI game whose human, on turn, holds a number card
+     * that can be played.
+     *
+     * @return the game
+     */
+    private static Game humanWithNumberPlay() {
+        for (int seed = 0; ; seed++) {
+            Game game = new Game();
+            game.setShuffleRandom(new Random(seed));
+            game.addPlayer(new Player("Human"));
+            game.addPlayer(new AIPlayer("AI", new MonteCarloStrategy()));
+            game.startGame();
+            if (game.getCurrentPlayerIndex() == 0 && numberPlay(game) >= 0) {
+                return game;
+            }
+        }
+    }
+
+    private static int numberPlay(Game game) {
+        List<Card> hand = game.getCurrentPlayer().getHand().getCardsList();
+        for (int i = 0; i < hand.size(); i++) {
+            Card c = hand.get(i);
+            if (c.getValue().ordinal() <= Card.Value.NINE.ordinal()
+                    && Rules.isValidPlay(c, game.getTopCard(), game.getTopWildColor(), game.getCurrentSide())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Long> keys(List<AITurnSnapshot> snapshots) {
+        List<Long> keys = new ArrayList<>();
+        for (AITurnSnapshot s : snapshots) keys.add(PonderingService.key(s));
+        return keys;
+    }
+
+    /**
+     * Tests that the AI's real turn after a number card is among the guesses.
+     */
+    @Test
+    void testGuessesTheTurnAfterANumberCard() {
+        Game game = humanWithNumberPlay();
+        List<AITurnSnapshot> guesses = PonderingService.hypotheses(game);
+
+        assertTrue(game.playCardFromHand(numberPlay(game)));
+        game.advanceTurn();
+
+        assertEquals(1, game.getCurrentPlayerIndex());
+        assertTrue(keys(guesses).contains(PonderingService.key(AITurnSnapshot.of(game))));
+    }
+
+    /**
+     * Tests that the AI's real turn after a draw is the first guess.
+     */
+    @Test
+    void testGuessesTheTurnAfterADraw() {
+        Game game = humanWithNumberPlay();
+        List<AITurnSnapshot> guesses = PonderingService.hypotheses(game);
+
+        assertTrue(game.drawCardForCurrentPlayer());
+        game.advanceTurn();
+
+        assertEquals(PonderingService.key(guesses.get(0)), PonderingService.key(AITurnSnapshot.of(game)));
+    }
+
+    /**
+     * Tests that a pondered move is handed over once, and is legal.
+     */
+    @Test
+    void testTakesThePonderedMove() {
+        Game game = humanWithNumberPlay();
+        AIPlayer ai = (AIPlayer) game.getPlayer(1);
+        ai.setMoveBudget(20, 2_000);
+        PonderingService pondering = PonderingService.direct(5_000);
+
+        pondering.start(game, (p, s) -> p.getStrategy());
+        assertTrue(game.drawCardForCurrentPlayer());
+        game.advanceTurn();
+        AITurnSnapshot actual = AITurnSnapshot.of(game);
+        AIDecision d = pondering.take(actual);
+
+        assertNotNull(d);
+        if (!d.isDraw()) {
+            Card c = actual.getHand().get(d.getHandIndex());
+            assertTrue(Rules.isValidPlay(c, actual.getTopCard(), actual.getWildColor(), actual.getSide()));
+        }
+        assertNull(pondering.take(actual));
+        assertEquals(1, pondering.getHits());
+        assertEquals(1, pondering.getMisses());
+    }
+
+    /**
+     * Tests that a strategy working on a pool is handed the service's pool,
+     * whose threads run at the lowest priority.
+     */
+    @Test
+    void testPoolSearchesRunAtLowPriority() {
+        Game game = humanWithNumberPlay();
+        ((AIPlayer) game.getPlayer(1)).setMoveBudget(5, 100);
+        List<Integer> priorities = new ArrayList<>();
+        AIStrategy pooled = new AIStrategy() {
+            @Override
+            public String getName() {
+                return "pooled";
+            }
+
+            @Override
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                return AIDecision.draw();
+            }
+
+            @Override
+            public boolean ponders() {
+                return true;
+            }
+
+            @Override
+            public AIStrategy onPool(ForkJoinPool pool) {
+                return new AIStrategy() {
+                    @Override
+                    public String getName() {
+                        return "pooled";
+                    }
+
+                    @Override
+                    public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                        priorities.add(pool.submit(() -> Thread.currentThread().getPriority()).join());
+                        return AIDecision.draw();
+                    }
+                };
+            }
+        };
+
+        PonderingService.direct(1_000).start(game, (p, s) -> pooled);
+
+        assertFalse(priorities.isEmpty());
+        for (int priority : priorities) {
+            assertEquals(Thread.MIN_PRIORITY, priority);
+        }
+    }
+
+    /**
+     * Tests that taking a move cancels the search running on the
+     * pondering thread at once, and that its unfinished answer is dropped.
+     */
+    @Test
+    void testTakeStopsARunningSearch() throws InterruptedException {
+        Game game = humanWithNumberPlay();
+        AIPlayer ai = (AIPlayer) game.getPlayer(1);
+        ai.setMoveBudget(2_000, Long.MAX_VALUE);
+        AIStrategy slow = new AIStrategy() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                while (!budget.isExpired()) {
+                    Thread.onSpinWait();
+                }
+                return AIDecision.draw();
+            }
+
+            @Override
+            public boolean ponders() {
+                return true;
+            }
+        };
+        PonderingService pondering = new PonderingService();
+
+        pondering.start(game, (p, s) -> slow);
+        Thread.sleep(50);
+        long start = System.nanoTime();
+        AIDecision d = pondering.take(PonderingService.hypotheses(game).get(0));
+        long millis = (System.nanoTime() - start) / 1_000_000L;
+        pondering.shutdown();
+
+        assertNull(d);
+        assertTrue(millis < 500, "take waited " + millis + " ms");
+    }
+
+    /**
+     * Tests that take waits for a search stopped by an earlier stop call,
+     * as the controller stops pondering before the AI's turn is handled.
+     */
+    @Test
+    void testTakeWaitsForAnEarlierStop() throws InterruptedException {
+        Game game = humanWithNumberPlay();
+        ((AIPlayer) game.getPlayer(1)).setMoveBudget(2_000, Long.MAX_VALUE);
+        AtomicBoolean returned = new AtomicBoolean();
+        AIStrategy lingering = new AIStrategy() {
+            @Override
+            public String getName() {
+                return "lingering";
+            }
+
+            @Override
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                while (!budget.isExpired()) {
+                    Thread.onSpinWait();
+                }
+                try {
+                    Thread.sleep(100); // still tidying up after the cancel
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                returned.set(true);
+                return AIDecision.draw();
+            }
+
+            @Override
+            public boolean ponders() {
+                return true;
+            }
+        };
+        PonderingService pondering = new PonderingService();
+
+        pondering.start(game, (p, s) -> lingering);
+        Thread.sleep(50);
+        pondering.stop();
+        pondering.take(PonderingService.hypotheses(game).get(0));
+        boolean done = returned.get();
+        pondering.shutdown();
+
+        assertTrue(done, "take returned before the stopped search did");
+    }
+
+    /**
+     * Tests that pondering stops after the table's CPU time, counting the
+     * time the searches actually used.
+     */
+    @Test
+    void testStopsAtTheTableBudget() {
+        Game game = humanWithNumberPlay();
+        ((AIPlayer) game.getPlayer(1)).setMoveBudget(40, Long.MAX_VALUE);
+        AtomicInteger searches = new AtomicInteger();
+        AIStrategy spinning = new AIStrategy() {
+            @Override
+            public String getName() {
+                return "spinning";
+            }
+
+            @Override
+            public AIDecision decide(AITurnSnapshot view, SearchBudget budget) {
+                searches.incrementAndGet();
+                while (!budget.isExpired()) {
+                    Thread.onSpinWait();
+                }
+                return AIDecision.draw();
+            }
+
+            @Override
+            public boolean ponders() {
+                return true;
+            }
+        };
+        int guesses = PonderingService.hypotheses(game).size();
+
+        PonderingService.direct(100).start(game, (p, s) -> spinning);
+
+        assertTrue(searches.get() >= 2, "only " + searches.get() + " searches ran");
+        assertTrue(searches.get() < guesses, "the budget did not stop pondering");
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RenderScheduler.
+ * Tests that a burst of states is drawn as one frame showing the latest
+ * state, and that urgent states are drawn immediately and only once.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class RenderSchedulerTest {
+
+    private final List<GameStateEvent> rendered = new ArrayList<>();
+
+    private GameStateEvent state(String player) {
+        return new GameStateEvent(this, player, Collections.emptyList(), null);
+    }
+
+    /**
+     * Waits long enough for a pending frame to fire, then syncs with the EDT.
+     */
+    private void waitForFrame() throws Exception {
+        Thread.sleep(RenderScheduler.DEFAULT_FRAME_MILLIS * 5);
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    /**
+     * Tests that a burst of submits renders once, with the newest state.
+     */
+    @Test
+    void testBurstIsCoalescedIntoOneFrame() throws Exception {
+        RenderScheduler[] scheduler = new RenderScheduler[1];
+        SwingUtilities.invokeAndWait(() -> {
+            scheduler[0] = new RenderScheduler(rendered::add);
+            for (int i = 0; i < 50; i++) {
+                scheduler[0].submit(state("p" + i));
+            }
+            assertTrue(rendered.isEmpty(), "Nothing should be drawn before the frame");
+        });
+        waitForFrame();
+
+        assertEquals(1, rendered.size());
+        assertEquals("p49", rendered.get(0).getCurPlayerName());
+        assertFalse(scheduler[0].isDirty());
+    }
+
+    /**
+     * Tests that an urgent state is drawn at once and replaces the pending frame.
+     */
+    @Test
+    void testUrgentStateRendersOnceImmediately() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            RenderScheduler scheduler = new RenderScheduler(rendered::add);
+            scheduler.submit(state("old"));
+            scheduler.submitUrgent(state("prompt"));
+            assertEquals(1, rendered.size(), "Urgent state should be drawn synchronously");
+        });
+        waitForFrame();
+
+        assertEquals(1, rendered.size(), "The dropped pending state must not be drawn later");
+        assertEquals("prompt", rendered.get(0).getCurPlayerName());
+    }
+}
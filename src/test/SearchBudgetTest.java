@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SearchBudget and the searches that honour it.
+ * Tests that every searching strategy stops when its budget is cancelled
+ * and when its node limit is reached, rather than timing how long it takes.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class SearchBudgetTest {
+
+    /** Time limit of the budgets below; only reached if a search ignores the limit under test. */
+    private static final long SAFETY_NET_MS = 60_000;
+
+    /**
+     * Creates each searching strategy, set up to search for as long as its
+     * budget allows.
+     *
+     * @return the strategies by name
+     */
+    private static Map<String, AIStrategy> searches() {
+        Map<String, AIStrategy> searches = new LinkedHashMap<>();
+        searches.put("Monte Carlo",
+                new MonteCarloStrategy(Integer.MAX_VALUE, ForkJoinPool.commonPool(), new SplittableRandom(27)));
+        searches.put("ISMCTS", new ISMCTSStrategy(1 << 14, new SplittableRandom(27)));
+        // Allowed on every hand, so it searches the opening position instead of falling back
+        searches.put("endgame solver", new EndgameSolver(100, 14, 8, new SplittableRandom(27)));
+        return searches;
+    }
+
+    private static AITurnSnapshot openingTurn() {
+        Game game = new Game();
+        for (int i = 0; i < 3; i++) game.addPlayer(new AIPlayer("P" + i));
+        game.startGame();
+        return AITurnSnapshot.of(game);
+    }
+
+    private static void assertLegal(String name, AITurnSnapshot s, AIDecision d) {
+        assertTrue(d.isDraw() || s.isPlayable(s.getHand().get(d.getHandIndex())), name + " chose an illegal move");
+    }
+
+    /**
+     * Tests that cancelling the budget from another thread ends each search.
+     */
+    @Test
+    void testSearchesStopWhenCancelled() {
+        AITurnSnapshot s = openingTurn();
+        ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor();
+        try {
+            for (Map.Entry<String, AIStrategy> e : searches().entrySet()) {
+                long start = System.nanoTime();
+                SearchBudget budget = SearchBudget.startingNow(SAFETY_NET_MS, Long.MAX_VALUE);
+                canceller.schedule(budget::cancel, 50, TimeUnit.MILLISECONDS);
+
+                AIDecision d = e.getValue().decide(s, budget);
+
+                assertTrue(System.nanoTime() - start < SAFETY_NET_MS * 1_000_000L,
+                        e.getKey() + " ran until its time was up");
+                assertLegal(e.getKey(), s, d);
+            }
+        } finally {
+            canceller.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that each search ends at its node limit.
+     */
+    @Test
+    void testSearchesStopAtNodeLimit() {
+        AITurnSnapshot s = openingTurn();
+        for (Map.Entry<String, AIStrategy> e : searches().entrySet()) {
+            SearchBudget budget = SearchBudget.startingNow(SAFETY_NET_MS, 200);
+
+            AIDecision d = e.getValue().decide(s, budget);
+
+            assertFalse(budget.isExpired(), e.getKey() + " ran until its time was up");
+            assertLegal(e.getKey(), s, d);
+        }
+    }
+}
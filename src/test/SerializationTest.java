@@ -1,5 +1,7 @@
 import org.junit.jupiter.api.*;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -185,4 +187,22 @@ public class SerializationTest {
             new File(file2).delete();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that saveGame writes the binary format and that saves written
+     * with Java serialization by older versions still load.
+     */
+    @Test
+    public void testLegacySerializedSaveStillLoads() throws Exception {
+        game.saveGame(TEST_FILE);
+        assertTrue(IncrementalGameSaver.isIncrementalSave(TEST_FILE), "saveGame should use the binary format");
+
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(TEST_FILE))) {
+            out.writeObject(game);
+        }
+        Game loadedGame = Game.loadGame(TEST_FILE);
+
+        assertNotNull(loadedGame, "Legacy save should still load");
+        assertEquals(game.getPlayer(0).getHand().getSize(), loadedGame.getPlayer(0).getHand().getSize());
+    }
+}
@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TerminalGameView.
+ * Tests that only changed rows are redrawn and that typed commands reach
+ * the GameUIListener.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class TerminalGameViewTest {
+
+    private ByteArrayOutputStream screen;
+    private TerminalGameView view;
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        screen = new ByteArrayOutputStream();
+        view = new TerminalGameView(new ByteArrayInputStream(new byte[0]),
+                new PrintStream(screen, true), 0);
+        view.setListener(new GameUIListener() {
+            public void onPlayCard(int handIndex) { calls.add("play " + handIndex); }
+            public void onDraw() { calls.add("draw"); }
+            public void onNext() { calls.add("next"); }
+            public void onNewRound() { calls.add("newRound"); }
+            public void onNewGame() { calls.add("newGame"); }
+            public void onChooseWildCardCol(Card.Color color) { calls.add("wild " + color); }
+            public void onChooseDarkWildColor(Card.Color color) { calls.add("dark " + color); }
+            public void onUndo() { calls.add("undo"); }
+            public void onRedo() { calls.add("redo"); }
+            public void onSaveGame() { calls.add("save"); }
+            public void onLoadGame() { calls.add("load"); }
+        });
+    }
+
+    private GameStateEvent state(String status) {
+        GameStateEvent s = new GameStateEvent(this, "Alice",
+                Arrays.asList(new Card(Card.Color.RED, Card.Value.FIVE), new Card(Card.Color.BLUE, Card.Value.SKIP)),
+                new Card(Card.Color.RED, Card.Value.TWO));
+        s.setCanPlay(true);
+        s.setCanDraw(true);
+        s.setCanNext(true);
+        s.setStatusMessage(status);
+        return s;
+    }
+
+    /**
+     * Tests that a second state differing only in its status rewrites one row.
+     */
+    @Test
+    void testOnlyChangedRowsAreRedrawn() {
+        view.render(state("first"));
+        int afterFirst = view.getRowsWritten();
+        assertTrue(afterFirst > 1);
+
+        screen.reset();
+        view.render(state("second"));
+
+        assertEquals(afterFirst + 1, view.getRowsWritten(), "Only the status row should be rewritten");
+        String written = screen.toString();
+        assertTrue(written.contains("second"));
+        assertFalse(written.contains("Top card"), "Unchanged rows must not be sent again");
+    }
+
+    /**
+     * Tests that commands are forwarded to the listener.
+     */
+    @Test
+    void testCommandsReachListener() {
+        view.render(state(""));
+        view.handleLine("2");
+        view.handleLine("d");
+        view.handleLine("n");
+        view.handleLine("nr");
+
+        assertEquals(Arrays.asList("play 1", "draw", "next", "newRound"), calls);
+    }
+
+    /**
+     * Tests that the next line after a wild prompt is read as the colour.
+     */
+    @Test
+    void testWildPromptTakesColourAnswer() {
+        GameStateEvent s = state("");
+        s.setNeedsDarkWildColor(true);
+        view.render(s);
+
+        view.handleLine("7");
+        assertTrue(calls.isEmpty(), "An invalid answer keeps the prompt open");
+        view.handleLine("pink");
+        view.handleLine("d");
+
+        assertEquals(Arrays.asList("dark PINK", "draw"), calls);
+    }
+
+    /**
+     * Tests that an AI player's name, which already ends in "(AI)", is
+     * shown with that suffix once.
+     */
+    @Test
+    void testAIPlayerIsMarkedOnce() {
+        AIPlayer bob = new AIPlayer("Bob");
+        GameStateEvent s = new GameStateEvent(this, bob.getName(), bob.getHand().getCardsList(),
+                new Card(Card.Color.RED, Card.Value.TWO));
+        s.setCurrentPlayerAI(true);
+
+        view.render(s);
+
+        String written = screen.toString();
+        assertTrue(written.contains("Current player: Bob (AI)"));
+        assertFalse(written.contains("(AI) (AI)"), "The AI marker is shown twice");
+    }
+}
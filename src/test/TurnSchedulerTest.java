@@ -0,0 +1,75 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TurnScheduler.
+ * Tests that turns requested from inside a turn run one after another
+ * without nesting, and that cancel drops a pending turn.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class TurnSchedulerTest {
+
+    private int turnsPlayed;
+    private int depth;
+    private int maxDepth;
+    private TurnScheduler scheduler;
+
+    /**
+     * Tests that a long chain of self-requesting turns never nests.
+     */
+    @Test
+    void testChainedTurnsRunFlat() {
+        scheduler = new TurnScheduler(() -> {
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+            turnsPlayed++;
+            if (turnsPlayed < 100_000) {
+                scheduler.request();
+            }
+            depth--;
+        });
+
+        scheduler.request();
+
+        assertEquals(100_000, turnsPlayed);
+        assertEquals(1, maxDepth, "Turns should never run inside another turn");
+        assertFalse(scheduler.isPending());
+    }
+
+    /**
+     * Tests that several requests made during one turn only add one more turn.
+     */
+    @Test
+    void testRequestsDuringTurnAreMerged() {
+        scheduler = new TurnScheduler(() -> {
+            turnsPlayed++;
+            if (turnsPlayed == 1) {
+                scheduler.request();
+                scheduler.request();
+                scheduler.request();
+            }
+        });
+
+        scheduler.request();
+
+        assertEquals(2, turnsPlayed);
+    }
+
+    /**
+     * Tests that cancel drops a turn requested from inside the running one.
+     */
+    @Test
+    void testCancelDropsPendingTurn() {
+        scheduler = new TurnScheduler(() -> {
+            turnsPlayed++;
+            scheduler.request();
+            scheduler.cancel();
+        });
+
+        scheduler.request();
+
+        assertEquals(1, turnsPlayed);
+    }
+}
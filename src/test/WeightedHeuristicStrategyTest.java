@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for WeightedHeuristicStrategy and SelfPlayTuner.
+ * Tests that the weights steer the move choice, that weights survive a
+ * round trip through a file and that a small tuning run completes.
+ *
+ * @author G27
+ * @version 5.0
+ */
+public class WeightedHeuristicStrategyTest {
+
+    /** A fresh budget per decision: its clock starts when it is created. */
+    private static SearchBudget budget() {
+        return SearchBudget.startingNow(1000, 1000);
+    }
+
+    private static AIDecision decide(WeightedHeuristicStrategy.Weights w, AITurnSnapshot s) {
+        return new WeightedHeuristicStrategy(w).decide(s, budget());
+    }
+
+    /**
+     * Tests that the default weights prefer the active color, like the
+     * greedy baseline.
+     */
+    @Test
+    void testDefaultsPreferActiveColor() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(Card.Color.GREEN, Card.Value.THREE), new Card(Card.Color.RED, Card.Value.FIVE)),
+                new Card(Card.Color.RED, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        assertEquals(1, decide(WeightedHeuristicStrategy.Weights.defaults(), s).getHandIndex());
+    }
+
+    /**
+     * Tests that the wild weight decides between holding and playing a wild.
+     */
+    @Test
+    void testWildWeightHoldsOrPlaysWild() {
+        AITurnSnapshot s = new AITurnSnapshot("AI",
+                List.of(new Card(null, Card.Value.WILD), new Card(Card.Color.RED, Card.Value.FIVE),
+                        new Card(Card.Color.BLUE, Card.Value.ONE)),
+                new Card(Card.Color.RED, Card.Value.THREE), null, Side.LIGHT, 0);
+
+        assertEquals(1, decide(new WeightedHeuristicStrategy.Weights(1, 0, -2, 0, 0, 0), s).getHandIndex());
+        AIDecision wild = decide(new WeightedHeuristicStrategy.Weights(0, 0, 2, 0, 0, 0), s);
+        assertEquals(0, wild.getHandIndex());
+        assertTrue(Rules.isLightColor(wild.getWildColor()));
+    }
+
+    /**
+     * Tests that a player with nothing playable draws.
+     */
+    @Test
+    void testDrawsWhenNothingIsPlayable() {
+        AITurnSnapshot s = new AITurnSnapshot("AI", List.of(new Card(Card.Color.GREEN, Card.Value.ONE)),
+                new Card(Card.Color.RED, Card.Value.TWO), null, Side.LIGHT, 0);
+
+        assertTrue(decide(WeightedHeuristicStrategy.Weights.defaults(), s).isDraw());
+    }
+
+    /**
+     * Tests that saved weights load back unchanged and that a file missing
+     * some keys keeps their defaults.
+     */
+    @Test
+    void testWeightsFileRoundTrip() throws IOException {
+        Path file = Files.createTempFile("weights", ".properties");
+        try {
+            WeightedHeuristicStrategy.Weights w = new WeightedHeuristicStrategy.Weights(0.1, 0.2, -0.3, 0.4, 0.5, 0.6);
+            w.save(file, "test");
+            assertEquals(w, WeightedHeuristicStrategy.Weights.load(file));
+
+            Files.write(file, List.of("flip=1.5"));
+            WeightedHeuristicStrategy.Weights partial = WeightedHeuristicStrategy.Weights.load(file);
+            assertEquals(1.5, partial.get(WeightedHeuristicStrategy.Feature.FLIP));
+            assertEquals(WeightedHeuristicStrategy.Weights.defaults().get(WeightedHeuristicStrategy.Feature.WILD),
+                    partial.get(WeightedHeuristicStrategy.Feature.WILD));
+
+            Files.write(file, List.of("wild=lots"));
+            assertThrows(IOException.class, () -> WeightedHeuristicStrategy.Weights.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Tests that the strategy can be created by name.
+     */
+    @Test
+    void testRegisteredByName() {
+        assertTrue(AIStrategies.create(WeightedHeuristicStrategy.NAME) instanceof WeightedHeuristicStrategy);
+    }
+
+    /**
+     * Tests that an evaluation stops at the round limit and that a short
+     * tuning run returns weights and reports its throughput.
+     */
+    @Test
+    void testShortTuningRun() {
+        SelfPlayTuner tuner = new SelfPlayTuner(2, 3, 40, ForkJoinPool.commonPool(), new SplittableRandom(27));
+        WeightedHeuristicStrategy.Weights start = WeightedHeuristicStrategy.Weights.defaults();
+
+        SelfPlayTuner.Evaluation same = tuner.evaluate(start, start);
+        assertTrue(same.getRounds() <= 40);
+
+        WeightedHeuristicStrategy.Weights tuned = tuner.tune(start, 2, 2, null);
+
+        assertNotNull(tuned);
+        assertTrue(tuner.getRoundsPlayed() >= 40 + 3 * 40, "Every member plays at least one batch");
+        assertTrue(tuner.getRoundsPerSecondPerCore() > 0);
+    }
+}